@@ -0,0 +1,176 @@
+package org.brandon.api.advent2022;
+
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import jakarta.annotation.PreDestroy;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.brandon.api.util.AdventSolvers;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.RestForm;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.jboss.resteasy.reactive.multipart.FileUpload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.brandon.core.constants.ResponseConstants.*;
+
+@Path("/v1/advent2022/batch")
+public class BatchController {
+
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final String FILE = "file";
+
+    private final AdventSolvers adventSolvers;
+    private final ExecutorService workers;
+    private static final Logger LOG = LoggerFactory.getLogger(BatchController.class);
+
+    /**
+     * Builds the Batch Controller, injects necessary beans and starts the worker pool shared by every batch.
+     * @param adventSolvers The injected registry of solvers for each day and part
+     * @param threads The number of workers, defaulting to the number of available processors
+     * @param queueCapacity The number of entries which can wait for a free worker before further entries are rejected
+     */
+    public BatchController(AdventSolvers adventSolvers,
+                           @ConfigProperty(name = "advent.batch.threads") Optional<Integer> threads,
+                           @ConfigProperty(name = "advent.batch.queue-capacity", defaultValue = "1024") int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Batch queue must hold at least one entry");
+        }
+        this.adventSolvers = adventSolvers;
+        int threadCount = threads.orElse(Runtime.getRuntime().availableProcessors());
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threadCount, threadCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread worker = new Thread(task, "advent-batch-" + workerCount.incrementAndGet());
+                    worker.setDaemon(true);
+                    return worker;
+                });
+    }
+
+    /**
+     * Solves many problem files for any day and part of Advent of Code 2022 in a single request.
+     * The manifest is a JSON array of entries such as {"id": "a", "day": 1, "part": 2, "file": "input1"}, where
+     * file names the form field holding the problem file. A file can be referenced by more than one entry.
+     * Entries are solved on a bounded worker pool and each result is written as its own line of JSON as soon as
+     * it is ready, so results arrive in completion order rather than manifest order.
+     * The queue of entries waiting for a worker is bounded, an entry which does not fit is answered with a failure
+     * result rather than queued.
+     * @param manifest The JSON manifest describing each entry
+     * @param files The problem files referenced by the manifest
+     * @return A stream of results, one per manifest entry, each containing the status of the entry and the result
+     */
+    @POST
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<JsonObject> batchEndpoint(@RestForm("manifest") String manifest,
+                                           @RestForm(FileUpload.ALL) List<FileUpload> files) {
+        JsonArray entries;
+        try {
+            entries = new JsonArray(manifest);
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return Multi.createFrom().item(new JsonObject()
+                    .put(RESPONSE, FAILURE)
+                    .put(MESSAGE, "Invalid manifest provided"));
+        }
+
+        Map<String, FileUpload> filesByName = new HashMap<>();
+        for (FileUpload file : files) {
+            filesByName.put(file.name(), file);
+        }
+
+        return Multi.createFrom().emitter(emitter -> {
+            if (entries.isEmpty()) {
+                emitter.complete();
+                return;
+            }
+            AtomicInteger remaining = new AtomicInteger(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                Object entry = entries.getValue(i);
+                try {
+                    this.workers.execute(() -> {
+                        emitter.emit(this.solveEntry(entry, filesByName));
+                        if (remaining.decrementAndGet() == 0) {
+                            emitter.complete();
+                        }
+                    });
+                } catch (RejectedExecutionException ex) {
+                    LOG.error("Batch queue is full");
+                    emitter.emit(rejectedEntry(entry));
+                    if (remaining.decrementAndGet() == 0) {
+                        emitter.complete();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Solves a single manifest entry, turning any problem with the entry into a failure result.
+     * @param entry The manifest entry
+     * @param filesByName The uploaded files by form field name
+     * @return The result for the entry
+     */
+    private JsonObject solveEntry(Object entry, Map<String, FileUpload> filesByName) {
+        JsonObject result = new JsonObject();
+        try {
+            if (!(entry instanceof JsonObject manifestEntry)) {
+                throw new IllegalArgumentException("Manifest entries must be objects");
+            }
+            result.put(ID, manifestEntry.getValue(ID));
+            Integer day = manifestEntry.getInteger(DAY);
+            Integer part = manifestEntry.getInteger(PART);
+            if (day == null || part == null) {
+                throw new IllegalArgumentException("Manifest entries need a day and a part");
+            }
+            result.put(DAY, day).put(PART, part);
+
+            FileUpload file = filesByName.get(manifestEntry.getString(FILE));
+            if (file == null) {
+                throw new IllegalArgumentException("No file provided named " + manifestEntry.getString(FILE));
+            }
+
+            long start = System.nanoTime();
+            Object answer = this.adventSolvers.solve(day, part, file.uploadedFile().toFile());
+            return result.put(RESPONSE, SUCCESS)
+                    .put(ANSWER, answer)
+                    .put(ELAPSED_NANOS, System.nanoTime() - start);
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return result.put(RESPONSE, FAILURE)
+                    .put(MESSAGE, ex.getMessage());
+        }
+    }
+
+    private static JsonObject rejectedEntry(Object entry) {
+        JsonObject result = new JsonObject();
+        if (entry instanceof JsonObject manifestEntry) {
+            result.put(ID, manifestEntry.getValue(ID));
+        }
+        return result.put(RESPONSE, FAILURE)
+                .put(MESSAGE, "Batch queue is full");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.workers.shutdownNow();
+    }
+
+}
@@ -1,29 +1,46 @@
 package org.brandon.api.advent2022;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.brandon.api.util.AdventMetrics;
+import org.brandon.api.util.RequestMetrics;
 import org.brandon.api.util.ResponseCreation;
+import org.brandon.api.util.SolutionCache;
+import org.brandon.data.advent2022.AdventSolutionModel;
 import org.brandon.services.advent2022.Day10Service;
 import org.jboss.resteasy.reactive.RestForm;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+
 @Path("/v1/advent2022/day10")
+@RunOnVirtualThread
 public class Day10Controller {
 
+    private static final int DAY = 10;
+
     private final Day10Service day10Service;
+    private final SolutionCache solutionCache;
+    private final AdventMetrics adventMetrics;
     private static final Logger LOG = LoggerFactory.getLogger(Day10Controller.class);
 
     /**
      * Builds the Day10 Controller and injects necessary beans.
      * @param day10Service The injected service related to the Day10 Controller
+     * @param solutionCache The injected cache of previously solved inputs
+     * @param adventMetrics The injected metrics of each request phase
      */
-    public Day10Controller(Day10Service day10Service) {
+    public Day10Controller(Day10Service day10Service, SolutionCache solutionCache, AdventMetrics adventMetrics) {
         this.day10Service = day10Service;
+        this.solutionCache = solutionCache;
+        this.adventMetrics = adventMetrics;
     }
 
     /**
@@ -33,14 +50,37 @@ public class Day10Controller {
      */
     @POST
     @Path("part1")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part1Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
+        try {
+            long day10Answer = solutionCache.solve(DAY, 1, file.uploadedFile().toFile(), metrics.parsed(day10Service::parseDay10File, day10Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day10Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 10 part 1 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part1")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part1StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
         try {
-            long day10Answer = day10Service.part1Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day10Answer);
+            long day10Answer = solutionCache.solve(DAY, 1, body, metrics.stream(day10Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day10Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
@@ -51,14 +91,79 @@ public class Day10Controller {
      */
     @POST
     @Path("part2")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part2Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
+        try {
+            String day10Answer = solutionCache.solve(DAY, 2, file.uploadedFile().toFile(), metrics.parsed(day10Service::parseDay10File, day10Service::part2Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day10Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 10 part 2 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part2")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part2StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
+        try {
+            String day10Answer = solutionCache.solve(DAY, 2, body, metrics.stream(day10Service::part2Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day10Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem file provided for day 10 of Advent of Code 2022.
+     * The file is parsed once and the parts are solved in parallel.
+     * @param file The problem file
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothEndpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
+        try {
+            AdventSolutionModel<Long, String> day10Answer = metrics.solve(file.uploadedFile().toFile(), day10Service::parseDay10File, day10Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day10Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem provided as the raw request body for day 10 of Advent of Code 2022.
+     * The body is streamed into the parser once and the parts are solved in parallel.
+     * @param body The problem input
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothStreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
         try {
-            String day10Answer = day10Service.part2Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day10Answer);
+            AdventSolutionModel<Long, String> day10Answer = metrics.solve(body, day10Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day10Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
@@ -1,29 +1,46 @@
 package org.brandon.api.advent2022;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.brandon.api.util.AdventMetrics;
+import org.brandon.api.util.RequestMetrics;
 import org.brandon.api.util.ResponseCreation;
+import org.brandon.api.util.SolutionCache;
+import org.brandon.data.advent2022.AdventSolutionModel;
 import org.brandon.services.advent2022.Day11Service;
 import org.jboss.resteasy.reactive.RestForm;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+
 @Path("/v1/advent2022/day11")
+@RunOnVirtualThread
 public class Day11Controller {
 
+    private static final int DAY = 11;
+
     private final Day11Service day11Service;
+    private final SolutionCache solutionCache;
+    private final AdventMetrics adventMetrics;
     private static final Logger LOG = LoggerFactory.getLogger(Day11Controller.class);
 
     /**
      * Builds the Day11 Controller and injects necessary beans.
      * @param day11Service The injected service related to the Day11 Controller
+     * @param solutionCache The injected cache of previously solved inputs
+     * @param adventMetrics The injected metrics of each request phase
      */
-    public Day11Controller(Day11Service day11Service) {
+    public Day11Controller(Day11Service day11Service, SolutionCache solutionCache, AdventMetrics adventMetrics) {
         this.day11Service = day11Service;
+        this.solutionCache = solutionCache;
+        this.adventMetrics = adventMetrics;
     }
 
     /**
@@ -33,14 +50,37 @@ public class Day11Controller {
      */
     @POST
     @Path("part1")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part1Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
+        try {
+            long day11Answer = solutionCache.solve(DAY, 1, file.uploadedFile().toFile(), metrics.parsed(day11Service::parseDay11File, day11Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day11Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 11 part 1 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part1")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part1StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
         try {
-            long day11Answer = day11Service.part1Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day11Answer);
+            long day11Answer = solutionCache.solve(DAY, 1, body, metrics.stream(day11Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day11Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
@@ -51,14 +91,79 @@ public class Day11Controller {
      */
     @POST
     @Path("part2")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part2Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
+        try {
+            long day11Answer = solutionCache.solve(DAY, 2, file.uploadedFile().toFile(), metrics.parsed(day11Service::parseDay11File, day11Service::part2Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day11Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 11 part 2 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part2")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part2StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
+        try {
+            long day11Answer = solutionCache.solve(DAY, 2, body, metrics.stream(day11Service::part2Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day11Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem file provided for day 11 of Advent of Code 2022.
+     * The file is parsed once and the parts are solved in parallel.
+     * @param file The problem file
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothEndpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
+        try {
+            AdventSolutionModel<Long, Long> day11Answer = metrics.solve(file.uploadedFile().toFile(), day11Service::parseDay11File, day11Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day11Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem provided as the raw request body for day 11 of Advent of Code 2022.
+     * The body is streamed into the parser once and the parts are solved in parallel.
+     * @param body The problem input
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothStreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
         try {
-            long day11Answer = day11Service.part2Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day11Answer);
+            AdventSolutionModel<Long, Long> day11Answer = metrics.solve(body, day11Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day11Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
@@ -1,25 +1,40 @@
 package org.brandon.api.advent2022;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.brandon.api.util.AdventMetrics;
+import org.brandon.api.util.RequestMetrics;
 import org.brandon.api.util.ResponseCreation;
+import org.brandon.api.util.SolutionCache;
+import org.brandon.data.advent2022.AdventSolutionModel;
 import org.brandon.services.advent2022.Day12Service;
 import org.jboss.resteasy.reactive.RestForm;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+
 @Path("/v1/advent2022/day12")
+@RunOnVirtualThread
 public class Day12Controller {
 
+    private static final int DAY = 12;
+
     private final Day12Service day12Service;
+    private final SolutionCache solutionCache;
+    private final AdventMetrics adventMetrics;
     private static final Logger LOG = LoggerFactory.getLogger(Day12Controller.class);
 
-    public Day12Controller(Day12Service day12Service) {
+    public Day12Controller(Day12Service day12Service, SolutionCache solutionCache, AdventMetrics adventMetrics) {
         this.day12Service = day12Service;
+        this.solutionCache = solutionCache;
+        this.adventMetrics = adventMetrics;
     }
 
     /**
@@ -29,14 +44,37 @@ public class Day12Controller {
      */
     @POST
     @Path("part1")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part1Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
+        try {
+            long day12Answer = solutionCache.solve(DAY, 1, file.uploadedFile().toFile(), metrics.parsed(day12Service::parseDay12File, day12Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day12Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 12 part 1 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part1")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part1StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
         try {
-            long day12Answer = day12Service.part1Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day12Answer);
+            long day12Answer = solutionCache.solve(DAY, 1, body, metrics.stream(day12Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day12Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
@@ -47,14 +85,79 @@ public class Day12Controller {
      */
     @POST
     @Path("part2")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part2Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
+        try {
+            long day12Answer = solutionCache.solve(DAY, 2, file.uploadedFile().toFile(), metrics.parsed(day12Service::parseDay12File, day12Service::part2Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day12Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 12 part 2 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part2")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part2StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
+        try {
+            long day12Answer = solutionCache.solve(DAY, 2, body, metrics.stream(day12Service::part2Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day12Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem file provided for day 12 of Advent of Code 2022.
+     * The file is parsed once and the parts are solved in parallel.
+     * @param file The problem file
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothEndpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
+        try {
+            AdventSolutionModel<Long, Long> day12Answer = metrics.solve(file.uploadedFile().toFile(), day12Service::parseDay12File, day12Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day12Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem provided as the raw request body for day 12 of Advent of Code 2022.
+     * The body is streamed into the parser once and the parts are solved in parallel.
+     * @param body The problem input
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothStreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
         try {
-            long day12Answer = day12Service.part2Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day12Answer);
+            AdventSolutionModel<Long, Long> day12Answer = metrics.solve(body, day12Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day12Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
@@ -1,25 +1,39 @@
 package org.brandon.api.advent2022;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.brandon.api.util.AdventMetrics;
+import org.brandon.api.util.RequestMetrics;
 import org.brandon.api.util.ResponseCreation;
+import org.brandon.api.util.SolutionCache;
 import org.brandon.services.advent2022.Day13Service;
 import org.jboss.resteasy.reactive.RestForm;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+
 @Path("/v1/advent2022/day13")
+@RunOnVirtualThread
 public class Day13Controller {
 
+    private static final int DAY = 13;
+
     private static final Logger LOG = LoggerFactory.getLogger(Day13Controller.class);
     private final Day13Service day13Service;
+    private final SolutionCache solutionCache;
+    private final AdventMetrics adventMetrics;
 
-    public Day13Controller(Day13Service day13Service) {
+    public Day13Controller(Day13Service day13Service, SolutionCache solutionCache, AdventMetrics adventMetrics) {
         this.day13Service = day13Service;
+        this.solutionCache = solutionCache;
+        this.adventMetrics = adventMetrics;
     }
 
     /**
@@ -29,14 +43,37 @@ public class Day13Controller {
      */
     @POST
     @Path("part1")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part1Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
+        try {
+            long day13Answer = solutionCache.solve(DAY, 1, file.uploadedFile().toFile(), metrics.mapped(day13Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day13Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 13 part 1 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part1")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part1StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
         try {
-            long day13Answer = day13Service.part1Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day13Answer);
+            long day13Answer = solutionCache.solve(DAY, 1, body, metrics.stream(day13Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day13Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
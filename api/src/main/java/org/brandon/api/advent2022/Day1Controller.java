@@ -1,29 +1,47 @@
 package org.brandon.api.advent2022;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.brandon.api.util.AdventMetrics;
+import org.brandon.api.util.RequestMetrics;
 import org.brandon.api.util.ResponseCreation;
+import org.brandon.api.util.SolutionCache;
+import org.brandon.data.advent2022.AdventSolutionModel;
 import org.brandon.services.advent2022.Day1Service;
 import org.jboss.resteasy.reactive.RestForm;
+import org.jboss.resteasy.reactive.RestQuery;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+
 @Path("/v1/advent2022/day1")
+@RunOnVirtualThread
 public class Day1Controller {
 
+    private static final int DAY = 1;
+
     private final Day1Service day1Service;
+    private final SolutionCache solutionCache;
+    private final AdventMetrics adventMetrics;
     private static final Logger LOG = LoggerFactory.getLogger(Day1Controller.class);
 
     /**
      * Builds the Day1 Controller and injects necessary beans.
      * @param day1Service The injected service related to the Day1 Controller
+     * @param solutionCache The injected cache of previously solved inputs
+     * @param adventMetrics The injected metrics of each request phase
      */
-    public Day1Controller(Day1Service day1Service) {
+    public Day1Controller(Day1Service day1Service, SolutionCache solutionCache, AdventMetrics adventMetrics) {
         this.day1Service = day1Service;
+        this.solutionCache = solutionCache;
+        this.adventMetrics = adventMetrics;
     }
 
     /**
@@ -33,32 +51,140 @@ public class Day1Controller {
      */
     @POST
     @Path("part1")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part1Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
         try {
-            long day1Answer = this.day1Service.part1Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day1Answer);
+            long day1Answer = this.solutionCache.solve(DAY, 1, file.uploadedFile().toFile(), metrics.parsed(upload -> this.day1Service.parseDay1File(upload, 1), this.day1Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day1Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 1 part 1 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part1")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part1StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
+        try {
+            long day1Answer = this.solutionCache.solve(DAY, 1, body, metrics.stream(this.day1Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day1Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
     /**
      * Solves the problem file provided for day 1 part 2 of Advent of Code 2022
      * @param file The problem file
+     * @param topK The number of highest calorie totals to sum, defaulting to 3
      * @return A response containing the status of the request and the result
      */
     @POST
     @Path("part2")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part2Endpoint(@RestForm("file") FileUpload file, @RestQuery Integer topK) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
+        try {
+            long day1Answer;
+            if (topK == null || topK == Day1Service.DEFAULT_TOP_K) {
+                day1Answer = this.solutionCache.solve(DAY, 2, file.uploadedFile().toFile(), metrics.parsed(upload -> this.day1Service.parseDay1File(upload, Day1Service.DEFAULT_TOP_K), this.day1Service::part2Solve));
+            } else {
+                // Answers are only cached for the default topK
+                day1Answer = metrics.solve(file.uploadedFile().toFile(), upload -> this.day1Service.parseDay1File(upload, topK), this.day1Service::part2Solve);
+            }
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day1Answer));
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(Response.Status.BAD_REQUEST, ex.getMessage()));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 1 part 2 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @param topK The number of highest calorie totals to sum, defaulting to 3
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part2")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part2StreamEndpoint(InputStream body, @RestQuery Integer topK) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
+        try {
+            long day1Answer;
+            if (topK == null || topK == Day1Service.DEFAULT_TOP_K) {
+                day1Answer = this.solutionCache.solve(DAY, 2, body, metrics.stream(this.day1Service::part2Solve));
+            } else {
+                // Answers are only cached for the default topK
+                day1Answer = metrics.solve(body, stream -> this.day1Service.part2Solve(stream, topK));
+            }
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day1Answer));
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(Response.Status.BAD_REQUEST, ex.getMessage()));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem file provided for day 1 of Advent of Code 2022.
+     * The file is parsed once and the parts are solved in parallel.
+     * @param file The problem file
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothEndpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
+        try {
+            AdventSolutionModel<Long, Long> day1Answer = metrics.solve(file.uploadedFile().toFile(), upload -> this.day1Service.parseDay1File(upload, Day1Service.DEFAULT_TOP_K), this.day1Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day1Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem provided as the raw request body for day 1 of Advent of Code 2022.
+     * The body is streamed into the parser once and the parts are solved in parallel.
+     * @param body The problem input
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
     @Produces(MediaType.APPLICATION_JSON)
-    public Response part2Endpoint(@RestForm("file") FileUpload file) {
+    public Response bothStreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
         try {
-            long day1Answer = this.day1Service.part2Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day1Answer);
+            AdventSolutionModel<Long, Long> day1Answer = metrics.solve(body, this.day1Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day1Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
@@ -1,29 +1,61 @@
 package org.brandon.api.advent2022;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.brandon.api.util.AdventMetrics;
+import org.brandon.api.util.RequestMetrics;
 import org.brandon.api.util.ResponseCreation;
+import org.brandon.api.util.ScoringTables;
+import org.brandon.api.util.SolutionCache;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day2ScoringTable;
 import org.brandon.services.advent2022.Day2Service;
 import org.jboss.resteasy.reactive.RestForm;
+import org.jboss.resteasy.reactive.RestPath;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Optional;
+
+import static org.brandon.core.constants.ResponseConstants.*;
+
 @Path("/v1/advent2022/day2")
+@RunOnVirtualThread
 public class Day2Controller {
 
+    private static final int DAY = 2;
+    private static final String SCORE = "score";
+
     private final Day2Service day2Service;
+    private final SolutionCache solutionCache;
+    private final ScoringTables scoringTables;
+    private final AdventMetrics adventMetrics;
     private static final Logger LOG = LoggerFactory.getLogger(Day2Controller.class);
 
     /**
      * Builds the Day2 Controller and injects necessary beans.
      * @param day2Service The injected service related to the Day2 Controller
+     * @param solutionCache The injected cache of previously solved inputs
+     * @param scoringTables The injected store of compiled scoring tables
+     * @param adventMetrics The injected metrics of each request phase
      */
-    public Day2Controller(Day2Service day2Service) {
+    public Day2Controller(Day2Service day2Service, SolutionCache solutionCache, ScoringTables scoringTables,
+                          AdventMetrics adventMetrics) {
         this.day2Service = day2Service;
+        this.solutionCache = solutionCache;
+        this.scoringTables = scoringTables;
+        this.adventMetrics = adventMetrics;
     }
 
     /**
@@ -33,14 +65,37 @@ public class Day2Controller {
      */
     @POST
     @Path("part1")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part1Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
+        try {
+            long day2Answer = solutionCache.solve(DAY, 1, file.uploadedFile().toFile(), metrics.parsed(day2Service::parseDay2File, day2Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day2Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 2 part 1 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part1")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part1StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
         try {
-            long day2Answer = day2Service.part1Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day2Answer);
+            long day2Answer = solutionCache.solve(DAY, 1, body, metrics.stream(day2Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day2Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
@@ -51,15 +106,207 @@ public class Day2Controller {
      */
     @POST
     @Path("part2")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part2Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
         try {
-            long day2Answer = day2Service.part2Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day2Answer);
+            long day2Answer = solutionCache.solve(DAY, 2, file.uploadedFile().toFile(), metrics.parsed(day2Service::parseDay2File, day2Service::part2Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day2Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 2 part 2 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part2")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part2StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
+        try {
+            long day2Answer = solutionCache.solve(DAY, 2, body, metrics.stream(day2Service::part2Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day2Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem file provided for day 2 of Advent of Code 2022.
+     * The file is parsed once and the parts are solved in parallel.
+     * @param file The problem file
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothEndpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
+        try {
+            AdventSolutionModel<Long, Long> day2Answer = metrics.solve(file.uploadedFile().toFile(), day2Service::parseDay2File, day2Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day2Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem provided as the raw request body for day 2 of Advent of Code 2022.
+     * The body is streamed into the parser once and the parts are solved in parallel.
+     * @param body The problem input
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothStreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
+        try {
+            AdventSolutionModel<Long, Long> day2Answer = metrics.solve(body, day2Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day2Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Compiles a scoring matrix so strategy guides can be scored against it, such as a table for
+     * rock-paper-scissors-lizard-Spock. Submitting the same table again returns the same id.
+     * @param definition The table as JSON, with a string of opponent choices, a string of responses and the points
+     * of each round as an array holding a row for each opponent choice with a column for each response
+     * @return A response with a status of 201 containing the id of the table, or a status of 400 when the table is
+     * invalid
+     */
+    @POST
+    @Path("tables")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response createTableEndpoint(JsonObject definition) {
+        try {
+            Day2ScoringTable table = parseTable(definition);
+            String id = this.scoringTables.register(table);
+            Response response = ResponseCreation.buildAdventTableResponse(Response.Status.CREATED, id, table);
+            return Response.fromResponse(response)
+                    .location(URI.create("/v1/advent2022/day2/tables/" + id))
+                    .build();
+        } catch (IllegalArgumentException | ClassCastException ex) {
+            LOG.error(ex.getMessage());
+            return ResponseCreation.buildAdventFailureResponse(Response.Status.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    /**
+     * Looks up a compiled scoring table.
+     * @param id The id of the table, or part1 or part2 for the tables of each part
+     * @return A response containing the table, or a status of 404 when no table has the id
+     */
+    @GET
+    @Path("tables/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response tableEndpoint(@RestPath String id) {
+        Optional<Day2ScoringTable> table = this.scoringTables.find(id);
+        if (table.isEmpty()) {
+            return tableNotFound(id);
+        }
+        return ResponseCreation.buildAdventTableResponse(Response.Status.OK, id, table.get());
+    }
+
+    /**
+     * Scores the strategy guide provided against a compiled scoring table.
+     * @param id The id of the table, or part1 or part2 for the tables of each part
+     * @param file The strategy guide
+     * @return A response containing the status of the request and the total score, or a status of 404 when no table
+     * has the id
+     */
+    @POST
+    @Path("tables/{id}/score")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response scoreEndpoint(@RestPath String id, @RestForm("file") FileUpload file) {
+        Optional<Day2ScoringTable> table = this.scoringTables.find(id);
+        if (table.isEmpty()) {
+            return tableNotFound(id);
+        }
+        RequestMetrics metrics = this.adventMetrics.request(DAY, SCORE);
+        try {
+            long day2Answer = metrics.solve(file.uploadedFile().toFile(), upload -> day2Service.parseDay2File(upload, table.get()), table.get()::score);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day2Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Scores the strategy guide provided as the raw request body against a compiled scoring table.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param id The id of the table, or part1 or part2 for the tables of each part
+     * @param body The strategy guide
+     * @return A response containing the status of the request and the total score, or a status of 404 when no table
+     * has the id
+     */
+    @POST
+    @Path("tables/{id}/score")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response scoreStreamEndpoint(@RestPath String id, InputStream body) {
+        Optional<Day2ScoringTable> table = this.scoringTables.find(id);
+        if (table.isEmpty()) {
+            return tableNotFound(id);
+        }
+        RequestMetrics metrics = this.adventMetrics.request(DAY, SCORE);
+        try {
+            long day2Answer = metrics.solve(body, stream -> day2Service.scoreSolve(stream, table.get()));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day2Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    private static Response tableNotFound(String id) {
+        return ResponseCreation.buildAdventFailureResponse(Response.Status.NOT_FOUND, "No scoring table found with id " + id);
+    }
+
+    /**
+     * Reads a scoring matrix from its JSON definition.
+     * @param definition The table as JSON
+     * @return The compiled table
+     */
+    private static Day2ScoringTable parseTable(JsonObject definition) {
+        if (definition == null || definition.getJsonArray(POINTS) == null) {
+            throw new IllegalArgumentException("Opponents, responses and points are required");
+        }
+        JsonArray rows = definition.getJsonArray(POINTS);
+        int[][] points = new int[rows.size()][];
+        for (int opponent = 0; opponent < points.length; opponent++) {
+            JsonArray columns = rows.getJsonArray(opponent);
+            if (columns == null) {
+                throw new IllegalArgumentException("Each row of points must be an array");
+            }
+            points[opponent] = new int[columns.size()];
+            for (int response = 0; response < columns.size(); response++) {
+                Integer point = columns.getInteger(response);
+                if (point == null) {
+                    throw new IllegalArgumentException("Each point must be a number");
+                }
+                points[opponent][response] = point;
+            }
         }
+        return new Day2ScoringTable(definition.getString(OPPONENTS), definition.getString(RESPONSES), points);
     }
 
 }
@@ -1,29 +1,53 @@
 package org.brandon.api.advent2022;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.brandon.api.util.AdventMetrics;
+import org.brandon.api.util.RequestMetrics;
 import org.brandon.api.util.ResponseCreation;
+import org.brandon.api.util.SolutionCache;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day3Query;
 import org.brandon.services.advent2022.Day3Service;
 import org.jboss.resteasy.reactive.RestForm;
+import org.jboss.resteasy.reactive.RestQuery;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Path("/v1/advent2022/day3")
+@RunOnVirtualThread
 public class Day3Controller {
 
+    private static final int DAY = 3;
+    private static final String QUERY = "query";
+    private static final List<String> DEFAULT_QUERIES = List.of("halves:1", "whole:3");
+
     private final Day3Service day3Service;
+    private final SolutionCache solutionCache;
+    private final AdventMetrics adventMetrics;
     private static final Logger LOG = LoggerFactory.getLogger(Day3Controller.class);
 
     /**
      * Builds the Day3 Controller and injects necessary beans.
      * @param day3Service The injected service related to the Day3 Controller
+     * @param solutionCache The injected cache of previously solved inputs
+     * @param adventMetrics The injected metrics of each request phase
      */
-    public Day3Controller(Day3Service day3Service) {
+    public Day3Controller(Day3Service day3Service, SolutionCache solutionCache, AdventMetrics adventMetrics) {
         this.day3Service = day3Service;
+        this.solutionCache = solutionCache;
+        this.adventMetrics = adventMetrics;
     }
 
     /**
@@ -33,14 +57,37 @@ public class Day3Controller {
      */
     @POST
     @Path("part1")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part1Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
         try {
-            long day3Answer = day3Service.part1Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day3Answer);
+            long day3Answer = solutionCache.solve(DAY, 1, file.uploadedFile().toFile(), metrics.mapped(day3Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day3Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 3 part 1 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part1")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part1StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
+        try {
+            long day3Answer = solutionCache.solve(DAY, 1, body, metrics.stream(day3Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day3Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
@@ -51,15 +98,150 @@ public class Day3Controller {
      */
     @POST
     @Path("part2")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part2Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
+        try {
+            long day3Answer = solutionCache.solve(DAY, 2, file.uploadedFile().toFile(), metrics.mapped(day3Service::part2Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day3Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 3 part 2 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part2")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part2StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
         try {
-            long day3Answer = day3Service.part2Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day3Answer);
+            long day3Answer = solutionCache.solve(DAY, 2, body, metrics.stream(day3Service::part2Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day3Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem file provided for day 3 of Advent of Code 2022.
+     * The file is parsed once and the parts are solved in parallel.
+     * @param file The problem file
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothEndpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
+        try {
+            AdventSolutionModel<Long, Long> day3Answer = metrics.solve(file.uploadedFile().toFile(), day3Service::parseDay3Part1File, day3Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day3Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem provided as the raw request body for day 3 of Advent of Code 2022.
+     * The body is streamed into the parser once and the parts are solved in parallel.
+     * @param body The problem input
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothStreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
+        try {
+            AdventSolutionModel<Long, Long> day3Answer = metrics.solve(body, day3Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day3Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Sums the priorities of the common items of the problem file provided for day 3 of Advent of Code 2022 for any
+     * number of ways of grouping the rucksacks, all from a single read of the file.
+     * @param file The problem file
+     * @param query The ways of grouping the rucksacks, each of the form {@code <split>[:<groupSize>[:sliding]]} where
+     * the split is whole, halves or thirds, defaulting to both parts as halves:1 and whole:3
+     * @return A response containing the status of the request and the answer to each query, or a status of 400 when
+     * a query is invalid
+     */
+    @POST
+    @Path("query")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response queryEndpoint(@RestForm("file") FileUpload file, @RestQuery List<String> query) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, QUERY);
+        try {
+            List<Day3Query> queries = parseQueries(query);
+            long[] day3Answers = metrics.mapped(upload -> day3Service.querySolve(upload, queries)).solve(file.uploadedFile().toFile());
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(answers(queries, day3Answers)));
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(Response.Status.BAD_REQUEST, ex.getMessage()));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Sums the priorities of the common items of the problem provided as the raw request body for day 3 of Advent of
+     * Code 2022 for any number of ways of grouping the rucksacks, all in a single pass as the body arrives.
+     * @param body The problem input
+     * @param query The ways of grouping the rucksacks, each of the form {@code <split>[:<groupSize>[:sliding]]} where
+     * the split is whole, halves or thirds, defaulting to both parts as halves:1 and whole:3
+     * @return A response containing the status of the request and the answer to each query, or a status of 400 when
+     * a query is invalid
+     */
+    @POST
+    @Path("query")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response queryStreamEndpoint(InputStream body, @RestQuery List<String> query) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, QUERY);
+        try {
+            List<Day3Query> queries = parseQueries(query);
+            long[] day3Answers = metrics.solve(body, stream -> day3Service.querySolve(stream, queries));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(answers(queries, day3Answers)));
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(Response.Status.BAD_REQUEST, ex.getMessage()));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    private static List<Day3Query> parseQueries(List<String> query) {
+        return (query == null || query.isEmpty() ? DEFAULT_QUERIES : query).stream()
+                .map(Day3Query::parse)
+                .toList();
+    }
+
+    private static Map<String, Long> answers(List<Day3Query> queries, long[] day3Answers) {
+        Map<String, Long> answers = new LinkedHashMap<>();
+        for (int i = 0; i < queries.size(); i++) {
+            answers.put(queries.get(i).toString(), day3Answers[i]);
         }
+        return answers;
     }
 
 }
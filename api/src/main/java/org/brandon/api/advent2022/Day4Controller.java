@@ -1,29 +1,61 @@
 package org.brandon.api.advent2022;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.brandon.api.util.AdventMetrics;
+import org.brandon.api.util.InputIndexes;
+import org.brandon.api.util.RequestMetrics;
 import org.brandon.api.util.ResponseCreation;
+import org.brandon.api.util.SectionIndexes;
+import org.brandon.api.util.SolutionCache;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day4IntervalIndex;
 import org.brandon.services.advent2022.Day4Service;
 import org.jboss.resteasy.reactive.RestForm;
+import org.jboss.resteasy.reactive.RestPath;
+import org.jboss.resteasy.reactive.RestQuery;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Optional;
+
 @Path("/v1/advent2022/day4")
+@RunOnVirtualThread
 public class Day4Controller {
 
+    private static final int DAY = 4;
+    private static final String INDEX = "index";
+    private static final String DEFAULT_LIMIT = "100";
+
     private final Day4Service day4Service;
+    private final SolutionCache solutionCache;
+    private final SectionIndexes sectionIndexes;
+    private final AdventMetrics adventMetrics;
     private static final Logger LOG = LoggerFactory.getLogger(Day4Controller.class);
 
     /**
      * Builds the Day4 Controller and injects necessary beans.
      * @param day4Service The injected service related to the Day4 Controller
+     * @param solutionCache The injected cache of previously solved inputs
+     * @param sectionIndexes The injected store of indexed inputs
+     * @param adventMetrics The injected metrics of each request phase
      */
-    public Day4Controller(Day4Service day4Service) {
+    public Day4Controller(Day4Service day4Service, SolutionCache solutionCache, SectionIndexes sectionIndexes,
+                          AdventMetrics adventMetrics) {
         this.day4Service = day4Service;
+        this.solutionCache = solutionCache;
+        this.sectionIndexes = sectionIndexes;
+        this.adventMetrics = adventMetrics;
     }
 
     /**
@@ -33,14 +65,37 @@ public class Day4Controller {
      */
     @POST
     @Path("part1")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part1Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
+        try {
+            long day4Answer = solutionCache.solve(DAY, 1, file.uploadedFile().toFile(), metrics.mapped(day4Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day4Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 4 part 1 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part1")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part1StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
         try {
-            long day4Answer = day4Service.part1Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day4Answer);
+            long day4Answer = solutionCache.solve(DAY, 1, body, metrics.stream(day4Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day4Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
@@ -51,15 +106,220 @@ public class Day4Controller {
      */
     @POST
     @Path("part2")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part2Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
+        try {
+            long day4Answer = solutionCache.solve(DAY, 2, file.uploadedFile().toFile(), metrics.mapped(day4Service::part2Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day4Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 4 part 2 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part2")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part2StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
+        try {
+            long day4Answer = solutionCache.solve(DAY, 2, body, metrics.stream(day4Service::part2Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day4Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem file provided for day 4 of Advent of Code 2022.
+     * The file is parsed once and the parts are solved in parallel.
+     * @param file The problem file
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothEndpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
+        try {
+            AdventSolutionModel<Long, Long> day4Answer = metrics.solve(file.uploadedFile().toFile(), day4Service::parseDay4File, day4Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day4Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem provided as the raw request body for day 4 of Advent of Code 2022.
+     * The body is streamed into the parser once and the parts are solved in parallel.
+     * @param body The problem input
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothStreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
+        try {
+            AdventSolutionModel<Long, Long> day4Answer = metrics.solve(body, day4Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day4Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Indexes the section assignments of the problem file provided for day 4 of Advent of Code 2022, so coverage and
+     * overlap questions can be asked of it. Submitting the same input again returns the same id without parsing it.
+     * @param file The problem file
+     * @return A response with a status of 201 containing the id of the index, the number of pairs and the deepest
+     * coverage of any section
+     */
+    @POST
+    @Path("index")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response indexEndpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, INDEX);
+        try {
+            InputIndexes.Indexed<Day4IntervalIndex> day4Index = sectionIndexes.index(file.uploadedFile().toFile(), metrics.parsed(day4Service::parseDay4File, day4Service::indexDay4File));
+            return metrics.success(() -> indexCreated(day4Index));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Indexes the section assignments of the problem provided as the raw request body for day 4 of Advent of Code
+     * 2022, so coverage and overlap questions can be asked of it.
+     * The body is streamed into the parser as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response with a status of 201 containing the id of the index, the number of pairs and the deepest
+     * coverage of any section
+     */
+    @POST
+    @Path("index")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response indexStreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, INDEX);
         try {
-            long day4Answer = day4Service.part2Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day4Answer);
+            InputIndexes.Indexed<Day4IntervalIndex> day4Index = sectionIndexes.index(body, metrics.stream(day4Service::indexDay4File));
+            return metrics.success(() -> indexCreated(day4Index));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Looks up an indexed input.
+     * @param id The id of the index
+     * @return A response containing the number of pairs and the deepest coverage of any section, or a status of 404
+     * when no index has the id
+     */
+    @GET
+    @Path("index/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response indexLookupEndpoint(@RestPath String id) {
+        Optional<Day4IntervalIndex> index = this.sectionIndexes.find(id);
+        if (index.isEmpty()) {
+            return indexNotFound(id);
+        }
+        return ResponseCreation.buildAdventIndexResponse(Response.Status.OK, id, index.get());
+    }
+
+    /**
+     * Lists the assignments of an indexed input which include a section.
+     * @param id The id of the index
+     * @param section The section
+     * @param limit The most assignments to list, defaulting to 100
+     * @return A response containing the number of assignments including the section and the first of them by their
+     * first section, a status of 400 when the section is missing or the limit is negative, or a status of 404 when no
+     * index has the id
+     */
+    @GET
+    @Path("index/{id}/covering")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response coveringEndpoint(@RestPath String id, @RestQuery Integer section,
+                                     @RestQuery @DefaultValue(DEFAULT_LIMIT) int limit) {
+        Optional<Day4IntervalIndex> index = this.sectionIndexes.find(id);
+        if (index.isEmpty()) {
+            return indexNotFound(id);
+        }
+        try {
+            if (section == null) {
+                throw new IllegalArgumentException("section is required");
+            }
+            int[] assignments = index.get().covering(section, limit);
+            return ResponseCreation.buildAdventAssignmentsResponse(
+                    index.get().countOverlapping(section, section), index.get(), assignments);
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            return ResponseCreation.buildAdventFailureResponse(Response.Status.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    /**
+     * Lists the assignments of an indexed input which share at least one section with a range, so the pairs working
+     * anywhere in the range are found.
+     * @param id The id of the index
+     * @param start The first section of the range
+     * @param end The last section of the range
+     * @param limit The most assignments to list, defaulting to 100
+     * @return A response containing the number of assignments overlapping the range and the first of them by their
+     * first section, a status of 400 when the range is missing or invalid or the limit is negative, or a status of
+     * 404 when no index has the id
+     */
+    @GET
+    @Path("index/{id}/overlapping")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response overlappingEndpoint(@RestPath String id, @RestQuery Integer start, @RestQuery Integer end,
+                                        @RestQuery @DefaultValue(DEFAULT_LIMIT) int limit) {
+        Optional<Day4IntervalIndex> index = this.sectionIndexes.find(id);
+        if (index.isEmpty()) {
+            return indexNotFound(id);
+        }
+        try {
+            if (start == null || end == null) {
+                throw new IllegalArgumentException("start and end are required");
+            }
+            if (end < start) {
+                throw new IllegalArgumentException("end must not be before start");
+            }
+            int[] assignments = index.get().overlapping(start, end, limit);
+            return ResponseCreation.buildAdventAssignmentsResponse(
+                    index.get().countOverlapping(start, end), index.get(), assignments);
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            return ResponseCreation.buildAdventFailureResponse(Response.Status.BAD_REQUEST, ex.getMessage());
         }
     }
 
+    private static Response indexCreated(InputIndexes.Indexed<Day4IntervalIndex> indexed) {
+        Response response = ResponseCreation.buildAdventIndexResponse(Response.Status.CREATED, indexed.id(), indexed.index());
+        return Response.fromResponse(response)
+                .location(URI.create("/v1/advent2022/day4/index/" + indexed.id()))
+                .build();
+    }
+
+    private static Response indexNotFound(String id) {
+        return ResponseCreation.buildAdventFailureResponse(Response.Status.NOT_FOUND, "No section index found with id " + id);
+    }
+
 }
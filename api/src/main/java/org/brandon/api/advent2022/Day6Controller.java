@@ -1,29 +1,53 @@
 package org.brandon.api.advent2022;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.brandon.api.util.AdventMetrics;
+import org.brandon.api.util.RequestMetrics;
 import org.brandon.api.util.ResponseCreation;
+import org.brandon.api.util.SolutionCache;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day6Markers;
 import org.brandon.services.advent2022.Day6Service;
 import org.jboss.resteasy.reactive.RestForm;
+import org.jboss.resteasy.reactive.RestQuery;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+import java.util.List;
+
 @Path("/v1/advent2022/day6")
+@RunOnVirtualThread
 public class Day6Controller {
 
+    private static final int DAY = 6;
+    private static final String MARKERS = "markers";
+    private static final String DEFAULT_LIMIT = "100";
+    private static final int[] DEFAULT_WINDOWS = {4, 14};
+
     private final Day6Service day6Service;
+    private final SolutionCache solutionCache;
+    private final AdventMetrics adventMetrics;
     private static final Logger LOG = LoggerFactory.getLogger(Day6Controller.class);
 
     /**
      * Builds the Day6 Controller and injects necessary beans.
      * @param day6Service The injected service related to the Day6 Controller
+     * @param solutionCache The injected cache of previously solved inputs
+     * @param adventMetrics The injected metrics of each request phase
      */
-    public Day6Controller(Day6Service day6Service) {
+    public Day6Controller(Day6Service day6Service, SolutionCache solutionCache, AdventMetrics adventMetrics) {
         this.day6Service = day6Service;
+        this.solutionCache = solutionCache;
+        this.adventMetrics = adventMetrics;
     }
 
     /**
@@ -33,15 +57,39 @@ public class Day6Controller {
      */
     @POST
     @Path("part1")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part1Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
         try {
             int smallWindow = 4;
-            long day6Answer = day6Service.solve(file.uploadedFile().toFile(), smallWindow);
-            return ResponseCreation.buildAdventSuccessResponse(day6Answer);
+            long day6Answer = solutionCache.solve(DAY, 1, file.uploadedFile().toFile(), metrics.mapped(upload -> day6Service.solve(upload, smallWindow)));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day6Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 6 part 1 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part1")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part1StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
+        try {
+            int smallWindow = 4;
+            long day6Answer = solutionCache.solve(DAY, 1, body, metrics.stream(input -> day6Service.solve(input, smallWindow)));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day6Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
@@ -52,16 +100,149 @@ public class Day6Controller {
      */
     @POST
     @Path("part2")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part2Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
         try {
             int bigWindow = 14;
-            long day6Answer = day6Service.solve(file.uploadedFile().toFile(), bigWindow);
-            return ResponseCreation.buildAdventSuccessResponse(day6Answer);
+            long day6Answer = solutionCache.solve(DAY, 2, file.uploadedFile().toFile(), metrics.mapped(upload -> day6Service.solve(upload, bigWindow)));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day6Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 6 part 2 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part2")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part2StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
+        try {
+            int bigWindow = 14;
+            long day6Answer = solutionCache.solve(DAY, 2, body, metrics.stream(input -> day6Service.solve(input, bigWindow)));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day6Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem file provided for day 6 of Advent of Code 2022.
+     * Both markers are found in a single read of the file.
+     * @param file The problem file
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothEndpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
+        try {
+            AdventSolutionModel<Long, Long> day6Answer = metrics.solve(file.uploadedFile().toFile(), day6Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day6Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
+    /**
+     * Solves both parts of the problem provided as the raw request body for day 6 of Advent of Code 2022.
+     * Both markers are found in a single pass as the body arrives.
+     * @param body The problem input
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothStreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
+        try {
+            AdventSolutionModel<Long, Long> day6Answer = metrics.solve(body, day6Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day6Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Finds the markers of any number of window sizes in the problem file provided for day 6 of Advent of Code 2022,
+     * all from a single read of the file.
+     * @param file The problem file
+     * @param window The numbers of distinct characters that make up each marker, defaulting to 4 and 14
+     * @param all Whether every marker is counted and listed, rather than only the first of each window size
+     * @param limit The most marker positions listed for each window size when all are asked for, defaulting to 100
+     * @return A response containing the status of the request and the markers of each window size, or a status of 400
+     * when a window size or the limit is invalid
+     */
+    @POST
+    @Path("markers")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response markersEndpoint(@RestForm("file") FileUpload file, @RestQuery List<Integer> window,
+                                    @RestQuery boolean all, @RestQuery @DefaultValue(DEFAULT_LIMIT) int limit) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, MARKERS);
+        try {
+            Day6Markers markers = markers(window, all, limit);
+            Day6Markers day6Answer = metrics.mapped(upload -> day6Service.markerSolve(upload, markers)).solve(file.uploadedFile().toFile());
+            return metrics.success(() -> ResponseCreation.buildAdventMarkersResponse(day6Answer));
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(Response.Status.BAD_REQUEST, ex.getMessage()));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Finds the markers of any number of window sizes in the problem provided as the raw request body for day 6 of
+     * Advent of Code 2022, all in a single pass as the body arrives.
+     * @param body The problem input
+     * @param window The numbers of distinct characters that make up each marker, defaulting to 4 and 14
+     * @param all Whether every marker is counted and listed, rather than only the first of each window size
+     * @param limit The most marker positions listed for each window size when all are asked for, defaulting to 100
+     * @return A response containing the status of the request and the markers of each window size, or a status of 400
+     * when a window size or the limit is invalid
+     */
+    @POST
+    @Path("markers")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response markersStreamEndpoint(InputStream body, @RestQuery List<Integer> window,
+                                          @RestQuery boolean all, @RestQuery @DefaultValue(DEFAULT_LIMIT) int limit) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, MARKERS);
+        try {
+            Day6Markers markers = markers(window, all, limit);
+            Day6Markers day6Answer = metrics.solve(body, stream -> day6Service.markerSolve(stream, markers));
+            return metrics.success(() -> ResponseCreation.buildAdventMarkersResponse(day6Answer));
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(Response.Status.BAD_REQUEST, ex.getMessage()));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    private static Day6Markers markers(List<Integer> window, boolean all, int limit) {
+        int[] windowSizes = window == null || window.isEmpty()
+                ? DEFAULT_WINDOWS
+                : window.stream().mapToInt(Integer::intValue).toArray();
+        return all ? new Day6Markers(windowSizes, limit) : new Day6Markers(windowSizes);
+    }
+
 }
@@ -1,29 +1,62 @@
 package org.brandon.api.advent2022;
 
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.brandon.api.util.AdventMetrics;
+import org.brandon.api.util.DirectoryIndexes;
+import org.brandon.api.util.InputIndexes;
+import org.brandon.api.util.RequestMetrics;
 import org.brandon.api.util.ResponseCreation;
+import org.brandon.api.util.SolutionCache;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day7SizeIndex;
 import org.brandon.services.advent2022.Day7Service;
 import org.jboss.resteasy.reactive.RestForm;
+import org.jboss.resteasy.reactive.RestPath;
+import org.jboss.resteasy.reactive.RestQuery;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Optional;
+
 @Path("/v1/advent2022/day7")
+@RunOnVirtualThread
 public class Day7Controller {
 
+    private static final int DAY = 7;
+    private static final String INDEX = "index";
+    private static final String DEFAULT_LIMIT = "100";
+    private static final String DEFAULT_K = "10";
+
     private final Day7Service day7Service;
+    private final SolutionCache solutionCache;
+    private final DirectoryIndexes directoryIndexes;
+    private final AdventMetrics adventMetrics;
     private static final Logger LOG = LoggerFactory.getLogger(Day7Controller.class);
 
     /**
      * Builds the Day7 Controller and injects necessary beans.
      * @param day7Service The injected service related to the Day7 Controller
+     * @param solutionCache The injected cache of previously solved inputs
+     * @param directoryIndexes The injected store of indexed inputs
+     * @param adventMetrics The injected metrics of each request phase
      */
-    public Day7Controller(Day7Service day7Service) {
+    public Day7Controller(Day7Service day7Service, SolutionCache solutionCache, DirectoryIndexes directoryIndexes,
+                          AdventMetrics adventMetrics) {
         this.day7Service = day7Service;
+        this.solutionCache = solutionCache;
+        this.directoryIndexes = directoryIndexes;
+        this.adventMetrics = adventMetrics;
     }
 
     /**
@@ -33,14 +66,37 @@ public class Day7Controller {
      */
     @POST
     @Path("part1")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part1Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
+        try {
+            long day7Answer = solutionCache.solve(DAY, 1, file.uploadedFile().toFile(), metrics.parsed(day7Service::parseDay7File, day7Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day7Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves the problem provided as the raw request body for day 7 part 1 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part1")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part1StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 1);
         try {
-            long day7Answer = day7Service.part1Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day7Answer);
+            long day7Answer = solutionCache.solve(DAY, 1, body, metrics.stream(day7Service::part1Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day7Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
@@ -51,15 +107,238 @@ public class Day7Controller {
      */
     @POST
     @Path("part2")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
     public Response part2Endpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
         try {
-            long day7Answer = day7Service.part2Solve(file.uploadedFile().toFile());
-            return ResponseCreation.buildAdventSuccessResponse(day7Answer);
+            long day7Answer = solutionCache.solve(DAY, 2, file.uploadedFile().toFile(), metrics.parsed(day7Service::parseDay7File, day7Service::part2Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day7Answer));
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
-            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
         }
     }
 
+    /**
+     * Solves the problem provided as the raw request body for day 7 part 2 of Advent of Code 2022.
+     * The body is streamed into the solver as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response containing the status of the request and the result
+     */
+    @POST
+    @Path("part2")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response part2StreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, 2);
+        try {
+            long day7Answer = solutionCache.solve(DAY, 2, body, metrics.stream(day7Service::part2Solve));
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day7Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem file provided for day 7 of Advent of Code 2022.
+     * The file is parsed once and the parts are solved in parallel.
+     * @param file The problem file
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothEndpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
+        try {
+            AdventSolutionModel<Long, Long> day7Answer = metrics.solve(file.uploadedFile().toFile(), day7Service::parseDay7File, day7Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day7Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Solves both parts of the problem provided as the raw request body for day 7 of Advent of Code 2022.
+     * The body is streamed into the parser once and the parts are solved in parallel.
+     * @param body The problem input
+     * @return A response containing the status of the request along with the result and elapsed time of each part
+     */
+    @POST
+    @Path("both")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response bothStreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.requestBoth(DAY);
+        try {
+            AdventSolutionModel<Long, Long> day7Answer = metrics.solve(body, day7Service::bothSolve);
+            return metrics.success(() -> ResponseCreation.buildAdventSuccessResponse(day7Answer));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Indexes the directory sizes of the problem file provided for day 7 of Advent of Code 2022, so size questions can
+     * be asked of it. Submitting the same input again returns the same id without parsing it.
+     * @param file The problem file
+     * @return A response with a status of 201 containing the id of the index, the number of directories and the total
+     * size of every file
+     */
+    @POST
+    @Path("index")
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response indexEndpoint(@RestForm("file") FileUpload file) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, INDEX);
+        try {
+            InputIndexes.Indexed<Day7SizeIndex> day7Index = directoryIndexes.index(file.uploadedFile().toFile(), metrics.parsed(day7Service::parseDay7File, Day7SizeIndex::new));
+            return metrics.success(() -> indexCreated(day7Index));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Indexes the directory sizes of the problem provided as the raw request body for day 7 of Advent of Code 2022, so
+     * size questions can be asked of it.
+     * The body is streamed into the parser as it arrives and never written to a temporary file.
+     * @param body The problem input
+     * @return A response with a status of 201 containing the id of the index, the number of directories and the total
+     * size of every file
+     */
+    @POST
+    @Path("index")
+    @Consumes({MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response indexStreamEndpoint(InputStream body) {
+        RequestMetrics metrics = this.adventMetrics.request(DAY, INDEX);
+        try {
+            InputIndexes.Indexed<Day7SizeIndex> day7Index = directoryIndexes.index(body, metrics.stream(day7Service::indexDay7File));
+            return metrics.success(() -> indexCreated(day7Index));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return metrics.failure(() -> ResponseCreation.buildAdventFailureResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Looks up an indexed input.
+     * @param id The id of the index
+     * @return A response containing the number of directories and the total size of every file, or a status of 404
+     * when no index has the id
+     */
+    @GET
+    @Path("index/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response indexLookupEndpoint(@RestPath String id) {
+        Optional<Day7SizeIndex> index = this.directoryIndexes.find(id);
+        if (index.isEmpty()) {
+            return indexNotFound(id);
+        }
+        return ResponseCreation.buildAdventDirectoryIndexResponse(Response.Status.OK, id, index.get());
+    }
+
+    /**
+     * Lists the directories of an indexed input with a total size of at most a bound, largest first.
+     * @param id The id of the index
+     * @param max The largest total size listed
+     * @param limit The most directories to list, defaulting to 100
+     * @return A response containing the number of directories of at most the bound, the sum of their total sizes and
+     * the largest of them, a status of 400 when the bound is missing or the limit is negative, or a status of 404 when
+     * no index has the id
+     */
+    @GET
+    @Path("index/{id}/at-most")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response atMostEndpoint(@RestPath String id, @RestQuery Long max,
+                                   @RestQuery @DefaultValue(DEFAULT_LIMIT) int limit) {
+        Optional<Day7SizeIndex> index = this.directoryIndexes.find(id);
+        if (index.isEmpty()) {
+            return indexNotFound(id);
+        }
+        try {
+            if (max == null) {
+                throw new IllegalArgumentException("max is required");
+            }
+            int[] directories = index.get().atMost(max, limit);
+            return ResponseCreation.buildAdventDirectoriesResponse(
+                    index.get().countAtMost(max), index.get().sumAtMost(max), index.get(), directories);
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            return ResponseCreation.buildAdventFailureResponse(Response.Status.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    /**
+     * Finds the smallest directory of an indexed input which frees at least a number of bytes once deleted.
+     * @param id The id of the index
+     * @param min The number of bytes to free
+     * @return A response containing the number of directories freeing enough and the smallest of them, which lists no
+     * directory when none does, a status of 400 when the number of bytes is missing, or a status of 404 when no index
+     * has the id
+     */
+    @GET
+    @Path("index/{id}/smallest")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response smallestEndpoint(@RestPath String id, @RestQuery Long min) {
+        Optional<Day7SizeIndex> index = this.directoryIndexes.find(id);
+        if (index.isEmpty()) {
+            return indexNotFound(id);
+        }
+        try {
+            if (min == null) {
+                throw new IllegalArgumentException("min is required");
+            }
+            int smallest = index.get().smallestAtLeast(min);
+            int[] directories = smallest == -1 ? new int[0] : new int[] {smallest};
+            return ResponseCreation.buildAdventDirectoriesResponse(
+                    index.get().countAtLeast(min), null, index.get(), directories);
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            return ResponseCreation.buildAdventFailureResponse(Response.Status.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    /**
+     * Lists the largest directories of an indexed input, largest first.
+     * @param id The id of the index
+     * @param k The most directories to list, defaulting to 10
+     * @return A response containing the number of directories and the largest of them, a status of 400 when k is
+     * negative, or a status of 404 when no index has the id
+     */
+    @GET
+    @Path("index/{id}/largest")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response largestEndpoint(@RestPath String id, @RestQuery @DefaultValue(DEFAULT_K) int k) {
+        Optional<Day7SizeIndex> index = this.directoryIndexes.find(id);
+        if (index.isEmpty()) {
+            return indexNotFound(id);
+        }
+        try {
+            int[] directories = index.get().largest(k);
+            return ResponseCreation.buildAdventDirectoriesResponse(index.get().size(), null, index.get(), directories);
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            return ResponseCreation.buildAdventFailureResponse(Response.Status.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    private static Response indexCreated(InputIndexes.Indexed<Day7SizeIndex> indexed) {
+        Response response = ResponseCreation.buildAdventDirectoryIndexResponse(Response.Status.CREATED, indexed.id(), indexed.index());
+        return Response.fromResponse(response)
+                .location(URI.create("/v1/advent2022/day7/index/" + indexed.id()))
+                .build();
+    }
+
+    private static Response indexNotFound(String id) {
+        return ResponseCreation.buildAdventFailureResponse(Response.Status.NOT_FOUND, "No directory index found with id " + id);
+    }
+
 }
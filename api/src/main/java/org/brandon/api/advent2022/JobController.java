@@ -0,0 +1,131 @@
+package org.brandon.api.advent2022;
+
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.json.JsonObject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.brandon.api.util.AdventJob;
+import org.brandon.api.util.AdventJobs;
+import org.brandon.api.util.ResponseCreation;
+import org.jboss.resteasy.reactive.RestForm;
+import org.jboss.resteasy.reactive.RestPath;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.jboss.resteasy.reactive.multipart.FileUpload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import static org.brandon.core.constants.ResponseConstants.*;
+
+@Path("/v1/advent2022/jobs")
+public class JobController {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AdventJobs adventJobs;
+    private static final Logger LOG = LoggerFactory.getLogger(JobController.class);
+
+    /**
+     * Builds the Job Controller and injects necessary beans.
+     * @param adventJobs The injected pool which runs submitted jobs
+     */
+    public JobController(AdventJobs adventJobs) {
+        this.adventJobs = adventJobs;
+    }
+
+    /**
+     * Submits a problem file for any day and part of Advent of Code 2022 to be solved in the background.
+     * The response is sent as soon as the job is queued, the answer is collected later from the job.
+     * @param day The day of the challenge
+     * @param part The part of the challenge
+     * @param file The problem file
+     * @return A response with a status of 202 containing the id and status of the queued job, or a status of 503
+     * when the queue is full
+     */
+    @POST
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response submitEndpoint(@RestForm("day") Integer day, @RestForm("part") Integer part,
+                                   @RestForm("file") FileUpload file) {
+        if (day == null || part == null || file == null) {
+            return ResponseCreation.buildAdventFailureResponse(Response.Status.BAD_REQUEST,
+                    "A day, a part and a file are required");
+        }
+        try {
+            AdventJob job = this.adventJobs.submit(day, part, file.uploadedFile().toFile());
+            Response response = ResponseCreation.buildAdventJobResponse(Response.Status.ACCEPTED, job.toJson());
+            return Response.fromResponse(response)
+                    .location(URI.create("/v1/advent2022/jobs/" + job.getId()))
+                    .build();
+        } catch (RejectedExecutionException ex) {
+            LOG.error(ex.getMessage());
+            Response response = ResponseCreation.buildAdventFailureResponse(Response.Status.SERVICE_UNAVAILABLE, ex.getMessage());
+            return Response.fromResponse(response)
+                    .header("Retry-After", RETRY_AFTER_SECONDS)
+                    .build();
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            return ResponseCreation.buildAdventFailureResponse(Response.Status.BAD_REQUEST, ex.getMessage());
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            return ResponseCreation.buildAdventFailureResponse(ex.getMessage());
+        }
+    }
+
+    /**
+     * Polls a submitted job.
+     * @param id The id of the job
+     * @return A response containing the status of the job, with the answer or failure message once it has finished
+     */
+    @GET
+    @Path("{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response statusEndpoint(@RestPath String id) {
+        Optional<AdventJob> job = this.adventJobs.find(id);
+        if (job.isEmpty()) {
+            return ResponseCreation.buildAdventFailureResponse(Response.Status.NOT_FOUND, "No job found with id " + id);
+        }
+        return ResponseCreation.buildAdventJobResponse(Response.Status.OK, job.get().toJson());
+    }
+
+    /**
+     * Subscribes to a submitted job as server sent events.
+     * The current status of the job is sent straight away, followed by an event for every change of status, and the
+     * stream ends once the job has finished.
+     * @param id The id of the job
+     * @return A stream of the statuses of the job
+     */
+    @GET
+    @Path("{id}/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<JsonObject> eventsEndpoint(@RestPath String id) {
+        Optional<AdventJob> job = this.adventJobs.find(id);
+        if (job.isEmpty()) {
+            return Multi.createFrom().item(new JsonObject()
+                    .put(RESPONSE, FAILURE)
+                    .put(MESSAGE, "No job found with id " + id));
+        }
+
+        return Multi.createFrom().emitter(emitter -> {
+            Consumer<JsonObject> listener = snapshot -> {
+                emitter.emit(new JsonObject().put(RESPONSE, SUCCESS).mergeIn(snapshot));
+                if (AdventJob.Status.valueOf(snapshot.getString(STATUS).toUpperCase()).isFinished()) {
+                    emitter.complete();
+                }
+            };
+            emitter.onTermination(() -> job.get().unlisten(listener));
+            job.get().listen(listener);
+        });
+    }
+
+}
@@ -0,0 +1,157 @@
+package org.brandon.api.util;
+
+import io.vertx.core.json.JsonObject;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.brandon.core.constants.ResponseConstants.*;
+
+/**
+ * A single asynchronous solve submitted to {@link AdventJobs}.
+ * Every change of state is pushed to the listeners of the job, in order, as a JSON snapshot of the job.
+ */
+public class AdventJob {
+
+    /**
+     * The states a job moves through, always in this order.
+     */
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+
+        public String value() {
+            return this.name().toLowerCase();
+        }
+    }
+
+    private final String id;
+    private final int day;
+    private final int part;
+    private final File input;
+    private final long submittedAt;
+    private final List<Consumer<JsonObject>> listeners = new ArrayList<>();
+
+    private Status status = Status.QUEUED;
+    private Object answer;
+    private String message;
+    private long startedAt;
+    private long finishedAt;
+
+    AdventJob(String id, int day, int part, File input) {
+        this.id = id;
+        this.day = day;
+        this.part = part;
+        this.input = input;
+        this.submittedAt = System.nanoTime();
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    public int getDay() {
+        return this.day;
+    }
+
+    public int getPart() {
+        return this.part;
+    }
+
+    File getInput() {
+        return this.input;
+    }
+
+    long getSubmittedAt() {
+        return this.submittedAt;
+    }
+
+    public synchronized Status getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Builds a snapshot of the job, with the answer or failure message once it has finished.
+     * @return The id, day, part and status of the job, along with how long it waited and ran
+     */
+    public synchronized JsonObject toJson() {
+        JsonObject json = new JsonObject()
+                .put(ID, this.id)
+                .put(DAY, this.day)
+                .put(PART, this.part)
+                .put(STATUS, this.status.value());
+        if (this.status != Status.QUEUED) {
+            json.put(WAIT_NANOS, this.startedAt - this.submittedAt);
+        }
+        if (this.status == Status.SUCCEEDED) {
+            json.put(ANSWER, this.answer);
+        } else if (this.status == Status.FAILED) {
+            json.put(MESSAGE, this.message);
+        }
+        if (this.status.isFinished()) {
+            json.put(ELAPSED_NANOS, this.finishedAt - this.startedAt);
+        }
+        return json;
+    }
+
+    /**
+     * Listens to the job, the listener is immediately given the current snapshot and then one for every change.
+     * @param listener The listener of the job
+     */
+    public synchronized void listen(Consumer<JsonObject> listener) {
+        listener.accept(this.toJson());
+        if (!this.status.isFinished()) {
+            this.listeners.add(listener);
+        }
+    }
+
+    /**
+     * Stops a listener from receiving further snapshots.
+     * @param listener The listener of the job
+     */
+    public synchronized void unlisten(Consumer<JsonObject> listener) {
+        this.listeners.remove(listener);
+    }
+
+    synchronized boolean start() {
+        if (this.status != Status.QUEUED) {
+            return false;
+        }
+        this.startedAt = System.nanoTime();
+        this.update(Status.RUNNING);
+        return true;
+    }
+
+    synchronized void succeed(Object answer) {
+        this.answer = answer;
+        this.finishedAt = System.nanoTime();
+        this.update(Status.SUCCEEDED);
+    }
+
+    synchronized void fail(String message) {
+        // A job can fail before it was ever started, such as when the application shuts down
+        if (this.status == Status.QUEUED) {
+            this.startedAt = System.nanoTime();
+        }
+        this.message = message;
+        this.finishedAt = System.nanoTime();
+        this.update(Status.FAILED);
+    }
+
+    private void update(Status status) {
+        this.status = status;
+        JsonObject snapshot = this.toJson();
+        for (Consumer<JsonObject> listener : this.listeners) {
+            listener.accept(snapshot);
+        }
+        if (status.isFinished()) {
+            this.listeners.clear();
+        }
+    }
+
+}
@@ -0,0 +1,204 @@
+package org.brandon.api.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs long solves in the background, so a request can hand over its input and return straight away.
+ * Jobs run on a dedicated pool with a bounded queue, once the queue is full further jobs are turned away rather
+ * than piling up. Finished jobs are kept so their answers can be collected, with the oldest dropped once too many
+ * have finished.
+ * The depth of the queue, the number of running jobs, the time jobs wait in the queue and the number of rejected
+ * jobs are published as advent.jobs metrics.
+ */
+@ApplicationScoped
+public class AdventJobs {
+
+    static final String QUEUE_DEPTH = "advent.jobs.queue.depth";
+    static final String ACTIVE = "advent.jobs.active";
+    static final String WAIT = "advent.jobs.wait";
+    static final String REJECTED = "advent.jobs.rejected";
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdventJobs.class);
+
+    private final AdventSolvers adventSolvers;
+    private final ThreadPoolExecutor workers;
+    private final int maxFinished;
+    private final Map<String, AdventJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> finished = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger finishedCount = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Builds the job pool from configuration.
+     * @param adventSolvers The injected registry of solvers for each day and part
+     * @param registry The registry the job metrics are published to
+     * @param metricsEnabled Whether the job metrics are published at all
+     * @param threads The number of jobs run at once, defaulting to the number of available processors
+     * @param queueCapacity The number of jobs which can wait for a free thread before new jobs are rejected
+     * @param maxFinished The number of finished jobs kept before the oldest is dropped
+     */
+    public AdventJobs(AdventSolvers adventSolvers, MeterRegistry registry,
+                      @ConfigProperty(name = "advent.metrics.enabled", defaultValue = "true") boolean metricsEnabled,
+                      @ConfigProperty(name = "advent.jobs.threads") Optional<Integer> threads,
+                      @ConfigProperty(name = "advent.jobs.queue-capacity", defaultValue = "64") int queueCapacity,
+                      @ConfigProperty(name = "advent.jobs.max-finished", defaultValue = "1024") int maxFinished) {
+        if (queueCapacity < 1 || maxFinished < 1) {
+            throw new IllegalArgumentException("Job queue and finished jobs must hold at least one job");
+        }
+        this.adventSolvers = adventSolvers;
+        this.maxFinished = maxFinished;
+        int threadCount = threads.orElse(Runtime.getRuntime().availableProcessors());
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threadCount, threadCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread worker = new Thread(task, "advent-job-" + workerCount.incrementAndGet());
+                    worker.setDaemon(true);
+                    return worker;
+                });
+
+        if (metricsEnabled) {
+            Gauge.builder(QUEUE_DEPTH, this.workers, executor -> executor.getQueue().size())
+                    .description("Jobs waiting for a free thread")
+                    .register(registry);
+            Gauge.builder(ACTIVE, this.workers, ThreadPoolExecutor::getActiveCount)
+                    .description("Jobs currently running")
+                    .register(registry);
+            this.waitTimer = Timer.builder(WAIT)
+                    .description("Time jobs spend queued before they start")
+                    .register(registry);
+            this.rejectedCounter = Counter.builder(REJECTED)
+                    .description("Jobs turned away because the queue was full")
+                    .register(registry);
+        } else {
+            this.waitTimer = null;
+            this.rejectedCounter = null;
+        }
+    }
+
+    /**
+     * Queues a job, copying the input so it outlives the request which uploaded it.
+     * @param day The day of the challenge
+     * @param part The part of the challenge
+     * @param upload The uploaded problem file
+     * @return The queued job
+     * @throws RejectedExecutionException When the queue is full
+     */
+    public AdventJob submit(int day, int part, File upload) throws IOException {
+        if (!this.adventSolvers.supports(day, part)) {
+            throw new IllegalArgumentException("No solver for day " + day + " part " + part);
+        }
+        // Turn the job away before copying the input when the queue is already full
+        if (this.workers.getQueue().remainingCapacity() == 0) {
+            throw this.reject();
+        }
+
+        Path input = Files.createTempFile("advent-job-", ".txt");
+        Files.copy(upload.toPath(), input, StandardCopyOption.REPLACE_EXISTING);
+        AdventJob job = new AdventJob(UUID.randomUUID().toString(), day, part, input.toFile());
+        this.jobs.put(job.getId(), job);
+        try {
+            this.workers.execute(() -> this.run(job));
+        } catch (RejectedExecutionException ex) {
+            this.jobs.remove(job.getId());
+            Files.deleteIfExists(input);
+            throw this.reject();
+        }
+        return job;
+    }
+
+    /**
+     * Looks up a job which is queued, running or among the most recently finished.
+     * @param id The id of the job
+     * @return The job, if it is still known
+     */
+    public Optional<AdventJob> find(String id) {
+        return Optional.ofNullable(this.jobs.get(id));
+    }
+
+    /**
+     * The number of jobs waiting for a free thread.
+     * @return The depth of the queue
+     */
+    public int getQueueDepth() {
+        return this.workers.getQueue().size();
+    }
+
+    private void run(AdventJob job) {
+        if (!job.start()) {
+            return;
+        }
+        if (this.waitTimer != null) {
+            this.waitTimer.record(System.nanoTime() - job.getSubmittedAt(), TimeUnit.NANOSECONDS);
+        }
+        try {
+            job.succeed(this.adventSolvers.solve(job.getDay(), job.getPart(), job.getInput()));
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            job.fail(ex.getMessage());
+        } finally {
+            this.finish(job);
+        }
+    }
+
+    private void finish(AdventJob job) {
+        try {
+            Files.deleteIfExists(job.getInput().toPath());
+        } catch (IOException ex) {
+            LOG.error("Unable to delete job input: {}", ex.getMessage());
+        }
+        this.finished.add(job.getId());
+        if (this.finishedCount.incrementAndGet() > this.maxFinished) {
+            String oldest = this.finished.poll();
+            if (oldest != null) {
+                this.finishedCount.decrementAndGet();
+                this.jobs.remove(oldest);
+            }
+        }
+    }
+
+    private RejectedExecutionException reject() {
+        if (this.rejectedCounter != null) {
+            this.rejectedCounter.increment();
+        }
+        return new RejectedExecutionException("Job queue is full");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.workers.shutdownNow();
+        for (AdventJob job : this.jobs.values()) {
+            // Running jobs are interrupted and finish on their own
+            if (job.getStatus() == AdventJob.Status.QUEUED) {
+                job.fail("Application shut down before the job finished");
+                this.finish(job);
+            }
+        }
+    }
+
+}
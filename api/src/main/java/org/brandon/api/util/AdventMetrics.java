@@ -0,0 +1,142 @@
+package org.brandon.api.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.vertx.http.runtime.CurrentVertxRequest;
+import io.quarkus.vertx.http.runtime.filters.Filters;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long each phase of an Advent of Code request takes, exposed for Prometheus on /q/metrics.
+ * A request is split into four phases, each timed by advent.phase and tagged with the day, the part, the phase and
+ * the outcome:
+ * upload, from the request arriving until the controller is called, which covers reading a multipart upload;
+ * parse, until the parser has read all of its input;
+ * solve, from the end of the parse until the answer is returned, left out for a solver which finds the answer in the
+ * same pass as it reads the input;
+ * serialize, building the response in {@link ResponseCreation}.
+ * The bytes read by each parse whose end is seen are recorded by the advent.input.size histogram.
+ * Setting advent.metrics.enabled to false turns every recording into a no-op and removes the arrival filter.
+ */
+@ApplicationScoped
+public class AdventMetrics {
+
+    static final String PHASE_TIMER = "advent.phase";
+    static final String INPUT_SIZE = "advent.input.size";
+    static final String DAY = "day";
+    static final String PART = "part";
+    static final String PHASE = "phase";
+    static final String OUTCOME = "outcome";
+    static final String UPLOAD = "upload";
+    static final String PARSE = "parse";
+    static final String SOLVE = "solve";
+    static final String SERIALIZE = "serialize";
+    static final String BOTH = "both";
+
+    private static final String ARRIVAL = "advent.arrival";
+    private static final double[] INPUT_SIZE_BUCKETS = {
+            1024, 16 * 1024, 256 * 1024, 1024 * 1024, 16 * 1024 * 1024, 100 * 1024 * 1024, 1024 * 1024 * 1024};
+
+    private final boolean enabled;
+    private final MeterRegistry registry;
+    private final CurrentVertxRequest currentVertxRequest;
+
+    /**
+     * Builds the metrics from configuration.
+     * @param enabled Whether anything is recorded at all
+     * @param registry The registry the meters are published to
+     * @param currentVertxRequest The request currently being handled, which holds its arrival time
+     */
+    public AdventMetrics(@ConfigProperty(name = "advent.metrics.enabled", defaultValue = "true") boolean enabled,
+                         MeterRegistry registry, CurrentVertxRequest currentVertxRequest) {
+        this.enabled = enabled;
+        this.registry = registry;
+        this.currentVertxRequest = currentVertxRequest;
+    }
+
+    /**
+     * Stamps every request with the time it arrived, before its body is read.
+     * @param filters The HTTP filters of the application
+     */
+    void registerArrivalFilter(@Observes Filters filters) {
+        if (this.enabled) {
+            filters.register(routingContext -> {
+                routingContext.put(ARRIVAL, System.nanoTime());
+                routingContext.next();
+            }, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Starts recording a request for a single part, which also ends its upload phase.
+     * @param day The day of the challenge
+     * @param part The part of the challenge
+     * @return The metrics of the request
+     */
+    public RequestMetrics request(int day, int part) {
+        return this.request(day, Integer.toString(part));
+    }
+
+    /**
+     * Starts recording a request for both parts, which also ends its upload phase.
+     * @param day The day of the challenge
+     * @return The metrics of the request
+     */
+    public RequestMetrics requestBoth(int day) {
+        return this.request(day, BOTH);
+    }
+
+    /**
+     * Starts recording a request which is not tied to a single part, which also ends its upload phase.
+     * @param day The day of the challenge
+     * @param part The name the request is tagged with in place of a part, such as score
+     * @return The metrics of the request
+     */
+    public RequestMetrics request(int day, String part) {
+        if (!this.enabled) {
+            return RequestMetrics.DISABLED;
+        }
+        RequestMetrics requestMetrics = new RequestMetrics(this, Integer.toString(day), part);
+        Long arrival = this.arrival();
+        if (arrival != null) {
+            requestMetrics.record(UPLOAD, RequestMetrics.SUCCESS, System.nanoTime() - arrival);
+        }
+        return requestMetrics;
+    }
+
+    private Long arrival() {
+        RoutingContext routingContext = this.currentVertxRequest.getCurrent();
+        return routingContext == null ? null : routingContext.get(ARRIVAL);
+    }
+
+    Timer phaseTimer(String day, String part, String phase, String outcome) {
+        return Timer.builder(PHASE_TIMER)
+                .description("Time spent in each phase of solving an Advent of Code input")
+                .tag(DAY, day)
+                .tag(PART, part)
+                .tag(PHASE, phase)
+                .tag(OUTCOME, outcome)
+                .register(this.registry);
+    }
+
+    DistributionSummary inputSize(String day, String part) {
+        return DistributionSummary.builder(INPUT_SIZE)
+                .description("Bytes read while parsing an Advent of Code input")
+                .baseUnit("bytes")
+                .serviceLevelObjectives(INPUT_SIZE_BUCKETS)
+                .tag(DAY, day)
+                .tag(PART, part)
+                .register(this.registry);
+    }
+
+    void record(String day, String part, String phase, String outcome, long nanos) {
+        this.phaseTimer(day, part, phase, outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+}
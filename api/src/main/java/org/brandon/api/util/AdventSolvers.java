@@ -0,0 +1,92 @@
+package org.brandon.api.util;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.services.advent2022.Day10Service;
+import org.brandon.services.advent2022.Day11Service;
+import org.brandon.services.advent2022.Day12Service;
+import org.brandon.services.advent2022.Day13Service;
+import org.brandon.services.advent2022.Day1Service;
+import org.brandon.services.advent2022.Day2Service;
+import org.brandon.services.advent2022.Day3Service;
+import org.brandon.services.advent2022.Day4Service;
+import org.brandon.services.advent2022.Day5Service;
+import org.brandon.services.advent2022.Day6Service;
+import org.brandon.services.advent2022.Day7Service;
+import org.brandon.services.advent2022.Day8Service;
+import org.brandon.services.advent2022.Day9Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Looks up the solver for any day and part of Advent of Code 2022, for callers that only know the day and part
+ * at runtime. Every solve goes through the {@link SolutionCache}.
+ */
+@ApplicationScoped
+public class AdventSolvers {
+
+    private final Map<Key, SolutionCache.Solver<File, ?>> solvers = new HashMap<>();
+    private final SolutionCache solutionCache;
+
+    /**
+     * Builds the registry and injects every service.
+     * @param solutionCache The injected cache of previously solved inputs
+     */
+    public AdventSolvers(SolutionCache solutionCache, Day1Service day1Service, Day2Service day2Service,
+                         Day3Service day3Service, Day4Service day4Service, Day5Service day5Service,
+                         Day6Service day6Service, Day7Service day7Service, Day8Service day8Service,
+                         Day9Service day9Service, Day10Service day10Service, Day11Service day11Service,
+                         Day12Service day12Service, Day13Service day13Service) {
+        this.solutionCache = solutionCache;
+        this.register(1, day1Service::part1Solve, day1Service::part2Solve);
+        this.register(2, day2Service::part1Solve, day2Service::part2Solve);
+        this.register(3, day3Service::part1Solve, day3Service::part2Solve);
+        this.register(4, day4Service::part1Solve, day4Service::part2Solve);
+        this.register(5, day5Service::part1Solve, day5Service::part2Solve);
+        this.register(6, file -> day6Service.solve(file, 4), file -> day6Service.solve(file, 14));
+        this.register(7, day7Service::part1Solve, day7Service::part2Solve);
+        this.register(8, day8Service::part1Solve, day8Service::part2Solve);
+        this.register(9, day9Service::part1Solve, day9Service::part2Solve);
+        this.register(10, day10Service::part1Solve, day10Service::part2Solve);
+        this.register(11, day11Service::part1Solve, day11Service::part2Solve);
+        this.register(12, day12Service::part1Solve, day12Service::part2Solve);
+        this.solvers.put(new Key(13, 1), day13Service::part1Solve);
+    }
+
+    /**
+     * Checks if a day and part can be solved.
+     * @param day The day of the challenge
+     * @param part The part of the challenge
+     * @return True if a solver exists for the day and part
+     */
+    public boolean supports(int day, int part) {
+        return this.solvers.containsKey(new Key(day, part));
+    }
+
+    /**
+     * Solves a single day and part of Advent of Code 2022.
+     * @param day The day of the challenge
+     * @param part The part of the challenge
+     * @param file The problem file
+     * @return The answer, either a long or a string depending on the day
+     * @throws IllegalArgumentException When there is no solver for the day and part
+     */
+    public Object solve(int day, int part, File file) throws IOException {
+        SolutionCache.Solver<File, ?> solver = this.solvers.get(new Key(day, part));
+        if (solver == null) {
+            throw new IllegalArgumentException("No solver for day " + day + " part " + part);
+        }
+        return this.solutionCache.solve(day, part, file, solver);
+    }
+
+    private void register(int day, SolutionCache.Solver<File, ?> part1, SolutionCache.Solver<File, ?> part2) {
+        this.solvers.put(new Key(day, 1), part1);
+        this.solvers.put(new Key(day, 2), part2);
+    }
+
+    private record Key(int day, int part) {
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.brandon.api.util;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.data.advent2022.Day7SizeIndex;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Day 7 directory size indexes keyed by the digest of their input, so a transcript is parsed and indexed once and
+ * then queried any number of times.
+ */
+@ApplicationScoped
+public class DirectoryIndexes extends InputIndexes<Day7SizeIndex> {
+
+    /**
+     * Builds the index store from configuration.
+     * @param maxIndexes The number of indexes held before the least recently used one is evicted
+     */
+    public DirectoryIndexes(@ConfigProperty(name = "advent.day7.max-indexes", defaultValue = "16") int maxIndexes) {
+        super(maxIndexes);
+    }
+
+}
@@ -0,0 +1,122 @@
+package org.brandon.api.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Indexes of inputs keyed by id, so an input is parsed and indexed once and then queried any number of times.
+ * The id is the SHA-256 digest of the input bytes, so submitting the same input again returns the same id and an
+ * uploaded file already indexed is not parsed again.
+ * The least recently used index is evicted once too many inputs have been indexed.
+ * @param <T> The type of index held
+ */
+public abstract class InputIndexes<T> {
+
+    private final int maxIndexes;
+    private final Map<String, T> indexes;
+
+    /**
+     * Builds the store held by the client proxy of a bean subclass, which forwards every call to the real store.
+     */
+    protected InputIndexes() {
+        this(1);
+    }
+
+    /**
+     * Builds an empty index store.
+     * @param maxIndexes The number of indexes held before the least recently used one is evicted
+     */
+    protected InputIndexes(int maxIndexes) {
+        if (maxIndexes < 1) {
+            throw new IllegalArgumentException("Input indexes must hold at least one index");
+        }
+        this.maxIndexes = maxIndexes;
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+                return size() > InputIndexes.this.maxIndexes;
+            }
+        };
+    }
+
+    /**
+     * Indexes an uploaded file, unless the same input is already indexed.
+     * @param file The uploaded input
+     * @param builder The builder that is called when the input is not indexed yet
+     * @return The id of the input along with its index
+     */
+    public Indexed<T> index(File file, SolutionCache.Solver<File, T> builder) throws IOException {
+        String id;
+        try (InputStream stream = new FileInputStream(file)) {
+            id = SolutionCache.digest(stream);
+        }
+        Optional<T> index = this.find(id);
+        if (index.isPresent()) {
+            return new Indexed<>(id, index.get());
+        }
+        return this.register(id, builder.solve(file));
+    }
+
+    /**
+     * Indexes a streamed input, digesting the bytes as the builder reads them.
+     * @param stream The streamed input, consumed and closed by the builder
+     * @param builder The builder for the input
+     * @return The id of the input along with its index
+     */
+    public Indexed<T> index(InputStream stream, SolutionCache.Solver<InputStream, T> builder) throws IOException {
+        MessageDigest digest = SolutionCache.newDigest();
+        SolutionCache.DigestingInputStream digestingStream = new SolutionCache.DigestingInputStream(stream, digest);
+        try {
+            T index = builder.solve(digestingStream);
+            // Drain whatever the builder did not need so the id covers the entire input
+            digestingStream.transferTo(OutputStream.nullOutputStream());
+            return this.register(HexFormat.of().formatHex(digest.digest()), index);
+        } finally {
+            digestingStream.release();
+        }
+    }
+
+    /**
+     * Looks up an index.
+     * @param id The id of the index
+     * @return The index, or empty if no index is stored under the id
+     */
+    public synchronized Optional<T> find(String id) {
+        return Optional.ofNullable(this.indexes.get(id));
+    }
+
+    /**
+     * The number of indexes currently held.
+     * @return The size of the store
+     */
+    public synchronized int size() {
+        return this.indexes.size();
+    }
+
+    /**
+     * Stores an index, keeping the index already stored under the same id.
+     * @return The id along with the stored index
+     */
+    private synchronized Indexed<T> register(String id, T index) {
+        T stored = this.indexes.putIfAbsent(id, index);
+        return new Indexed<>(id, stored == null ? index : stored);
+    }
+
+    /**
+     * An indexed input.
+     * @param id The SHA-256 digest of the input as hex
+     * @param index The index of the input
+     * @param <T> The type of index
+     */
+    public record Indexed<T>(String id, T index) {
+    }
+
+}
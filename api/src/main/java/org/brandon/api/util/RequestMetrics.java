@@ -0,0 +1,241 @@
+package org.brandon.api.util;
+
+import jakarta.ws.rs.core.Response;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+
+/**
+ * The metrics of a single request, created by {@link AdventMetrics}.
+ * Solvers are wrapped so the time spent parsing can be told apart from the time spent solving. The parse of a stream
+ * is considered finished once the parser reaches the end of its input or closes it, and the parse of an uploaded file
+ * once the parser hands back the parsed input.
+ */
+public class RequestMetrics {
+
+    static final String SUCCESS = "success";
+    static final String FAILURE = "failure";
+
+    static final RequestMetrics DISABLED = new RequestMetrics(null, null, null);
+
+    private final AdventMetrics adventMetrics;
+    private final String day;
+    private final String part;
+
+    RequestMetrics(AdventMetrics adventMetrics, String day, String part) {
+        this.adventMetrics = adventMetrics;
+        this.day = day;
+        this.part = part;
+    }
+
+    /**
+     * Wraps the parser and the solver of an uploaded file, so the parser can map the file or parse it in parallel
+     * rather than be handed a stream. Each call is timed as its own phase, and the length of the file is recorded as
+     * the bytes parsed.
+     * @param parser The parser for a file
+     * @param solver The solver for the parsed input
+     * @return A solver for a file
+     */
+    public <P, T> SolutionCache.Solver<File, T> parsed(SolutionCache.Solver<File, P> parser,
+                                                       SolutionCache.Solver<P, T> solver) {
+        if (this.adventMetrics == null) {
+            return file -> solver.solve(parser.solve(file));
+        }
+        return file -> {
+            long start = System.nanoTime();
+            P parsedFile;
+            String outcome = FAILURE;
+            try {
+                parsedFile = parser.solve(file);
+                outcome = SUCCESS;
+            } finally {
+                this.record(AdventMetrics.PARSE, outcome, System.nanoTime() - start);
+                this.adventMetrics.inputSize(this.day, this.part).record(file.length());
+            }
+            long parsed = System.nanoTime();
+            outcome = FAILURE;
+            try {
+                T answer = solver.solve(parsedFile);
+                outcome = SUCCESS;
+                return answer;
+            } finally {
+                this.record(AdventMetrics.SOLVE, outcome, System.nanoTime() - parsed);
+            }
+        };
+    }
+
+    /**
+     * Wraps a solver which reads an uploaded file itself and finds its answer in the same pass, such as a scan which
+     * stops at the first marker. The end of the parse cannot be seen from outside such a solver, so the whole call is
+     * recorded as the parse phase and neither a solve phase nor the bytes parsed are recorded.
+     * @param solver The solver for a file
+     * @return The wrapped solver, or the solver itself when metrics are disabled
+     */
+    public <T> SolutionCache.Solver<File, T> mapped(SolutionCache.Solver<File, T> solver) {
+        if (this.adventMetrics == null) {
+            return solver;
+        }
+        return file -> {
+            long start = System.nanoTime();
+            String outcome = FAILURE;
+            try {
+                T answer = solver.solve(file);
+                outcome = SUCCESS;
+                return answer;
+            } finally {
+                this.record(AdventMetrics.PARSE, outcome, System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Wraps a solver, recording the parse and solve phases along with the number of bytes parsed.
+     * @param solver The solver for a streamed input
+     * @return The wrapped solver, or the solver itself when metrics are disabled
+     */
+    public <T> SolutionCache.Solver<InputStream, T> stream(SolutionCache.Solver<InputStream, T> solver) {
+        if (this.adventMetrics == null) {
+            return solver;
+        }
+        return input -> {
+            MeteredInputStream meteredInput = new MeteredInputStream(input);
+            long start = System.nanoTime();
+            String outcome = FAILURE;
+            try {
+                T answer = solver.solve(meteredInput);
+                outcome = SUCCESS;
+                return answer;
+            } finally {
+                long end = System.nanoTime();
+                long parsed = meteredInput.finishedAt == 0 ? end : meteredInput.finishedAt;
+                this.record(AdventMetrics.PARSE, outcome, parsed - start);
+                this.record(AdventMetrics.SOLVE, outcome, end - parsed);
+                this.adventMetrics.inputSize(this.day, this.part).record(meteredInput.count);
+            }
+        };
+    }
+
+    /**
+     * Parses and solves an uploaded file directly, for solves which do not go through the {@link SolutionCache}.
+     * @param file The uploaded input
+     * @param parser The parser for a file
+     * @param solver The solver for the parsed input
+     * @return The answer for the input
+     */
+    public <P, T> T solve(File file, SolutionCache.Solver<File, P> parser, SolutionCache.Solver<P, T> solver)
+            throws IOException {
+        return this.parsed(parser, solver).solve(file);
+    }
+
+    /**
+     * Solves an uploaded file directly with a solver which parses and solves in one pass, for solves which do not go
+     * through the {@link SolutionCache}.
+     * @param file The uploaded input
+     * @param solver The solver for a file
+     * @return The answer for the input
+     */
+    public <T> T solve(File file, SolutionCache.Solver<File, T> solver) throws IOException {
+        return this.mapped(solver).solve(file);
+    }
+
+    /**
+     * Solves a streamed input directly, for solves which do not go through the {@link SolutionCache}.
+     * @param input The streamed input
+     * @param solver The solver for a streamed input
+     * @return The answer for the input
+     */
+    public <T> T solve(InputStream input, SolutionCache.Solver<InputStream, T> solver) throws IOException {
+        return this.stream(solver).solve(input);
+    }
+
+    /**
+     * Builds a successful response, recording the serialize phase.
+     * @param response Builds the response
+     * @return The response
+     */
+    public Response success(Supplier<Response> response) {
+        return this.serialize(SUCCESS, response);
+    }
+
+    /**
+     * Builds a failure response, recording the serialize phase.
+     * @param response Builds the response
+     * @return The response
+     */
+    public Response failure(Supplier<Response> response) {
+        return this.serialize(FAILURE, response);
+    }
+
+    private Response serialize(String outcome, Supplier<Response> response) {
+        if (this.adventMetrics == null) {
+            return response.get();
+        }
+        long start = System.nanoTime();
+        Response built = response.get();
+        this.record(AdventMetrics.SERIALIZE, outcome, System.nanoTime() - start);
+        return built;
+    }
+
+    void record(String phase, String outcome, long nanos) {
+        this.adventMetrics.record(this.day, this.part, phase, outcome, nanos);
+    }
+
+    /**
+     * Stream which counts the bytes read from it and notes when the reader reaches the end or closes it.
+     */
+    private static final class MeteredInputStream extends FilterInputStream {
+
+        private long count;
+        private long finishedAt;
+
+        private MeteredInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value == -1) {
+                this.finish();
+            } else {
+                this.count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read == -1) {
+                this.finish();
+            } else {
+                this.count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long skipped = super.skip(count);
+            this.count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.finish();
+            super.close();
+        }
+
+        private void finish() {
+            if (this.finishedAt == 0) {
+                this.finishedAt = System.nanoTime();
+            }
+        }
+
+    }
+
+}
@@ -1,7 +1,16 @@
 package org.brandon.api.util;
 
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import jakarta.ws.rs.core.Response;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day2ScoringTable;
+import org.brandon.data.advent2022.Day4IntervalIndex;
+import org.brandon.data.advent2022.Day6Markers;
+import org.brandon.data.advent2022.Day7SizeIndex;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.brandon.core.constants.ResponseConstants.*;
 
@@ -37,6 +46,196 @@ public class ResponseCreation {
                 .build();
     }
 
+    /**
+     * Creates a response with a success status and the answers to both parts of an Advent of Code problem
+     * @param solution The answer to each part of the current Advent of Code problem and the time each part took
+     * @return A response containing the fields of response, part1 and part2, each part holding an answer and elapsedNanos
+     */
+    public static Response buildAdventSuccessResponse(AdventSolutionModel<?, ?> solution) {
+        return Response.ok()
+                .entity(new JsonObject()
+                        .put(RESPONSE, SUCCESS)
+                        .put(PART_1, new JsonObject()
+                                .put(ANSWER, solution.getPart1Answer())
+                                .put(ELAPSED_NANOS, solution.getPart1Nanos()))
+                        .put(PART_2, new JsonObject()
+                                .put(ANSWER, solution.getPart2Answer())
+                                .put(ELAPSED_NANOS, solution.getPart2Nanos())))
+                .build();
+    }
+
+    /**
+     * Creates a response with a success status and several named answers to the same Advent of Code problem
+     * @param answers The answers keyed by what they answer, in the order they should be listed
+     * @return A response containing the fields of response and answers
+     */
+    public static Response buildAdventSuccessResponse(Map<String, ?> answers) {
+        return Response.ok()
+                .entity(new JsonObject()
+                        .put(RESPONSE, SUCCESS)
+                        .put(ANSWERS, new JsonObject(new LinkedHashMap<>(answers))))
+                .build();
+    }
+
+    /**
+     * Creates a response with a success status and the current state of an asynchronous job
+     * @param status The HTTP status of the response
+     * @param job The current state of the job
+     * @return A response containing the field of response along with every field of the job
+     */
+    public static Response buildAdventJobResponse(Response.Status status, JsonObject job) {
+        return Response.status(status)
+                .entity(new JsonObject()
+                        .put(RESPONSE, SUCCESS)
+                        .mergeIn(job))
+                .build();
+    }
+
+    /**
+     * Creates a response with a success status and a Day 2 scoring table
+     * @param status The HTTP status of the response
+     * @param id The id of the table
+     * @param table The compiled table
+     * @return A response containing the fields of response, id, opponents, responses and points
+     */
+    public static Response buildAdventTableResponse(Response.Status status, String id, Day2ScoringTable table) {
+        JsonArray points = new JsonArray();
+        for (int[] row : table.getPoints()) {
+            JsonArray columns = new JsonArray();
+            for (int point : row) {
+                columns.add(point);
+            }
+            points.add(columns);
+        }
+        return Response.status(status)
+                .entity(new JsonObject()
+                        .put(RESPONSE, SUCCESS)
+                        .put(ID, id)
+                        .put(OPPONENTS, table.getOpponents())
+                        .put(RESPONSES, table.getResponses())
+                        .put(POINTS, points))
+                .build();
+    }
+
+    /**
+     * Creates a response with a success status and the summary of a Day 4 interval index
+     * @param status The HTTP status of the response
+     * @param id The id of the index
+     * @param index The index
+     * @return A response containing the fields of response, id, pairs, maxDepth and maxDepthSection
+     */
+    public static Response buildAdventIndexResponse(Response.Status status, String id, Day4IntervalIndex index) {
+        return Response.status(status)
+                .entity(new JsonObject()
+                        .put(RESPONSE, SUCCESS)
+                        .put(ID, id)
+                        .put(PAIRS, index.getPairs())
+                        .put(MAX_DEPTH, index.getMaxDepth())
+                        .put(MAX_DEPTH_SECTION, index.getMaxDepthSection()))
+                .build();
+    }
+
+    /**
+     * Creates a response with a success status and the section assignments found by a Day 4 interval index query
+     * @param count The number of assignments matching the query, which may be more than are listed
+     * @param index The index that was queried
+     * @param assignments The listed assignments, each pair * 2 + elf
+     * @return A response containing the fields of response, count and assignments, each assignment holding a pair,
+     * elf, start and end
+     */
+    public static Response buildAdventAssignmentsResponse(int count, Day4IntervalIndex index, int[] assignments) {
+        JsonArray listed = new JsonArray();
+        for (int assignment : assignments) {
+            listed.add(new JsonObject()
+                    .put(PAIR, assignment >>> 1)
+                    .put(ELF, assignment & 1)
+                    .put(START, index.start(assignment))
+                    .put(END, index.end(assignment)));
+        }
+        return Response.ok()
+                .entity(new JsonObject()
+                        .put(RESPONSE, SUCCESS)
+                        .put(COUNT, count)
+                        .put(ASSIGNMENTS, listed))
+                .build();
+    }
+
+    /**
+     * Creates a response with a success status and the markers of each window size found by a Day 6 marker search
+     * @param markers The markers found, either only the first of each window size or all of them counted
+     * @return A response containing the fields of response and answers, keyed by window size and holding either the
+     * position of the first marker, or its first, count and positions when markers are counted, with a first of null
+     * when there is no marker
+     */
+    public static Response buildAdventMarkersResponse(Day6Markers markers) {
+        JsonObject answers = new JsonObject();
+        for (int i = 0; i < markers.size(); i++) {
+            Long first = markers.getFirst(i) == -1 ? null : markers.getFirst(i);
+            if (!markers.isCounting()) {
+                answers.put(String.valueOf(markers.getWindowSize(i)), first);
+                continue;
+            }
+            JsonArray positions = new JsonArray();
+            for (long position : markers.getPositions(i)) {
+                positions.add(position);
+            }
+            answers.put(String.valueOf(markers.getWindowSize(i)), new JsonObject()
+                    .put(FIRST, first)
+                    .put(COUNT, markers.getCount(i))
+                    .put(POSITIONS, positions));
+        }
+        return Response.ok()
+                .entity(new JsonObject()
+                        .put(RESPONSE, SUCCESS)
+                        .put(ANSWERS, answers))
+                .build();
+    }
+
+    /**
+     * Creates a response with a success status and the summary of a Day 7 directory size index
+     * @param status The HTTP status of the response
+     * @param id The id of the index
+     * @param index The index
+     * @return A response containing the fields of response, id, directories and totalSize
+     */
+    public static Response buildAdventDirectoryIndexResponse(Response.Status status, String id, Day7SizeIndex index) {
+        return Response.status(status)
+                .entity(new JsonObject()
+                        .put(RESPONSE, SUCCESS)
+                        .put(ID, id)
+                        .put(DIRECTORIES, index.size())
+                        .put(TOTAL_SIZE, index.getTotalSize()))
+                .build();
+    }
+
+    /**
+     * Creates a response with a success status and the directories found by a Day 7 directory size index query
+     * @param count The number of directories matching the query, which may be more than are listed
+     * @param totalSize The sum of the total sizes of every matching directory, or null when it is not asked for
+     * @param index The index that was queried
+     * @param directories The listed directories
+     * @return A response containing the fields of response, count, totalSize when given and directories, each
+     * directory holding a path and size
+     */
+    public static Response buildAdventDirectoriesResponse(int count, Long totalSize, Day7SizeIndex index,
+                                                          int[] directories) {
+        JsonArray listed = new JsonArray();
+        for (int directory : directories) {
+            listed.add(new JsonObject()
+                    .put(PATH, index.getPath(directory))
+                    .put(SIZE, index.getSize(directory)));
+        }
+        JsonObject entity = new JsonObject()
+                .put(RESPONSE, SUCCESS)
+                .put(COUNT, count);
+        if (totalSize != null) {
+            entity.put(TOTAL_SIZE, totalSize);
+        }
+        return Response.ok()
+                .entity(entity.put(DIRECTORIES, listed))
+                .build();
+    }
+
     /**
      * Creates a response with a failure message and a response of failure
      * @param errorMessage The error message to include in the JSON response
@@ -50,4 +249,18 @@ public class ResponseCreation {
                 .build();
     }
 
+    /**
+     * Creates a response with a failure message, a response of failure and a specific HTTP status
+     * @param status The HTTP status of the response
+     * @param errorMessage The error message to include in the JSON response
+     * @return A response containing the fields of response and message
+     */
+    public static Response buildAdventFailureResponse(Response.Status status, String errorMessage) {
+        return Response.status(status)
+                .entity(new JsonObject()
+                        .put(RESPONSE, FAILURE)
+                        .put(MESSAGE, errorMessage))
+                .build();
+    }
+
 }
@@ -0,0 +1,99 @@
+package org.brandon.api.util;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.data.advent2022.Day2ScoringTable;
+import org.brandon.services.advent2022.Day2Service;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compiled Day 2 scoring tables keyed by id, so a table is submitted and compiled once and then used to score any
+ * number of strategy guides.
+ * The id is the SHA-256 digest of the table definition, so submitting the same table again returns the same id.
+ * The tables of both parts are always available as part1 and part2, other tables are evicted least recently used
+ * first once too many have been submitted.
+ */
+@ApplicationScoped
+public class ScoringTables {
+
+    public static final String PART_1 = "part1";
+    public static final String PART_2 = "part2";
+
+    private static final int ID_LENGTH = 16;
+
+    private final int maxTables;
+    private final Map<String, Day2ScoringTable> tables;
+
+    /**
+     * Builds the table store from configuration.
+     * @param maxTables The number of submitted tables held before the least recently used one is evicted
+     */
+    public ScoringTables(@ConfigProperty(name = "advent.day2.max-tables", defaultValue = "256") int maxTables) {
+        if (maxTables < 1) {
+            throw new IllegalArgumentException("Scoring tables must hold at least one table");
+        }
+        this.maxTables = maxTables;
+        this.tables = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Day2ScoringTable> eldest) {
+                return size() > ScoringTables.this.maxTables;
+            }
+        };
+    }
+
+    /**
+     * Stores a compiled table, keeping the table already stored under the same id.
+     * @param table The compiled table
+     * @return The id of the table
+     */
+    public synchronized String register(Day2ScoringTable table) {
+        String id = id(table);
+        this.tables.putIfAbsent(id, table);
+        return id;
+    }
+
+    /**
+     * Looks up a table.
+     * @param id The id of the table, or part1 or part2 for the tables of each part
+     * @return The table, or empty if no table is stored under the id
+     */
+    public Optional<Day2ScoringTable> find(String id) {
+        if (PART_1.equals(id)) {
+            return Optional.of(Day2Service.PART_1_TABLE);
+        }
+        if (PART_2.equals(id)) {
+            return Optional.of(Day2Service.PART_2_TABLE);
+        }
+        synchronized (this) {
+            return Optional.ofNullable(this.tables.get(id));
+        }
+    }
+
+    /**
+     * The number of submitted tables currently held.
+     * @return The size of the store
+     */
+    public synchronized int size() {
+        return this.tables.size();
+    }
+
+    static String id(Day2ScoringTable table) {
+        String definition = table.getOpponents() + '\n' + table.getResponses() + '\n'
+                + Arrays.deepToString(table.getPoints());
+        try {
+            return SolutionCache.digest(new ByteArrayInputStream(definition.getBytes(StandardCharsets.US_ASCII)))
+                    .substring(0, ID_LENGTH);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+}
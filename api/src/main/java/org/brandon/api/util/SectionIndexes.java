@@ -0,0 +1,22 @@
+package org.brandon.api.util;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.data.advent2022.Day4IntervalIndex;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Day 4 interval indexes keyed by the digest of their input, so an input is parsed and indexed once and then queried
+ * any number of times.
+ */
+@ApplicationScoped
+public class SectionIndexes extends InputIndexes<Day4IntervalIndex> {
+
+    /**
+     * Builds the index store from configuration.
+     * @param maxIndexes The number of indexes held before the least recently used one is evicted
+     */
+    public SectionIndexes(@ConfigProperty(name = "advent.day4.max-indexes", defaultValue = "16") int maxIndexes) {
+        super(maxIndexes);
+    }
+
+}
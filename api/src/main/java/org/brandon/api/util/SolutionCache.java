@@ -0,0 +1,408 @@
+package org.brandon.api.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.json.JsonObject;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of solved answers keyed by the day, the part and the SHA-256 digest of the input bytes.
+ * An uploaded file is digested before anything else happens, so a repeated input skips both parsing and solving.
+ * A raw request body can only be digested while the solver consumes it, so streamed inputs fill the cache
+ * for later requests but are always solved. A solver which stops reading early, such as the Day 6 marker search,
+ * keeps its early exit and its answer is simply not cached, rather than the rest of the body being read to finish
+ * the digest.
+ * The least recently used answer is evicted once the cache is full, and the cache can optionally be written to
+ * a local file on shutdown and read back on startup.
+ * Hits and misses are published as advent.cache.requests tagged with the result, along with advent.cache.evictions
+ * and the advent.cache.size gauge.
+ */
+@ApplicationScoped
+public class SolutionCache {
+
+    private static final String DAY = "day";
+    private static final String PART = "part";
+    private static final String DIGEST = "digest";
+    private static final String ANSWER = "answer";
+
+    static final String REQUESTS = "advent.cache.requests";
+    static final String EVICTIONS = "advent.cache.evictions";
+    static final String SIZE = "advent.cache.size";
+    static final String RESULT = "result";
+
+    private static final Logger LOG = LoggerFactory.getLogger(SolutionCache.class);
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final Optional<String> persistenceFile;
+    private final Map<Key, Object> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Builds the cache from configuration.
+     * @param enabled Whether answers are cached at all, when disabled every request is solved
+     * @param maxEntries The number of answers held before the least recently used one is evicted
+     * @param persistenceFile An optional file the cache is read from on startup and written to on shutdown
+     * @param registry The registry the hit, miss and eviction counts are published to
+     */
+    public SolutionCache(@ConfigProperty(name = "advent.cache.enabled", defaultValue = "true") boolean enabled,
+                         @ConfigProperty(name = "advent.cache.max-entries", defaultValue = "1024") int maxEntries,
+                         @ConfigProperty(name = "advent.cache.file") Optional<String> persistenceFile,
+                         MeterRegistry registry) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache must hold at least one entry");
+        }
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.persistenceFile = persistenceFile;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                if (size() > SolutionCache.this.maxEntries) {
+                    SolutionCache.this.evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        FunctionCounter.builder(REQUESTS, this.hits, AtomicLong::get)
+                .description("Solves answered from the solution cache, or solved on a miss")
+                .tag(RESULT, "hit")
+                .register(registry);
+        FunctionCounter.builder(REQUESTS, this.misses, AtomicLong::get)
+                .description("Solves answered from the solution cache, or solved on a miss")
+                .tag(RESULT, "miss")
+                .register(registry);
+        FunctionCounter.builder(EVICTIONS, this.evictions, AtomicLong::get)
+                .description("Answers evicted to keep the solution cache within its bounds")
+                .register(registry);
+        Gauge.builder(SIZE, this, SolutionCache::size)
+                .description("Answers currently held by the solution cache")
+                .register(registry);
+    }
+
+    /**
+     * A solver for a single part of a challenge.
+     * @param <I> The type of the input, either a file or a stream
+     * @param <T> The type of the answer
+     */
+    @FunctionalInterface
+    public interface Solver<I, T> {
+        T solve(I input) throws IOException;
+    }
+
+    /**
+     * Returns the cached answer for an uploaded file, or solves it and caches the answer.
+     * @param day The day of the challenge
+     * @param part The part of the challenge
+     * @param file The uploaded input
+     * @param solver The solver that is called on a cache miss
+     * @return The answer for the input
+     */
+    public <T> T solve(int day, int part, File file, Solver<File, T> solver) throws IOException {
+        if (!this.enabled) {
+            return solver.solve(file);
+        }
+
+        Key key;
+        try (InputStream stream = new FileInputStream(file)) {
+            key = new Key(day, part, digest(stream));
+        }
+        T answer = this.get(key);
+        if (answer == null) {
+            answer = solver.solve(file);
+            this.put(key, answer);
+        }
+        return answer;
+    }
+
+    /**
+     * Solves a streamed input, digesting the bytes as the solver reads them and caching the answer afterwards.
+     * The answer is only cached when the solver read the whole input, as otherwise the digest would not cover it.
+     * @param day The day of the challenge
+     * @param part The part of the challenge
+     * @param stream The streamed input, consumed and closed by the solver
+     * @param solver The solver for the input
+     * @return The answer for the input
+     */
+    public <T> T solve(int day, int part, InputStream stream, Solver<InputStream, T> solver) throws IOException {
+        if (!this.enabled) {
+            return solver.solve(stream);
+        }
+
+        MessageDigest digest = newDigest();
+        DigestingInputStream digestingStream = new DigestingInputStream(stream, digest);
+        try {
+            T answer = solver.solve(digestingStream);
+            this.misses.incrementAndGet();
+            // Draining what an early exit left unread would cost the read it saved
+            if (digestingStream.isFinished()) {
+                this.put(new Key(day, part, HexFormat.of().formatHex(digest.digest())), answer);
+            }
+            return answer;
+        } finally {
+            digestingStream.release();
+        }
+    }
+
+    /**
+     * The number of requests answered from the cache.
+     * @return The hit count
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * The number of requests that had to be solved.
+     * @return The miss count
+     */
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * The number of answers removed to keep the cache within its bounds.
+     * @return The eviction count
+     */
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    /**
+     * The number of answers currently held.
+     * @return The size of the cache
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Reads the persisted cache, if one is configured and exists.
+     */
+    @PostConstruct
+    void load() {
+        if (!this.enabled || this.persistenceFile.isEmpty()) {
+            return;
+        }
+        Path path = Path.of(this.persistenceFile.get());
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String currentLine = reader.readLine();
+            while (currentLine != null) {
+                JsonObject entry = new JsonObject(currentLine);
+                Object answer = entry.getValue(ANSWER);
+                // Numbers come back as the smallest type that fits, every numeric answer is a long
+                if (answer instanceof Number number) {
+                    answer = number.longValue();
+                }
+                this.putEntry(new Key(entry.getInteger(DAY), entry.getInteger(PART), entry.getString(DIGEST)), answer);
+                currentLine = reader.readLine();
+            }
+            LOG.info("Loaded {} cached solutions from {}", this.size(), path);
+        } catch (Exception ex) {
+            LOG.error("Unable to load cached solutions: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes the cache to the configured file, least recently used first so the order survives a reload.
+     */
+    @PreDestroy
+    void persist() {
+        LOG.info("Solution cache finished with {} hits, {} misses and {} evictions",
+                this.getHits(), this.getMisses(), this.getEvictions());
+        if (!this.enabled || this.persistenceFile.isEmpty()) {
+            return;
+        }
+        Path path = Path.of(this.persistenceFile.get()).toAbsolutePath();
+
+        List<Map.Entry<Key, Object>> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(this.entries.entrySet());
+        }
+        try {
+            Path temporary = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                for (Map.Entry<Key, Object> entry : snapshot) {
+                    writer.write(new JsonObject()
+                            .put(DAY, entry.getKey().day())
+                            .put(PART, entry.getKey().part())
+                            .put(DIGEST, entry.getKey().digest())
+                            .put(ANSWER, entry.getValue())
+                            .encode());
+                    writer.newLine();
+                }
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception ex) {
+            LOG.error("Unable to persist cached solutions: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Looks up an answer and records the hit or miss.
+     * @param key The key of the answer
+     * @return The cached answer, or null if it is not cached
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T get(Key key) {
+        Object answer;
+        synchronized (this) {
+            answer = this.entries.get(key);
+        }
+        if (answer == null) {
+            this.misses.incrementAndGet();
+        } else {
+            this.hits.incrementAndGet();
+        }
+        return (T) answer;
+    }
+
+    private void put(Key key, Object answer) {
+        if (answer != null) {
+            this.putEntry(key, answer);
+        }
+    }
+
+    private synchronized void putEntry(Key key, Object answer) {
+        this.entries.put(key, answer);
+    }
+
+    /**
+     * Digests an entire stream.
+     * @param stream The stream to digest
+     * @return The SHA-256 digest of the stream as hex
+     */
+    static String digest(InputStream stream) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        int read = stream.read(buffer);
+        while (read != -1) {
+            digest.update(buffer, 0, read);
+            read = stream.read(buffer);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private record Key(int day, int part, String digest) {
+    }
+
+    /**
+     * Stream which feeds every byte it hands out into a digest.
+     * Closing it is deferred until {@link #release()}, so the rest of the input can still be digested after a
+     * solver closes the stream it was given.
+     */
+    static final class DigestingInputStream extends FilterInputStream {
+
+        private final MessageDigest digest;
+        private boolean finished;
+
+        DigestingInputStream(InputStream in, MessageDigest digest) {
+            super(in);
+            this.digest = digest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value == -1) {
+                this.finished = true;
+            } else {
+                this.digest.update((byte) value);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read == -1) {
+                this.finished = true;
+            } else if (read > 0) {
+                this.digest.update(buffer, offset, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            // Skipped bytes still have to be part of the digest
+            byte[] buffer = new byte[(int) Math.min(count, 8192)];
+            long skipped = 0;
+            while (skipped < count) {
+                int read = this.read(buffer, 0, (int) Math.min(buffer.length, count - skipped));
+                if (read == -1) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // Deferred until the digest has been taken
+        }
+
+        /**
+         * Whether the reader reached the end of the input, so the digest covers all of it.
+         * @return True once the end has been read
+         */
+        boolean isFinished() {
+            return this.finished;
+        }
+
+        void release() throws IOException {
+            super.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,139 @@
+package org.brandon.api.advent2022;
+
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.vertx.core.json.JsonObject;
+import org.brandon.api.util.AdventSolvers;
+import org.brandon.core.constants.ResponseConstants;
+import org.brandon.services.advent2022.Day1Service;
+import org.brandon.services.advent2022.Day5Service;
+import org.jboss.resteasy.reactive.multipart.FileUpload;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@TestSecurity(authorizationEnabled = false)
+class BatchControllerTest {
+
+    @InjectMock
+    Day1Service day1Service;
+
+    @InjectMock
+    Day5Service day5Service;
+
+    @Test
+    void testBatchEndpoint() throws IOException {
+        // Answer with the file length so the test fails if a file is gone before a worker gets to it
+        Mockito.when(day1Service.part1Solve(Mockito.any(File.class)))
+                .thenAnswer(invocation -> Files.size(invocation.getArgument(0, File.class).toPath()));
+        Mockito.when(day5Service.part2Solve(Mockito.any(File.class)))
+                .thenReturn("Hello World!");
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day1Service.part2Solve(Mockito.any(File.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        String manifest = """
+                [
+                    {"id": "a", "day": 1, "part": 1, "file": "input1"},
+                    {"id": "b", "day": 5, "part": 2, "file": "input2"},
+                    {"id": "c", "day": 1, "part": 2, "file": "input1"},
+                    {"id": "d", "day": 1, "part": 1, "file": "missing"},
+                    {"id": "e", "day": 25, "part": 1, "file": "input1"}
+                ]
+                """;
+
+        String body = given()
+                .multiPart("manifest", manifest)
+                .multiPart("input1", "input1.txt", "Fake Content".getBytes())
+                .multiPart("input2", "input2.txt", "Other Content".getBytes())
+                .when().post("/v1/advent2022/batch")
+                .then()
+                .statusCode(200)
+                .extract().asString();
+
+        Map<String, JsonObject> results = new HashMap<>();
+        body.lines().filter(line -> !line.isBlank()).forEach(line -> {
+            JsonObject result = new JsonObject(line);
+            results.put(result.getString("id"), result);
+        });
+        assertEquals(5, results.size());
+
+        assertEquals(ResponseConstants.SUCCESS, results.get("a").getString(ResponseConstants.RESPONSE));
+        assertEquals(12L, results.get("a").getLong(ResponseConstants.ANSWER));
+        assertEquals(ResponseConstants.SUCCESS, results.get("b").getString(ResponseConstants.RESPONSE));
+        assertEquals("Hello World!", results.get("b").getString(ResponseConstants.ANSWER));
+        assertEquals(ResponseConstants.FAILURE, results.get("c").getString(ResponseConstants.RESPONSE));
+        assertEquals(errorMessage, results.get("c").getString(ResponseConstants.MESSAGE));
+        assertEquals("No file provided named missing", results.get("d").getString(ResponseConstants.MESSAGE));
+        assertEquals("No solver for day 25 part 1", results.get("e").getString(ResponseConstants.MESSAGE));
+    }
+
+    @Test
+    void testBatchEndpointInvalidManifest() {
+        String body = given()
+                .multiPart("manifest", "not json")
+                .when().post("/v1/advent2022/batch")
+                .then()
+                .statusCode(200)
+                .extract().asString();
+
+        JsonObject result = new JsonObject(body.trim());
+        assertEquals(ResponseConstants.FAILURE, result.getString(ResponseConstants.RESPONSE));
+        assertEquals("Invalid manifest provided", result.getString(ResponseConstants.MESSAGE));
+    }
+
+    @Test
+    void testBatchQueueIsBounded() throws Exception {
+        // A single worker held by the first entry and room for one more, so the third entry does not fit
+        AdventSolvers adventSolvers = Mockito.mock(AdventSolvers.class);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(adventSolvers.solve(Mockito.anyInt(), Mockito.anyInt(), Mockito.any(File.class)))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    return 1L;
+                });
+        FileUpload upload = Mockito.mock(FileUpload.class);
+        Mockito.when(upload.name()).thenReturn("input");
+        Mockito.when(upload.uploadedFile()).thenReturn(File.createTempFile("batch", ".txt").toPath());
+
+        BatchController batchController = new BatchController(adventSolvers, Optional.of(1), 1);
+        try {
+            String manifest = """
+                    [
+                        {"id": "a", "day": 1, "part": 1, "file": "input"},
+                        {"id": "b", "day": 1, "part": 1, "file": "input"},
+                        {"id": "c", "day": 1, "part": 1, "file": "input"}
+                    ]
+                    """;
+            CompletableFuture<List<JsonObject>> results = batchController.batchEndpoint(manifest, List.of(upload))
+                    .collect().asList()
+                    .subscribeAsCompletionStage();
+            release.countDown();
+
+            Map<String, JsonObject> byId = new HashMap<>();
+            results.get().forEach(result -> byId.put(result.getString("id"), result));
+            assertEquals(3, byId.size());
+            assertEquals(ResponseConstants.SUCCESS, byId.get("a").getString(ResponseConstants.RESPONSE));
+            assertEquals(ResponseConstants.SUCCESS, byId.get("b").getString(ResponseConstants.RESPONSE));
+            assertEquals(ResponseConstants.FAILURE, byId.get("c").getString(ResponseConstants.RESPONSE));
+            assertEquals("Batch queue is full", byId.get("c").getString(ResponseConstants.MESSAGE));
+        } finally {
+            batchController.shutdown();
+        }
+    }
+
+}
@@ -4,13 +4,18 @@ import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.security.TestSecurity;
 import io.restassured.builder.MultiPartSpecBuilder;
+import io.restassured.http.ContentType;
 import io.restassured.mapper.ObjectMapperType;
 import org.brandon.core.constants.ResponseConstants;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day12Model;
 import org.brandon.services.advent2022.Day12Service;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
@@ -25,7 +30,10 @@ class Day12ControllerTest {
     @Test
     void testPart1Endpoint() throws IOException {
         Long answer = 123L;
-        Mockito.when(day12Service.part1Solve(Mockito.any()))
+        Day12Model parsedFile = new Day12Model(new char[][] {{'S', 'E'}});
+        Mockito.when(day12Service.parseDay12File(Mockito.any(File.class)))
+                .thenReturn(parsedFile);
+        Mockito.when(day12Service.part1Solve(parsedFile))
                 .thenReturn(answer);
 
         given()
@@ -42,7 +50,7 @@ class Day12ControllerTest {
                 .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
 
         String errorMessage = "Test Case Endpoint Failure";
-        Mockito.when(day12Service.part1Solve(Mockito.any()))
+        Mockito.when(day12Service.parseDay12File(Mockito.any(File.class)))
                 .thenThrow(new IOException(errorMessage));
 
         given()
@@ -59,10 +67,46 @@ class Day12ControllerTest {
                 .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
     }
 
+    @Test
+    void testPart1StreamEndpoint() throws IOException {
+        Long answer = 123L;
+        Mockito.when(day12Service.part1Solve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day12/part1")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day12Service.part1Solve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day12/part1")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
     @Test
     void testPart2Endpoint() throws IOException {
         Long answer = 321L;
-        Mockito.when(day12Service.part2Solve(Mockito.any()))
+        Day12Model parsedFile = new Day12Model(new char[][] {{'S', 'E'}});
+        Mockito.when(day12Service.parseDay12File(Mockito.any(File.class)))
+                .thenReturn(parsedFile);
+        Mockito.when(day12Service.part2Solve(parsedFile))
                 .thenReturn(answer);
 
         given()
@@ -79,7 +123,7 @@ class Day12ControllerTest {
                 .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
 
         String errorMessage = "Test Case Endpoint Failure";
-        Mockito.when(day12Service.part2Solve(Mockito.any()))
+        Mockito.when(day12Service.parseDay12File(Mockito.any(File.class)))
                 .thenThrow(new IOException(errorMessage));
 
         given()
@@ -96,4 +140,122 @@ class Day12ControllerTest {
                 .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
     }
 
+    @Test
+    void testPart2StreamEndpoint() throws IOException {
+        Long answer = 321L;
+        Mockito.when(day12Service.part2Solve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day12/part2")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day12Service.part2Solve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day12/part2")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testBothEndpoint() throws IOException {
+        AdventSolutionModel<Long, Long> answer = new AdventSolutionModel<>(123L, 10L, 456L, 20L);
+        Day12Model parsedFile = new Day12Model(new char[][] {{'S', 'E'}});
+        Mockito.when(day12Service.parseDay12File(Mockito.any(File.class)))
+                .thenReturn(parsedFile);
+        Mockito.when(day12Service.bothSolve(parsedFile))
+                .thenReturn(answer);
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day12/both")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart1Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(10))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart2Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(20));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day12Service.parseDay12File(Mockito.any(File.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day12/both")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testBothStreamEndpoint() throws IOException {
+        AdventSolutionModel<Long, Long> answer = new AdventSolutionModel<>(123L, 10L, 456L, 20L);
+        Mockito.when(day12Service.bothSolve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day12/both")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart1Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(10))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart2Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(20));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day12Service.bothSolve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day12/both")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
 }
@@ -4,13 +4,16 @@ import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.security.TestSecurity;
 import io.restassured.builder.MultiPartSpecBuilder;
+import io.restassured.http.ContentType;
 import io.restassured.mapper.ObjectMapperType;
 import org.brandon.core.constants.ResponseConstants;
 import org.brandon.services.advent2022.Day13Service;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
@@ -25,7 +28,7 @@ class Day13ControllerTest {
     @Test
     void testPart1Endpoint() throws IOException {
         Long answer = 123L;
-        Mockito.when(day13Service.part1Solve(Mockito.any()))
+        Mockito.when(day13Service.part1Solve(Mockito.any(File.class)))
                 .thenReturn(answer);
 
         given()
@@ -42,7 +45,7 @@ class Day13ControllerTest {
                 .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
 
         String errorMessage = "Test Case Endpoint Failure";
-        Mockito.when(day13Service.part1Solve(Mockito.any()))
+        Mockito.when(day13Service.part1Solve(Mockito.any(File.class)))
                 .thenThrow(new IOException(errorMessage));
 
         given()
@@ -58,4 +61,37 @@ class Day13ControllerTest {
                 .and()
                 .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
     }
+
+    @Test
+    void testPart1StreamEndpoint() throws IOException {
+        Long answer = 123L;
+        Mockito.when(day13Service.part1Solve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day13/part1")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day13Service.part1Solve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day13/part1")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
 }
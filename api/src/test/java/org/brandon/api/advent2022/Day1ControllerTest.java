@@ -4,16 +4,24 @@ import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.security.TestSecurity;
 import io.restassured.builder.MultiPartSpecBuilder;
+import io.restassured.http.ContentType;
 import io.restassured.mapper.ObjectMapperType;
 import org.brandon.core.constants.ResponseConstants;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day1Model;
 import org.brandon.services.advent2022.Day1Service;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 @TestSecurity(authorizationEnabled = false)
@@ -25,7 +33,10 @@ class Day1ControllerTest {
     @Test
     void testPart1Endpoint() throws IOException {
         Long answer = 123L;
-        Mockito.when(day1Service.part1Solve(Mockito.any()))
+        Day1Model parsedFile = new Day1Model(1);
+        Mockito.when(day1Service.parseDay1File(Mockito.any(File.class), Mockito.anyInt()))
+                .thenReturn(parsedFile);
+        Mockito.when(day1Service.part1Solve(parsedFile))
                 .thenReturn(answer);
 
         given()
@@ -42,7 +53,7 @@ class Day1ControllerTest {
                 .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
 
         String errorMessage = "Test Case Endpoint Failure";
-        Mockito.when(day1Service.part1Solve(Mockito.any()))
+        Mockito.when(day1Service.parseDay1File(Mockito.any(File.class), Mockito.anyInt()))
                 .thenThrow(new IOException(errorMessage));
 
         given()
@@ -59,10 +70,46 @@ class Day1ControllerTest {
                 .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
     }
 
+    @Test
+    void testPart1StreamEndpoint() throws IOException {
+        Long answer = 123L;
+        Mockito.when(day1Service.part1Solve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day1/part1")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day1Service.part1Solve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day1/part1")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
     @Test
     void testPart2Endpoint() throws IOException {
         Long answer = 321L;
-        Mockito.when(day1Service.part2Solve(Mockito.any()))
+        Day1Model parsedFile = new Day1Model(1);
+        Mockito.when(day1Service.parseDay1File(Mockito.any(File.class), Mockito.anyInt()))
+                .thenReturn(parsedFile);
+        Mockito.when(day1Service.part2Solve(parsedFile))
                 .thenReturn(answer);
 
         given()
@@ -79,7 +126,7 @@ class Day1ControllerTest {
                 .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
 
         String errorMessage = "Test Case Endpoint Failure";
-        Mockito.when(day1Service.part2Solve(Mockito.any()))
+        Mockito.when(day1Service.parseDay1File(Mockito.any(File.class), Mockito.anyInt()))
                 .thenThrow(new IOException(errorMessage));
 
         given()
@@ -96,4 +143,235 @@ class Day1ControllerTest {
                 .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
     }
 
+    @Test
+    void testPart2StreamEndpoint() throws IOException {
+        Long answer = 321L;
+        Mockito.when(day1Service.part2Solve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day1/part2")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day1Service.part2Solve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day1/part2")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testBothEndpoint() throws IOException {
+        AdventSolutionModel<Long, Long> answer = new AdventSolutionModel<>(123L, 10L, 456L, 20L);
+        Day1Model parsedFile = new Day1Model(1);
+        Mockito.when(day1Service.parseDay1File(Mockito.any(File.class), Mockito.anyInt()))
+                .thenReturn(parsedFile);
+        Mockito.when(day1Service.bothSolve(parsedFile))
+                .thenReturn(answer);
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day1/both")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart1Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(10))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart2Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(20));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day1Service.parseDay1File(Mockito.any(File.class), Mockito.anyInt()))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day1/both")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testBothStreamEndpoint() throws IOException {
+        AdventSolutionModel<Long, Long> answer = new AdventSolutionModel<>(123L, 10L, 456L, 20L);
+        Mockito.when(day1Service.bothSolve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day1/both")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart1Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(10))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart2Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(20));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day1Service.bothSolve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day1/both")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testPart2EndpointTopK() throws IOException {
+        Long answer = 55_000L;
+        Day1Model parsedFile = new Day1Model(5);
+        Mockito.when(day1Service.parseDay1File(Mockito.any(File.class), Mockito.eq(5)))
+                .thenReturn(parsedFile);
+        Mockito.when(day1Service.part2Solve(parsedFile))
+                .thenReturn(answer);
+        Mockito.when(day1Service.part2Solve(Mockito.any(InputStream.class), Mockito.eq(5)))
+                .thenReturn(answer);
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .queryParam("topK", 5)
+                .when().post("/v1/advent2022/day1/part2")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .queryParam("topK", 5)
+                .when().post("/v1/advent2022/day1/part2")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        String errorMessage = "topK must be at least 1";
+        Mockito.when(day1Service.part2Solve(Mockito.any(InputStream.class), Mockito.eq(0)))
+                .thenThrow(new IllegalArgumentException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .queryParam("topK", 0)
+                .when().post("/v1/advent2022/day1/part2")
+                .then()
+                .statusCode(400)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testRunsOnVirtualThread() throws IOException {
+        // The solver reports whether it ran on a virtual thread, which the endpoint returns as the answer
+        Day1Model parsedFile = new Day1Model(1);
+        Mockito.when(day1Service.parseDay1File(Mockito.any(File.class), Mockito.anyInt()))
+                .thenReturn(parsedFile);
+        Mockito.when(day1Service.part1Solve(parsedFile))
+                .thenAnswer(invocation -> Thread.currentThread().isVirtual() ? 1L : 0L);
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day1/part1")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.ANSWER, equalTo(1));
+    }
+
+    @Test
+    void testLargeUpload() throws IOException {
+        // Past the 10M Vert.x default, which would be turned away with a 413 before reaching the controller
+        byte[] content = new byte[11 * 1024 * 1024];
+        Arrays.fill(content, (byte) '1');
+        File input = File.createTempFile("day1", ".txt");
+        input.deleteOnExit();
+        Files.write(input.toPath(), content);
+
+        // Each solver answers with the number of bytes it was given
+        Mockito.when(day1Service.parseDay1File(Mockito.any(File.class), Mockito.anyInt()))
+                .thenAnswer(invocation -> {
+                    Day1Model parsedFile = new Day1Model(1);
+                    parsedFile.add(invocation.getArgument(0, File.class).length());
+                    return parsedFile;
+                });
+        Mockito.when(day1Service.part1Solve(Mockito.any(Day1Model.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, Day1Model.class).getLargest());
+        Mockito.when(day1Service.part1Solve(Mockito.any(InputStream.class)))
+                .thenAnswer(invocation -> (long) invocation.getArgument(0, InputStream.class).readAllBytes().length);
+
+        given()
+                .multiPart("file", input)
+                .when().post("/v1/advent2022/day1/part1")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.ANSWER, equalTo(content.length));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body(content)
+                .when().post("/v1/advent2022/day1/part1")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.ANSWER, equalTo(content.length));
+        assertTrue(input.delete());
+    }
+
 }
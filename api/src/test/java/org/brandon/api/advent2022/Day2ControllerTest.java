@@ -4,16 +4,22 @@ import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.security.TestSecurity;
 import io.restassured.builder.MultiPartSpecBuilder;
+import io.restassured.http.ContentType;
 import io.restassured.mapper.ObjectMapperType;
 import org.brandon.core.constants.ResponseConstants;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day2ScoringTable;
 import org.brandon.services.advent2022.Day2Service;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 
 @QuarkusTest
 @TestSecurity(authorizationEnabled = false)
@@ -25,7 +31,10 @@ class Day2ControllerTest {
     @Test
     void testPart1Endpoint() throws IOException {
         Long answer = 123L;
-        Mockito.when(day2Service.part1Solve(Mockito.any()))
+        long[] parsedFile = new long[9];
+        Mockito.when(day2Service.parseDay2File(Mockito.any(File.class)))
+                .thenReturn(parsedFile);
+        Mockito.when(day2Service.part1Solve(parsedFile))
                 .thenReturn(answer);
 
         given()
@@ -42,7 +51,7 @@ class Day2ControllerTest {
                 .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
 
         String errorMessage = "Test Case Endpoint Failure";
-        Mockito.when(day2Service.part1Solve(Mockito.any()))
+        Mockito.when(day2Service.parseDay2File(Mockito.any(File.class)))
                 .thenThrow(new IOException(errorMessage));
 
         given()
@@ -59,10 +68,46 @@ class Day2ControllerTest {
                 .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
     }
 
+    @Test
+    void testPart1StreamEndpoint() throws IOException {
+        Long answer = 123L;
+        Mockito.when(day2Service.part1Solve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day2/part1")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day2Service.part1Solve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day2/part1")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
     @Test
     void testPart2Endpoint() throws IOException {
         Long answer = 321L;
-        Mockito.when(day2Service.part2Solve(Mockito.any()))
+        long[] parsedFile = new long[9];
+        Mockito.when(day2Service.parseDay2File(Mockito.any(File.class)))
+                .thenReturn(parsedFile);
+        Mockito.when(day2Service.part2Solve(parsedFile))
                 .thenReturn(answer);
 
         given()
@@ -79,7 +124,7 @@ class Day2ControllerTest {
                 .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
 
         String errorMessage = "Test Case Endpoint Failure";
-        Mockito.when(day2Service.part2Solve(Mockito.any()))
+        Mockito.when(day2Service.parseDay2File(Mockito.any(File.class)))
                 .thenThrow(new IOException(errorMessage));
 
         given()
@@ -96,4 +141,228 @@ class Day2ControllerTest {
                 .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
     }
 
+    @Test
+    void testPart2StreamEndpoint() throws IOException {
+        Long answer = 321L;
+        Mockito.when(day2Service.part2Solve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day2/part2")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day2Service.part2Solve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day2/part2")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testBothEndpoint() throws IOException {
+        AdventSolutionModel<Long, Long> answer = new AdventSolutionModel<>(123L, 10L, 456L, 20L);
+        long[] parsedFile = new long[9];
+        Mockito.when(day2Service.parseDay2File(Mockito.any(File.class)))
+                .thenReturn(parsedFile);
+        Mockito.when(day2Service.bothSolve(parsedFile))
+                .thenReturn(answer);
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day2/both")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart1Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(10))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart2Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(20));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day2Service.parseDay2File(Mockito.any(File.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day2/both")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testBothStreamEndpoint() throws IOException {
+        AdventSolutionModel<Long, Long> answer = new AdventSolutionModel<>(123L, 10L, 456L, 20L);
+        Mockito.when(day2Service.bothSolve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day2/both")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart1Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(10))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart2Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(20));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day2Service.bothSolve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day2/both")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testTableEndpoints() {
+        String table = """
+                {"opponents": "AB", "responses": "XYZ", "points": [[1, 2, 3], [4, 5, 6]]}""";
+        String id = given()
+                .contentType(ContentType.JSON)
+                .body(table)
+                .when().post("/v1/advent2022/day2/tables")
+                .then()
+                .statusCode(201)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.POINTS, hasSize(2))
+                .extract().path(ResponseConstants.ID);
+
+        given()
+                .when().get("/v1/advent2022/day2/tables/" + id)
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.OPPONENTS, equalTo("AB"))
+                .and()
+                .body(ResponseConstants.RESPONSES, equalTo("XYZ"))
+                .and()
+                .body(ResponseConstants.POINTS + "[1][2]", equalTo(6));
+
+        given()
+                .when().get("/v1/advent2022/day2/tables/part1")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.POINTS + "[0][0]", equalTo(4));
+
+        given()
+                .when().get("/v1/advent2022/day2/tables/missing")
+                .then()
+                .statusCode(404)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"opponents": "AB", "responses": "XY", "points": [[1, 2]]}""")
+                .when().post("/v1/advent2022/day2/tables")
+                .then()
+                .statusCode(400)
+                .assertThat()
+                .body(ResponseConstants.MESSAGE, equalTo("Points must have a row for each of the 2 opponent choices"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"opponents": "A", "responses": "X", "points": [["one"]]}""")
+                .when().post("/v1/advent2022/day2/tables")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void testScoreEndpoints() throws IOException {
+        // The parsed counts are scored by the table the id names, which is not mocked
+        long[] parsedFile = new long[9];
+        parsedFile[0] = 41;
+        Long answer = Day2Service.PART_2_TABLE.score(parsedFile);
+        Mockito.when(day2Service.parseDay2File(Mockito.any(File.class), Mockito.any(Day2ScoringTable.class)))
+                .thenReturn(parsedFile);
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day2/tables/part2/score")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+        Mockito.verify(day2Service).parseDay2File(Mockito.any(File.class), Mockito.same(Day2Service.PART_2_TABLE));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day2/tables/missing/score")
+                .then()
+                .statusCode(404);
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day2Service.scoreSolve(Mockito.any(InputStream.class), Mockito.any(Day2ScoringTable.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day2/tables/part1/score")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
 }
@@ -4,16 +4,24 @@ import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.security.TestSecurity;
 import io.restassured.builder.MultiPartSpecBuilder;
+import io.restassured.http.ContentType;
 import io.restassured.mapper.ObjectMapperType;
 import org.brandon.core.constants.ResponseConstants;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day4IntervalIndex;
+import org.brandon.data.advent2022.Day4Model;
 import org.brandon.services.advent2022.Day4Service;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 
 @QuarkusTest
 @TestSecurity(authorizationEnabled = false)
@@ -25,7 +33,7 @@ class Day4ControllerTest {
     @Test
     void testPart1Endpoint() throws IOException {
         Long answer = 123L;
-        Mockito.when(day4Service.part1Solve(Mockito.any()))
+        Mockito.when(day4Service.part1Solve(Mockito.any(File.class)))
                 .thenReturn(answer);
 
         given()
@@ -42,7 +50,7 @@ class Day4ControllerTest {
                 .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
 
         String errorMessage = "Test Case Endpoint Failure";
-        Mockito.when(day4Service.part1Solve(Mockito.any()))
+        Mockito.when(day4Service.part1Solve(Mockito.any(File.class)))
                 .thenThrow(new IOException(errorMessage));
 
         given()
@@ -59,10 +67,43 @@ class Day4ControllerTest {
                 .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
     }
 
+    @Test
+    void testPart1StreamEndpoint() throws IOException {
+        Long answer = 123L;
+        Mockito.when(day4Service.part1Solve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day4/part1")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day4Service.part1Solve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day4/part1")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
     @Test
     void testPart2Endpoint() throws IOException {
         Long answer = 321L;
-        Mockito.when(day4Service.part2Solve(Mockito.any()))
+        Mockito.when(day4Service.part2Solve(Mockito.any(File.class)))
                 .thenReturn(answer);
 
         given()
@@ -79,7 +120,7 @@ class Day4ControllerTest {
                 .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
 
         String errorMessage = "Test Case Endpoint Failure";
-        Mockito.when(day4Service.part2Solve(Mockito.any()))
+        Mockito.when(day4Service.part2Solve(Mockito.any(File.class)))
                 .thenThrow(new IOException(errorMessage));
 
         given()
@@ -96,4 +137,253 @@ class Day4ControllerTest {
                 .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
     }
 
+    @Test
+    void testPart2StreamEndpoint() throws IOException {
+        Long answer = 321L;
+        Mockito.when(day4Service.part2Solve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day4/part2")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day4Service.part2Solve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day4/part2")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testBothEndpoint() throws IOException {
+        AdventSolutionModel<Long, Long> answer = new AdventSolutionModel<>(123L, 10L, 456L, 20L);
+        Day4Model parsedFile = new Day4Model();
+        Mockito.when(day4Service.parseDay4File(Mockito.any(File.class)))
+                .thenReturn(parsedFile);
+        Mockito.when(day4Service.bothSolve(parsedFile))
+                .thenReturn(answer);
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day4/both")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart1Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(10))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart2Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(20));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day4Service.parseDay4File(Mockito.any(File.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day4/both")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testBothStreamEndpoint() throws IOException {
+        AdventSolutionModel<Long, Long> answer = new AdventSolutionModel<>(123L, 10L, 456L, 20L);
+        Mockito.when(day4Service.bothSolve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day4/both")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart1Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(10))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart2Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(20));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day4Service.bothSolve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day4/both")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testIndexEndpoints() throws IOException {
+        Day4Model day4Model = new Day4Model();
+        day4Model.add(2, 4, 6, 8);
+        day4Model.add(2, 3, 4, 5);
+        day4Model.add(5, 7, 7, 9);
+        Day4IntervalIndex index = new Day4IntervalIndex(day4Model);
+        Mockito.when(day4Service.parseDay4File(Mockito.any(File.class)))
+                .thenReturn(day4Model);
+        Mockito.when(day4Service.indexDay4File(day4Model))
+                .thenReturn(index);
+        Mockito.when(day4Service.indexDay4File(Mockito.any(InputStream.class)))
+                .thenReturn(index);
+
+        String id = given()
+                .multiPart("file", "index.txt", "Index Content".getBytes(StandardCharsets.US_ASCII), "text/plain")
+                .when().post("/v1/advent2022/day4/index")
+                .then()
+                .statusCode(201)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.PAIRS, equalTo(3))
+                .and()
+                .body(ResponseConstants.MAX_DEPTH, equalTo(3))
+                .and()
+                .body(ResponseConstants.MAX_DEPTH_SECTION, equalTo(7))
+                .extract().path(ResponseConstants.ID);
+
+        // The same input streamed is the same index
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Index Content")
+                .when().post("/v1/advent2022/day4/index")
+                .then()
+                .statusCode(201)
+                .assertThat()
+                .body(ResponseConstants.ID, equalTo(id));
+
+        given()
+                .when().get("/v1/advent2022/day4/index/" + id)
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.PAIRS, equalTo(3));
+
+        given()
+                .queryParam("section", 4)
+                .when().get("/v1/advent2022/day4/index/" + id + "/covering")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.COUNT, equalTo(2))
+                .and()
+                .body(ResponseConstants.ASSIGNMENTS, hasSize(2))
+                .and()
+                .body(ResponseConstants.ASSIGNMENTS + "[1]." + ResponseConstants.PAIR, equalTo(1))
+                .and()
+                .body(ResponseConstants.ASSIGNMENTS + "[1]." + ResponseConstants.ELF, equalTo(1))
+                .and()
+                .body(ResponseConstants.ASSIGNMENTS + "[1]." + ResponseConstants.START, equalTo(4))
+                .and()
+                .body(ResponseConstants.ASSIGNMENTS + "[1]." + ResponseConstants.END, equalTo(5));
+
+        given()
+                .queryParam("start", 5)
+                .queryParam("end", 8)
+                .queryParam("limit", 1)
+                .when().get("/v1/advent2022/day4/index/" + id + "/overlapping")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.COUNT, equalTo(4))
+                .and()
+                .body(ResponseConstants.ASSIGNMENTS, hasSize(1))
+                .and()
+                .body(ResponseConstants.ASSIGNMENTS + "[0]." + ResponseConstants.PAIR, equalTo(1));
+
+        given()
+                .queryParam("start", 8)
+                .queryParam("end", 5)
+                .when().get("/v1/advent2022/day4/index/" + id + "/overlapping")
+                .then()
+                .statusCode(400)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE));
+
+        given()
+                .queryParam("section", 4)
+                .queryParam("limit", -1)
+                .when().get("/v1/advent2022/day4/index/" + id + "/covering")
+                .then()
+                .statusCode(400);
+
+        given()
+                .when().get("/v1/advent2022/day4/index/" + id + "/covering")
+                .then()
+                .statusCode(400);
+
+        given()
+                .queryParam("section", 4)
+                .when().get("/v1/advent2022/day4/index/missing/covering")
+                .then()
+                .statusCode(404)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE));
+    }
+
+    @Test
+    void testIndexStreamEndpoint() throws IOException {
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day4Service.indexDay4File(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Failing Index Content")
+                .when().post("/v1/advent2022/day4/index")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+
+        given()
+                .when().get("/v1/advent2022/day4/index/missing")
+                .then()
+                .statusCode(404);
+    }
+
 }
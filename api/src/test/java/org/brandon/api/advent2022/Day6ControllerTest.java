@@ -4,16 +4,23 @@ import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.security.TestSecurity;
 import io.restassured.builder.MultiPartSpecBuilder;
+import io.restassured.http.ContentType;
 import io.restassured.mapper.ObjectMapperType;
 import org.brandon.core.constants.ResponseConstants;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day6Markers;
 import org.brandon.services.advent2022.Day6Service;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 
 @QuarkusTest
 @TestSecurity(authorizationEnabled = false)
@@ -25,7 +32,7 @@ class Day6ControllerTest {
     @Test
     void testPart1Endpoint() throws IOException {
         Long answer = 123L;
-        Mockito.when(day6Service.solve(Mockito.any(), Mockito.anyInt()))
+        Mockito.when(day6Service.solve(Mockito.any(File.class), Mockito.eq(4)))
                 .thenReturn(answer);
 
         given()
@@ -40,9 +47,10 @@ class Day6ControllerTest {
                 .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
                 .and()
                 .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+        Mockito.verify(day6Service).solve(Mockito.any(File.class), Mockito.eq(4));
 
         String errorMessage = "Test Case Endpoint Failure";
-        Mockito.when(day6Service.solve(Mockito.any(), Mockito.anyInt()))
+        Mockito.when(day6Service.solve(Mockito.any(File.class), Mockito.eq(4)))
                 .thenThrow(new IOException(errorMessage));
 
         given()
@@ -59,10 +67,43 @@ class Day6ControllerTest {
                 .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
     }
 
+    @Test
+    void testPart1StreamEndpoint() throws IOException {
+        Long answer = 123L;
+        Mockito.when(day6Service.solve(Mockito.any(InputStream.class), Mockito.anyInt()))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day6/part1")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day6Service.solve(Mockito.any(InputStream.class), Mockito.anyInt()))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day6/part1")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
     @Test
     void testPart2Endpoint() throws IOException {
         Long answer = 321L;
-        Mockito.when(day6Service.solve(Mockito.any(), Mockito.anyInt()))
+        Mockito.when(day6Service.solve(Mockito.any(File.class), Mockito.eq(14)))
                 .thenReturn(answer);
 
         given()
@@ -77,9 +118,10 @@ class Day6ControllerTest {
                 .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
                 .and()
                 .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+        Mockito.verify(day6Service).solve(Mockito.any(File.class), Mockito.eq(14));
 
         String errorMessage = "Test Case Endpoint Failure";
-        Mockito.when(day6Service.solve(Mockito.any(), Mockito.anyInt()))
+        Mockito.when(day6Service.solve(Mockito.any(File.class), Mockito.eq(14)))
                 .thenThrow(new IOException(errorMessage));
 
         given()
@@ -96,4 +138,212 @@ class Day6ControllerTest {
                 .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
     }
 
+    @Test
+    void testPart2StreamEndpoint() throws IOException {
+        Long answer = 321L;
+        Mockito.when(day6Service.solve(Mockito.any(InputStream.class), Mockito.anyInt()))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day6/part2")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day6Service.solve(Mockito.any(InputStream.class), Mockito.anyInt()))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day6/part2")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testBothEndpoint() throws IOException {
+        AdventSolutionModel<Long, Long> answer = new AdventSolutionModel<>(123L, 10L, 456L, 20L);
+        Mockito.when(day6Service.bothSolve(Mockito.any(File.class)))
+                .thenReturn(answer);
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day6/both")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart1Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(10))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart2Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(20));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day6Service.bothSolve(Mockito.any(File.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day6/both")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testBothStreamEndpoint() throws IOException {
+        AdventSolutionModel<Long, Long> answer = new AdventSolutionModel<>(123L, 10L, 456L, 20L);
+        Mockito.when(day6Service.bothSolve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day6/both")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart1Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(10))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart2Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(20));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day6Service.bothSolve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day6/both")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testMarkersEndpoint() throws IOException {
+        Mockito.when(day6Service.markerSolve(Mockito.any(File.class), Mockito.any(Day6Markers.class)))
+                .thenAnswer(invocation -> {
+                    Day6Markers markers = invocation.getArgument(1);
+                    markers.record(7, 4);
+                    return markers;
+                });
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day6/markers")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWERS + ".'4'", equalTo(7))
+                .and()
+                .body(ResponseConstants.ANSWERS + ".'14'", nullValue());
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .queryParam("window", 4, 0)
+                .when().post("/v1/advent2022/day6/markers")
+                .then()
+                .statusCode(400)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE));
+    }
+
+    @Test
+    void testMarkersStreamEndpoint() throws IOException {
+        Mockito.when(day6Service.markerSolve(Mockito.any(InputStream.class), Mockito.any(Day6Markers.class)))
+                .thenAnswer(invocation -> {
+                    Day6Markers markers = invocation.getArgument(1);
+                    markers.record(3, 3);
+                    markers.record(4, 2);
+                    markers.record(5, 3);
+                    return markers;
+                });
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .queryParam("window", 3, 2)
+                .queryParam("all", true)
+                .queryParam("limit", 1)
+                .when().post("/v1/advent2022/day6/markers")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.ANSWERS + ".'3'." + ResponseConstants.FIRST, equalTo(3))
+                .and()
+                .body(ResponseConstants.ANSWERS + ".'3'." + ResponseConstants.COUNT, equalTo(2))
+                .and()
+                .body(ResponseConstants.ANSWERS + ".'3'." + ResponseConstants.POSITIONS, equalTo(List.of(3)))
+                .and()
+                .body(ResponseConstants.ANSWERS + ".'2'." + ResponseConstants.COUNT, equalTo(3));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .queryParam("all", true)
+                .queryParam("limit", -1)
+                .when().post("/v1/advent2022/day6/markers")
+                .then()
+                .statusCode(400)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day6Service.markerSolve(Mockito.any(InputStream.class), Mockito.any(Day6Markers.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day6/markers")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
 }
@@ -4,16 +4,25 @@ import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.security.TestSecurity;
 import io.restassured.builder.MultiPartSpecBuilder;
+import io.restassured.http.ContentType;
 import io.restassured.mapper.ObjectMapperType;
 import org.brandon.core.constants.ResponseConstants;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day7SizeIndex;
+import org.brandon.data.advent2022.Day7Tree;
 import org.brandon.services.advent2022.Day7Service;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 
 @QuarkusTest
 @TestSecurity(authorizationEnabled = false)
@@ -25,7 +34,10 @@ class Day7ControllerTest {
     @Test
     void testPart1Endpoint() throws IOException {
         Long answer = 123L;
-        Mockito.when(day7Service.part1Solve(Mockito.any()))
+        Day7Tree parsedFile = new Day7Tree();
+        Mockito.when(day7Service.parseDay7File(Mockito.any(File.class)))
+                .thenReturn(parsedFile);
+        Mockito.when(day7Service.part1Solve(parsedFile))
                 .thenReturn(answer);
 
         given()
@@ -42,7 +54,7 @@ class Day7ControllerTest {
                 .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
 
         String errorMessage = "Test Case Endpoint Failure";
-        Mockito.when(day7Service.part1Solve(Mockito.any()))
+        Mockito.when(day7Service.parseDay7File(Mockito.any(File.class)))
                 .thenThrow(new IOException(errorMessage));
 
         given()
@@ -59,10 +71,46 @@ class Day7ControllerTest {
                 .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
     }
 
+    @Test
+    void testPart1StreamEndpoint() throws IOException {
+        Long answer = 123L;
+        Mockito.when(day7Service.part1Solve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day7/part1")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day7Service.part1Solve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day7/part1")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
     @Test
     void testPart2Endpoint() throws IOException {
         Long answer = 321L;
-        Mockito.when(day7Service.part2Solve(Mockito.any()))
+        Day7Tree parsedFile = new Day7Tree();
+        Mockito.when(day7Service.parseDay7File(Mockito.any(File.class)))
+                .thenReturn(parsedFile);
+        Mockito.when(day7Service.part2Solve(parsedFile))
                 .thenReturn(answer);
 
         given()
@@ -79,7 +127,7 @@ class Day7ControllerTest {
                 .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
 
         String errorMessage = "Test Case Endpoint Failure";
-        Mockito.when(day7Service.part2Solve(Mockito.any()))
+        Mockito.when(day7Service.parseDay7File(Mockito.any(File.class)))
                 .thenThrow(new IOException(errorMessage));
 
         given()
@@ -96,4 +144,264 @@ class Day7ControllerTest {
                 .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
     }
 
+    @Test
+    void testPart2StreamEndpoint() throws IOException {
+        Long answer = 321L;
+        Mockito.when(day7Service.part2Solve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day7/part2")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(answer.intValue()));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day7Service.part2Solve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day7/part2")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testBothEndpoint() throws IOException {
+        AdventSolutionModel<Long, Long> answer = new AdventSolutionModel<>(123L, 10L, 456L, 20L);
+        Day7Tree parsedFile = new Day7Tree();
+        Mockito.when(day7Service.parseDay7File(Mockito.any(File.class)))
+                .thenReturn(parsedFile);
+        Mockito.when(day7Service.bothSolve(parsedFile))
+                .thenReturn(answer);
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day7/both")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart1Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(10))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart2Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(20));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day7Service.parseDay7File(Mockito.any(File.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .multiPart(new MultiPartSpecBuilder("Fake Content", ObjectMapperType.JACKSON_2)
+                        .fileName("greeting.json")
+                        .controlName("file")
+                        .mimeType("application/vnd.custom+json").build())
+                .when().post("/v1/advent2022/day7/both")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testBothStreamEndpoint() throws IOException {
+        AdventSolutionModel<Long, Long> answer = new AdventSolutionModel<>(123L, 10L, 456L, 20L);
+        Mockito.when(day7Service.bothSolve(Mockito.any(InputStream.class)))
+                .thenReturn(answer);
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day7/both")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart1Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_1 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(10))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ANSWER, equalTo(answer.getPart2Answer().intValue()))
+                .and()
+                .body(ResponseConstants.PART_2 + "." + ResponseConstants.ELAPSED_NANOS, equalTo(20));
+
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day7Service.bothSolve(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Fake Content")
+                .when().post("/v1/advent2022/day7/both")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testIndexEndpoints() throws IOException {
+        // Directories / /a and /a/b of total sizes 60, 50 and 30
+        Day7Tree tree = new Day7Tree();
+        tree.addFile(10);
+        tree.changeTo("a".getBytes(StandardCharsets.US_ASCII), 0, 1);
+        tree.addFile(20);
+        tree.changeTo("b".getBytes(StandardCharsets.US_ASCII), 0, 1);
+        tree.addFile(30);
+        tree.finish();
+        Day7SizeIndex index = new Day7SizeIndex(tree);
+        Mockito.when(day7Service.parseDay7File(Mockito.any(File.class)))
+                .thenReturn(tree);
+        Mockito.when(day7Service.indexDay7File(Mockito.any(InputStream.class)))
+                .thenReturn(index);
+
+        String id = given()
+                .multiPart("file", "index.txt", "Index Content".getBytes(StandardCharsets.US_ASCII), "text/plain")
+                .when().post("/v1/advent2022/day7/index")
+                .then()
+                .statusCode(201)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.DIRECTORIES, equalTo(3))
+                .and()
+                .body(ResponseConstants.TOTAL_SIZE, equalTo(60))
+                .extract().path(ResponseConstants.ID);
+
+        // The same input streamed is the same index
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Index Content")
+                .when().post("/v1/advent2022/day7/index")
+                .then()
+                .statusCode(201)
+                .assertThat()
+                .body(ResponseConstants.ID, equalTo(id));
+
+        given()
+                .when().get("/v1/advent2022/day7/index/" + id)
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.DIRECTORIES, equalTo(3));
+
+        given()
+                .queryParam("max", 50)
+                .queryParam("limit", 1)
+                .when().get("/v1/advent2022/day7/index/" + id + "/at-most")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.COUNT, equalTo(2))
+                .and()
+                .body(ResponseConstants.TOTAL_SIZE, equalTo(80))
+                .and()
+                .body(ResponseConstants.DIRECTORIES, hasSize(1))
+                .and()
+                .body(ResponseConstants.DIRECTORIES + "[0]." + ResponseConstants.PATH, equalTo("/a"))
+                .and()
+                .body(ResponseConstants.DIRECTORIES + "[0]." + ResponseConstants.SIZE, equalTo(50));
+
+        given()
+                .queryParam("min", 31)
+                .when().get("/v1/advent2022/day7/index/" + id + "/smallest")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.COUNT, equalTo(2))
+                .and()
+                .body(ResponseConstants.DIRECTORIES + "[0]." + ResponseConstants.PATH, equalTo("/a"));
+
+        given()
+                .queryParam("min", 61)
+                .when().get("/v1/advent2022/day7/index/" + id + "/smallest")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.COUNT, equalTo(0))
+                .and()
+                .body(ResponseConstants.DIRECTORIES, hasSize(0));
+
+        given()
+                .when().get("/v1/advent2022/day7/index/" + id + "/largest")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.COUNT, equalTo(3))
+                .and()
+                .body(ResponseConstants.DIRECTORIES + "." + ResponseConstants.PATH, contains("/", "/a", "/a/b"));
+
+        given()
+                .queryParam("k", -1)
+                .when().get("/v1/advent2022/day7/index/" + id + "/largest")
+                .then()
+                .statusCode(400)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE));
+
+        given()
+                .when().get("/v1/advent2022/day7/index/" + id + "/at-most")
+                .then()
+                .statusCode(400);
+
+        given()
+                .when().get("/v1/advent2022/day7/index/" + id + "/smallest")
+                .then()
+                .statusCode(400);
+
+        given()
+                .queryParam("max", 50)
+                .when().get("/v1/advent2022/day7/index/missing/at-most")
+                .then()
+                .statusCode(404)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE));
+    }
+
+    @Test
+    void testIndexStreamEndpoint() throws IOException {
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day7Service.indexDay7File(Mockito.any(InputStream.class)))
+                .thenThrow(new IOException(errorMessage));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("Failing Index Content")
+                .when().post("/v1/advent2022/day7/index")
+                .then()
+                .statusCode(500)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE))
+                .and()
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+
+        given()
+                .when().get("/v1/advent2022/day7/index/missing")
+                .then()
+                .statusCode(404);
+    }
+
 }
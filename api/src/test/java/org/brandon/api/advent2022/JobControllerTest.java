@@ -0,0 +1,170 @@
+package org.brandon.api.advent2022;
+
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.response.ValidatableResponse;
+import org.brandon.core.constants.ResponseConstants;
+import org.brandon.services.advent2022.Day1Service;
+import org.brandon.services.advent2022.Day9Service;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@QuarkusTest
+@TestSecurity(authorizationEnabled = false)
+class JobControllerTest {
+
+    @InjectMock
+    Day1Service day1Service;
+
+    @InjectMock
+    Day9Service day9Service;
+
+    @Test
+    void testSubmitAndPoll() throws IOException {
+        // Answer with the file length so the test fails if the upload is gone before the job runs
+        Mockito.when(day1Service.part1Solve(Mockito.any(File.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, File.class).length());
+        String id = submit(1, 1, "12345")
+                .statusCode(202)
+                .header("Location", containsString("/v1/advent2022/jobs/"))
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .body(ResponseConstants.ID, notNullValue())
+                .extract().path(ResponseConstants.ID);
+
+        awaitFinished(id)
+                .body(ResponseConstants.STATUS, equalTo("succeeded"))
+                .body(ResponseConstants.ANSWER, equalTo(5))
+                .body(ResponseConstants.WAIT_NANOS, notNullValue())
+                .body(ResponseConstants.ELAPSED_NANOS, notNullValue());
+
+        String body = given()
+                .when().get("/v1/advent2022/jobs/" + id + "/events")
+                .then()
+                .statusCode(200)
+                .extract().asString();
+        assertEquals(1, body.split("data:").length - 1, "A finished job sends a single event");
+
+        given()
+                .when().get("/q/metrics")
+                .then()
+                .body(containsString("advent_jobs_wait_seconds_count"))
+                .body(containsString("advent_jobs_queue_depth"));
+    }
+
+    @Test
+    void testFailedJob() throws IOException {
+        String errorMessage = "Test Case Endpoint Failure";
+        Mockito.when(day1Service.part2Solve(Mockito.any(File.class)))
+                .thenThrow(new IOException(errorMessage));
+        String id = submit(1, 2, "12345")
+                .statusCode(202)
+                .extract().path(ResponseConstants.ID);
+
+        awaitFinished(id)
+                .body(ResponseConstants.STATUS, equalTo("failed"))
+                .body(ResponseConstants.MESSAGE, equalTo(errorMessage));
+    }
+
+    @Test
+    void testAdmissionControl() throws Exception {
+        // One thread and room for one queued job, so a third job is turned away while the first is running
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(day9Service.part1Solve(Mockito.any(File.class)))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return 1L;
+                });
+
+        String running = submit(9, 1, "R 4").statusCode(202).extract().path(ResponseConstants.ID);
+        started.await(10, TimeUnit.SECONDS);
+        String queued = submit(9, 1, "R 4").statusCode(202).extract().path(ResponseConstants.ID);
+
+        given()
+                .when().get("/v1/advent2022/jobs/" + queued)
+                .then()
+                .body(ResponseConstants.STATUS, equalTo("queued"));
+        submit(9, 1, "R 4")
+                .statusCode(503)
+                .header("Retry-After", notNullValue())
+                .body(ResponseConstants.MESSAGE, equalTo("Job queue is full"));
+
+        // The stream only ends once the job has finished, so it is read off the test thread
+        CompletableFuture<String> events = CompletableFuture.supplyAsync(() -> given()
+                .when().get("/v1/advent2022/jobs/" + queued + "/events")
+                .then()
+                .extract().asString());
+        release.countDown();
+        awaitFinished(running).body(ResponseConstants.STATUS, equalTo("succeeded"));
+        awaitFinished(queued).body(ResponseConstants.STATUS, equalTo("succeeded"));
+        String body = events.get(10, TimeUnit.SECONDS);
+        assertTrue(body.contains("\"succeeded\""), "The stream ends with the succeeded status");
+    }
+
+    @Test
+    void testInvalidJobs() throws IOException {
+        submit(25, 1, "12345")
+                .statusCode(400)
+                .body(ResponseConstants.MESSAGE, equalTo("No solver for day 25 part 1"));
+
+        given()
+                .multiPart("day", "1")
+                .when().post("/v1/advent2022/jobs")
+                .then()
+                .statusCode(400)
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.FAILURE));
+
+        given()
+                .when().get("/v1/advent2022/jobs/unknown")
+                .then()
+                .statusCode(404)
+                .body(ResponseConstants.MESSAGE, equalTo("No job found with id unknown"));
+    }
+
+    private ValidatableResponse submit(int day, int part, String content) throws IOException {
+        File input = File.createTempFile("job", ".txt");
+        input.deleteOnExit();
+        Files.writeString(input.toPath(), content);
+        return given()
+                .multiPart("day", String.valueOf(day))
+                .multiPart("part", String.valueOf(part))
+                .multiPart("file", input)
+                .when().post("/v1/advent2022/jobs")
+                .then();
+    }
+
+    private ValidatableResponse awaitFinished(String id) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            String status = given().when().get("/v1/advent2022/jobs/" + id).then().extract().path(ResponseConstants.STATUS);
+            if (status.equals("succeeded") || status.equals("failed")) {
+                return given().when().get("/v1/advent2022/jobs/" + id).then().statusCode(200);
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        fail("Job " + id + " did not finish");
+        return null;
+    }
+
+}
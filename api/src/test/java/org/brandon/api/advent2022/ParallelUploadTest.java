@@ -0,0 +1,120 @@
+package org.brandon.api.advent2022;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import io.quarkus.test.security.TestSecurity;
+import org.brandon.core.constants.ResponseConstants;
+import org.brandon.core.io.FileChunks;
+import org.brandon.services.advent2022.Day1Service;
+import org.brandon.services.advent2022.Day3Service;
+import org.brandon.services.advent2022.Day6Service;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Uploads inputs past the parallel threshold through the real services, to check that they reach the parallel
+ * scans rather than being turned away or read in order.
+ */
+@QuarkusTest
+@TestSecurity(authorizationEnabled = false)
+class ParallelUploadTest {
+
+    @InjectSpy
+    Day1Service day1Service;
+
+    @InjectSpy
+    Day3Service day3Service;
+
+    @InjectSpy
+    Day6Service day6Service;
+
+    @Test
+    void testDay1Part1() throws IOException {
+        // Every elf carries 300 calories
+        File input = write("100\n200\n\n", "");
+
+        given()
+                .multiPart("file", input)
+                .when().post("/v1/advent2022/day1/part1")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo(300));
+
+        Mockito.verify(day1Service).parseDay1FileParallel(Mockito.any(File.class), Mockito.eq(1), Mockito.anyInt());
+        assertTrue(input.delete());
+    }
+
+    @Test
+    void testDay3Query() throws IOException {
+        // Both halves of every rucksack hold a single item of priority 1
+        File input = write("aa\n", "");
+        long rucksacks = input.length() / 3;
+
+        given()
+                .multiPart("file", input)
+                .queryParam("query", "halves:1")
+                .when().post("/v1/advent2022/day3/query")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWERS + ".'halves:1'", equalTo((int) rucksacks));
+
+        Mockito.verify(day3Service).querySolveParallel(Mockito.any(File.class), Mockito.anyList(), Mockito.anyInt());
+        assertTrue(input.delete());
+    }
+
+    @Test
+    void testDay6Part1() throws IOException {
+        // The only marker is the last four characters
+        File input = write("a", "abcd");
+
+        given()
+                .multiPart("file", input)
+                .when().post("/v1/advent2022/day6/part1")
+                .then()
+                .statusCode(200)
+                .assertThat()
+                .body(ResponseConstants.RESPONSE, equalTo(ResponseConstants.SUCCESS))
+                .and()
+                .body(ResponseConstants.ANSWER, equalTo((int) input.length()));
+
+        Mockito.verify(day6Service).solveParallel(Mockito.any(File.class), Mockito.eq(4), Mockito.anyInt());
+        assertTrue(input.delete());
+    }
+
+    /**
+     * Writes an input just past the parallel threshold.
+     * @param unit The text repeated until the threshold is reached
+     * @param suffix The text written after the repeats
+     * @return The input file
+     */
+    private static File write(String unit, String suffix) throws IOException {
+        File input = File.createTempFile("parallel", ".txt");
+        input.deleteOnExit();
+        byte[] bytes = unit.getBytes(StandardCharsets.US_ASCII);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(input.toPath()))) {
+            for (long written = 0; written < FileChunks.PARALLEL_THRESHOLD_BYTES; written += bytes.length) {
+                out.write(bytes);
+            }
+            out.write(suffix.getBytes(StandardCharsets.US_ASCII));
+        }
+        return input;
+    }
+
+}
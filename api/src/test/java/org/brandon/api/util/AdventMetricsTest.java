@@ -0,0 +1,160 @@
+package org.brandon.api.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.quarkus.vertx.http.runtime.CurrentVertxRequest;
+import io.restassured.http.ContentType;
+import org.brandon.core.constants.ResponseConstants;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@TestSecurity(authorizationEnabled = false)
+class AdventMetricsTest {
+
+    private static final String DAY1_INPUT = """
+            1000
+            2000
+
+            4000
+            """;
+
+    @Test
+    void testPhasesArePublished() throws IOException {
+        File input = File.createTempFile("day1", ".txt");
+        input.deleteOnExit();
+        Files.writeString(input.toPath(), DAY1_INPUT);
+
+        given()
+                .multiPart("file", input)
+                .when().post("/v1/advent2022/day1/part1")
+                .then()
+                .statusCode(200)
+                .body(ResponseConstants.ANSWER, equalTo(4000));
+
+        given()
+                .contentType(ContentType.TEXT)
+                .body("not a number")
+                .when().post("/v1/advent2022/day1/part2")
+                .then()
+                .statusCode(500);
+
+        given()
+                .when().get("/q/metrics")
+                .then()
+                .statusCode(200)
+                .body(containsString("advent_phase_seconds_count{day=\"1\",outcome=\"success\",part=\"1\",phase=\"upload\"}"))
+                .body(containsString("advent_phase_seconds_count{day=\"1\",outcome=\"success\",part=\"1\",phase=\"parse\"}"))
+                .body(containsString("advent_phase_seconds_count{day=\"1\",outcome=\"success\",part=\"1\",phase=\"solve\"}"))
+                .body(containsString("advent_phase_seconds_count{day=\"1\",outcome=\"success\",part=\"1\",phase=\"serialize\"}"))
+                .body(containsString("advent_phase_seconds_count{day=\"1\",outcome=\"failure\",part=\"2\",phase=\"parse\"}"))
+                .body(containsString("advent_phase_seconds_count{day=\"1\",outcome=\"failure\",part=\"2\",phase=\"serialize\"}"))
+                .body(containsString("advent_input_size_bytes_bucket{day=\"1\",part=\"1\",le=\"1024.0\"}"));
+    }
+
+    @Test
+    void testParseEndsWhenInputIsRead() throws IOException {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AdventMetrics adventMetrics = new AdventMetrics(true, registry, new CurrentVertxRequest());
+        RequestMetrics requestMetrics = adventMetrics.request(4, 2);
+
+        long answer = requestMetrics.solve(new ByteArrayInputStream(new byte[100]), input -> {
+            long read = input.readAllBytes().length;
+            input.close();
+            sleep();
+            return read;
+        });
+
+        assertEquals(100L, answer);
+        assertEquals(100.0, adventMetrics.inputSize("4", "2").totalAmount());
+        double parseMillis = adventMetrics.phaseTimer("4", "2", AdventMetrics.PARSE, RequestMetrics.SUCCESS)
+                .totalTime(TimeUnit.MILLISECONDS);
+        double solveMillis = adventMetrics.phaseTimer("4", "2", AdventMetrics.SOLVE, RequestMetrics.SUCCESS)
+                .totalTime(TimeUnit.MILLISECONDS);
+        assertTrue(solveMillis >= 20, "The sleep after the input was read belongs to the solve");
+        assertTrue(parseMillis < solveMillis);
+    }
+
+    @Test
+    void testFileSolverGetsTheFile() throws IOException {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AdventMetrics adventMetrics = new AdventMetrics(true, registry, new CurrentVertxRequest());
+        RequestMetrics requestMetrics = adventMetrics.request(4, 1);
+        File input = File.createTempFile("day4", ".txt");
+        input.deleteOnExit();
+        Files.writeString(input.toPath(), DAY1_INPUT);
+
+        // The parser is handed the upload itself, so it can map it, and the bytes parsed are the length of the file
+        assertSame(input, requestMetrics.solve(input, file -> file, file -> {
+            sleep();
+            return file;
+        }));
+        assertEquals((double) input.length(), adventMetrics.inputSize("4", "1").totalAmount());
+        double parseMillis = adventMetrics.phaseTimer("4", "1", AdventMetrics.PARSE, RequestMetrics.SUCCESS)
+                .totalTime(TimeUnit.MILLISECONDS);
+        double solveMillis = adventMetrics.phaseTimer("4", "1", AdventMetrics.SOLVE, RequestMetrics.SUCCESS)
+                .totalTime(TimeUnit.MILLISECONDS);
+        assertTrue(solveMillis >= 20, "The sleep after the parser returned belongs to the solve");
+        assertTrue(parseMillis < solveMillis);
+
+        // A failed parse is not followed by a solve
+        RequestMetrics failedMetrics = adventMetrics.request(4, 2);
+        assertThrows(IOException.class, () -> failedMetrics.solve(input, file -> {
+            throw new IOException("Invalid file provided");
+        }, file -> file));
+        assertEquals(1, adventMetrics.phaseTimer("4", "2", AdventMetrics.PARSE, RequestMetrics.FAILURE).count());
+        assertEquals(0, adventMetrics.phaseTimer("4", "2", AdventMetrics.SOLVE, RequestMetrics.FAILURE).count());
+    }
+
+    @Test
+    void testSinglePassFileSolverRecordsNoSolve() throws IOException {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AdventMetrics adventMetrics = new AdventMetrics(true, registry, new CurrentVertxRequest());
+        RequestMetrics requestMetrics = adventMetrics.request(6, 1);
+        File input = File.createTempFile("day6", ".txt");
+        input.deleteOnExit();
+        Files.writeString(input.toPath(), "mjqjpqmgbljsphdztnvjfqwrcgsmlb");
+
+        // The end of the parse cannot be seen, so the call is only a parse, with no solve or bytes parsed made up
+        assertSame(input, requestMetrics.solve(input, file -> file));
+        assertEquals(1, adventMetrics.phaseTimer("6", "1", AdventMetrics.PARSE, RequestMetrics.SUCCESS).count());
+        assertEquals(0, adventMetrics.phaseTimer("6", "1", AdventMetrics.SOLVE, RequestMetrics.SUCCESS).count());
+        assertEquals(0, adventMetrics.inputSize("6", "1").count());
+    }
+
+    @Test
+    void testDisabled() throws IOException {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AdventMetrics adventMetrics = new AdventMetrics(false, registry, new CurrentVertxRequest());
+        RequestMetrics requestMetrics = adventMetrics.requestBoth(4);
+
+        SolutionCache.Solver<InputStream, Integer> solver = input -> input.readAllBytes().length;
+        assertSame(solver, requestMetrics.stream(solver));
+        assertEquals(3, requestMetrics.solve(new ByteArrayInputStream("abc".getBytes(StandardCharsets.US_ASCII)), solver));
+        assertEquals(200, requestMetrics.success(() -> ResponseCreation.buildAdventSuccessResponse(1L)).getStatus());
+        assertTrue(registry.getMeters().isEmpty());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(25);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
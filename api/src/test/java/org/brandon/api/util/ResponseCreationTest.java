@@ -4,8 +4,13 @@ import io.quarkus.test.junit.QuarkusTest;
 import io.vertx.core.json.JsonObject;
 import jakarta.ws.rs.core.Response;
 import org.brandon.core.constants.ResponseConstants;
+import org.brandon.data.advent2022.AdventSolutionModel;
 import org.junit.jupiter.api.Test;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -44,6 +49,46 @@ class ResponseCreationTest {
         }
     }
 
+    @Test
+    void testBuildAdventSuccessResponseAnswers() {
+        Map<String, Long> answers = new LinkedHashMap<>();
+        answers.put("halves:1", 157L);
+        answers.put("whole:3", 70L);
+
+        try (Response testResponse = ResponseCreation.buildAdventSuccessResponse(answers)) {
+            assertEquals(200, testResponse.getStatus());
+            JsonObject jsonMap = (JsonObject) testResponse.getEntity();
+            assertEquals(ResponseConstants.SUCCESS, jsonMap.getString(ResponseConstants.RESPONSE));
+            JsonObject answersJson = jsonMap.getJsonObject(ResponseConstants.ANSWERS);
+            assertEquals(List.of("halves:1", "whole:3"), List.copyOf(answersJson.fieldNames()));
+            assertEquals(70L, answersJson.getLong("whole:3"));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            throw new AssertionError("Build Advent Success Response Test has failed");
+        }
+    }
+
+    @Test
+    void testBuildAdventSuccessResponseBoth() {
+        AdventSolutionModel<Long, String> solution = new AdventSolutionModel<>(123L, 10L, "Hello World!", 20L);
+
+        try (Response testResponse = ResponseCreation.buildAdventSuccessResponse(solution)) {
+            assertEquals(200, testResponse.getStatus());
+            assertTrue(testResponse.hasEntity());
+            JsonObject jsonMap = (JsonObject) testResponse.getEntity();
+            assertEquals(ResponseConstants.SUCCESS, jsonMap.getString(ResponseConstants.RESPONSE));
+            JsonObject part1 = jsonMap.getJsonObject(ResponseConstants.PART_1);
+            assertEquals(123L, part1.getLong(ResponseConstants.ANSWER));
+            assertEquals(10L, part1.getLong(ResponseConstants.ELAPSED_NANOS));
+            JsonObject part2 = jsonMap.getJsonObject(ResponseConstants.PART_2);
+            assertEquals("Hello World!", part2.getString(ResponseConstants.ANSWER));
+            assertEquals(20L, part2.getLong(ResponseConstants.ELAPSED_NANOS));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            throw new AssertionError("Build Advent Success Response Test has failed");
+        }
+    }
+
     @Test
     void testBuildAdventFailureResponse() {
         String errorMessage = "Test error message";
@@ -60,4 +105,37 @@ class ResponseCreationTest {
         }
     }
 
+    @Test
+    void testBuildAdventJobResponse() {
+        JsonObject job = new JsonObject()
+                .put(ResponseConstants.ID, "abc")
+                .put(ResponseConstants.STATUS, "queued");
+
+        try (Response testResponse = ResponseCreation.buildAdventJobResponse(Response.Status.ACCEPTED, job)) {
+            assertEquals(202, testResponse.getStatus());
+            JsonObject jsonMap = (JsonObject) testResponse.getEntity();
+            assertEquals(ResponseConstants.SUCCESS, jsonMap.getString(ResponseConstants.RESPONSE));
+            assertEquals("abc", jsonMap.getString(ResponseConstants.ID));
+            assertEquals("queued", jsonMap.getString(ResponseConstants.STATUS));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            throw new AssertionError("Build Advent Job Response Test has failed");
+        }
+    }
+
+    @Test
+    void testBuildAdventFailureResponseWithStatus() {
+        String errorMessage = "Test error message";
+
+        try (Response testResponse = ResponseCreation.buildAdventFailureResponse(Response.Status.NOT_FOUND, errorMessage)) {
+            assertEquals(404, testResponse.getStatus());
+            JsonObject jsonMap = (JsonObject) testResponse.getEntity();
+            assertEquals(ResponseConstants.FAILURE, jsonMap.getString(ResponseConstants.RESPONSE));
+            assertEquals(errorMessage, jsonMap.getString(ResponseConstants.MESSAGE));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            throw new AssertionError("Build Advent Failure Response With Status Test has failed");
+        }
+    }
+
 }
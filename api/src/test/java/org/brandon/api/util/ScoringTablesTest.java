@@ -0,0 +1,44 @@
+package org.brandon.api.util;
+
+import org.brandon.data.advent2022.Day2ScoringTable;
+import org.brandon.services.advent2022.Day2Service;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoringTablesTest {
+
+    @Test
+    void testRegisterIsIdempotent() {
+        ScoringTables scoringTables = new ScoringTables(10);
+        Day2ScoringTable table = new Day2ScoringTable("AB", "XY", new int[][] {{1, 2}, {3, 4}});
+
+        String id = scoringTables.register(table);
+        assertEquals(id, scoringTables.register(new Day2ScoringTable("AB", "XY", new int[][] {{1, 2}, {3, 4}})));
+        assertSame(table, scoringTables.find(id).orElseThrow());
+        assertEquals(1, scoringTables.size());
+
+        // Any change to the definition is a different table
+        assertNotEquals(id, scoringTables.register(new Day2ScoringTable("AB", "XY", new int[][] {{1, 2}, {3, 5}})));
+        assertNotEquals(id, scoringTables.register(new Day2ScoringTable("BA", "XY", new int[][] {{1, 2}, {3, 4}})));
+        assertEquals(3, scoringTables.size());
+    }
+
+    @Test
+    void testBuiltInTablesAndEviction() {
+        ScoringTables scoringTables = new ScoringTables(1);
+        assertSame(Day2Service.PART_1_TABLE, scoringTables.find(ScoringTables.PART_1).orElseThrow());
+        assertSame(Day2Service.PART_2_TABLE, scoringTables.find(ScoringTables.PART_2).orElseThrow());
+        assertTrue(scoringTables.find("missing").isEmpty());
+
+        String first = scoringTables.register(new Day2ScoringTable("A", "X", new int[][] {{1}}));
+        String second = scoringTables.register(new Day2ScoringTable("A", "X", new int[][] {{2}}));
+        assertTrue(scoringTables.find(first).isEmpty());
+        assertTrue(scoringTables.find(second).isPresent());
+        assertEquals(1, scoringTables.size());
+    }
+
+}
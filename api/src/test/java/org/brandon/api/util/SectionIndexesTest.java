@@ -0,0 +1,75 @@
+package org.brandon.api.util;
+
+import org.brandon.data.advent2022.Day4IntervalIndex;
+import org.brandon.data.advent2022.Day4Model;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SectionIndexesTest {
+
+    @Test
+    void testIndexIsKeyedByInput() throws IOException {
+        SectionIndexes sectionIndexes = new SectionIndexes(10);
+        AtomicInteger builds = new AtomicInteger();
+        File file = File.createTempFile("day4", ".txt");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), "2-4,6-8\n");
+
+        InputIndexes.Indexed<Day4IntervalIndex> indexed = sectionIndexes.index(file, upload -> build(builds));
+        assertEquals(SolutionCache.digest(new ByteArrayInputStream("2-4,6-8\n".getBytes(StandardCharsets.US_ASCII))),
+                indexed.id());
+        assertSame(indexed.index(), sectionIndexes.find(indexed.id()).orElseThrow());
+
+        // The same file is not built again, and the same bytes streamed keep the index already stored
+        assertSame(indexed.index(), sectionIndexes.index(file, upload -> build(builds)).index());
+        assertEquals(1, builds.get());
+        InputIndexes.Indexed<Day4IntervalIndex> streamed = sectionIndexes.index(stream("2-4,6-8\n"), input -> {
+            // Reading only part of the input still keys the index on all of it
+            input.read();
+            input.close();
+            return build(builds);
+        });
+        assertEquals(indexed.id(), streamed.id());
+        assertSame(indexed.index(), streamed.index());
+        assertEquals(1, sectionIndexes.size());
+
+        assertNotEquals(indexed.id(), sectionIndexes.index(stream("2-4,6-9\n"), input -> build(builds)).id());
+        assertEquals(2, sectionIndexes.size());
+        assertTrue(file.delete());
+    }
+
+    @Test
+    void testEviction() throws IOException {
+        SectionIndexes sectionIndexes = new SectionIndexes(1);
+        AtomicInteger builds = new AtomicInteger();
+        assertTrue(sectionIndexes.find("missing").isEmpty());
+
+        String first = sectionIndexes.index(stream("1-2,3-4\n"), input -> build(builds)).id();
+        String second = sectionIndexes.index(stream("1-2,3-5\n"), input -> build(builds)).id();
+        assertTrue(sectionIndexes.find(first).isEmpty());
+        assertTrue(sectionIndexes.find(second).isPresent());
+        assertEquals(1, sectionIndexes.size());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Day4IntervalIndex build(AtomicInteger builds) {
+        builds.incrementAndGet();
+        return new Day4IntervalIndex(new Day4Model());
+    }
+
+}
@@ -0,0 +1,156 @@
+package org.brandon.api.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SolutionCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFileHitSkipsSolver() throws IOException {
+        SolutionCache solutionCache = new SolutionCache(true, 10, Optional.empty(), new SimpleMeterRegistry());
+        File input = this.write("input.txt", "1000\n2000\n");
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals(123L, solutionCache.<Long>solve(1, 1, input, file -> (long) calls.incrementAndGet() * 123));
+        assertEquals(123L, solutionCache.<Long>solve(1, 1, input, file -> (long) calls.incrementAndGet() * 123));
+        assertEquals(1, calls.get());
+        assertEquals(1, solutionCache.getHits());
+        assertEquals(1, solutionCache.getMisses());
+
+        // The same bytes for a different part or day are solved separately
+        solutionCache.solve(1, 2, input, file -> (long) calls.incrementAndGet());
+        solutionCache.solve(2, 1, input, file -> (long) calls.incrementAndGet());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testStreamFillsCache() throws IOException {
+        SolutionCache solutionCache = new SolutionCache(true, 10, Optional.empty(), new SimpleMeterRegistry());
+        String content = "mjqjpqmgbljsphdztnvjfqwrcgsmlb\nignored";
+
+        String answer = solutionCache.solve(6, 1, this.stream(content), stream -> {
+            try (stream) {
+                return new String(stream.readAllBytes(), StandardCharsets.UTF_8).substring(0, 4);
+            }
+        });
+        assertEquals("mjqj", answer);
+
+        File input = this.write("input.txt", content);
+        assertEquals("mjqj", solutionCache.solve(6, 1, input, file -> "solved again"));
+        assertEquals(1, solutionCache.getHits());
+    }
+
+    @Test
+    void testStreamEarlyExitIsNotCached() throws IOException {
+        SolutionCache solutionCache = new SolutionCache(true, 10, Optional.empty(), new SimpleMeterRegistry());
+        String content = "mjqjpqmgbljsphdztnvjfqwrcgsmlb\nignored";
+        AtomicInteger unread = new AtomicInteger();
+
+        // The solver only reads the first few bytes, and the rest of the body is left unread rather than digested
+        String answer = solutionCache.solve(6, 1, this.stream(content), stream -> {
+            String read = new String(stream.readNBytes(4), StandardCharsets.UTF_8);
+            unread.set(stream.available());
+            return read;
+        });
+        assertEquals("mjqj", answer);
+        assertEquals(content.length() - 4, unread.get());
+        assertEquals(0, solutionCache.size());
+
+        File input = this.write("input.txt", content);
+        assertEquals("solved again", solutionCache.solve(6, 1, input, file -> "solved again"));
+        assertEquals(0, solutionCache.getHits());
+        assertEquals(2, solutionCache.getMisses());
+    }
+
+    @Test
+    void testMeters() throws IOException {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        SolutionCache solutionCache = new SolutionCache(true, 1, Optional.empty(), registry);
+        File first = this.write("first.txt", "1");
+        File second = this.write("second.txt", "2");
+
+        solutionCache.solve(1, 1, first, file -> 1L);
+        solutionCache.solve(1, 1, first, file -> 1L);
+        solutionCache.solve(1, 1, second, file -> 2L);
+
+        assertEquals(1.0, registry.get(SolutionCache.REQUESTS).tag(SolutionCache.RESULT, "hit").functionCounter().count());
+        assertEquals(2.0, registry.get(SolutionCache.REQUESTS).tag(SolutionCache.RESULT, "miss").functionCounter().count());
+        assertEquals(1.0, registry.get(SolutionCache.EVICTIONS).functionCounter().count());
+        assertEquals(1.0, registry.get(SolutionCache.SIZE).gauge().value());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() throws IOException {
+        SolutionCache solutionCache = new SolutionCache(true, 2, Optional.empty(), new SimpleMeterRegistry());
+        File first = this.write("first.txt", "1");
+        File second = this.write("second.txt", "2");
+        File third = this.write("third.txt", "3");
+
+        solutionCache.solve(1, 1, first, file -> 1L);
+        solutionCache.solve(1, 1, second, file -> 2L);
+        // Touch the first input so the second one becomes the eldest
+        solutionCache.solve(1, 1, first, file -> -1L);
+        solutionCache.solve(1, 1, third, file -> 3L);
+
+        assertEquals(2, solutionCache.size());
+        assertEquals(1, solutionCache.getEvictions());
+        assertEquals(1L, solutionCache.<Long>solve(1, 1, first, file -> -1L));
+        assertEquals(-2L, solutionCache.<Long>solve(1, 1, second, file -> -2L));
+    }
+
+    @Test
+    void testPersistence() throws IOException {
+        Path cacheFile = this.tempDir.resolve("cache.jsonl");
+        File input = this.write("input.txt", "30373\n25512\n");
+
+        SolutionCache solutionCache = new SolutionCache(true, 10, Optional.of(cacheFile.toString()), new SimpleMeterRegistry());
+        solutionCache.load();
+        solutionCache.solve(8, 1, input, file -> 21L);
+        solutionCache.solve(10, 2, input, file -> "##..");
+        solutionCache.persist();
+
+        SolutionCache reloaded = new SolutionCache(true, 10, Optional.of(cacheFile.toString()), new SimpleMeterRegistry());
+        reloaded.load();
+        assertEquals(2, reloaded.size());
+        assertEquals(21L, reloaded.<Long>solve(8, 1, input, file -> -1L));
+        assertEquals("##..", reloaded.solve(10, 2, input, file -> "solved again"));
+        assertEquals(2, reloaded.getHits());
+    }
+
+    @Test
+    void testDisabled() throws IOException {
+        SolutionCache solutionCache = new SolutionCache(false, 10, Optional.empty(), new SimpleMeterRegistry());
+        File input = this.write("input.txt", "A Y\n");
+
+        assertEquals(1L, solutionCache.<Long>solve(2, 1, input, file -> 1L));
+        assertEquals(2L, solutionCache.<Long>solve(2, 1, input, file -> 2L));
+        assertEquals(0, solutionCache.size());
+        assertEquals(0, solutionCache.getHits());
+    }
+
+    private File write(String name, String content) throws IOException {
+        return Files.writeString(this.tempDir.resolve(name), content).toFile();
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Compares the api running its endpoints on the platform worker pool against virtual threads.
+# quarkus.virtual-threads.enabled is fixed when the api is built, so the api is packaged and started once per mode,
+# then loaded with UploadLoadTest. Any arguments are passed on to UploadLoadTest, such as --concurrency 1000.
+# The summaries of both runs are appended to load-results.ndjson.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+PORT="${PORT:-8080}"
+
+mvn -B -q -pl benchmarks -am package -DskipTests
+
+for mode in platform virtual; do
+  enabled=false
+  if [ "$mode" = virtual ]; then
+    enabled=true
+  fi
+  mvn -B -q -pl api -am package -DskipTests -Dquarkus.virtual-threads.enabled="$enabled"
+
+  # The cache is disabled so every upload is solved, and uploads are allowed without credentials
+  java -Dquarkus.http.port="$PORT" \
+       -Dadvent.cache.enabled=false \
+       -Dquarkus.http.auth.permission.authentication-required.policy=permit \
+       -jar api/target/quarkus-app/quarkus-run.jar > "api/target/load-test-$mode.log" 2>&1 &
+  api=$!
+  trap 'kill $api 2>/dev/null || true' EXIT
+  until curl -sf "http://localhost:$PORT/q/metrics" > /dev/null; do
+    sleep 1
+  done
+
+  java -cp benchmarks/target/benchmarks.jar org.brandon.benchmarks.UploadLoadTest \
+       --url "http://localhost:$PORT" --label "$mode" "$@"
+
+  kill "$api"
+  wait "$api" || true
+done
@@ -0,0 +1,35 @@
+package org.brandon.benchmarks;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.Generators;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes synthetic puzzle inputs of a requested size for the benchmarks.
+ * Inputs are generated from a fixed seed, so every run of a benchmark sees exactly the same bytes.
+ */
+public final class SyntheticInputs {
+
+    private static final long SEED = 2022L;
+
+    private SyntheticInputs() {
+        throw new UnsupportedOperationException("This class cannot be constructed.");
+    }
+
+    /**
+     * Writes an input for a day to a temporary file.
+     * @param day The day the input is generated for
+     * @param scale The approximate size of the input, such as 1KB, 1MB or 100MB
+     * @return The temporary file holding the input, to be deleted by the caller
+     */
+    public static File write(int day, String scale) throws IOException {
+        Path path = Files.createTempFile("day" + day + "-" + scale + "-", ".txt");
+        Generators.write(day, SEED, GeneratorOptions.ofSize(scale), path);
+        return path.toFile();
+    }
+
+}
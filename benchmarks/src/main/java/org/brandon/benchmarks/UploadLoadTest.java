@@ -0,0 +1,199 @@
+package org.brandon.benchmarks;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.Generators;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fires concurrent multipart uploads at a running api and reports the throughput and latency percentiles, for
+ * example `java -cp benchmarks.jar org.brandon.benchmarks.UploadLoadTest --concurrency 1000 --requests 20000`.
+ * Every request uploads the same synthetic input, and the solution cache should be disabled on the api under test
+ * so every request is solved. Each run appends its summary as a JSON line to load-results.ndjson, so runs against
+ * the platform worker pool and against virtual threads can be compared side by side.
+ */
+public final class UploadLoadTest {
+
+    private static final String DEFAULT_RESULT_FILE = "load-results.ndjson";
+    private static final String USAGE = """
+            Usage: [--url <url>] [--day <day>] [--part <part>] [--size <size>] [--concurrency <n>]
+                   [--requests <n>] [--warmup <n>] [--label <label>] [--out <file>]
+              --url          Base url of the api, defaults to http://localhost:8080
+              --day          Day to solve, defaults to 1
+              --part         Part to solve, defaults to 1
+              --size         Size of the uploaded input such as 64KB, defaults to 64KB
+              --concurrency  Uploads in flight at once, defaults to 1000
+              --requests     Measured uploads, defaults to 20000
+              --warmup       Uploads sent before measuring, defaults to 2000
+              --label        Name of the run in the results, such as virtual or platform
+              --out          File the summary is appended to, defaults to load-results.ndjson""";
+
+    private UploadLoadTest() {
+        throw new UnsupportedOperationException("This class cannot be constructed.");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new TreeMap<>(Map.of(
+                "url", "http://localhost:8080",
+                "day", "1",
+                "part", "1",
+                "size", "64KB",
+                "concurrency", "1000",
+                "requests", "20000",
+                "warmup", "2000",
+                "label", "unlabelled",
+                "out", DEFAULT_RESULT_FILE));
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length || !options.containsKey(args[i].substring(2))) {
+                System.err.println(USAGE);
+                System.exit(1);
+                return;
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+
+        int day = Integer.parseInt(options.get("day"));
+        int part = Integer.parseInt(options.get("part"));
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        int requests = Integer.parseInt(options.get("requests"));
+        int warmup = Integer.parseInt(options.get("warmup"));
+        URI endpoint = URI.create(options.get("url") + "/v1/advent2022/day" + day + "/part" + part);
+
+        String boundary = "advent-" + UUID.randomUUID();
+        byte[] body = multipartBody(boundary, day, options.get("size"));
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(Duration.ofMinutes(2))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            System.err.printf("Warming up with %d uploads of %d bytes to %s%n", warmup, body.length, endpoint);
+            run(client, request, warmup, concurrency);
+            System.err.printf("Measuring %d uploads with %d in flight%n", requests, concurrency);
+            Result result = run(client, request, requests, concurrency);
+
+            String summary = result.toJson(options.get("label"), day, part, body.length, concurrency);
+            System.out.println(summary);
+            Files.writeString(Path.of(options.get("out")), summary + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * Sends a number of uploads, keeping the requested number in flight until all have completed.
+     * @param client The client to send the uploads with
+     * @param request The upload
+     * @param requests The number of uploads to send
+     * @param concurrency The number of uploads in flight at once
+     * @return The latencies and statuses of every upload
+     */
+    private static Result run(HttpClient client, HttpRequest request, int requests, int concurrency)
+            throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger[] statuses = new AtomicInteger[600];
+        Arrays.setAll(statuses, status -> new AtomicInteger());
+        Map<String, AtomicInteger> errors = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(concurrency);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int index = i;
+            long sentAt = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        latencies[index] = System.nanoTime() - sentAt;
+                        if (ex != null) {
+                            Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+                            errors.computeIfAbsent(cause.getClass().getSimpleName(), name -> new AtomicInteger())
+                                    .incrementAndGet();
+                        } else {
+                            statuses[response.statusCode()].incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(concurrency);
+        long elapsed = System.nanoTime() - start;
+
+        Map<Integer, Integer> statusCounts = new TreeMap<>();
+        for (int status = 0; status < statuses.length; status++) {
+            if (statuses[status].get() > 0) {
+                statusCounts.put(status, statuses[status].get());
+            }
+        }
+        Map<String, Integer> errorCounts = new TreeMap<>();
+        errors.forEach((name, count) -> errorCounts.put(name, count.get()));
+        return new Result(latencies, elapsed, statusCounts, errorCounts);
+    }
+
+    private static byte[] multipartBody(String boundary, int day, String size) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"day" + day + ".txt\"\r\n"
+                + "Content-Type: text/plain\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        Writer writer = new OutputStreamWriter(body, StandardCharsets.US_ASCII);
+        Generators.generate(day, 2022L, GeneratorOptions.ofSize(size), writer);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
+
+    private static String json(Map<?, Integer> counts) {
+        StringBuilder json = new StringBuilder("{");
+        counts.forEach((name, count) -> json
+                .append(json.length() > 1 ? "," : "")
+                .append('"').append(name).append("\":").append(count));
+        return json.append('}').toString();
+    }
+
+    private record Result(long[] latencies, long elapsedNanos, Map<Integer, Integer> statuses,
+                          Map<String, Integer> errors) {
+
+        private double percentileMillis(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        String toJson(String label, int day, int part, int bytes, int concurrency) {
+            long[] sorted = this.latencies.clone();
+            Arrays.sort(sorted);
+            double seconds = this.elapsedNanos / 1_000_000_000.0;
+            return String.format(Locale.ROOT,
+                    "{\"label\":\"%s\",\"day\":%d,\"part\":%d,\"bytes\":%d,\"concurrency\":%d,\"requests\":%d,"
+                            + "\"seconds\":%.3f,\"throughput\":%.1f,\"p50Millis\":%.2f,\"p99Millis\":%.2f,"
+                            + "\"maxMillis\":%.2f,\"statuses\":%s,\"errors\":%s}",
+                    label, day, part, bytes, concurrency, sorted.length, seconds, sorted.length / seconds,
+                    this.percentileMillis(sorted, 50), this.percentileMillis(sorted, 99),
+                    sorted[sorted.length - 1] / 1_000_000.0, json(this.statuses), json(this.errors));
+        }
+
+    }
+
+}
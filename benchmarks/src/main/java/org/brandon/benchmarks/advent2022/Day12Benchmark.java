@@ -0,0 +1,68 @@
+package org.brandon.benchmarks.advent2022;
+
+import org.brandon.benchmarks.SyntheticInputs;
+import org.brandon.data.advent2022.Day12Model;
+import org.brandon.services.advent2022.Day12Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the parser and solvers of the Advent of Code 2022: Day 12 challenge against synthetic inputs.
+ * The day 12 solver walks the map recursively, so larger maps overflow the stack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class Day12Benchmark {
+
+    @Param({"1KB"})
+    public String scale;
+
+    private final Day12Service day12Service = new Day12Service();
+    private File input;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.input = SyntheticInputs.write(12, this.scale);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.input.toPath());
+    }
+
+    @Benchmark
+    public Day12Model parseDay12File() throws IOException {
+        return this.day12Service.parseDay12File(this.input);
+    }
+
+    @Benchmark
+    public long part1Solve() throws IOException {
+        return this.day12Service.part1Solve(this.input);
+    }
+
+    @Benchmark
+    public long part2Solve() throws IOException {
+        return this.day12Service.part2Solve(this.input);
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.brandon.benchmarks.advent2022;
+
+import org.brandon.benchmarks.SyntheticInputs;
+import org.brandon.data.advent2022.Day1Model;
+import org.brandon.services.advent2022.Day1Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the parser and solvers of the Advent of Code 2022: Day 1 challenge against synthetic inputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class Day1Benchmark {
+
+    @Param({"1KB", "1MB", "100MB"})
+    public String scale;
+
+    private final Day1Service day1Service = new Day1Service();
+    private File input;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.input = SyntheticInputs.write(1, this.scale);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.input.toPath());
+    }
+
+    @Benchmark
+    public Day1Model parseDay1File() throws IOException {
+        return this.day1Service.parseDay1File(this.input, Day1Service.DEFAULT_TOP_K);
+    }
+
+    @Benchmark
+    public Day1Model parseDay1FileSequential() throws IOException {
+        return this.day1Service.parseDay1FileParallel(this.input, Day1Service.DEFAULT_TOP_K, 1);
+    }
+
+    @Benchmark
+    public Day1Model parseDay1FileParallel() throws IOException {
+        return this.day1Service.parseDay1FileParallel(this.input, Day1Service.DEFAULT_TOP_K,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    @Benchmark
+    public long part1Solve() throws IOException {
+        return this.day1Service.part1Solve(this.input);
+    }
+
+    @Benchmark
+    public long part2Solve() throws IOException {
+        return this.day1Service.part2Solve(this.input);
+    }
+
+}
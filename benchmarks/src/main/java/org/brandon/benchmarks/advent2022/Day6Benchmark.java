@@ -0,0 +1,77 @@
+package org.brandon.benchmarks.advent2022;
+
+import org.brandon.benchmarks.SyntheticInputs;
+import org.brandon.data.advent2022.Day6Markers;
+import org.brandon.services.advent2022.Day6Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the marker scanner and solvers of the Advent of Code 2022: Day 6 challenge against synthetic inputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class Day6Benchmark {
+
+    @Param({"1KB", "1MB", "100MB"})
+    public String scale;
+
+    private final Day6Service day6Service = new Day6Service();
+    private File input;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.input = SyntheticInputs.write(6, this.scale);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.input.toPath());
+    }
+
+    @Benchmark
+    public Day6Markers markerSolve() throws IOException {
+        return this.day6Service.markerSolve(this.input, new Day6Markers(4, 14));
+    }
+
+    @Benchmark
+    public long part1Solve() throws IOException {
+        return this.day6Service.solve(this.input, 4);
+    }
+
+    @Benchmark
+    public long part2Solve() throws IOException {
+        return this.day6Service.solve(this.input, 14);
+    }
+
+    @Benchmark
+    public long part2SolveSequential() throws IOException {
+        return this.day6Service.solveParallel(this.input, 14, 1);
+    }
+
+    @Benchmark
+    public long part2SolveParallel() throws IOException {
+        return this.day6Service.solveParallel(this.input, 14, Runtime.getRuntime().availableProcessors());
+    }
+
+}
@@ -14,5 +14,32 @@ public class ResponseConstants {
     public static final String FAILURE = "failure";
     public static final String MESSAGE = "message";
     public static final String ANSWER = "answer";
+    public static final String PART_1 = "part1";
+    public static final String PART_2 = "part2";
+    public static final String ELAPSED_NANOS = "elapsedNanos";
+    public static final String ID = "id";
+    public static final String DAY = "day";
+    public static final String PART = "part";
+    public static final String STATUS = "status";
+    public static final String WAIT_NANOS = "waitNanos";
+    public static final String OPPONENTS = "opponents";
+    public static final String RESPONSES = "responses";
+    public static final String POINTS = "points";
+    public static final String ANSWERS = "answers";
+    public static final String PAIRS = "pairs";
+    public static final String MAX_DEPTH = "maxDepth";
+    public static final String MAX_DEPTH_SECTION = "maxDepthSection";
+    public static final String COUNT = "count";
+    public static final String ASSIGNMENTS = "assignments";
+    public static final String PAIR = "pair";
+    public static final String ELF = "elf";
+    public static final String START = "start";
+    public static final String END = "end";
+    public static final String FIRST = "first";
+    public static final String POSITIONS = "positions";
+    public static final String DIRECTORIES = "directories";
+    public static final String TOTAL_SIZE = "totalSize";
+    public static final String PATH = "path";
+    public static final String SIZE = "size";
 
 }
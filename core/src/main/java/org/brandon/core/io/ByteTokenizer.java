@@ -0,0 +1,358 @@
+package org.brandon.core.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Tokenizer which reads puzzle input directly as bytes.
+ * Values are handed back as primitives and text is copied into a single reusable scratch array,
+ * so walking an input line by line does not allocate a String, String[] or boxed value per line.
+ * The tokenizer either works over a buffer holding the whole input (such as a memory mapped file)
+ * or refills a fixed size buffer from a channel as the input arrives.
+ */
+public final class ByteTokenizer implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int EOF = -1;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long consumed;
+    private byte[] token = new byte[64];
+    private int tokenLength;
+
+    /**
+     * Creates a tokenizer over a buffer that already holds the entire input.
+     * @param buffer The buffer positioned at the start of the input
+     */
+    public ByteTokenizer(ByteBuffer buffer) {
+        this.channel = null;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Creates a tokenizer that pulls the input from a channel through a fixed size buffer.
+     * @param channel The channel the input is read from
+     */
+    public ByteTokenizer(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a tokenizer that pulls the input from a channel through a fixed size buffer.
+     * @param channel The channel the input is read from
+     * @param bufferSize The number of bytes held in memory at any point in time
+     */
+    public ByteTokenizer(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize).flip();
+    }
+
+    /**
+     * Creates a tokenizer that reads a stream as it arrives.
+     * @param inputStream The stream the input is read from, closed along with the tokenizer
+     * @return A tokenizer over the stream
+     */
+    public static ByteTokenizer of(InputStream inputStream) {
+        return new ByteTokenizer(Channels.newChannel(inputStream));
+    }
+
+    /**
+     * Creates a tokenizer over a file, memory mapping it when it fits into a single mapping.
+     * Files too large to be mapped at once are read through a channel instead.
+     * @param file The file the input is read from
+     * @return A tokenizer over the file
+     */
+    public static ByteTokenizer map(File file) throws IOException {
+        FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            long size = fileChannel.size();
+            if (size <= Integer.MAX_VALUE) {
+                ByteBuffer mapped = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                fileChannel.close();
+                return new ByteTokenizer(mapped);
+            }
+            return new ByteTokenizer(fileChannel);
+        } catch (IOException ex) {
+            fileChannel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Looks at the next byte without consuming it.
+     * @return The next byte as an unsigned value, or -1 at the end of the input
+     */
+    public int peek() throws IOException {
+        if (!this.buffer.hasRemaining() && !this.fill()) {
+            return EOF;
+        }
+        return this.buffer.get(this.buffer.position()) & 0xFF;
+    }
+
+    /**
+     * Consumes the next byte.
+     * @return The next byte as an unsigned value, or -1 at the end of the input
+     */
+    public int read() throws IOException {
+        if (!this.buffer.hasRemaining() && !this.fill()) {
+            return EOF;
+        }
+        this.consumed += 1;
+        return this.buffer.get() & 0xFF;
+    }
+
+    /**
+     * Checks whether any input is left.
+     * @return True if at least one more byte can be read
+     */
+    public boolean hasRemaining() throws IOException {
+        return this.buffer.hasRemaining() || this.fill();
+    }
+
+    /**
+     * The number of bytes consumed so far, useful as an offset into the original input.
+     * @return The offset of the next byte to be read
+     */
+    public long position() {
+        return this.consumed;
+    }
+
+    /**
+     * Checks if the next byte ends the current line.
+     * @return True at a line feed, carriage return or the end of the input
+     */
+    public boolean isEndOfLine() throws IOException {
+        int next = this.peek();
+        return next == '\n' || next == '\r' || next == EOF;
+    }
+
+    /**
+     * Skips spaces and tabs and checks if nothing else is left on the current line.
+     * @return True if the rest of the current line is blank
+     */
+    public boolean isBlankLine() throws IOException {
+        this.skipSpaces();
+        return this.isEndOfLine();
+    }
+
+    /**
+     * Skips trailing spaces and fails if anything else is left on the current line.
+     */
+    public void expectEndOfLine() throws IOException {
+        if (!this.isBlankLine()) {
+            throw new IOException("Unexpected input at byte " + this.consumed);
+        }
+    }
+
+    /**
+     * Discards the rest of the current line, including its line terminator.
+     * @return True if another line follows
+     */
+    public boolean nextLine() throws IOException {
+        int next = this.read();
+        while (next != '\n' && next != EOF) {
+            next = this.read();
+        }
+        return this.hasRemaining();
+    }
+
+    /**
+     * Skips spaces and tabs on the current line.
+     */
+    public void skipSpaces() throws IOException {
+        int next = this.peek();
+        while (next == ' ' || next == '\t') {
+            this.read();
+            next = this.peek();
+        }
+    }
+
+    /**
+     * Skips the given number of bytes.
+     * @param count The number of bytes to skip
+     */
+    public void skip(long count) throws IOException {
+        for (long i = 0; i < count; i++) {
+            if (this.read() == EOF) {
+                throw new IOException("Unexpected end of input at byte " + this.consumed);
+            }
+        }
+    }
+
+    /**
+     * Skips leading spaces and parses a signed decimal number.
+     * @return The parsed number
+     */
+    public long nextLong() throws IOException {
+        this.skipSpaces();
+        boolean negative = false;
+        int next = this.peek();
+        if (next == '-' || next == '+') {
+            negative = next == '-';
+            this.read();
+            next = this.peek();
+        }
+        if (next < '0' || next > '9') {
+            throw new IOException("Expected a number at byte " + this.consumed);
+        }
+
+        long value = 0;
+        while (next >= '0' && next <= '9') {
+            int digit = next - '0';
+            if (value > (Long.MAX_VALUE - digit) / 10) {
+                throw new IOException("Number too large at byte " + this.consumed);
+            }
+            value = value * 10 + digit;
+            this.read();
+            next = this.peek();
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Skips leading spaces and parses a signed decimal number that has to fit into an int.
+     * @return The parsed number
+     */
+    public int nextInt() throws IOException {
+        long value = this.nextLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IOException("Number too large at byte " + this.consumed);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Consumes a single expected byte.
+     * @param expected The byte that has to come next
+     */
+    public void expect(char expected) throws IOException {
+        if (this.read() != expected) {
+            throw new IOException("Expected '" + expected + "' at byte " + (this.consumed - 1));
+        }
+    }
+
+    /**
+     * Skips leading spaces and consumes an expected sequence of bytes, such as a keyword.
+     * @param literal The bytes that have to come next
+     */
+    public void expect(byte[] literal) throws IOException {
+        this.skipSpaces();
+        for (byte expected : literal) {
+            if (this.read() != (expected & 0xFF)) {
+                throw new IOException("Unexpected input at byte " + (this.consumed - 1));
+            }
+        }
+    }
+
+    /**
+     * Skips leading spaces and copies the following run of bytes up to the next space or line end into the
+     * scratch token, which is valid until the next call that fills it.
+     * @return The length of the token
+     */
+    public int nextToken() throws IOException {
+        this.skipSpaces();
+        this.tokenLength = 0;
+        int next = this.peek();
+        while (next != ' ' && next != '\t' && next != '\n' && next != '\r' && next != EOF) {
+            this.append((byte) this.read());
+            next = this.peek();
+        }
+        return this.tokenLength;
+    }
+
+    /**
+     * Copies the rest of the current line into the scratch token and moves on to the next line.
+     * The token is valid until the next call that fills it.
+     * @return The length of the line without its line terminator
+     */
+    public int readLine() throws IOException {
+        this.tokenLength = 0;
+        int next = this.read();
+        while (next != '\n' && next != EOF) {
+            if (next != '\r') {
+                this.append((byte) next);
+            }
+            next = this.read();
+        }
+        return this.tokenLength;
+    }
+
+    /**
+     * The scratch array backing the most recent token. Only the first {@link #tokenLength()} bytes are valid.
+     * @return The scratch array
+     */
+    public byte[] token() {
+        return this.token;
+    }
+
+    /**
+     * The length of the most recent token.
+     * @return The number of valid bytes in {@link #token()}
+     */
+    public int tokenLength() {
+        return this.tokenLength;
+    }
+
+    /**
+     * Compares the most recent token with an expected sequence of bytes.
+     * @param expected The bytes to compare against
+     * @return True if the token matches exactly
+     */
+    public boolean tokenEquals(byte[] expected) {
+        if (expected.length != this.tokenLength) {
+            return false;
+        }
+        for (int i = 0; i < this.tokenLength; i++) {
+            if (this.token[i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.channel != null) {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Adds a byte to the scratch token, growing it only when a token longer than any before it shows up.
+     * @param value The byte to add
+     */
+    private void append(byte value) {
+        if (this.tokenLength == this.token.length) {
+            byte[] grown = new byte[this.token.length * 2];
+            System.arraycopy(this.token, 0, grown, 0, this.tokenLength);
+            this.token = grown;
+        }
+        this.token[this.tokenLength++] = value;
+    }
+
+    /**
+     * Refills the buffer from the channel once everything in it has been consumed.
+     * @return True if more bytes are available
+     */
+    private boolean fill() throws IOException {
+        if (this.channel == null) {
+            return false;
+        }
+        this.buffer.clear();
+        int read = 0;
+        while (read == 0) {
+            read = this.channel.read(this.buffer);
+        }
+        this.buffer.flip();
+        return read > 0;
+    }
+
+}
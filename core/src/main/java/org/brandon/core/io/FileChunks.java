@@ -0,0 +1,146 @@
+package org.brandon.core.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Splits a file into memory mapped chunks so it can be read in parallel, a task per chunk.
+ * Chunks are kept large enough to be worth a task, and small enough to be mapped at once. Each chunk either ends
+ * where a {@link Boundary} allows, so no record of the input spans two chunks, or maps a number of bytes of the chunk
+ * before it as well, so a window crossing the start of a chunk is still seen whole.
+ */
+public final class FileChunks {
+
+    /**
+     * Files at least this large are worth splitting into chunks and reading in parallel.
+     */
+    public static final long PARALLEL_THRESHOLD_BYTES = 32L * 1024 * 1024;
+
+    /**
+     * The smallest chunk worth a task of its own.
+     */
+    public static final long MIN_CHUNK_BYTES = 4L * 1024 * 1024;
+
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+    private static final int SCAN_BUFFER_BYTES = 64 * 1024;
+
+    private FileChunks() {
+    }
+
+    /**
+     * Decides where a chunk may end. A boundary is created for each search and handed the input one byte at a time,
+     * starting just before where the chunk was planned to end, so it may keep state between bytes.
+     */
+    @FunctionalInterface
+    public interface Boundary {
+
+        /**
+         * Checks whether a chunk may end just after the next byte.
+         * @param next The next byte of the input
+         * @return True if the chunk may end after the byte
+         */
+        boolean endsAfter(byte next);
+
+    }
+
+    /**
+     * A memory mapped chunk of a file.
+     * @param start The position in the file of the first byte mapped
+     * @param buffer The mapped bytes
+     */
+    public record Chunk(long start, ByteBuffer buffer) {
+    }
+
+    /**
+     * Splits a file into chunks which each end where a boundary allows.
+     * @param channel The channel over the whole file
+     * @param parallelism The number of chunks to aim for, files too small to be worth splitting are mapped as one
+     * @param minChunkBytes The smallest chunk worth a task of its own
+     * @param boundaries Creates the boundary for each search
+     * @return The chunks in order, or empty if a single record is too large to be mapped at once, in which case the
+     * file can only be read in order
+     */
+    public static Optional<List<Chunk>> split(FileChannel channel, int parallelism, long minChunkBytes,
+                                              Supplier<Boundary> boundaries) throws IOException {
+        return Optional.ofNullable(plan(channel, parallelism, minChunkBytes, boundaries, 0));
+    }
+
+    /**
+     * Splits a file into chunks of about the same size which each also map some bytes of the chunk before them.
+     * @param channel The channel over the whole file
+     * @param parallelism The number of chunks to aim for, files too small to be worth splitting are mapped as one
+     * @param minChunkBytes The smallest chunk worth a task of its own
+     * @param overlap The number of bytes before each chunk which are mapped along with it
+     * @return The chunks in order
+     */
+    public static List<Chunk> split(FileChannel channel, int parallelism, long minChunkBytes, long overlap)
+            throws IOException {
+        if (overlap < 0 || overlap > MIN_CHUNK_BYTES) {
+            throw new IllegalArgumentException("overlap must be between 0 and " + MIN_CHUNK_BYTES);
+        }
+        return plan(channel, parallelism, minChunkBytes, null, overlap);
+    }
+
+    /**
+     * Plans the chunks and maps them.
+     * @return The chunks in order, or null if a chunk is too large to be mapped at once
+     */
+    private static List<Chunk> plan(FileChannel channel, int parallelism, long minChunkBytes,
+                                    Supplier<Boundary> boundaries, long overlap) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        long size = channel.size();
+        long chunkCount = Math.max(Math.min(parallelism, size / minChunkBytes), Math.ceilDiv(size, MAX_CHUNK_BYTES));
+        List<Chunk> chunks = new ArrayList<>();
+        long start = 0;
+        for (long i = 1; i <= chunkCount && start < size; i++) {
+            long end = i == chunkCount ? size : Math.max(start, size * i / chunkCount);
+            if (boundaries != null && end > start && end < size) {
+                end = nextBoundary(channel, end, size, boundaries.get());
+            }
+            long mapStart = Math.max(0, start - overlap);
+            if (end - mapStart > Integer.MAX_VALUE) {
+                return null;
+            }
+            if (end > start) {
+                chunks.add(new Chunk(mapStart, channel.map(FileChannel.MapMode.READ_ONLY, mapStart, end - mapStart)));
+            }
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Finds where the first chunk may end at or after a position.
+     * @param channel The channel over the whole file
+     * @param position The position the chunk was planned to end at
+     * @param size The size of the file
+     * @param boundary The boundary of this search
+     * @return The position just past the byte the boundary allows the chunk to end after, or the size of the file if
+     * there is none
+     */
+    private static long nextBoundary(FileChannel channel, long position, long size, Boundary boundary)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        // The search starts just before the position, in case a chunk may already end right there
+        long offset = position - 1;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            for (int i = 0; i < read; i++) {
+                if (boundary.endsAfter(buffer.get(i))) {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+}
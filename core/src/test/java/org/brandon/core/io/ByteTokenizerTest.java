@@ -0,0 +1,78 @@
+package org.brandon.core.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteTokenizerTest {
+
+    private static final String INPUT = """
+            move 12 from 3 to -9
+            noop
+
+            addx 150\r
+            last""";
+
+    @Test
+    void testTokenizeFromBuffer() throws IOException {
+        try (ByteTokenizer tokenizer = new ByteTokenizer(ByteBuffer.wrap(INPUT.getBytes(StandardCharsets.US_ASCII)))) {
+            assertTokens(tokenizer);
+        }
+    }
+
+    @Test
+    void testTokenizeAcrossBufferRefills() throws IOException {
+        // A tiny buffer forces numbers and keywords to be split over several refills
+        ByteArrayInputStream stream = new ByteArrayInputStream(INPUT.getBytes(StandardCharsets.US_ASCII));
+        try (ByteTokenizer tokenizer = new ByteTokenizer(Channels.newChannel(stream), 3)) {
+            assertTokens(tokenizer);
+        }
+    }
+
+    @Test
+    void testInvalidInput() throws IOException {
+        try (ByteTokenizer tokenizer = ByteTokenizer.of(new ByteArrayInputStream("abc 9223372036854775808".getBytes(StandardCharsets.US_ASCII)))) {
+            IOException exception = assertThrows(IOException.class, tokenizer::nextLong);
+            assertEquals("Expected a number at byte 0", exception.getMessage());
+
+            assertThrows(IOException.class, () -> tokenizer.expect("abd".getBytes(StandardCharsets.US_ASCII)));
+            assertThrows(IOException.class, tokenizer::nextLong);
+        }
+    }
+
+    private void assertTokens(ByteTokenizer tokenizer) throws IOException {
+        tokenizer.expect("move".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(12, tokenizer.nextInt());
+        tokenizer.expect("from".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(3L, tokenizer.nextLong());
+        tokenizer.expect("to".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(-9, tokenizer.nextInt());
+        tokenizer.expectEndOfLine();
+        assertTrue(tokenizer.nextLine());
+
+        assertEquals(4, tokenizer.nextToken());
+        assertTrue(tokenizer.tokenEquals("noop".getBytes(StandardCharsets.US_ASCII)));
+        assertTrue(tokenizer.isEndOfLine());
+        tokenizer.nextLine();
+        assertTrue(tokenizer.isBlankLine());
+        tokenizer.nextLine();
+
+        tokenizer.nextToken();
+        assertTrue(tokenizer.tokenEquals("addx".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(150, tokenizer.nextInt());
+        assertTrue(tokenizer.isEndOfLine());
+        tokenizer.nextLine();
+
+        assertEquals(4, tokenizer.readLine());
+        assertEquals("last", new String(tokenizer.token(), 0, tokenizer.tokenLength(), StandardCharsets.US_ASCII));
+        assertFalse(tokenizer.hasRemaining());
+        assertEquals(INPUT.length(), tokenizer.position());
+    }
+
+}
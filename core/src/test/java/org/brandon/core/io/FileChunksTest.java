@@ -0,0 +1,118 @@
+package org.brandon.core.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileChunksTest {
+
+    private static final String INPUT = """
+            first line
+            second
+            a much longer third line
+            4
+            fifth line
+            last""";
+
+    @Test
+    void testSplitOnBoundary() throws IOException {
+        File input = write(INPUT);
+        for (int parallelism : new int[] {1, 2, 3, 7, 100}) {
+            try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+                Optional<List<FileChunks.Chunk>> split = FileChunks.split(channel, parallelism, 1,
+                        () -> next -> next == '\n');
+                assertTrue(split.isPresent());
+                List<FileChunks.Chunk> chunks = split.get();
+                assertTrue(chunks.size() <= parallelism);
+
+                // The chunks cover the file in order, and every chunk but the last ends with a whole line
+                StringBuilder joined = new StringBuilder();
+                for (int i = 0; i < chunks.size(); i++) {
+                    FileChunks.Chunk chunk = chunks.get(i);
+                    assertEquals(joined.length(), chunk.start());
+                    String text = text(chunk.buffer());
+                    assertFalse(text.isEmpty());
+                    if (i < chunks.size() - 1) {
+                        assertTrue(text.endsWith("\n"), text);
+                    }
+                    joined.append(text);
+                }
+                assertEquals(INPUT, joined.toString());
+            }
+        }
+
+        // A boundary which never allows an end leaves a single chunk
+        try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+            List<FileChunks.Chunk> chunks = FileChunks.split(channel, 4, 1, () -> next -> false).orElseThrow();
+            assertEquals(1, chunks.size());
+            assertEquals(INPUT, text(chunks.get(0).buffer()));
+        }
+        assertTrue(input.delete());
+    }
+
+    @Test
+    void testSplitWithOverlap() throws IOException {
+        File input = write(INPUT);
+        try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+            List<FileChunks.Chunk> chunks = FileChunks.split(channel, 5, 1, 3);
+            assertEquals(5, chunks.size());
+            assertEquals(0, chunks.get(0).start());
+
+            // Each chunk maps the 3 bytes before it as well, and without them the chunks cover the file in order
+            StringBuilder joined = new StringBuilder();
+            for (FileChunks.Chunk chunk : chunks) {
+                String text = text(chunk.buffer());
+                assertEquals(INPUT.substring((int) chunk.start(), (int) chunk.start() + text.length()), text);
+                int skipped = chunk.start() == 0 ? 0 : 3;
+                assertEquals(joined.length() - skipped, chunk.start());
+                joined.append(text.substring(skipped));
+            }
+            assertEquals(INPUT, joined.toString());
+        }
+
+        // Files too small to be worth splitting are mapped as one
+        try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+            List<FileChunks.Chunk> chunks = FileChunks.split(channel, 5, FileChunks.MIN_CHUNK_BYTES, 3);
+            assertEquals(1, chunks.size());
+            assertEquals(INPUT, text(chunks.get(0).buffer()));
+        }
+        assertTrue(input.delete());
+    }
+
+    @Test
+    void testInvalidSplits() throws IOException {
+        File input = write("");
+        try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+            assertTrue(FileChunks.split(channel, 4, 1, 0).isEmpty());
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> FileChunks.split(channel, 0, 1, 0));
+            assertEquals("parallelism must be at least 1", exception.getMessage());
+            assertThrows(IllegalArgumentException.class, () -> FileChunks.split(channel, 4, 1, -1));
+        }
+        assertTrue(input.delete());
+    }
+
+    private static File write(String content) throws IOException {
+        File input = File.createTempFile("chunks", ".txt");
+        input.deleteOnExit();
+        Files.writeString(input.toPath(), content);
+        return input;
+    }
+
+    private static String text(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+}
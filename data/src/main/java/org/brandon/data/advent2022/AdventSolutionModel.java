@@ -0,0 +1,19 @@
+package org.brandon.data.advent2022;
+
+import lombok.Data;
+
+/**
+ * Contains the answers to both parts of an Advent of Code challenge along with the time each part took to solve.
+ * Shared by every day of the Advent of Code 2022 challenges.
+ * @param <P1> The type of the part 1 answer
+ * @param <P2> The type of the part 2 answer
+ */
+@Data
+public class AdventSolutionModel<P1, P2> {
+
+    private final P1 part1Answer;
+    private final long part1Nanos;
+    private final P2 part2Answer;
+    private final long part2Nanos;
+
+}
@@ -43,6 +43,22 @@ public class Day11Model {
         this.itemsInspected = 0;
     }
 
+    /**
+     * Creates an independent copy of a monkey, including its own list of items, so that a simulation can run
+     * without changing the original.
+     * @param other The monkey to copy
+     */
+    public Day11Model(Day11Model other) {
+        this.name = other.name;
+        this.startingItems = new ArrayList<>(other.startingItems);
+        this.operationType = other.operationType;
+        this.operationValue = other.operationValue;
+        this.test = other.test;
+        this.trueResult = other.trueResult;
+        this.falseResult = other.falseResult;
+        this.itemsInspected = other.itemsInspected;
+    }
+
     public void updateItemsInspected() {
         this.itemsInspected += 1;
     }
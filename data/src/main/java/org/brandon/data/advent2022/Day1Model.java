@@ -0,0 +1,145 @@
+package org.brandon.data.advent2022;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the largest calorie totals seen so far in a fixed-size primitive min-heap, so any number of elves can be
+ * streamed through in constant memory.
+ * Used in the Advent of Code 2022: Day 1 challenge.
+ */
+public class Day1Model {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int topK;
+    private long[] heap;
+    private int size;
+    private long elves;
+
+    /**
+     * Creates an empty model which keeps the largest totals.
+     * @param topK The number of totals to keep, at least one
+     */
+    public Day1Model(int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("topK must be at least 1");
+        }
+        this.topK = topK;
+        // The heap only grows as far as the number of elves seen, so a large topK costs nothing on a small input
+        this.heap = new long[Math.min(topK, INITIAL_CAPACITY)];
+    }
+
+    /**
+     * Offers the calorie total of an elf, keeping it only if it is among the largest totals seen so far.
+     * @param total The calorie total of an elf
+     */
+    public void add(long total) {
+        this.elves++;
+        this.offer(total);
+    }
+
+    /**
+     * Merges the largest totals of another model into this one, such as the model of another chunk of the input.
+     * @param other The model to merge, which must keep the same number of totals
+     */
+    public void merge(Day1Model other) {
+        if (other.topK != this.topK) {
+            throw new IllegalArgumentException("Cannot merge a top " + other.topK + " into a top " + this.topK);
+        }
+        this.elves += other.elves;
+        for (int i = 0; i < other.size; i++) {
+            this.offer(other.heap[i]);
+        }
+    }
+
+    private void offer(long total) {
+        if (this.size < this.topK) {
+            if (this.size == this.heap.length) {
+                this.heap = Arrays.copyOf(this.heap, Math.min(this.topK, this.heap.length * 2));
+            }
+            this.heap[this.size] = total;
+            this.siftUp(this.size++);
+        } else if (total > this.heap[0]) {
+            this.heap[0] = total;
+            this.siftDown(0);
+        }
+    }
+
+    /**
+     * The largest calorie total seen.
+     * @return The largest total, or Long.MIN_VALUE when no elf was seen
+     */
+    public long getLargest() {
+        long largest = Long.MIN_VALUE;
+        for (int i = 0; i < this.size; i++) {
+            largest = Math.max(largest, this.heap[i]);
+        }
+        return largest;
+    }
+
+    /**
+     * Sums the largest calorie totals seen, or every total when fewer elves than topK were seen.
+     * @return The sum of the largest totals
+     */
+    public long getTopSum() {
+        long sum = 0;
+        for (int i = 0; i < this.size; i++) {
+            sum += this.heap[i];
+        }
+        return sum;
+    }
+
+    /**
+     * The largest calorie totals seen.
+     * @return The largest totals from largest to smallest
+     */
+    public long[] getTop() {
+        long[] top = Arrays.copyOf(this.heap, this.size);
+        Arrays.sort(top);
+        for (int i = 0, j = top.length - 1; i < j; i++, j--) {
+            long swap = top[i];
+            top[i] = top[j];
+            top[j] = swap;
+        }
+        return top;
+    }
+
+    public int getTopK() {
+        return this.topK;
+    }
+
+    public long getElves() {
+        return this.elves;
+    }
+
+    private void siftUp(int index) {
+        long value = this.heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (this.heap[parent] <= value) {
+                break;
+            }
+            this.heap[index] = this.heap[parent];
+            index = parent;
+        }
+        this.heap[index] = value;
+    }
+
+    private void siftDown(int index) {
+        long value = this.heap[index];
+        int half = this.size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < this.size && this.heap[child + 1] < this.heap[child]) {
+                child++;
+            }
+            if (value <= this.heap[child]) {
+                break;
+            }
+            this.heap[index] = this.heap[child];
+            index = child;
+        }
+        this.heap[index] = value;
+    }
+
+}
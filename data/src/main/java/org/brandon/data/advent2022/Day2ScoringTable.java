@@ -0,0 +1,128 @@
+package org.brandon.data.advent2022;
+
+import java.util.Arrays;
+
+/**
+ * A scoring matrix for a strategy guide compiled into flat lookup tables, so a guide of any length is scored by
+ * counting each combination of opponent choice and response once and taking a single dot product with the points.
+ * Every choice is a single printable character, such as A, B and C for the opponent and X, Y and Z for the response.
+ * Used in the Advent of Code 2022: Day 2 challenge.
+ */
+public class Day2ScoringTable {
+
+    private static final int SYMBOLS = 256;
+
+    private final String opponents;
+    private final String responses;
+    // Points of each round, indexed by opponent * responses + response
+    private final int[] points;
+    // Index of each character among the choices, -1 for a character which is not a choice
+    private final int[] opponentIndex;
+    private final int[] responseIndex;
+
+    /**
+     * Compiles a scoring matrix.
+     * @param opponents The choices of the opponent, one character each
+     * @param responses The responses, one character each
+     * @param points The points of each round, a row for each opponent choice holding a column for each response
+     */
+    public Day2ScoringTable(String opponents, String responses, int[][] points) {
+        this.opponentIndex = indexSymbols("opponent", opponents);
+        this.responseIndex = indexSymbols("response", responses);
+        if (points == null || points.length != opponents.length()) {
+            throw new IllegalArgumentException("Points must have a row for each of the " + opponents.length()
+                    + " opponent choices");
+        }
+        this.opponents = opponents;
+        this.responses = responses;
+        this.points = new int[opponents.length() * responses.length()];
+        for (int opponent = 0; opponent < points.length; opponent++) {
+            if (points[opponent] == null || points[opponent].length != responses.length()) {
+                throw new IllegalArgumentException("Points must have a column for each of the " + responses.length()
+                        + " responses");
+            }
+            System.arraycopy(points[opponent], 0, this.points, opponent * responses.length(), responses.length());
+        }
+    }
+
+    private static int[] indexSymbols(String side, String symbols) {
+        if (symbols == null || symbols.isEmpty()) {
+            throw new IllegalArgumentException("At least one " + side + " choice is required");
+        }
+        int[] index = new int[SYMBOLS];
+        Arrays.fill(index, -1);
+        for (int i = 0; i < symbols.length(); i++) {
+            char symbol = symbols.charAt(i);
+            // Anything at or below a space would be trimmed away as whitespace while parsing
+            if (symbol <= ' ' || symbol >= 127) {
+                throw new IllegalArgumentException("Each " + side + " choice must be a printable ASCII character");
+            }
+            if (index[symbol] != -1) {
+                throw new IllegalArgumentException("Duplicate " + side + " choice " + symbol);
+            }
+            index[symbol] = i;
+        }
+        return index;
+    }
+
+    /**
+     * Maps a round to its index in the counts.
+     * @param opponent The character of the opponent choice
+     * @param response The character of the response
+     * @return The index of the combination, opponent * responses + response, or -1 if either is not a choice
+     */
+    public int index(int opponent, int response) {
+        int opponentChoice = this.opponentIndex[opponent & 0xFF];
+        int responseChoice = this.responseIndex[response & 0xFF];
+        if (opponentChoice == -1 || responseChoice == -1) {
+            return -1;
+        }
+        return opponentChoice * this.responses.length() + responseChoice;
+    }
+
+    /**
+     * Scores counted rounds.
+     * @param counts The counts of each combination of opponent choice and response, as indexed by this table
+     * @return The total score of the rounds
+     */
+    public long score(long[] counts) {
+        if (counts.length != this.points.length) {
+            throw new IllegalArgumentException("Expected counts of " + this.points.length + " combinations");
+        }
+        long totalPoints = 0L;
+        for (int i = 0; i < this.points.length; i++) {
+            totalPoints += counts[i] * this.points[i];
+        }
+        return totalPoints;
+    }
+
+    /**
+     * The number of combinations of opponent choice and response.
+     * @return The length of the counts scored by this table
+     */
+    public int getCombinations() {
+        return this.points.length;
+    }
+
+    public String getOpponents() {
+        return this.opponents;
+    }
+
+    public String getResponses() {
+        return this.responses;
+    }
+
+    /**
+     * The points of each round.
+     * @return A row for each opponent choice holding a column for each response
+     */
+    public int[][] getPoints() {
+        int[][] matrix = new int[this.opponents.length()][];
+        for (int opponent = 0; opponent < matrix.length; opponent++) {
+            matrix[opponent] = Arrays.copyOfRange(this.points, opponent * this.responses.length(),
+                    (opponent + 1) * this.responses.length());
+        }
+        return matrix;
+    }
+
+}
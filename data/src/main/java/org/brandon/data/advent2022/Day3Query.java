@@ -0,0 +1,106 @@
+package org.brandon.data.advent2022;
+
+import java.util.Locale;
+
+/**
+ * A way of grouping rucksacks to find the item they have in common, written as
+ * {@code <split>[:<groupSize>[:sliding]]} such as {@code halves}, {@code whole:3} or {@code thirds:2:sliding}.
+ * Each rucksack is split into equal compartments and only the items in every compartment count, then the rucksacks
+ * are taken either in consecutive groups or as every window of consecutive rucksacks.
+ * Part 1 is {@code halves:1} and part 2 is {@code whole:3}.
+ * Used in the Advent of Code 2022: Day 3 challenge.
+ */
+public class Day3Query {
+
+    /**
+     * How each rucksack is split into compartments.
+     */
+    public enum Split {
+        WHOLE(1),
+        HALVES(2),
+        THIRDS(3);
+
+        private final int compartments;
+
+        Split(int compartments) {
+            this.compartments = compartments;
+        }
+
+        public int getCompartments() {
+            return this.compartments;
+        }
+    }
+
+    private static final String SLIDING = "sliding";
+
+    private final Split split;
+    private final int groupSize;
+    private final boolean sliding;
+
+    /**
+     * Creates a query.
+     * @param split How each rucksack is split into compartments
+     * @param groupSize The number of rucksacks in each group or window, at least 1
+     * @param sliding Whether every window of consecutive rucksacks is a group, rather than consecutive groups
+     */
+    public Day3Query(Split split, int groupSize, boolean sliding) {
+        if (split == null) {
+            throw new IllegalArgumentException("A split is required");
+        }
+        if (groupSize < 1) {
+            throw new IllegalArgumentException("groupSize must be at least 1");
+        }
+        this.split = split;
+        this.groupSize = groupSize;
+        this.sliding = sliding;
+    }
+
+    /**
+     * Reads a query from its written form.
+     * @param query The query, such as halves, whole:3 or thirds:2:sliding
+     * @return The query
+     */
+    public static Day3Query parse(String query) {
+        String[] parts = query == null ? new String[0] : query.trim().split(":", -1);
+        if (parts.length < 1 || parts.length > 3 || (parts.length == 3 && !SLIDING.equalsIgnoreCase(parts[2]))) {
+            throw new IllegalArgumentException("Query must be of the form <split>[:<groupSize>[:sliding]]: " + query);
+        }
+        Split split;
+        try {
+            split = Split.valueOf(parts[0].toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Split must be one of whole, halves or thirds: " + parts[0]);
+        }
+        int groupSize = 1;
+        if (parts.length > 1) {
+            try {
+                groupSize = Integer.parseInt(parts[1]);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("groupSize must be a number: " + parts[1]);
+            }
+        }
+        return new Day3Query(split, groupSize, parts.length == 3);
+    }
+
+    public Split getSplit() {
+        return this.split;
+    }
+
+    public int getGroupSize() {
+        return this.groupSize;
+    }
+
+    public boolean isSliding() {
+        return this.sliding;
+    }
+
+    /**
+     * The written form of the query.
+     * @return The query, such as halves:1 or whole:3:sliding
+     */
+    @Override
+    public String toString() {
+        return this.split.name().toLowerCase(Locale.ROOT) + ":" + this.groupSize + (this.sliding ? ":" + SLIDING : "");
+    }
+
+}
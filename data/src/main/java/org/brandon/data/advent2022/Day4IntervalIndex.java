@@ -0,0 +1,232 @@
+package org.brandon.data.advent2022;
+
+import java.util.Arrays;
+
+/**
+ * Index over every section assignment of a Day 4 input, built once so questions across the whole input are answered
+ * without a rescan.
+ * Assignments are sorted by their first section and laid out as an implicit balanced tree where each node holds the
+ * last section of any assignment below it, so subtrees ending before a range are skipped when listing the k
+ * assignments overlapping it. Assignments which start before the range but end inside it may still be scattered
+ * across the tree, so a listing takes O(min(n, k log n)) in the worst case.
+ * The first and last sections are also kept sorted on their own, which counts the overlapping assignments in
+ * O(log n) and finds the deepest coverage with a single sweep when the index is built.
+ * Each assignment is identified as pair * 2 + elf, where elf is 0 for the first elf of the pair and 1 for the second.
+ * Used in the Advent of Code 2022: Day 4 challenge.
+ */
+public class Day4IntervalIndex {
+
+    private final Day4Model pairs;
+    private final int size;
+
+    // Assignments sorted by their first section, with the tree stored at the middle of each range
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] assignments;
+    private final int[] maxEnds;
+
+    // Every first and every last section, each sorted on its own
+    private final int[] sortedStarts;
+    private final int[] sortedEnds;
+
+    private int maxDepth;
+    private int maxDepthSection;
+
+    /**
+     * Builds the index over every assignment of the parsed input.
+     * @param pairs The section assignments of every pair, none of which may end before it starts
+     */
+    public Day4IntervalIndex(Day4Model pairs) {
+        this.pairs = pairs;
+        this.size = pairs.size() * 2;
+
+        // Sorting the first section and the assignment packed into a long keeps the sort primitive
+        long[] keys = new long[this.size];
+        for (int assignment = 0; assignment < this.size; assignment++) {
+            if (this.end(assignment) < this.start(assignment)) {
+                throw new IllegalArgumentException("Assignment of pair " + (assignment >>> 1) + " ends before it starts");
+            }
+            keys[assignment] = ((long) this.start(assignment) << 32) | assignment;
+        }
+        Arrays.sort(keys);
+
+        this.starts = new int[this.size];
+        this.ends = new int[this.size];
+        this.assignments = new int[this.size];
+        for (int i = 0; i < this.size; i++) {
+            this.assignments[i] = (int) keys[i];
+            this.starts[i] = (int) (keys[i] >> 32);
+            this.ends[i] = this.end(this.assignments[i]);
+        }
+        this.maxEnds = new int[this.size];
+        this.buildMaxEnds(0, this.size);
+
+        this.sortedStarts = this.starts.clone();
+        this.sortedEnds = this.ends.clone();
+        Arrays.sort(this.sortedEnds);
+        this.sweepDepth();
+    }
+
+    private int buildMaxEnds(int from, int to) {
+        if (from >= to) {
+            return Integer.MIN_VALUE;
+        }
+        int middle = (from + to) >>> 1;
+        int maxEnd = Math.max(this.ends[middle],
+                Math.max(this.buildMaxEnds(from, middle), this.buildMaxEnds(middle + 1, to)));
+        this.maxEnds[middle] = maxEnd;
+        return maxEnd;
+    }
+
+    /**
+     * Sweeps the sorted first and last sections to find the section covered by the most assignments.
+     */
+    private void sweepDepth() {
+        int depth = 0;
+        int endIndex = 0;
+        for (int startIndex = 0; startIndex < this.size; startIndex++) {
+            int section = this.sortedStarts[startIndex];
+            // Assignments ending before this section no longer cover it
+            while (this.sortedEnds[endIndex] < section) {
+                depth--;
+                endIndex++;
+            }
+            depth++;
+            if (depth > this.maxDepth) {
+                this.maxDepth = depth;
+                this.maxDepthSection = section;
+            }
+        }
+    }
+
+    /**
+     * Counts the assignments sharing at least one section with a range.
+     * @param from The first section of the range
+     * @param to The last section of the range
+     * @return The number of assignments
+     */
+    public int countOverlapping(int from, int to) {
+        if (from > to) {
+            return 0;
+        }
+        // Everything starting by the end of the range, less everything that ended before the range started
+        return upperBound(this.sortedStarts, to) - upperBound(this.sortedEnds, from - 1L);
+    }
+
+    /**
+     * Lists the assignments sharing at least one section with a range, in order of their first section.
+     * @param from The first section of the range
+     * @param to The last section of the range
+     * @param limit The most assignments to list
+     * @return The listed assignments
+     */
+    public int[] overlapping(int from, int to, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        if (from > to || limit == 0) {
+            return new int[0];
+        }
+        int[] found = new int[Math.min(limit, this.countOverlapping(from, to))];
+        int candidates = upperBound(this.starts, to);
+        this.collect(0, this.size, candidates, from, found, 0);
+        return found;
+    }
+
+    /**
+     * Lists the assignments which include a section, in order of their first section.
+     * @param section The section
+     * @param limit The most assignments to list
+     * @return The listed assignments
+     */
+    public int[] covering(int section, int limit) {
+        return this.overlapping(section, section, limit);
+    }
+
+    /**
+     * Walks the tree in order, skipping any subtree which ends before the range and anything starting after it.
+     * @return The number of assignments found so far
+     */
+    private int collect(int from, int to, int candidates, int rangeStart, int[] found, int count) {
+        if (from >= to || from >= candidates || count == found.length) {
+            return count;
+        }
+        int middle = (from + to) >>> 1;
+        if (this.maxEnds[middle] < rangeStart) {
+            return count;
+        }
+        count = this.collect(from, middle, candidates, rangeStart, found, count);
+        if (middle < candidates && count < found.length) {
+            if (this.ends[middle] >= rangeStart) {
+                found[count++] = this.assignments[middle];
+            }
+            count = this.collect(middle + 1, to, candidates, rangeStart, found, count);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the number of values no greater than a bound.
+     * @param sorted The sorted values
+     * @param bound The bound
+     * @return The index of the first value above the bound
+     */
+    private static int upperBound(int[] sorted, long bound) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= bound) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * The first section of an assignment.
+     * @param assignment The assignment, pair * 2 + elf
+     * @return The first section
+     */
+    public int start(int assignment) {
+        int pair = assignment >>> 1;
+        return (assignment & 1) == 0 ? this.pairs.getFirstStart(pair) : this.pairs.getSecondStart(pair);
+    }
+
+    /**
+     * The last section of an assignment.
+     * @param assignment The assignment, pair * 2 + elf
+     * @return The last section
+     */
+    public int end(int assignment) {
+        int pair = assignment >>> 1;
+        return (assignment & 1) == 0 ? this.pairs.getFirstEnd(pair) : this.pairs.getSecondEnd(pair);
+    }
+
+    /**
+     * The number of pairs indexed.
+     * @return The number of pairs
+     */
+    public int getPairs() {
+        return this.pairs.size();
+    }
+
+    /**
+     * The most assignments which include any single section.
+     * @return The deepest coverage, 0 for an empty input
+     */
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * The first section with the deepest coverage.
+     * @return The section, 0 for an empty input
+     */
+    public int getMaxDepthSection() {
+        return this.maxDepthSection;
+    }
+
+}
@@ -0,0 +1,119 @@
+package org.brandon.data.advent2022;
+
+import java.util.Arrays;
+
+/**
+ * Holds the section assignments of every pair of elves as four primitive columns, so a pair costs sixteen bytes
+ * rather than a map of boxed values.
+ * Used in the Advent of Code 2022: Day 4 challenge.
+ */
+public class Day4Model {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int[] firstStarts = new int[INITIAL_CAPACITY];
+    private int[] firstEnds = new int[INITIAL_CAPACITY];
+    private int[] secondStarts = new int[INITIAL_CAPACITY];
+    private int[] secondEnds = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds the assignments of a pair of elves.
+     * @param firstStart The first section assigned to the first elf
+     * @param firstEnd The last section assigned to the first elf
+     * @param secondStart The first section assigned to the second elf
+     * @param secondEnd The last section assigned to the second elf
+     */
+    public void add(int firstStart, int firstEnd, int secondStart, int secondEnd) {
+        if (this.size == this.firstStarts.length) {
+            int capacity = this.size * 2;
+            this.firstStarts = Arrays.copyOf(this.firstStarts, capacity);
+            this.firstEnds = Arrays.copyOf(this.firstEnds, capacity);
+            this.secondStarts = Arrays.copyOf(this.secondStarts, capacity);
+            this.secondEnds = Arrays.copyOf(this.secondEnds, capacity);
+        }
+        this.firstStarts[this.size] = firstStart;
+        this.firstEnds[this.size] = firstEnd;
+        this.secondStarts[this.size] = secondStart;
+        this.secondEnds[this.size] = secondEnd;
+        this.size++;
+    }
+
+    /**
+     * Checks if either assignment of a pair fully contains the other.
+     * @param firstStart The first section assigned to the first elf
+     * @param firstEnd The last section assigned to the first elf
+     * @param secondStart The first section assigned to the second elf
+     * @param secondEnd The last section assigned to the second elf
+     * @return True if one assignment contains the other
+     */
+    public static boolean contains(int firstStart, int firstEnd, int secondStart, int secondEnd) {
+        return (firstStart >= secondStart && firstEnd <= secondEnd)
+                || (secondStart >= firstStart && secondEnd <= firstEnd);
+    }
+
+    /**
+     * Checks if the assignments of a pair share at least one section.
+     * @param firstStart The first section assigned to the first elf
+     * @param firstEnd The last section assigned to the first elf
+     * @param secondStart The first section assigned to the second elf
+     * @param secondEnd The last section assigned to the second elf
+     * @return True if the assignments overlap
+     */
+    public static boolean overlaps(int firstStart, int firstEnd, int secondStart, int secondEnd) {
+        return firstStart <= secondEnd && secondStart <= firstEnd;
+    }
+
+    /**
+     * Counts the pairs where one assignment fully contains the other.
+     * @return The number of pairs
+     */
+    public long countContained() {
+        long contained = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (contains(this.firstStarts[i], this.firstEnds[i], this.secondStarts[i], this.secondEnds[i])) {
+                contained++;
+            }
+        }
+        return contained;
+    }
+
+    /**
+     * Counts the pairs whose assignments share at least one section.
+     * @return The number of pairs
+     */
+    public long countOverlapping() {
+        long overlapping = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (overlaps(this.firstStarts[i], this.firstEnds[i], this.secondStarts[i], this.secondEnds[i])) {
+                overlapping++;
+            }
+        }
+        return overlapping;
+    }
+
+    /**
+     * The number of pairs held.
+     * @return The number of pairs
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public int getFirstStart(int pair) {
+        return this.firstStarts[pair];
+    }
+
+    public int getFirstEnd(int pair) {
+        return this.firstEnds[pair];
+    }
+
+    public int getSecondStart(int pair) {
+        return this.secondStarts[pair];
+    }
+
+    public int getSecondEnd(int pair) {
+        return this.secondEnds[pair];
+    }
+
+}
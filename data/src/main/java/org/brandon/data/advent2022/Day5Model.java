@@ -0,0 +1,71 @@
+package org.brandon.data.advent2022;
+
+import java.util.Arrays;
+
+/**
+ * Holds the starting stacks drawn at the top of the input along with every crane move as three primitive columns,
+ * so a move costs twelve bytes rather than a map of boxed values.
+ * Used in the Advent of Code 2022: Day 5 challenge.
+ */
+public class Day5Model {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Day5Stacks stacks;
+    private int[] amounts = new int[INITIAL_CAPACITY];
+    private int[] froms = new int[INITIAL_CAPACITY];
+    private int[] tos = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Creates a model with no moves yet.
+     * @param stacks The starting stacks, which are never changed by solving
+     */
+    public Day5Model(Day5Stacks stacks) {
+        this.stacks = stacks;
+    }
+
+    /**
+     * Adds a crane move.
+     * @param amount The number of crates moved
+     * @param from The number of the stack the crates are taken from
+     * @param to The number of the stack the crates are put on
+     */
+    public void addMove(int amount, int from, int to) {
+        if (this.size == this.amounts.length) {
+            int capacity = this.size * 2;
+            this.amounts = Arrays.copyOf(this.amounts, capacity);
+            this.froms = Arrays.copyOf(this.froms, capacity);
+            this.tos = Arrays.copyOf(this.tos, capacity);
+        }
+        this.amounts[this.size] = amount;
+        this.froms[this.size] = from;
+        this.tos[this.size] = to;
+        this.size++;
+    }
+
+    /**
+     * The number of moves held.
+     * @return The number of moves
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public Day5Stacks getStacks() {
+        return this.stacks;
+    }
+
+    public int getAmount(int move) {
+        return this.amounts[move];
+    }
+
+    public int getFrom(int move) {
+        return this.froms[move];
+    }
+
+    public int getTo(int move) {
+        return this.tos[move];
+    }
+
+}
@@ -0,0 +1,311 @@
+package org.brandon.data.advent2022;
+
+import java.util.Arrays;
+
+/**
+ * Stacks of crates for running long crane programs, where moving a block of crates takes O(log n) expected time
+ * however many crates are in the block.
+ * The crates never move once copied in. Each stack is a balanced tree of segments, and each segment is a run of the
+ * copied crates read forwards or backwards. A move splits the tree of one stack at most once and joins the split off
+ * part onto the tree of the other, so each move adds at most one segment.
+ * Moving crates one at a time reverses the block, which only marks the moved tree as reversed and is pushed down to
+ * its segments once they are next visited.
+ * Each tree is a treap held in primitive columns indexed by segment, read in order from the bottom crate to the top
+ * crate. Stacks are numbered from 1 as they are in the drawing of the input.
+ * Used in the Advent of Code 2022: Day 5 challenge.
+ */
+public class Day5SegmentStacks {
+
+    private static final int NONE = -1;
+    private static final byte REVERSED = 1;
+    private static final byte REVERSE_PENDING = 2;
+
+    private final char[] crates;
+    private final int[] roots;
+
+    // Segment columns
+    private int[] offsets;
+    private int[] lengths;
+    private int[] left;
+    private int[] right;
+    private int[] priorities;
+    private int[] totals;
+    private byte[] flags;
+    private int segments;
+
+    // Results of the last split
+    private int splitLeft;
+    private int splitRight;
+
+    /**
+     * Copies stacks so moves can be made on them.
+     * @param stacks The stacks to copy, which are left unchanged
+     */
+    public Day5SegmentStacks(Day5Stacks stacks) {
+        int size = stacks.size();
+        int crateCount = 0;
+        for (int stack = 1; stack <= size; stack++) {
+            crateCount += stacks.height(stack);
+        }
+        this.crates = new char[crateCount];
+        this.roots = new int[size];
+
+        int capacity = Math.max(16, size * 2);
+        this.offsets = new int[capacity];
+        this.lengths = new int[capacity];
+        this.left = new int[capacity];
+        this.right = new int[capacity];
+        this.priorities = new int[capacity];
+        this.totals = new int[capacity];
+        this.flags = new byte[capacity];
+
+        // Every stack starts as a single segment
+        int offset = 0;
+        for (int stack = 1; stack <= size; stack++) {
+            int height = stacks.copyCrates(stack, this.crates, offset);
+            this.roots[stack - 1] = height == 0 ? NONE : this.newSegment(offset, height, false);
+            offset += height;
+        }
+    }
+
+    /**
+     * Moves crates from the top of one stack to the top of another one crate at a time, which reverses their order.
+     * @param amount The number of crates to move
+     * @param from The number of the stack the crates are taken from
+     * @param to The number of the stack the crates are put on
+     */
+    public void moveOneAtATime(int amount, int from, int to) {
+        int moved = this.take(amount, from, to);
+        if (moved != NONE) {
+            this.flags[moved] ^= REVERSE_PENDING;
+            this.roots[to - 1] = this.merge(this.roots[to - 1], moved);
+        }
+    }
+
+    /**
+     * Moves crates from the top of one stack to the top of another all at once, which keeps their order.
+     * @param amount The number of crates to move
+     * @param from The number of the stack the crates are taken from
+     * @param to The number of the stack the crates are put on
+     */
+    public void moveAtOnce(int amount, int from, int to) {
+        int moved = this.take(amount, from, to);
+        if (moved != NONE) {
+            this.roots[to - 1] = this.merge(this.roots[to - 1], moved);
+        }
+    }
+
+    /**
+     * The crate on top of a stack.
+     * @param stack The number of the stack
+     * @return The crate, or a space if the stack is empty
+     */
+    public char top(int stack) {
+        int node = this.roots[this.index(stack)];
+        if (node == NONE) {
+            return ' ';
+        }
+        this.pushDown(node);
+        while (this.right[node] != NONE) {
+            node = this.right[node];
+            this.pushDown(node);
+        }
+        return (this.flags[node] & REVERSED) == 0
+                ? this.crates[this.offsets[node] + this.lengths[node] - 1]
+                : this.crates[this.offsets[node]];
+    }
+
+    /**
+     * Collects the crate on top of every stack.
+     * @return The top crates in order of their stacks, with a space for each empty stack
+     */
+    public String tops() {
+        char[] tops = new char[this.roots.length];
+        for (int i = 0; i < this.roots.length; i++) {
+            tops[i] = this.top(i + 1);
+        }
+        return new String(tops);
+    }
+
+    /**
+     * The number of crates in a stack.
+     * @param stack The number of the stack
+     * @return The number of crates
+     */
+    public int height(int stack) {
+        return this.total(this.roots[this.index(stack)]);
+    }
+
+    /**
+     * The number of stacks.
+     * @return The number of stacks
+     */
+    public int size() {
+        return this.roots.length;
+    }
+
+    /**
+     * The number of segments the crates are split into, which grows by at most one with each move.
+     * @return The number of segments
+     */
+    public int getSegments() {
+        return this.segments;
+    }
+
+    /**
+     * Checks a move and splits the moved crates off the top of the stack they are taken from.
+     * @return The root of the moved crates, or none if nothing moves
+     */
+    private int take(int amount, int from, int to) {
+        int source = this.index(from);
+        this.index(to);
+        if (amount < 0) {
+            throw new IllegalArgumentException("Cannot move a negative number of crates");
+        }
+        int height = this.total(this.roots[source]);
+        if (amount > height) {
+            throw new IllegalArgumentException("Cannot move " + amount + " crates from stack " + from
+                    + " which holds " + height);
+        }
+        if (amount == 0 || from == to) {
+            return NONE;
+        }
+        this.split(this.roots[source], height - amount);
+        this.roots[source] = this.splitLeft;
+        return this.splitRight;
+    }
+
+    /**
+     * Splits a tree so its lowest crates are on the left, leaving the roots of both parts in the split results.
+     * A segment holding crates of both parts is cut in two.
+     * @param node The root of the tree
+     * @param count The number of crates in the left part
+     */
+    private void split(int node, int count) {
+        if (node == NONE) {
+            this.splitLeft = NONE;
+            this.splitRight = NONE;
+            return;
+        }
+        this.pushDown(node);
+        int below = this.total(this.left[node]);
+        int length = this.lengths[node];
+        if (count <= below) {
+            this.split(this.left[node], count);
+            this.left[node] = this.splitRight;
+            this.update(node);
+            this.splitRight = node;
+        } else if (count >= below + length) {
+            this.split(this.right[node], count - below - length);
+            this.right[node] = this.splitLeft;
+            this.update(node);
+            this.splitLeft = node;
+        } else {
+            // The node keeps its lowest crates and a new segment takes the rest along with everything above
+            int kept = count - below;
+            int cut;
+            if ((this.flags[node] & REVERSED) == 0) {
+                cut = this.newSegment(this.offsets[node] + kept, length - kept, false);
+            } else {
+                cut = this.newSegment(this.offsets[node], length - kept, true);
+                this.offsets[node] += length - kept;
+            }
+            this.lengths[node] = kept;
+            int above = this.right[node];
+            this.right[node] = NONE;
+            this.update(node);
+            this.splitLeft = node;
+            // The new segment has its own priority, so it is merged into place rather than put above the rest
+            this.splitRight = this.merge(cut, above);
+        }
+    }
+
+    /**
+     * Joins two trees with every crate of the first below every crate of the second.
+     * @return The root of the joined tree
+     */
+    private int merge(int lower, int upper) {
+        if (lower == NONE) {
+            return upper;
+        }
+        if (upper == NONE) {
+            return lower;
+        }
+        if (this.priorities[lower] >= this.priorities[upper]) {
+            this.pushDown(lower);
+            this.right[lower] = this.merge(this.right[lower], upper);
+            this.update(lower);
+            return lower;
+        }
+        this.pushDown(upper);
+        this.left[upper] = this.merge(lower, this.left[upper]);
+        this.update(upper);
+        return upper;
+    }
+
+    /**
+     * Applies a pending reversal of a tree to its root segment and hands it on to the children.
+     */
+    private void pushDown(int node) {
+        if ((this.flags[node] & REVERSE_PENDING) == 0) {
+            return;
+        }
+        int swap = this.left[node];
+        this.left[node] = this.right[node];
+        this.right[node] = swap;
+        this.flags[node] ^= REVERSE_PENDING | REVERSED;
+        if (this.left[node] != NONE) {
+            this.flags[this.left[node]] ^= REVERSE_PENDING;
+        }
+        if (this.right[node] != NONE) {
+            this.flags[this.right[node]] ^= REVERSE_PENDING;
+        }
+    }
+
+    private void update(int node) {
+        this.totals[node] = this.total(this.left[node]) + this.lengths[node] + this.total(this.right[node]);
+    }
+
+    private int total(int node) {
+        return node == NONE ? 0 : this.totals[node];
+    }
+
+    private int newSegment(int offset, int length, boolean reversed) {
+        if (this.segments == this.offsets.length) {
+            int capacity = this.segments * 2;
+            this.offsets = Arrays.copyOf(this.offsets, capacity);
+            this.lengths = Arrays.copyOf(this.lengths, capacity);
+            this.left = Arrays.copyOf(this.left, capacity);
+            this.right = Arrays.copyOf(this.right, capacity);
+            this.priorities = Arrays.copyOf(this.priorities, capacity);
+            this.totals = Arrays.copyOf(this.totals, capacity);
+            this.flags = Arrays.copyOf(this.flags, capacity);
+        }
+        int node = this.segments++;
+        this.offsets[node] = offset;
+        this.lengths[node] = length;
+        this.left[node] = NONE;
+        this.right[node] = NONE;
+        this.priorities[node] = priority(node);
+        this.totals[node] = length;
+        this.flags[node] = reversed ? REVERSED : 0;
+        return node;
+    }
+
+    /**
+     * Scrambles the index of a segment into its priority, so runs are repeatable while trees stay balanced.
+     */
+    private static int priority(int node) {
+        long mixed = (node + 1) * 0x9E3779B97F4A7C15L;
+        mixed = (mixed ^ (mixed >>> 32)) * 0xD6E8FEB86659FD93L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private int index(int stack) {
+        if (stack < 1 || stack > this.roots.length) {
+            throw new IllegalArgumentException("There is no stack " + stack);
+        }
+        return stack - 1;
+    }
+
+}
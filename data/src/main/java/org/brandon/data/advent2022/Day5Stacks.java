@@ -0,0 +1,236 @@
+package org.brandon.data.advent2022;
+
+import java.util.Arrays;
+
+/**
+ * Holds stacks of crates as one primitive char array per stack, ordered from the bottom crate to the top crate, so
+ * millions of crates across thousands of stacks cost two bytes each rather than a boxed character in a deque.
+ * Stacks are numbered from 1 as they are in the drawing of the input.
+ * Used in the Advent of Code 2022: Day 5 challenge.
+ */
+public class Day5Stacks {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private char[][] crates;
+    private int[] heights;
+    private int size;
+
+    /**
+     * Creates a set of empty stacks.
+     * @param size The number of stacks
+     */
+    public Day5Stacks(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("The number of stacks cannot be negative");
+        }
+        this.crates = new char[size][];
+        this.heights = new int[size];
+        this.size = size;
+        for (int i = 0; i < size; i++) {
+            this.crates[i] = new char[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Creates stacks from the crates of each stack.
+     * @param stacks The crates of each stack, each ordered from the bottom crate to the top crate
+     * @return The stacks
+     */
+    public static Day5Stacks of(String... stacks) {
+        Day5Stacks day5Stacks = new Day5Stacks(stacks.length);
+        for (int i = 0; i < stacks.length; i++) {
+            for (int j = 0; j < stacks[i].length(); j++) {
+                day5Stacks.push(i + 1, stacks[i].charAt(j));
+            }
+        }
+        return day5Stacks;
+    }
+
+    /**
+     * Adds stacks until there are at least the given number of them.
+     * @param size The number of stacks needed
+     */
+    public void ensureSize(int size) {
+        if (size <= this.size) {
+            return;
+        }
+        if (size > this.crates.length) {
+            int capacity = Math.max(size, this.crates.length * 2);
+            this.crates = Arrays.copyOf(this.crates, capacity);
+            this.heights = Arrays.copyOf(this.heights, capacity);
+        }
+        for (int i = this.size; i < size; i++) {
+            this.crates[i] = new char[INITIAL_CAPACITY];
+        }
+        this.size = size;
+    }
+
+    /**
+     * Puts a crate on top of a stack.
+     * @param stack The number of the stack
+     * @param crate The crate
+     */
+    public void push(int stack, char crate) {
+        int index = this.index(stack);
+        this.reserve(index, 1);
+        this.crates[index][this.heights[index]++] = crate;
+    }
+
+    /**
+     * Moves crates from the top of one stack to the top of another one crate at a time, which reverses their order.
+     * @param amount The number of crates to move
+     * @param from The number of the stack the crates are taken from
+     * @param to The number of the stack the crates are put on
+     */
+    public void moveOneAtATime(int amount, int from, int to) {
+        int start = this.take(amount, from, to);
+        if (from == to) {
+            return;
+        }
+        char[] source = this.crates[from - 1];
+        int target = to - 1;
+        this.reserve(target, amount);
+        char[] destination = this.crates[target];
+        int height = this.heights[target];
+        for (int i = start + amount - 1; i >= start; i--) {
+            destination[height++] = source[i];
+        }
+        this.heights[target] = height;
+    }
+
+    /**
+     * Moves crates from the top of one stack to the top of another all at once, which keeps their order.
+     * @param amount The number of crates to move
+     * @param from The number of the stack the crates are taken from
+     * @param to The number of the stack the crates are put on
+     */
+    public void moveAtOnce(int amount, int from, int to) {
+        int start = this.take(amount, from, to);
+        if (from == to) {
+            return;
+        }
+        int target = to - 1;
+        this.reserve(target, amount);
+        System.arraycopy(this.crates[from - 1], start, this.crates[target], this.heights[target], amount);
+        this.heights[target] += amount;
+    }
+
+    /**
+     * Turns every stack upside down, used once stacks read from the top down are complete.
+     */
+    public void invert() {
+        for (int i = 0; i < this.size; i++) {
+            char[] stack = this.crates[i];
+            for (int low = 0, high = this.heights[i] - 1; low < high; low++, high--) {
+                char crate = stack[low];
+                stack[low] = stack[high];
+                stack[high] = crate;
+            }
+        }
+    }
+
+    /**
+     * Copies the stacks, so moves can be made without changing the original.
+     * @return The copy
+     */
+    public Day5Stacks copy() {
+        Day5Stacks copy = new Day5Stacks(0);
+        copy.crates = new char[this.size][];
+        copy.heights = Arrays.copyOf(this.heights, this.size);
+        copy.size = this.size;
+        for (int i = 0; i < this.size; i++) {
+            copy.crates[i] = Arrays.copyOf(this.crates[i], Math.max(this.heights[i], INITIAL_CAPACITY));
+        }
+        return copy;
+    }
+
+    /**
+     * The crate on top of a stack.
+     * @param stack The number of the stack
+     * @return The crate, or a space if the stack is empty
+     */
+    public char top(int stack) {
+        int index = this.index(stack);
+        return this.heights[index] == 0 ? ' ' : this.crates[index][this.heights[index] - 1];
+    }
+
+    /**
+     * Collects the crate on top of every stack.
+     * @return The top crates in order of their stacks, with a space for each empty stack
+     */
+    public String tops() {
+        char[] tops = new char[this.size];
+        for (int i = 0; i < this.size; i++) {
+            tops[i] = this.top(i + 1);
+        }
+        return new String(tops);
+    }
+
+    /**
+     * Copies the crates of a stack, from the bottom crate to the top crate.
+     * @param stack The number of the stack
+     * @param destination The array the crates are copied into
+     * @param offset The position in the array of the bottom crate
+     * @return The number of crates copied
+     */
+    public int copyCrates(int stack, char[] destination, int offset) {
+        int index = this.index(stack);
+        System.arraycopy(this.crates[index], 0, destination, offset, this.heights[index]);
+        return this.heights[index];
+    }
+
+    /**
+     * The number of crates in a stack.
+     * @param stack The number of the stack
+     * @return The number of crates
+     */
+    public int height(int stack) {
+        return this.heights[this.index(stack)];
+    }
+
+    /**
+     * The number of stacks.
+     * @return The number of stacks
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks a move and removes the moved crates from the stack they are taken from.
+     * The crates stay in the array of that stack until they are overwritten, so they can still be copied.
+     * @return The position of the lowest moved crate in the stack they are taken from
+     */
+    private int take(int amount, int from, int to) {
+        int source = this.index(from);
+        this.index(to);
+        if (amount < 0) {
+            throw new IllegalArgumentException("Cannot move a negative number of crates");
+        }
+        if (amount > this.heights[source]) {
+            throw new IllegalArgumentException("Cannot move " + amount + " crates from stack " + from
+                    + " which holds " + this.heights[source]);
+        }
+        if (from == to) {
+            return this.heights[source] - amount;
+        }
+        this.heights[source] -= amount;
+        return this.heights[source];
+    }
+
+    private void reserve(int index, int amount) {
+        int needed = this.heights[index] + amount;
+        if (needed > this.crates[index].length) {
+            this.crates[index] = Arrays.copyOf(this.crates[index], Math.max(needed, this.crates[index].length * 2));
+        }
+    }
+
+    private int index(int stack) {
+        if (stack < 1 || stack > this.size) {
+            throw new IllegalArgumentException("There is no stack " + stack);
+        }
+        return stack - 1;
+    }
+
+}
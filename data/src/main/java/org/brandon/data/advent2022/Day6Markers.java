@@ -0,0 +1,181 @@
+package org.brandon.data.advent2022;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Collects the markers of several window sizes from a single scan of a datastream.
+ * The scan hands over the length of the run of distinct letters ending at each position, and a position ends a
+ * marker of every window size no longer than that run. Window sizes are kept sorted, so the first marker of each
+ * size is found in order and every position costs O(1) however many window sizes are asked for, apart from the
+ * positions that are listed.
+ * When counting, every marker position is counted and the first few of each window size are listed. A window size
+ * ends a marker wherever any larger one does, so the window sizes still listing are always the largest ones.
+ * Used in the Advent of Code 2022: Day 6 challenge.
+ */
+public class Day6Markers {
+
+    /** The longest possible run of distinct letters, as upper and lower case letters are distinct. */
+    public static final int MAX_RUN = 52;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int[] windowSizes;
+    // The indexes of the window sizes ordered by size
+    private final int[] order;
+    private final long[] firsts;
+    private int found;
+
+    private final boolean counting;
+    private final int limit;
+    // The number of positions ending a run of exactly each length
+    private final long[] runs;
+    private final long[][] positions;
+    private final int[] listed;
+    private int listing;
+
+    /**
+     * Creates a collector of the first marker of each window size, which needs no more of the datastream once all of
+     * them are found.
+     * @param windowSizes The numbers of distinct letters that make up each marker
+     */
+    public Day6Markers(int... windowSizes) {
+        this(windowSizes, false, 0);
+    }
+
+    /**
+     * Creates a collector of every marker of each window size, which needs the whole datastream.
+     * @param windowSizes The numbers of distinct letters that make up each marker
+     * @param limit The most marker positions listed for each window size, all of them are still counted
+     */
+    public Day6Markers(int[] windowSizes, int limit) {
+        this(windowSizes, true, limit);
+    }
+
+    private Day6Markers(int[] windowSizes, boolean counting, int limit) {
+        if (windowSizes == null || windowSizes.length == 0) {
+            throw new IllegalArgumentException("At least one window size is required");
+        }
+        for (int windowSize : windowSizes) {
+            if (windowSize < 1) {
+                throw new IllegalArgumentException("Window size must be at least 1");
+            }
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit cannot be negative");
+        }
+        this.windowSizes = windowSizes.clone();
+        this.order = sortedOrder(this.windowSizes);
+        this.firsts = new long[windowSizes.length];
+        Arrays.fill(this.firsts, -1);
+        this.counting = counting;
+        this.limit = limit;
+        this.runs = counting ? new long[MAX_RUN + 1] : null;
+        this.positions = new long[windowSizes.length][];
+        this.listed = new int[windowSizes.length];
+        for (int i = 0; i < windowSizes.length; i++) {
+            this.positions[i] = new long[counting ? Math.min(limit, INITIAL_CAPACITY) : 0];
+        }
+        this.skipFullyListed();
+    }
+
+    /**
+     * Records the run of distinct letters ending at a position of the datastream.
+     * @param position The number of letters read up to and including this one
+     * @param run The number of distinct letters ending at this position
+     * @return True if nothing more is needed from the datastream
+     */
+    public boolean record(long position, int run) {
+        while (this.found < this.order.length && this.windowSizes[this.order[this.found]] <= run) {
+            this.firsts[this.order[this.found++]] = position;
+        }
+        if (!this.counting) {
+            return this.found == this.order.length;
+        }
+        this.runs[Math.min(run, MAX_RUN)]++;
+        if (this.listing < this.order.length && this.windowSizes[this.order[this.listing]] <= run) {
+            for (int i = this.listing; i < this.order.length && this.windowSizes[this.order[i]] <= run; i++) {
+                this.list(this.order[i], position);
+            }
+            this.skipFullyListed();
+        }
+        return false;
+    }
+
+    /**
+     * The number of window sizes asked for.
+     * @return The number of window sizes
+     */
+    public int size() {
+        return this.windowSizes.length;
+    }
+
+    public int getWindowSize(int index) {
+        return this.windowSizes[index];
+    }
+
+    /**
+     * The number of letters read up to and including the first marker of a window size.
+     * @param index The index of the window size, in the order they were given
+     * @return The position of the end of the first marker, or -1 if none has been found
+     */
+    public long getFirst(int index) {
+        return this.firsts[index];
+    }
+
+    /**
+     * Whether every marker is counted, rather than only the first marker of each window size being found.
+     * @return True if markers are counted
+     */
+    public boolean isCounting() {
+        return this.counting;
+    }
+
+    /**
+     * The number of positions ending a marker of a window size.
+     * @param index The index of the window size, in the order they were given
+     * @return The number of markers
+     */
+    public long getCount(int index) {
+        if (!this.counting) {
+            throw new IllegalStateException("Markers are not being counted");
+        }
+        long count = 0;
+        for (int run = Math.min(this.windowSizes[index], MAX_RUN + 1); run <= MAX_RUN; run++) {
+            count += this.runs[run];
+        }
+        return count;
+    }
+
+    /**
+     * The first positions ending a marker of a window size, up to the limit.
+     * @param index The index of the window size, in the order they were given
+     * @return The positions in the order they were found
+     */
+    public long[] getPositions(int index) {
+        return Arrays.copyOf(this.positions[index], this.listed[index]);
+    }
+
+    private void list(int index, long position) {
+        if (this.listed[index] == this.positions[index].length) {
+            int capacity = (int) Math.min(this.limit, this.positions[index].length * 2L);
+            this.positions[index] = Arrays.copyOf(this.positions[index], capacity);
+        }
+        this.positions[index][this.listed[index]++] = position;
+    }
+
+    private void skipFullyListed() {
+        while (this.listing < this.order.length && this.listed[this.order[this.listing]] == this.limit) {
+            this.listing++;
+        }
+    }
+
+    private static int[] sortedOrder(int[] windowSizes) {
+        return IntStream.range(0, windowSizes.length)
+                .boxed()
+                .sorted((a, b) -> Integer.compare(windowSizes[a], windowSizes[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+}
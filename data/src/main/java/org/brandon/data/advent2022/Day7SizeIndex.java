@@ -0,0 +1,202 @@
+package org.brandon.data.advent2022;
+
+import java.util.Arrays;
+
+/**
+ * Index over the total size of every directory of a Day 7 transcript, built once so questions about directory sizes
+ * are answered without a rescan.
+ * Directories are sorted by their total size, with ties kept in the order they were first seen, and the running sum
+ * of the sorted sizes is kept alongside them. Counting or summing the directories of at most a size, and finding the
+ * smallest directory of at least a size, is then a single binary search. Listing k of them largest first costs O(k)
+ * more, plus a binary search for the start of each run of equal sizes so ties still come out in first-seen order.
+ * Used in the Advent of Code 2022: Day 7 challenge.
+ */
+public class Day7SizeIndex {
+
+    private final Day7Tree tree;
+
+    // Directories sorted by their total size
+    private final long[] sortedSizes;
+    private final int[] directories;
+    // The sum of the first i sorted sizes at index i
+    private final long[] prefixSums;
+
+    /**
+     * Builds the index over every directory of the tree.
+     * @param tree The directory tree of the transcript, with every total complete
+     */
+    public Day7SizeIndex(Day7Tree tree) {
+        this.tree = tree;
+        int size = tree.size();
+
+        this.sortedSizes = new long[size];
+        for (int directory = 0; directory < size; directory++) {
+            this.sortedSizes[directory] = tree.getSize(directory);
+        }
+        Arrays.sort(this.sortedSizes);
+
+        // Each directory takes the next free slot of the run of its size, so the sort stays primitive and stable
+        this.directories = new int[size];
+        int[] filled = new int[size];
+        for (int directory = 0; directory < size; directory++) {
+            int slot = lowerBound(this.sortedSizes, tree.getSize(directory));
+            this.directories[slot + filled[slot]++] = directory;
+        }
+
+        this.prefixSums = new long[size + 1];
+        for (int i = 0; i < size; i++) {
+            this.prefixSums[i + 1] = this.prefixSums[i] + this.sortedSizes[i];
+        }
+    }
+
+    /**
+     * Counts the directories with a total size of at most a bound.
+     * @param max The largest total size counted
+     * @return The number of directories
+     */
+    public int countAtMost(long max) {
+        return upperBound(this.sortedSizes, max);
+    }
+
+    /**
+     * Sums the total sizes of the directories with a total size of at most a bound.
+     * @param max The largest total size counted
+     * @return The sum of the total sizes
+     */
+    public long sumAtMost(long max) {
+        return this.prefixSums[this.countAtMost(max)];
+    }
+
+    /**
+     * Lists the directories with a total size of at most a bound, largest first and with ties in first-seen order.
+     * @param max The largest total size listed
+     * @param limit The most directories to list
+     * @return The listed directories
+     */
+    public int[] atMost(long max, int limit) {
+        checkLimit(limit);
+        int count = this.countAtMost(max);
+        int[] found = new int[Math.min(limit, count)];
+        // Walk the runs of equal sizes from the largest down, but each run from its first directory up
+        int listed = 0;
+        int runEnd = count;
+        while (listed < found.length) {
+            int runStart = lowerBound(this.sortedSizes, this.sortedSizes[runEnd - 1]);
+            for (int slot = runStart; slot < runEnd && listed < found.length; slot++) {
+                found[listed++] = this.directories[slot];
+            }
+            runEnd = runStart;
+        }
+        return found;
+    }
+
+    /**
+     * Counts the directories with a total size of at least a bound.
+     * @param min The smallest total size counted
+     * @return The number of directories
+     */
+    public int countAtLeast(long min) {
+        return this.size() - lowerBound(this.sortedSizes, min);
+    }
+
+    /**
+     * Finds the smallest directory with a total size of at least a bound, which is the smallest directory freeing at
+     * least that much space once deleted.
+     * @param min The smallest total size accepted
+     * @return The directory, or -1 if every directory is smaller
+     */
+    public int smallestAtLeast(long min) {
+        int slot = lowerBound(this.sortedSizes, min);
+        return slot == this.size() ? -1 : this.directories[slot];
+    }
+
+    /**
+     * Lists the largest directories, largest first and with ties in first-seen order.
+     * @param k The most directories to list
+     * @return The listed directories
+     */
+    public int[] largest(int k) {
+        return this.atMost(Long.MAX_VALUE, k);
+    }
+
+    /**
+     * The number of directories indexed, including the root.
+     * @return The number of directories
+     */
+    public int size() {
+        return this.directories.length;
+    }
+
+    /**
+     * The total size of every file, which is the total size of the root.
+     * @return The total size
+     */
+    public long getTotalSize() {
+        return this.tree.getSize(Day7Tree.ROOT);
+    }
+
+    /**
+     * The total size of a directory.
+     * @param directory The index of the directory
+     * @return The total size
+     */
+    public long getSize(int directory) {
+        return this.tree.getSize(directory);
+    }
+
+    /**
+     * The full path of a directory from the root.
+     * @param directory The index of the directory
+     * @return The path, such as /a/e
+     */
+    public String getPath(int directory) {
+        return this.tree.getPath(directory);
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+    }
+
+    /**
+     * Finds the number of values below a bound.
+     * @param sorted The sorted values
+     * @param bound The bound
+     * @return The index of the first value of at least the bound
+     */
+    private static int lowerBound(long[] sorted, long bound) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < bound) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds the number of values no greater than a bound.
+     * @param sorted The sorted values
+     * @param bound The bound
+     * @return The index of the first value above the bound
+     */
+    private static int upperBound(long[] sorted, long bound) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= bound) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+}
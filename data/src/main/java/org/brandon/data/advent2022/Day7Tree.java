@@ -0,0 +1,271 @@
+package org.brandon.data.advent2022;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Builds the directory tree described by a terminal transcript as it is read, holding each directory as primitive
+ * columns indexed by directory, its parent and its total size, so millions of directories cost a few dozen bytes
+ * each rather than a node object with a map of children.
+ * File sizes are added to the current directory and only handed up to its parent when the transcript leaves the
+ * directory, so every size is carried up one level at a time and totals are never recomputed by walking the tree.
+ * Directories are found by their parent and name through an open addressing table, so a directory listed again or
+ * entered from a new listing is never counted twice.
+ * Directory 0 is the root, and directories are numbered in the order they are first seen.
+ * Used in the Advent of Code 2022: Day 7 challenge.
+ */
+public class Day7Tree {
+
+    /** The index of the root directory. */
+    public static final int ROOT = 0;
+
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Directory columns
+    private int[] parents = new int[INITIAL_CAPACITY];
+    private long[] sizes = new long[INITIAL_CAPACITY];
+    // The part of each size not yet added to its parent, only ever set on the path to the current directory
+    private long[] carries = new long[INITIAL_CAPACITY];
+    private boolean[] listed = new boolean[INITIAL_CAPACITY];
+    // The name of each directory runs from its offset to the offset of the next directory
+    private int[] nameOffsets = new int[INITIAL_CAPACITY + 1];
+    private byte[] names = new byte[INITIAL_CAPACITY * 8];
+    private int size;
+
+    // Each slot holds a directory index plus one, or 0 when empty
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+    private int current = ROOT;
+
+    /**
+     * Creates a tree holding only an empty root directory, which is the current directory.
+     */
+    public Day7Tree() {
+        this.parents[ROOT] = NONE;
+        this.size = 1;
+    }
+
+    /**
+     * Makes the root directory the current directory.
+     */
+    public void changeToRoot() {
+        while (this.current != ROOT) {
+            this.changeToParent();
+        }
+    }
+
+    /**
+     * Makes the parent of the current directory the current directory, handing up what was added below it.
+     * The root is its own parent, as it is in a shell.
+     */
+    public void changeToParent() {
+        if (this.current == ROOT) {
+            return;
+        }
+        int parent = this.parents[this.current];
+        long carry = this.carries[this.current];
+        this.sizes[parent] += carry;
+        this.carries[parent] += carry;
+        this.carries[this.current] = 0;
+        this.current = parent;
+    }
+
+    /**
+     * Makes a child of the current directory the current directory, adding it if it has not been listed.
+     * @param name The bytes holding the name of the child
+     * @param offset The position of the first byte of the name
+     * @param length The number of bytes in the name
+     */
+    public void changeTo(byte[] name, int offset, int length) {
+        this.current = this.child(name, offset, length);
+    }
+
+    /**
+     * Starts listing the current directory.
+     * @return True if the listed entries should be added, false if the directory was already listed
+     */
+    public boolean startListing() {
+        if (this.listed[this.current]) {
+            return false;
+        }
+        this.listed[this.current] = true;
+        return true;
+    }
+
+    /**
+     * Adds a child directory of the current directory found by a listing.
+     * @param name The bytes holding the name of the child
+     * @param offset The position of the first byte of the name
+     * @param length The number of bytes in the name
+     */
+    public void addDirectory(byte[] name, int offset, int length) {
+        this.child(name, offset, length);
+    }
+
+    /**
+     * Adds a file in the current directory found by a listing.
+     * @param fileSize The size of the file
+     */
+    public void addFile(long fileSize) {
+        if (fileSize < 0) {
+            throw new IllegalArgumentException("File size cannot be negative");
+        }
+        this.sizes[this.current] += fileSize;
+        this.carries[this.current] += fileSize;
+    }
+
+    /**
+     * Hands up everything added below the root, which makes every total complete without changing the current
+     * directory. Called once the transcript has been read.
+     */
+    public void finish() {
+        int directory = this.current;
+        while (directory != ROOT) {
+            int parent = this.parents[directory];
+            this.sizes[parent] += this.carries[directory];
+            this.carries[parent] += this.carries[directory];
+            this.carries[directory] = 0;
+            directory = parent;
+        }
+        this.carries[ROOT] = 0;
+    }
+
+    /**
+     * The number of directories, including the root.
+     * @return The number of directories
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * The parent of a directory.
+     * @param directory The index of the directory
+     * @return The index of the parent, or -1 for the root
+     */
+    public int getParent(int directory) {
+        return this.parents[this.check(directory)];
+    }
+
+    /**
+     * The total size of the files in a directory and every directory below it, complete once the tree is finished.
+     * @param directory The index of the directory
+     * @return The total size
+     */
+    public long getSize(int directory) {
+        return this.sizes[this.check(directory)];
+    }
+
+    /**
+     * The name of a directory.
+     * @param directory The index of the directory
+     * @return The name, or / for the root
+     */
+    public String getName(int directory) {
+        this.check(directory);
+        if (directory == ROOT) {
+            return "/";
+        }
+        int offset = this.nameOffsets[directory];
+        return new String(this.names, offset, this.nameOffsets[directory + 1] - offset, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The full path of a directory from the root.
+     * @param directory The index of the directory
+     * @return The path, such as /a/e
+     */
+    public String getPath(int directory) {
+        if (this.check(directory) == ROOT) {
+            return "/";
+        }
+        StringBuilder path = new StringBuilder();
+        for (int node = directory; node != ROOT; node = this.parents[node]) {
+            path.insert(0, this.getName(node)).insert(0, '/');
+        }
+        return path.toString();
+    }
+
+    /**
+     * Finds a child of the current directory by name, adding it if there is none.
+     * @return The index of the child
+     */
+    private int child(byte[] name, int offset, int length) {
+        if (length == 0) {
+            throw new IllegalArgumentException("A directory needs a name");
+        }
+        int mask = this.table.length - 1;
+        int slot = hash(this.current, name, offset, length) & mask;
+        while (this.table[slot] != 0) {
+            int directory = this.table[slot] - 1;
+            if (this.parents[directory] == this.current && this.nameEquals(directory, name, offset, length)) {
+                return directory;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int directory = this.newDirectory(name, offset, length);
+        this.table[slot] = directory + 1;
+        if (this.size * 2 > this.table.length) {
+            this.rehash();
+        }
+        return directory;
+    }
+
+    private int newDirectory(byte[] name, int offset, int length) {
+        if (this.size == this.parents.length) {
+            int capacity = this.size * 2;
+            this.parents = Arrays.copyOf(this.parents, capacity);
+            this.sizes = Arrays.copyOf(this.sizes, capacity);
+            this.carries = Arrays.copyOf(this.carries, capacity);
+            this.listed = Arrays.copyOf(this.listed, capacity);
+            this.nameOffsets = Arrays.copyOf(this.nameOffsets, capacity + 1);
+        }
+        int nameOffset = this.nameOffsets[this.size];
+        if (nameOffset + length > this.names.length) {
+            this.names = Arrays.copyOf(this.names, Math.max(nameOffset + length, this.names.length * 2));
+        }
+        System.arraycopy(name, offset, this.names, nameOffset, length);
+
+        int directory = this.size++;
+        this.parents[directory] = this.current;
+        this.nameOffsets[directory + 1] = nameOffset + length;
+        return directory;
+    }
+
+    private void rehash() {
+        int[] rehashed = new int[this.table.length * 2];
+        int mask = rehashed.length - 1;
+        for (int directory = 1; directory < this.size; directory++) {
+            int offset = this.nameOffsets[directory];
+            int length = this.nameOffsets[directory + 1] - offset;
+            int slot = hash(this.parents[directory], this.names, offset, length) & mask;
+            while (rehashed[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            rehashed[slot] = directory + 1;
+        }
+        this.table = rehashed;
+    }
+
+    private boolean nameEquals(int directory, byte[] name, int offset, int length) {
+        int nameOffset = this.nameOffsets[directory];
+        return this.nameOffsets[directory + 1] - nameOffset == length
+                && Arrays.equals(this.names, nameOffset, nameOffset + length, name, offset, offset + length);
+    }
+
+    private static int hash(int parent, byte[] name, int offset, int length) {
+        int hash = parent * 0x9E3779B9;
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ name[i]) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private int check(int directory) {
+        if (directory < 0 || directory >= this.size) {
+            throw new IllegalArgumentException("There is no directory " + directory);
+        }
+        return directory;
+    }
+
+}
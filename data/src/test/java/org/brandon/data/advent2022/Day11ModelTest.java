@@ -62,4 +62,16 @@ class Day11ModelTest {
         assertEquals(1, day11Model.getItemsInspected());
     }
 
+    @Test
+    void testCopy() {
+        day11Model.updateItemsInspected();
+        Day11Model copy = new Day11Model(day11Model);
+        assertEquals(day11Model, copy);
+
+        copy.getStartingItems().add(3L);
+        copy.updateItemsInspected();
+        assertEquals(2, day11Model.getStartingItems().size());
+        assertEquals(1, day11Model.getItemsInspected());
+    }
+
 }
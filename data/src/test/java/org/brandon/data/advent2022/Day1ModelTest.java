@@ -0,0 +1,65 @@
+package org.brandon.data.advent2022;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@QuarkusTest
+class Day1ModelTest {
+
+    @Test
+    void testTopK() {
+        Day1Model day1Model = new Day1Model(3);
+        for (long total : new long[] {6_000L, 4_000L, 11_000L, 24_000L, 10_000L}) {
+            day1Model.add(total);
+        }
+        assertEquals(5, day1Model.getElves());
+        assertEquals(24_000L, day1Model.getLargest());
+        assertEquals(45_000L, day1Model.getTopSum());
+        assertArrayEquals(new long[] {24_000L, 11_000L, 10_000L}, day1Model.getTop());
+    }
+
+    @Test
+    void testFewerElvesThanTopK() {
+        Day1Model day1Model = new Day1Model(1_000_000);
+        assertEquals(Long.MIN_VALUE, day1Model.getLargest());
+        assertEquals(0L, day1Model.getTopSum());
+
+        day1Model.add(5L);
+        day1Model.add(7L);
+        assertEquals(7L, day1Model.getLargest());
+        assertEquals(12L, day1Model.getTopSum());
+    }
+
+    @Test
+    void testMatchesSort() {
+        Random random = new Random(2022);
+        long[] totals = new long[10_000];
+        Day1Model day1Model = new Day1Model(100);
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = random.nextInt(1_000_000);
+            day1Model.add(totals[i]);
+        }
+
+        Arrays.sort(totals);
+        long[] expected = new long[100];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = totals[totals.length - 1 - i];
+        }
+        assertArrayEquals(expected, day1Model.getTop());
+        assertEquals(Arrays.stream(expected).sum(), day1Model.getTopSum());
+    }
+
+    @Test
+    void testInvalidTopK() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new Day1Model(0));
+        assertEquals("topK must be at least 1", exception.getMessage());
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.brandon.data.advent2022;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@QuarkusTest
+class Day2ScoringTableTest {
+
+    @Test
+    void testIndexAndScore() {
+        Day2ScoringTable table = new Day2ScoringTable("AB", "XYZ", new int[][] {
+                {1, 2, 3},
+                {4, 5, 6}});
+        assertEquals(6, table.getCombinations());
+        assertEquals(0, table.index('A', 'X'));
+        assertEquals(5, table.index('B', 'Z'));
+        assertEquals(-1, table.index('C', 'X'));
+        assertEquals(-1, table.index('A', 'A'));
+        assertEquals(-1, table.index(0xFF, 'X'));
+
+        assertEquals(2L * 1 + 3L * 6, table.score(new long[] {2, 0, 0, 0, 0, 3}));
+        assertArrayEquals(new int[][] {{1, 2, 3}, {4, 5, 6}}, table.getPoints());
+    }
+
+    @Test
+    void testInvalidTable() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new Day2ScoringTable("AA", "X", new int[][] {{1}, {2}}));
+        assertEquals("Duplicate opponent choice A", exception.getMessage());
+
+        exception = assertThrows(IllegalArgumentException.class,
+                () -> new Day2ScoringTable("A", "X Y", new int[][] {{1, 2, 3}}));
+        assertEquals("Each response choice must be a printable ASCII character", exception.getMessage());
+
+        exception = assertThrows(IllegalArgumentException.class,
+                () -> new Day2ScoringTable("AB", "XY", new int[][] {{1, 2}}));
+        assertEquals("Points must have a row for each of the 2 opponent choices", exception.getMessage());
+
+        exception = assertThrows(IllegalArgumentException.class,
+                () -> new Day2ScoringTable("AB", "XY", new int[][] {{1, 2}, {3}}));
+        assertEquals("Points must have a column for each of the 2 responses", exception.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> new Day2ScoringTable("", "XY", new int[0][]));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Day2ScoringTable("A", "X", new int[][] {{1}}).score(new long[2]));
+    }
+
+}
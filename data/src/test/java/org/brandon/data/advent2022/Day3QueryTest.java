@@ -0,0 +1,45 @@
+package org.brandon.data.advent2022;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class Day3QueryTest {
+
+    @Test
+    void testParse() {
+        Day3Query query = Day3Query.parse("halves");
+        assertEquals(Day3Query.Split.HALVES, query.getSplit());
+        assertEquals(1, query.getGroupSize());
+        assertFalse(query.isSliding());
+        assertEquals("halves:1", query.toString());
+
+        query = Day3Query.parse(" Thirds:4:SLIDING ");
+        assertEquals(Day3Query.Split.THIRDS, query.getSplit());
+        assertEquals(3, query.getSplit().getCompartments());
+        assertEquals(4, query.getGroupSize());
+        assertTrue(query.isSliding());
+        assertEquals("thirds:4:sliding", query.toString());
+    }
+
+    @Test
+    void testInvalidQuery() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> Day3Query.parse("quarters:3"));
+        assertEquals("Split must be one of whole, halves or thirds: quarters", exception.getMessage());
+
+        exception = assertThrows(IllegalArgumentException.class, () -> Day3Query.parse("whole:0"));
+        assertEquals("groupSize must be at least 1", exception.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> Day3Query.parse("whole:three"));
+        assertThrows(IllegalArgumentException.class, () -> Day3Query.parse("whole:3:fixed"));
+        assertThrows(IllegalArgumentException.class, () -> Day3Query.parse("whole:3:sliding:extra"));
+        assertThrows(IllegalArgumentException.class, () -> Day3Query.parse(null));
+    }
+
+}
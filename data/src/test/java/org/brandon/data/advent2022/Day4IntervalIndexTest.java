@@ -0,0 +1,119 @@
+package org.brandon.data.advent2022;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class Day4IntervalIndexTest {
+
+    @Test
+    void testExampleQueries() {
+        Day4Model day4Model = new Day4Model();
+        day4Model.add(2, 4, 6, 8);
+        day4Model.add(2, 3, 4, 5);
+        day4Model.add(5, 7, 7, 9);
+        Day4IntervalIndex index = new Day4IntervalIndex(day4Model);
+
+        assertEquals(3, index.getPairs());
+        assertEquals(3, index.getMaxDepth());
+        assertEquals(7, index.getMaxDepthSection());
+
+        // Listed in order of their first section
+        assertArrayEquals(new int[] {0, 3}, index.covering(4, 10));
+        assertArrayEquals(new int[] {0}, index.covering(4, 1));
+        assertArrayEquals(new int[0], index.covering(4, 0));
+        assertEquals(2, index.countOverlapping(4, 4));
+        assertArrayEquals(new int[] {3, 4, 1, 5}, index.overlapping(5, 8, 10));
+        assertEquals(0, index.countOverlapping(10, 20));
+        assertEquals(0, index.countOverlapping(8, 6));
+        assertEquals(6, index.start(1));
+        assertEquals(8, index.end(1));
+
+        assertThrows(IllegalArgumentException.class, () -> index.covering(4, -1));
+    }
+
+    @Test
+    void testEmptyAndInvalidAssignments() {
+        Day4IntervalIndex empty = new Day4IntervalIndex(new Day4Model());
+        assertEquals(0, empty.getPairs());
+        assertEquals(0, empty.getMaxDepth());
+        assertEquals(0, empty.countOverlapping(0, 100));
+        assertArrayEquals(new int[0], empty.covering(1, 10));
+
+        Day4Model reversed = new Day4Model();
+        reversed.add(1, 2, 3, 4);
+        reversed.add(1, 2, 5, 3);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new Day4IntervalIndex(reversed));
+        assertEquals("Assignment of pair 1 ends before it starts", exception.getMessage());
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        Random random = new Random(2022);
+        Day4Model day4Model = new Day4Model();
+        int pairs = 3_000;
+        for (int i = 0; i < pairs; i++) {
+            int firstStart = random.nextInt(1_000);
+            int secondStart = random.nextInt(1_000);
+            day4Model.add(firstStart, firstStart + random.nextInt(40), secondStart, secondStart + random.nextInt(40));
+        }
+        Day4IntervalIndex index = new Day4IntervalIndex(day4Model);
+
+        int[] depths = new int[1_100];
+        for (int assignment = 0; assignment < pairs * 2; assignment++) {
+            for (int section = index.start(assignment); section <= index.end(assignment); section++) {
+                depths[section]++;
+            }
+        }
+        int maxDepth = Arrays.stream(depths).max().orElseThrow();
+        assertEquals(maxDepth, index.getMaxDepth());
+        assertEquals(maxDepth, depths[index.getMaxDepthSection()]);
+        for (int section = 0; section < index.getMaxDepthSection(); section++) {
+            assertTrue(depths[section] < maxDepth, "Deeper coverage found before section " + section);
+        }
+
+        for (int query = 0; query < 500; query++) {
+            int from = random.nextInt(1_100) - 50;
+            int to = from + random.nextInt(60);
+            int[] expected = bruteForce(index, pairs * 2, from, to);
+            assertEquals(expected.length, index.countOverlapping(from, to));
+
+            int[] found = index.overlapping(from, to, Integer.MAX_VALUE);
+            assertArrayEquals(expected, sortedByStart(index, found));
+            for (int i = 1; i < found.length; i++) {
+                assertTrue(index.start(found[i - 1]) <= index.start(found[i]));
+            }
+
+            int limit = random.nextInt(10);
+            assertEquals(Math.min(limit, expected.length), index.overlapping(from, to, limit).length);
+            assertEquals(index.countOverlapping(from, from), index.covering(from, Integer.MAX_VALUE).length);
+        }
+    }
+
+    private static int[] bruteForce(Day4IntervalIndex index, int assignments, int from, int to) {
+        return sortedByStart(index, IntStream.range(0, assignments)
+                .filter(assignment -> index.start(assignment) <= to && index.end(assignment) >= from)
+                .toArray());
+    }
+
+    private static int[] sortedByStart(Day4IntervalIndex index, int[] assignments) {
+        return Arrays.stream(assignments)
+                .boxed()
+                .sorted((left, right) -> index.start(left) != index.start(right)
+                        ? Integer.compare(index.start(left), index.start(right))
+                        : Integer.compare(left, right))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+}
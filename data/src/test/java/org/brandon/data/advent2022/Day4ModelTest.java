@@ -0,0 +1,39 @@
+package org.brandon.data.advent2022;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class Day4ModelTest {
+
+    @Test
+    void testContainsAndOverlaps() {
+        assertTrue(Day4Model.contains(2, 8, 3, 7));
+        assertTrue(Day4Model.contains(6, 6, 4, 6));
+        assertFalse(Day4Model.contains(2, 6, 4, 8));
+
+        assertTrue(Day4Model.overlaps(5, 7, 7, 9));
+        assertTrue(Day4Model.overlaps(2, 6, 4, 8));
+        assertFalse(Day4Model.overlaps(2, 3, 4, 5));
+    }
+
+    @Test
+    void testGrowsColumns() {
+        Day4Model day4Model = new Day4Model();
+        for (int i = 0; i < 5_000; i++) {
+            day4Model.add(i, i + 2, i + 1, i + 1);
+        }
+        assertEquals(5_000, day4Model.size());
+        assertEquals(4_999, day4Model.getFirstStart(4_999));
+        assertEquals(5_001, day4Model.getFirstEnd(4_999));
+        assertEquals(5_000, day4Model.getSecondStart(4_999));
+        assertEquals(5_000, day4Model.getSecondEnd(4_999));
+        assertEquals(5_000, day4Model.countContained());
+        assertEquals(5_000, day4Model.countOverlapping());
+    }
+
+}
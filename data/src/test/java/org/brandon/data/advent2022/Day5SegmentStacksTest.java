@@ -0,0 +1,107 @@
+package org.brandon.data.advent2022;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class Day5SegmentStacksTest {
+
+    @Test
+    void testExample() {
+        Day5Stacks drawing = Day5Stacks.of("ZN", "MCD", "P");
+        Day5SegmentStacks oneAtATime = new Day5SegmentStacks(drawing);
+        Day5SegmentStacks atOnce = new Day5SegmentStacks(drawing);
+        int[][] moves = {{1, 2, 1}, {3, 1, 3}, {2, 2, 1}, {1, 1, 2}};
+        for (int[] move : moves) {
+            oneAtATime.moveOneAtATime(move[0], move[1], move[2]);
+            atOnce.moveAtOnce(move[0], move[1], move[2]);
+        }
+        assertEquals("CMZ", oneAtATime.tops());
+        assertEquals("MCD", atOnce.tops());
+        assertEquals(4, oneAtATime.height(3));
+        assertEquals(3, atOnce.size());
+
+        // The drawing is only copied
+        assertEquals("NDP", drawing.tops());
+    }
+
+    @Test
+    void testMatchesCopiedStacks() {
+        Random random = new Random(2022);
+        int size = 40;
+        Day5Stacks expectedOneAtATime = new Day5Stacks(size);
+        for (int i = 0; i < 5_000; i++) {
+            expectedOneAtATime.push(1 + random.nextInt(size), (char) ('A' + random.nextInt(26)));
+        }
+        Day5Stacks expectedAtOnce = expectedOneAtATime.copy();
+        Day5SegmentStacks oneAtATime = new Day5SegmentStacks(expectedOneAtATime);
+        Day5SegmentStacks atOnce = new Day5SegmentStacks(expectedAtOnce);
+
+        for (int move = 0; move < 50_000; move++) {
+            int from = 1 + random.nextInt(size);
+            int to = 1 + random.nextInt(size);
+            // Mostly small moves so segments pile up, with whole stacks moved now and then
+            int amount = random.nextInt(10) == 0
+                    ? expectedOneAtATime.height(from)
+                    : random.nextInt(Math.min(5, expectedOneAtATime.height(from)) + 1);
+            expectedOneAtATime.moveOneAtATime(amount, from, to);
+            oneAtATime.moveOneAtATime(amount, from, to);
+            amount = Math.min(amount, expectedAtOnce.height(from));
+            expectedAtOnce.moveAtOnce(amount, from, to);
+            atOnce.moveAtOnce(amount, from, to);
+
+            if (move % 1_000 == 0) {
+                assertEquals(expectedOneAtATime.tops(), oneAtATime.tops());
+                assertEquals(expectedAtOnce.tops(), atOnce.tops());
+            }
+        }
+        for (int stack = 1; stack <= size; stack++) {
+            assertEquals(expectedOneAtATime.height(stack), oneAtATime.height(stack));
+            assertEquals(expectedAtOnce.height(stack), atOnce.height(stack));
+        }
+        assertEquals(expectedOneAtATime.tops(), oneAtATime.tops());
+        assertEquals(expectedAtOnce.tops(), atOnce.tops());
+    }
+
+    @Test
+    void testBulkMoves() {
+        // Crates taken off one at a time leave every crate in its own segment, which has to stay balanced
+        Day5Stacks drawing = new Day5Stacks(3);
+        for (int i = 0; i < 300_000; i++) {
+            drawing.push(1, (char) ('A' + i % 26));
+        }
+        Day5SegmentStacks stacks = new Day5SegmentStacks(drawing);
+        for (int i = 0; i < 300_000; i++) {
+            stacks.moveAtOnce(1, 1, 2);
+        }
+        assertTrue(stacks.getSegments() <= 300_001);
+        for (int i = 0; i < 1_000; i++) {
+            stacks.moveOneAtATime(299_999, 2, 3);
+            stacks.moveOneAtATime(299_999, 3, 2);
+        }
+        assertEquals(300_000, stacks.height(2));
+        assertEquals('A', stacks.top(2));
+        stacks.moveOneAtATime(299_999, 2, 3);
+        assertEquals('K', stacks.top(3));
+        assertEquals('L', stacks.top(2));
+        assertEquals(' ', stacks.top(1));
+    }
+
+    @Test
+    void testInvalidMoves() {
+        Day5SegmentStacks stacks = new Day5SegmentStacks(Day5Stacks.of("A", "BC"));
+        assertThrows(IllegalArgumentException.class, () -> stacks.moveAtOnce(2, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> stacks.moveOneAtATime(1, 1, 3));
+        assertThrows(IllegalArgumentException.class, () -> stacks.moveOneAtATime(-1, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> stacks.top(0));
+        stacks.moveOneAtATime(2, 2, 2);
+        assertEquals("AC", stacks.tops());
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.brandon.data.advent2022;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@QuarkusTest
+class Day5StacksTest {
+
+    @Test
+    void testMoves() {
+        Day5Stacks stacks = Day5Stacks.of("ZN", "MCD", "P");
+        assertEquals("NDP", stacks.tops());
+
+        Day5Stacks oneAtATime = stacks.copy();
+        oneAtATime.moveOneAtATime(2, 2, 3);
+        assertEquals("NMC", oneAtATime.tops());
+        assertEquals(3, oneAtATime.height(3));
+
+        Day5Stacks atOnce = stacks.copy();
+        atOnce.moveAtOnce(2, 2, 3);
+        assertEquals("NMD", atOnce.tops());
+        atOnce.moveAtOnce(3, 3, 3);
+        assertEquals("NMD", atOnce.tops());
+
+        // Copies leave the original alone, and an emptied stack shows a space
+        assertEquals("NDP", stacks.tops());
+        stacks.moveOneAtATime(2, 1, 2);
+        assertEquals(' ', stacks.top(1));
+        assertEquals(" ZP", stacks.tops());
+    }
+
+    @Test
+    void testGrowsAndInverts() {
+        Day5Stacks stacks = new Day5Stacks(0);
+        stacks.ensureSize(3);
+        for (int i = 0; i < 100_000; i++) {
+            stacks.push(3, (char) ('A' + i % 26));
+        }
+        stacks.moveAtOnce(99_999, 3, 1);
+        stacks.moveOneAtATime(50_000, 1, 2);
+        assertEquals(49_999, stacks.height(1));
+        assertEquals(50_000, stacks.height(2));
+        assertEquals('A', stacks.top(3));
+        assertEquals("BCA", stacks.tops());
+
+        stacks.invert();
+        assertEquals("BDA", stacks.tops());
+    }
+
+    @Test
+    void testInvalidMoves() {
+        Day5Stacks stacks = Day5Stacks.of("A", "BC");
+        assertThrows(IllegalArgumentException.class, () -> stacks.moveAtOnce(2, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> stacks.moveOneAtATime(1, 1, 3));
+        assertThrows(IllegalArgumentException.class, () -> stacks.moveOneAtATime(-1, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> stacks.push(0, 'D'));
+        assertThrows(IllegalArgumentException.class, () -> new Day5Stacks(-1));
+        assertEquals("AC", stacks.tops());
+    }
+
+}
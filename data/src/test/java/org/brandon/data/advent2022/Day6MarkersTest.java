@@ -0,0 +1,96 @@
+package org.brandon.data.advent2022;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class Day6MarkersTest {
+
+    // The runs of distinct letters ending at each position of mjqjpqmgbljsphdztnvjfqwrcgsmlb
+    private static final int[] RUNS = {1, 2, 3, 2, 3, 3, 4, 5, 6, 7, 7, 8, 8, 9, 10, 11, 12, 13, 14, 9, 10, 11, 12,
+            13, 14, 15, 15, 16, 17, 18};
+
+    @Test
+    void testFirstMarkers() {
+        // Window sizes keep the order they were given in
+        Day6Markers markers = new Day6Markers(14, 4, 4, 1);
+        assertEquals(4, markers.size());
+        assertFalse(markers.isCounting());
+
+        boolean complete = false;
+        int position = 0;
+        while (!complete) {
+            complete = markers.record(position + 1, RUNS[position]);
+            position++;
+        }
+        // Nothing more is needed once the largest window size has its marker
+        assertEquals(19, position);
+        assertEquals(14, markers.getWindowSize(0));
+        assertEquals(19L, markers.getFirst(0));
+        assertEquals(7L, markers.getFirst(1));
+        assertEquals(7L, markers.getFirst(2));
+        assertEquals(1L, markers.getFirst(3));
+        assertThrows(IllegalStateException.class, () -> markers.getCount(0));
+
+        Day6Markers missing = new Day6Markers(4, 27);
+        for (int i = 0; i < RUNS.length; i++) {
+            assertFalse(missing.record(i + 1, RUNS[i]));
+        }
+        assertEquals(7L, missing.getFirst(0));
+        assertEquals(-1L, missing.getFirst(1));
+    }
+
+    @Test
+    void testAllMarkers() {
+        Day6Markers markers = new Day6Markers(new int[] {18, 12, 4, 60}, 3);
+        assertTrue(markers.isCounting());
+        for (int i = 0; i < RUNS.length; i++) {
+            assertFalse(markers.record(i + 1, RUNS[i]));
+        }
+
+        assertEquals(30L, markers.getFirst(0));
+        assertEquals(1L, markers.getCount(0));
+        assertArrayEquals(new long[] {30}, markers.getPositions(0));
+
+        assertEquals(17L, markers.getFirst(1));
+        assertEquals(11L, markers.getCount(1));
+        assertArrayEquals(new long[] {17, 18, 19}, markers.getPositions(1));
+
+        assertEquals(7L, markers.getFirst(2));
+        assertEquals(24L, markers.getCount(2));
+        assertArrayEquals(new long[] {7, 8, 9}, markers.getPositions(2));
+
+        // No run of distinct letters can be longer than the alphabet in both cases
+        assertEquals(-1L, markers.getFirst(3));
+        assertEquals(0L, markers.getCount(3));
+        assertArrayEquals(new long[0], markers.getPositions(3));
+
+        // A limit of zero still counts every marker
+        Day6Markers counted = new Day6Markers(new int[] {4}, 0);
+        for (int i = 0; i < RUNS.length; i++) {
+            counted.record(i + 1, RUNS[i]);
+        }
+        assertEquals(24L, counted.getCount(0));
+        assertEquals(7L, counted.getFirst(0));
+        assertArrayEquals(new long[0], counted.getPositions(0));
+    }
+
+    @Test
+    void testInvalidMarkers() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new Day6Markers());
+        assertEquals("At least one window size is required", exception.getMessage());
+
+        exception = assertThrows(IllegalArgumentException.class, () -> new Day6Markers(4, 0));
+        assertEquals("Window size must be at least 1", exception.getMessage());
+
+        exception = assertThrows(IllegalArgumentException.class, () -> new Day6Markers(new int[] {4}, -1));
+        assertEquals("limit cannot be negative", exception.getMessage());
+    }
+
+}
@@ -0,0 +1,153 @@
+package org.brandon.data.advent2022;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@QuarkusTest
+class Day7SizeIndexTest {
+
+    @Test
+    void testExampleQueries() {
+        // The example transcript, with directories / a d e numbered in the order they are first seen
+        Day7Tree tree = new Day7Tree();
+        tree.startListing();
+        add(tree, "a");
+        tree.addFile(14848514);
+        tree.addFile(8504156);
+        add(tree, "d");
+        changeTo(tree, "a");
+        tree.startListing();
+        add(tree, "e");
+        tree.addFile(29116);
+        tree.addFile(2557);
+        tree.addFile(62596);
+        changeTo(tree, "e");
+        tree.startListing();
+        tree.addFile(584);
+        tree.changeToParent();
+        tree.changeToParent();
+        changeTo(tree, "d");
+        tree.startListing();
+        tree.addFile(4060174);
+        tree.addFile(8033020);
+        tree.addFile(5626152);
+        tree.addFile(7214296);
+        tree.finish();
+        Day7SizeIndex index = new Day7SizeIndex(tree);
+
+        assertEquals(4, index.size());
+        assertEquals(48381165L, index.getTotalSize());
+
+        assertEquals(2, index.countAtMost(100_000));
+        assertEquals(95437L, index.sumAtMost(100_000));
+        assertArrayEquals(new int[] {1, 3}, index.atMost(100_000, 10));
+        assertArrayEquals(new int[] {1}, index.atMost(100_000, 1));
+        assertArrayEquals(new int[0], index.atMost(583, 10));
+        assertEquals(0L, index.sumAtMost(583));
+
+        // Deleting d frees the 8381165 bytes still needed by the update
+        assertEquals(2, index.smallestAtLeast(8381165));
+        assertEquals(2, index.countAtLeast(8381165));
+        assertEquals(24933642L, index.getSize(index.smallestAtLeast(8381165)));
+        assertEquals(3, index.smallestAtLeast(0));
+        assertEquals(-1, index.smallestAtLeast(48381166));
+        assertEquals(0, index.countAtLeast(48381166));
+
+        assertArrayEquals(new int[] {0, 2, 1}, index.largest(3));
+        assertArrayEquals(new int[] {0, 2, 1, 3}, index.largest(10));
+        assertEquals("/a/e", index.getPath(3));
+    }
+
+    @Test
+    void testTiedSizes() {
+        // Directories a b c of the same size and d e of a smaller one, numbered 1 to 5 in the order they are first seen
+        Day7Tree tree = new Day7Tree();
+        tree.startListing();
+        for (String name : new String[] {"a", "b", "c", "d", "e"}) {
+            add(tree, name);
+        }
+        for (String name : new String[] {"a", "b", "c", "d", "e"}) {
+            changeTo(tree, name);
+            tree.startListing();
+            tree.addFile(name.compareTo("c") <= 0 ? 100 : 50);
+            tree.changeToParent();
+        }
+        tree.finish();
+        Day7SizeIndex index = new Day7SizeIndex(tree);
+
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5}, index.largest(10));
+        assertArrayEquals(new int[] {0, 1, 2}, index.largest(3));
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5}, index.atMost(100, 10));
+        assertArrayEquals(new int[] {1, 2}, index.atMost(100, 2));
+        assertArrayEquals(new int[] {4, 5}, index.atMost(99, 10));
+        assertArrayEquals(new int[] {4}, index.atMost(50, 1));
+        assertEquals(1, index.smallestAtLeast(51));
+        assertEquals(4, index.smallestAtLeast(50));
+    }
+
+    @Test
+    void testMatchesScan() {
+        // Directories nested at random, with many of the same size, checked against a scan of every directory
+        Random random = new Random(7);
+        Day7Tree tree = new Day7Tree();
+        for (int i = 0; i < 2000; i++) {
+            if (random.nextInt(4) == 0) {
+                tree.changeToRoot();
+            }
+            changeTo(tree, "d" + i);
+            tree.addFile(random.nextInt(50) * 1000L);
+        }
+        tree.finish();
+        Day7SizeIndex index = new Day7SizeIndex(tree);
+
+        Integer[] bySize = IntStream.range(0, tree.size()).boxed()
+                .sorted(Comparator.comparingLong(tree::getSize)).toArray(Integer[]::new);
+        Integer[] largestFirst = IntStream.range(0, tree.size()).boxed()
+                .sorted(Comparator.<Integer>comparingLong(tree::getSize).reversed().thenComparingInt(d -> d))
+                .toArray(Integer[]::new);
+        for (long bound : new long[] {0, 999, 1000, 25_000, 100_000, 10_000_000}) {
+            int[] atMost = Arrays.stream(bySize).filter(d -> tree.getSize(d) <= bound).mapToInt(d -> d).toArray();
+            assertEquals(atMost.length, index.countAtMost(bound));
+            assertEquals(Arrays.stream(atMost).mapToLong(tree::getSize).sum(), index.sumAtMost(bound));
+            int[] listed = Arrays.stream(largestFirst).filter(d -> tree.getSize(d) <= bound).limit(20)
+                    .mapToInt(d -> d).toArray();
+            assertArrayEquals(listed, index.atMost(bound, 20));
+
+            int smallest = index.smallestAtLeast(bound);
+            long expected = Arrays.stream(bySize).mapToLong(tree::getSize).filter(s -> s >= bound).min().orElse(-1);
+            assertEquals(expected, smallest == -1 ? -1 : tree.getSize(smallest));
+        }
+        assertEquals(Day7Tree.ROOT, index.largest(1)[0]);
+    }
+
+    @Test
+    void testInvalidQueries() {
+        Day7SizeIndex index = new Day7SizeIndex(new Day7Tree());
+        assertEquals(1, index.size());
+        assertEquals(0L, index.getTotalSize());
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> index.largest(-1));
+        assertEquals("limit must not be negative", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> index.atMost(10, -1));
+    }
+
+    private static void changeTo(Day7Tree tree, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        tree.changeTo(bytes, 0, bytes.length);
+    }
+
+    private static void add(Day7Tree tree, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        tree.addDirectory(bytes, 0, bytes.length);
+    }
+
+}
@@ -0,0 +1,95 @@
+package org.brandon.data.advent2022;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class Day7TreeTest {
+
+    @Test
+    void testSizesCarriedUp() {
+        Day7Tree tree = new Day7Tree();
+        assertTrue(tree.startListing());
+        tree.addFile(5);
+        changeTo(tree, "a");
+        assertTrue(tree.startListing());
+        tree.addFile(7);
+        changeTo(tree, "b");
+        tree.addFile(11);
+
+        // Sizes below the current directory are only handed up once it is left
+        assertEquals(5L, tree.getSize(Day7Tree.ROOT));
+        tree.changeToParent();
+        assertEquals(18L, tree.getSize(1));
+        tree.changeToRoot();
+        assertEquals(23L, tree.getSize(Day7Tree.ROOT));
+
+        // Entering a directory again finds the same one, and the root is its own parent
+        tree.changeToParent();
+        changeTo(tree, "a");
+        assertFalse(tree.startListing());
+        changeTo(tree, "b");
+        tree.addFile(1);
+        tree.finish();
+        assertEquals(3, tree.size());
+        assertEquals(24L, tree.getSize(Day7Tree.ROOT));
+        assertEquals(19L, tree.getSize(1));
+        assertEquals(12L, tree.getSize(2));
+        assertEquals(1, tree.getParent(2));
+        assertEquals(-1, tree.getParent(Day7Tree.ROOT));
+        assertEquals("b", tree.getName(2));
+        assertEquals("/a/b", tree.getPath(2));
+        assertEquals("/", tree.getPath(Day7Tree.ROOT));
+    }
+
+    @Test
+    void testManyDirectories() {
+        // Enough directories to grow every column and the table several times, with names repeated under each parent
+        Day7Tree tree = new Day7Tree();
+        for (int i = 0; i < 3000; i++) {
+            add(tree, "d" + i);
+        }
+        for (int i = 0; i < 3000; i++) {
+            changeTo(tree, "d" + i);
+            add(tree, "d" + i);
+            changeTo(tree, "d" + i);
+            tree.addFile(i);
+            tree.changeToParent();
+            tree.changeToParent();
+        }
+        tree.finish();
+
+        assertEquals(6001, tree.size());
+        assertEquals(2999L * 3000 / 2, tree.getSize(Day7Tree.ROOT));
+        assertEquals(1234L, tree.getSize(1235));
+        assertEquals("/d1234/d1234", tree.getPath(3000 + 1235));
+        assertEquals(1235, tree.getParent(3000 + 1235));
+    }
+
+    @Test
+    void testInvalidTree() {
+        Day7Tree tree = new Day7Tree();
+        assertThrows(IllegalArgumentException.class, () -> tree.addFile(-1));
+        assertThrows(IllegalArgumentException.class, () -> tree.changeTo(new byte[0], 0, 0));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> tree.getSize(1));
+        assertEquals("There is no directory 1", exception.getMessage());
+    }
+
+    private static void changeTo(Day7Tree tree, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        tree.changeTo(bytes, 0, bytes.length);
+    }
+
+    private static void add(Day7Tree tree, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        tree.addDirectory(bytes, 0, bytes.length);
+    }
+
+}
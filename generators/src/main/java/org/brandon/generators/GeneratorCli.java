@@ -0,0 +1,78 @@
+package org.brandon.generators;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Command line entry point which writes a synthetic input to a file or to standard output, for example
+ * `java -jar generators.jar 8 --width 10000 --height 10000 --seed 7 --out day8.txt`.
+ * Any option other than --size, --seed and --out is passed to the generator as a named dimension.
+ */
+public final class GeneratorCli {
+
+    private static final long DEFAULT_SEED = 2022L;
+    private static final String DEFAULT_SIZE = "1MB";
+    private static final String USAGE = """
+            Usage: <day> [--size <size>] [--seed <seed>] [--out <file>] [--<dimension> <value>]...
+              --size       Approximate size of the input such as 1KB, 1MB or 1GB, defaults to 1MB
+              --seed       Seed of the input, the same seed always produces the same input, defaults to 2022
+              --out        File to write the input to, defaults to standard output
+              --<name>     A dimension of the input, such as --width for day 8 or --monkeys for day 11,
+                           which takes precedence over the size""";
+
+    private GeneratorCli() {
+        throw new UnsupportedOperationException("This class cannot be constructed.");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0 || args[0].equals("-h") || args[0].equals("--help")) {
+            System.err.println(USAGE);
+            System.err.println("Days: " + Generators.days());
+            return;
+        }
+
+        int day;
+        long seed = DEFAULT_SEED;
+        Path out = null;
+        GeneratorOptions options;
+        try {
+            day = Integer.parseInt(args[0]);
+            String size = DEFAULT_SIZE;
+            for (int i = 1; i < args.length; i += 2) {
+                if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Expected --<name> <value> but found " + args[i]);
+                }
+                switch (args[i]) {
+                    case "--size" -> size = args[i + 1];
+                    case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                    case "--out" -> out = Path.of(args[i + 1]);
+                    default -> { }
+                }
+            }
+            options = GeneratorOptions.ofSize(size);
+            for (int i = 1; i < args.length; i += 2) {
+                String name = args[i].substring(2);
+                if (!name.equals("size") && !name.equals("seed") && !name.equals("out")) {
+                    options = options.with(name, Long.parseLong(args[i + 1]));
+                }
+            }
+            Generators.forDay(day);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+
+        if (out == null) {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII));
+            Generators.generate(day, seed, options, writer);
+        } else {
+            Generators.write(day, seed, options, out);
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package org.brandon.generators;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The requested shape of a generated input.
+ * Every generator can grow an input to an approximate number of bytes. Most days also accept named dimensions,
+ * such as the width and height of a grid or the number of instructions in a program, which take precedence over
+ * the size when they are given.
+ * @param targetBytes The approximate size of the input in bytes
+ * @param dimensions Day specific dimensions by name
+ */
+public record GeneratorOptions(long targetBytes, Map<String, Long> dimensions) {
+
+    public GeneratorOptions {
+        if (targetBytes < 0) {
+            throw new IllegalArgumentException("Size cannot be negative");
+        }
+        dimensions = Map.copyOf(dimensions);
+    }
+
+    /**
+     * Options for an input of a given size, such as 1KB, 1MB or 100MB.
+     * @param size The approximate size of the input
+     * @return Options with no dimensions
+     */
+    public static GeneratorOptions ofSize(String size) {
+        return new GeneratorOptions(parseSize(size), Map.of());
+    }
+
+    /**
+     * Copies these options with a dimension added.
+     * @param name The name of the dimension
+     * @param value The value of the dimension
+     * @return The new options
+     */
+    public GeneratorOptions with(String name, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Dimension " + name + " cannot be negative");
+        }
+        Map<String, Long> copy = new HashMap<>(this.dimensions);
+        copy.put(name, value);
+        return new GeneratorOptions(this.targetBytes, copy);
+    }
+
+    /**
+     * Looks up a dimension.
+     * @param name The name of the dimension
+     * @param fallback The value used when the dimension was not given
+     * @return The value of the dimension
+     */
+    public long dimension(String name, long fallback) {
+        return this.dimensions.getOrDefault(name, fallback);
+    }
+
+    /**
+     * Checks if a generator has written enough of something, either the requested number of it when the
+     * dimension was given or enough bytes to reach the target size otherwise.
+     * @param name The name of the dimension being counted
+     * @param produced How many have been written so far
+     * @param writer The writer the input is streamed to
+     * @return True once the input is complete
+     */
+    public boolean isComplete(String name, long produced, InputWriter writer) {
+        Long requested = this.dimensions.get(name);
+        return requested == null ? writer.count() >= this.targetBytes : produced >= requested;
+    }
+
+    /**
+     * Converts a size such as 512B, 1KB, 1MB or 2GB into a number of bytes.
+     * @param size The size to convert
+     * @return The number of bytes the size stands for
+     */
+    public static long parseSize(String size) {
+        String value = size.trim().toUpperCase();
+        try {
+            if (value.endsWith("KB")) {
+                return Long.parseLong(value.substring(0, value.length() - 2)) * 1024;
+            } else if (value.endsWith("MB")) {
+                return Long.parseLong(value.substring(0, value.length() - 2)) * 1024 * 1024;
+            } else if (value.endsWith("GB")) {
+                return Long.parseLong(value.substring(0, value.length() - 2)) * 1024 * 1024 * 1024;
+            } else if (value.endsWith("B")) {
+                return Long.parseLong(value.substring(0, value.length() - 1));
+            }
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid size provided: " + size);
+        }
+    }
+
+}
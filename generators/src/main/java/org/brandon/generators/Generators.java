@@ -0,0 +1,101 @@
+package org.brandon.generators;
+
+import org.brandon.generators.advent2022.Day10Generator;
+import org.brandon.generators.advent2022.Day11Generator;
+import org.brandon.generators.advent2022.Day12Generator;
+import org.brandon.generators.advent2022.Day13Generator;
+import org.brandon.generators.advent2022.Day1Generator;
+import org.brandon.generators.advent2022.Day2Generator;
+import org.brandon.generators.advent2022.Day3Generator;
+import org.brandon.generators.advent2022.Day4Generator;
+import org.brandon.generators.advent2022.Day5Generator;
+import org.brandon.generators.advent2022.Day6Generator;
+import org.brandon.generators.advent2022.Day7Generator;
+import org.brandon.generators.advent2022.Day8Generator;
+import org.brandon.generators.advent2022.Day9Generator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Entry point to the synthetic input generators for every day the services module solves.
+ * Inputs only depend on the day, the seed and the options, so the same arguments always produce the same bytes,
+ * and they are streamed to their destination one line at a time, so their size is not limited by memory.
+ */
+public final class Generators {
+
+    private static final Map<Integer, InputGenerator> GENERATORS = Map.ofEntries(
+            Map.entry(1, new Day1Generator()),
+            Map.entry(2, new Day2Generator()),
+            Map.entry(3, new Day3Generator()),
+            Map.entry(4, new Day4Generator()),
+            Map.entry(5, new Day5Generator()),
+            Map.entry(6, new Day6Generator()),
+            Map.entry(7, new Day7Generator()),
+            Map.entry(8, new Day8Generator()),
+            Map.entry(9, new Day9Generator()),
+            Map.entry(10, new Day10Generator()),
+            Map.entry(11, new Day11Generator()),
+            Map.entry(12, new Day12Generator()),
+            Map.entry(13, new Day13Generator()));
+
+    private Generators() {
+        throw new UnsupportedOperationException("This class cannot be constructed.");
+    }
+
+    /**
+     * The days an input can be generated for.
+     * @return The days in ascending order
+     */
+    public static Set<Integer> days() {
+        return new TreeSet<>(GENERATORS.keySet());
+    }
+
+    /**
+     * Looks up the generator for a day.
+     * @param day The day of the challenge
+     * @return The generator for the day
+     */
+    public static InputGenerator forDay(int day) {
+        InputGenerator generator = GENERATORS.get(day);
+        if (generator == null) {
+            throw new IllegalArgumentException("No input generator for day " + day);
+        }
+        return generator;
+    }
+
+    /**
+     * Streams an input for a day to a writer, which is flushed but left open.
+     * @param day The day of the challenge
+     * @param seed The seed of the input
+     * @param options The requested size and dimensions of the input
+     * @param writer The writer the input is streamed to
+     */
+    public static void generate(int day, long seed, GeneratorOptions options, Writer writer) throws IOException {
+        InputWriter inputWriter = new InputWriter(writer);
+        forDay(day).generate(inputWriter, new Random(seed), options);
+        inputWriter.flush();
+    }
+
+    /**
+     * Streams an input for a day to a file, replacing anything already there.
+     * @param day The day of the challenge
+     * @param seed The seed of the input
+     * @param options The requested size and dimensions of the input
+     * @param path The file the input is written to
+     */
+    public static void write(int day, long seed, GeneratorOptions options, Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            generate(day, seed, options, writer);
+        }
+    }
+
+}
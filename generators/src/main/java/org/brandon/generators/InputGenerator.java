@@ -0,0 +1,20 @@
+package org.brandon.generators;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Writes a valid puzzle input for a single day of Advent of Code.
+ */
+@FunctionalInterface
+public interface InputGenerator {
+
+    /**
+     * Streams an input to the writer until it reaches the requested size or dimensions.
+     * @param writer The writer the input is streamed to
+     * @param random The source of randomness, seeded by the caller so the same input can be generated again
+     * @param options The requested size of the input and any dimensions specific to the day
+     */
+    void generate(InputWriter writer, Random random, GeneratorOptions options) throws IOException;
+
+}
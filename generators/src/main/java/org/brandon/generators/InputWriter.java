@@ -0,0 +1,79 @@
+package org.brandon.generators;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer which keeps track of how many characters have been written, which is also the number of bytes since
+ * every generated input is plain ASCII. Generators use the count to stop once an input reaches its target size.
+ */
+public final class InputWriter extends Writer {
+
+    private final Writer writer;
+    private long count;
+
+    /**
+     * Wraps a writer, which should be buffered since generators write one small line at a time.
+     * @param writer The writer the input is streamed to
+     */
+    public InputWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * The number of characters written so far.
+     * @return The character count
+     */
+    public long count() {
+        return this.count;
+    }
+
+    /**
+     * Writes a line followed by a line feed.
+     * @param line The line to write, without a line terminator
+     */
+    public void line(String line) throws IOException {
+        this.write(line);
+        this.write('\n');
+    }
+
+    /**
+     * Writes part of a character buffer followed by a line feed.
+     * @param buffer The buffer holding the line
+     * @param offset The index of the first character of the line
+     * @param length The number of characters in the line
+     */
+    public void line(char[] buffer, int offset, int length) throws IOException {
+        this.write(buffer, offset, length);
+        this.write('\n');
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        this.writer.write(buffer, offset, length);
+        this.count += length;
+    }
+
+    @Override
+    public void write(String value) throws IOException {
+        this.writer.write(value);
+        this.count += value.length();
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        this.writer.write(value);
+        this.count += 1;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.close();
+    }
+
+}
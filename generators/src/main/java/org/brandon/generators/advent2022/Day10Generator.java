@@ -0,0 +1,29 @@
+package org.brandon.generators.advent2022;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.InputGenerator;
+import org.brandon.generators.InputWriter;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates inputs for the Advent of Code 2022: Day 10 challenge, a CPU program of `noop` and `addx` instructions.
+ */
+public class Day10Generator implements InputGenerator {
+
+    /** The number of instructions in the program. */
+    public static final String INSTRUCTIONS = "instructions";
+
+    @Override
+    public void generate(InputWriter writer, Random random, GeneratorOptions options) throws IOException {
+        for (long instruction = 0; !options.isComplete(INSTRUCTIONS, instruction, writer); instruction++) {
+            if (random.nextInt(3) == 0) {
+                writer.line("noop");
+            } else {
+                writer.line("addx " + (random.nextInt(41) - 20));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.brandon.generators.advent2022;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.InputGenerator;
+import org.brandon.generators.InputWriter;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates inputs for the Advent of Code 2022: Day 11 challenge, a troop of monkeys throwing items to each other.
+ * Every monkey tests divisibility by one of the primes up to 19, so the worry levels stay bounded by their product
+ * however many monkeys there are.
+ */
+public class Day11Generator implements InputGenerator {
+
+    /** The number of monkeys in the troop. */
+    public static final String MONKEYS = "monkeys";
+    /** The number of items each monkey starts with, which defaults to between one and twenty. */
+    public static final String ITEMS = "items";
+
+    private static final int[] PRIMES = {2, 3, 5, 7, 11, 13, 17, 19};
+    private static final int BYTES_PER_MONKEY = 200;
+
+    @Override
+    public void generate(InputWriter writer, Random random, GeneratorOptions options) throws IOException {
+        int monkeys = (int) Math.max(2, Math.min(Integer.MAX_VALUE,
+                options.dimension(MONKEYS, options.targetBytes() / BYTES_PER_MONKEY)));
+        for (int monkey = 0; monkey < monkeys; monkey++) {
+            StringBuilder items = new StringBuilder();
+            long itemCount = Math.max(1, options.dimension(ITEMS, 1 + random.nextInt(20)));
+            for (long i = 0; i < itemCount; i++) {
+                items.append(i == 0 ? "" : ", ").append(50 + random.nextInt(50));
+            }
+            String operation = switch (random.nextInt(3)) {
+                case 0 -> "* old";
+                case 1 -> "* " + (2 + random.nextInt(18));
+                default -> "+ " + (1 + random.nextInt(8));
+            };
+            // Monkeys never throw to themselves
+            int trueTarget = (monkey + 1 + random.nextInt(monkeys - 1)) % monkeys;
+            int falseTarget = (monkey + 1 + random.nextInt(monkeys - 1)) % monkeys;
+
+            writer.line("Monkey " + monkey + ":");
+            writer.line("  Starting items: " + items);
+            writer.line("  Operation: new = old " + operation);
+            writer.line("  Test: divisible by " + PRIMES[monkey % PRIMES.length]);
+            writer.line("    If true: throw to monkey " + trueTarget);
+            writer.line("    If false: throw to monkey " + falseTarget);
+            writer.line("");
+        }
+    }
+
+}
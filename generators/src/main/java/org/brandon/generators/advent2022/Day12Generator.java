@@ -0,0 +1,47 @@
+package org.brandon.generators.advent2022;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.InputGenerator;
+import org.brandon.generators.InputWriter;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates inputs for the Advent of Code 2022: Day 12 challenge, a height map which rises from `S` in the top
+ * left corner to `E` on the right edge. The top row is a clean gradient and the right edge is all `z`, so there is
+ * always a path, while the noise elsewhere only ever dips below the gradient.
+ */
+public class Day12Generator implements InputGenerator {
+
+    /** The number of squares in each row, at least 27 so the gradient can climb one letter at a time. */
+    public static final String WIDTH = "width";
+    /** The number of rows. */
+    public static final String HEIGHT = "height";
+
+    private static final int MIN_WIDTH = 27;
+
+    @Override
+    public void generate(InputWriter writer, Random random, GeneratorOptions options) throws IOException {
+        long defaultWidth = Math.max(MIN_WIDTH + 1, (long) Math.sqrt(options.targetBytes() * 2.0));
+        long width = options.dimension(WIDTH, defaultWidth);
+        if (width < MIN_WIDTH || width > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Day 12 width must be at least " + MIN_WIDTH);
+        }
+        long height = Math.max(2, options.dimension(HEIGHT, options.targetBytes() / (width + 1)));
+        char[] row = new char[(int) width];
+        for (long y = 0; y < height; y++) {
+            for (int x = 0; x < row.length; x++) {
+                int level = (int) Math.min(25, x * 26L / (row.length - 1));
+                // Stepping down is always allowed, so dipping below the gradient never blocks the climb
+                row[x] = (char) ('a' + (y == 0 ? level : Math.max(0, level - random.nextInt(3))));
+            }
+            if (y == 0) {
+                row[0] = 'S';
+            }
+            row[row.length - 1] = y == height / 2 ? 'E' : 'z';
+            writer.line(row, 0, row.length);
+        }
+    }
+
+}
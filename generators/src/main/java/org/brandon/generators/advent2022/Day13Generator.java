@@ -0,0 +1,45 @@
+package org.brandon.generators.advent2022;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.InputGenerator;
+import org.brandon.generators.InputWriter;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates inputs for the Advent of Code 2022: Day 13 challenge, pairs of nested packets separated by blank lines.
+ */
+public class Day13Generator implements InputGenerator {
+
+    /** The number of pairs of packets. */
+    public static final String PAIRS = "pairs";
+
+    private static final int MAX_DEPTH = 3;
+
+    @Override
+    public void generate(InputWriter writer, Random random, GeneratorOptions options) throws IOException {
+        for (long pair = 0; !options.isComplete(PAIRS, pair, writer); pair++) {
+            writer.line(packet(random, 0));
+            writer.line(packet(random, 0));
+            writer.line("");
+        }
+    }
+
+    private String packet(Random random, int depth) {
+        StringBuilder packet = new StringBuilder("[");
+        int elements = random.nextInt(5);
+        for (int i = 0; i < elements; i++) {
+            if (i > 0) {
+                packet.append(',');
+            }
+            if (depth < MAX_DEPTH && random.nextInt(4) == 0) {
+                packet.append(packet(random, depth + 1));
+            } else {
+                packet.append(random.nextInt(11));
+            }
+        }
+        return packet.append(']').toString();
+    }
+
+}
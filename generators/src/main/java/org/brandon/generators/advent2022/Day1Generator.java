@@ -0,0 +1,29 @@
+package org.brandon.generators.advent2022;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.InputGenerator;
+import org.brandon.generators.InputWriter;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates inputs for the Advent of Code 2022: Day 1 challenge, groups of calorie counts separated by blank lines.
+ */
+public class Day1Generator implements InputGenerator {
+
+    /** The number of elves, each carrying one group of items. */
+    public static final String ELVES = "elves";
+
+    @Override
+    public void generate(InputWriter writer, Random random, GeneratorOptions options) throws IOException {
+        for (long elf = 0; !options.isComplete(ELVES, elf, writer); elf++) {
+            int items = 1 + random.nextInt(6);
+            for (int i = 0; i < items; i++) {
+                writer.line(Integer.toString(1_000 + random.nextInt(59_000)));
+            }
+            writer.line("");
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package org.brandon.generators.advent2022;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.InputGenerator;
+import org.brandon.generators.InputWriter;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates inputs for the Advent of Code 2022: Day 2 challenge, rounds of rock paper scissors such as `A Y`.
+ */
+public class Day2Generator implements InputGenerator {
+
+    /** The number of rounds played. */
+    public static final String ROUNDS = "rounds";
+
+    @Override
+    public void generate(InputWriter writer, Random random, GeneratorOptions options) throws IOException {
+        char[] round = new char[3];
+        round[1] = ' ';
+        for (long count = 0; !options.isComplete(ROUNDS, count, writer); count++) {
+            round[0] = (char) ('A' + random.nextInt(3));
+            round[2] = (char) ('X' + random.nextInt(3));
+            writer.line(round, 0, round.length);
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package org.brandon.generators.advent2022;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.InputGenerator;
+import org.brandon.generators.InputWriter;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates inputs for the Advent of Code 2022: Day 3 challenge, groups of three rucksacks which share a badge,
+ * each with exactly one item type in both of its compartments.
+ */
+public class Day3Generator implements InputGenerator {
+
+    /** The number of groups of three rucksacks. */
+    public static final String GROUPS = "groups";
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    @Override
+    public void generate(InputWriter writer, Random random, GeneratorOptions options) throws IOException {
+        for (long group = 0; !options.isComplete(GROUPS, group, writer); group++) {
+            char badge = LETTERS.charAt(random.nextInt(LETTERS.length()));
+            for (int line = 0; line < 3; line++) {
+                char shared = LETTERS.charAt(random.nextInt(LETTERS.length()));
+                int half = 8 + random.nextInt(16);
+                StringBuilder first = new StringBuilder().append(shared).append(badge);
+                StringBuilder second = new StringBuilder().append(shared);
+                // The first compartment draws from the lowercase letters, the second from the uppercase letters
+                while (first.length() < half) {
+                    first.append(LETTERS.charAt(random.nextInt(26)));
+                }
+                while (second.length() < half) {
+                    second.append(LETTERS.charAt(26 + random.nextInt(26)));
+                }
+                writer.line(first.append(second).toString());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package org.brandon.generators.advent2022;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.InputGenerator;
+import org.brandon.generators.InputWriter;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates inputs for the Advent of Code 2022: Day 4 challenge, pairs of section ranges such as `2-4,6-8`.
+ */
+public class Day4Generator implements InputGenerator {
+
+    /** The number of pairs of elves. */
+    public static final String PAIRS = "pairs";
+    /** The highest section number, which defaults to 99. */
+    public static final String SECTIONS = "sections";
+
+    @Override
+    public void generate(InputWriter writer, Random random, GeneratorOptions options) throws IOException {
+        int sections = (int) Math.max(1, Math.min(Integer.MAX_VALUE - 1, options.dimension(SECTIONS, 99)));
+        for (long pair = 0; !options.isComplete(PAIRS, pair, writer); pair++) {
+            int start1 = 1 + random.nextInt(sections);
+            int start2 = 1 + random.nextInt(sections);
+            writer.line(start1 + "-" + (start1 + random.nextInt(sections - start1 + 1)) + ","
+                    + start2 + "-" + (start2 + random.nextInt(sections - start2 + 1)));
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.brandon.generators.advent2022;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.InputGenerator;
+import org.brandon.generators.InputWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generates inputs for the Advent of Code 2022: Day 5 challenge, a drawing of stacks of crates followed by crane
+ * moves such as `move 1 from 2 to 1`, nine stacks of up to eight crates by default.
+ * Every stack starts with at least two crates and moves always leave at least one crate behind, which means every
+ * stack still has a top crate at the end.
+ */
+public class Day5Generator implements InputGenerator {
+
+    /** The number of stacks. */
+    public static final String STACKS = "stacks";
+    /** The most crates any stack starts with. */
+    public static final String HEIGHT = "height";
+    /** The number of crane moves. */
+    public static final String MOVES = "moves";
+
+    @Override
+    public void generate(InputWriter writer, Random random, GeneratorOptions options) throws IOException {
+        long stackCount = options.dimension(STACKS, 9);
+        if (stackCount < 2 || stackCount > 1_000_000) {
+            throw new IllegalArgumentException("Crates need between 2 and 1000000 stacks to move between");
+        }
+        int count = (int) stackCount;
+        int height = (int) Math.max(2, Math.min(Integer.MAX_VALUE, options.dimension(HEIGHT, 8)));
+
+        // Stacks are numbered from 1 to match the moves
+        int[] stacks = new int[count + 1];
+        for (int stack = 1; stack <= count; stack++) {
+            stacks[stack] = 2 + random.nextInt(height - 1);
+        }
+        writeDrawing(writer, random, stacks, height);
+
+        for (long move = 0; !options.isComplete(MOVES, move, writer); move++) {
+            int from = 1 + random.nextInt(count);
+            while (stacks[from] < 2) {
+                from = 1 + random.nextInt(count);
+            }
+            int to = 1 + random.nextInt(count);
+            while (to == from) {
+                to = 1 + random.nextInt(count);
+            }
+            int amount = 1 + random.nextInt(Math.min(stacks[from] - 1, 10));
+            stacks[from] -= amount;
+            stacks[to] += amount;
+            writer.line("move " + amount + " from " + from + " to " + to);
+        }
+    }
+
+    /**
+     * Writes the drawing from the top row of crates down, then the line numbering the stacks and a blank line.
+     */
+    private static void writeDrawing(InputWriter writer, Random random, int[] stacks, int height) throws IOException {
+        int count = stacks.length - 1;
+        char[] row = new char[count * 4 - 1];
+        for (int level = height; level >= 1; level--) {
+            Arrays.fill(row, ' ');
+            int length = 0;
+            for (int stack = 1; stack <= count; stack++) {
+                if (stacks[stack] >= level) {
+                    int offset = (stack - 1) * 4;
+                    row[offset] = '[';
+                    row[offset + 1] = (char) ('A' + random.nextInt(26));
+                    row[offset + 2] = ']';
+                    length = offset + 3;
+                }
+            }
+            if (length > 0) {
+                writer.line(row, 0, length);
+            }
+        }
+
+        StringBuilder numbers = new StringBuilder();
+        for (int stack = 1; stack <= count; stack++) {
+            numbers.append(stack == 1 ? " " : "   ").append(stack);
+        }
+        writer.line(numbers.toString());
+        writer.line("");
+    }
+
+}
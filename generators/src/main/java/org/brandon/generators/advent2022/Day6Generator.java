@@ -0,0 +1,38 @@
+package org.brandon.generators.advent2022;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.InputGenerator;
+import org.brandon.generators.InputWriter;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates inputs for the Advent of Code 2022: Day 6 challenge, a single datastream line which only contains
+ * markers at its very end, so the whole input has to be searched.
+ */
+public class Day6Generator implements InputGenerator {
+
+    /** The number of characters before the first marker. */
+    public static final String LENGTH = "length";
+
+    private static final String MARKER = "abcdefghijklmn";
+
+    @Override
+    public void generate(InputWriter writer, Random random, GeneratorOptions options) throws IOException {
+        long length = options.dimension(LENGTH, Math.max(0, options.targetBytes() - MARKER.length() - 1));
+        char[] chunk = new char[4096];
+        long written = 0;
+        while (written < length) {
+            int chunkLength = (int) Math.min(chunk.length, length - written);
+            for (int i = 0; i < chunkLength; i++) {
+                // Only three distinct letters never make up a marker
+                chunk[i] = (char) ('x' + random.nextInt(3));
+            }
+            writer.write(chunk, 0, chunkLength);
+            written += chunkLength;
+        }
+        writer.line(MARKER);
+    }
+
+}
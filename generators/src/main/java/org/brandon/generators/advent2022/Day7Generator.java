@@ -0,0 +1,57 @@
+package org.brandon.generators.advent2022;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.InputGenerator;
+import org.brandon.generators.InputWriter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * Generates inputs for the Advent of Code 2022: Day 7 challenge, a terminal session which lists and walks a
+ * directory tree depth first, listing every directory exactly once. The tree only grows by size.
+ */
+public class Day7Generator implements InputGenerator {
+
+    private static final int MAX_DEPTH = 12;
+
+    @Override
+    public void generate(InputWriter writer, Random random, GeneratorOptions options) throws IOException {
+        Deque<Deque<String>> unvisited = new ArrayDeque<>();
+        long directoryCount = 0;
+        writer.line("$ cd /");
+        while (writer.count() < options.targetBytes() || unvisited.isEmpty()) {
+            writer.line("$ ls");
+            // The root holds enough subtrees to reach the target, deeper directories branch 1.5 times on average
+            int directories = unvisited.isEmpty()
+                    ? (int) Math.min(Integer.MAX_VALUE, options.targetBytes() / 8192 + 1)
+                    : unvisited.size() < MAX_DEPTH ? random.nextInt(4) : 0;
+            Deque<String> children = new ArrayDeque<>();
+            for (int i = 0; i < directories; i++) {
+                String name = "d" + directoryCount++;
+                children.add(name);
+                writer.line("dir " + name);
+            }
+            int files = 1 + random.nextInt(5);
+            for (int i = 0; i < files; i++) {
+                writer.line((1 + random.nextInt(300_000)) + " f" + i + ".txt");
+            }
+            unvisited.push(children);
+
+            // Climb back up until a directory with unvisited children is found
+            while (!unvisited.isEmpty() && unvisited.peek().isEmpty()) {
+                unvisited.pop();
+                if (!unvisited.isEmpty()) {
+                    writer.line("$ cd ..");
+                }
+            }
+            if (unvisited.isEmpty()) {
+                return;
+            }
+            writer.line("$ cd " + unvisited.peek().poll());
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.brandon.generators.advent2022;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.InputGenerator;
+import org.brandon.generators.InputWriter;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates inputs for the Advent of Code 2022: Day 8 challenge, a forest of tree heights, square by default.
+ */
+public class Day8Generator implements InputGenerator {
+
+    /** The number of trees in each row. */
+    public static final String WIDTH = "width";
+    /** The number of rows of trees. */
+    public static final String HEIGHT = "height";
+
+    @Override
+    public void generate(InputWriter writer, Random random, GeneratorOptions options) throws IOException {
+        int side = (int) Math.max(2, Math.sqrt(options.targetBytes()));
+        int width = (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, options.dimension(WIDTH, side)));
+        long height = Math.max(1, options.dimension(HEIGHT, side));
+        char[] row = new char[width];
+        for (long y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                row[x] = (char) ('0' + random.nextInt(10));
+            }
+            writer.line(row, 0, width);
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package org.brandon.generators.advent2022;
+
+import org.brandon.generators.GeneratorOptions;
+import org.brandon.generators.InputGenerator;
+import org.brandon.generators.InputWriter;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates inputs for the Advent of Code 2022: Day 9 challenge, rope motions such as `R 4`.
+ */
+public class Day9Generator implements InputGenerator {
+
+    /** The number of motions. */
+    public static final String MOTIONS = "motions";
+
+    private static final String DIRECTIONS = "RLUD";
+
+    @Override
+    public void generate(InputWriter writer, Random random, GeneratorOptions options) throws IOException {
+        for (long motion = 0; !options.isComplete(MOTIONS, motion, writer); motion++) {
+            writer.line(DIRECTIONS.charAt(random.nextInt(4)) + " " + (1 + random.nextInt(20)));
+        }
+    }
+
+}
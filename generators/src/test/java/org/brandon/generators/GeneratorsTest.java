@@ -0,0 +1,133 @@
+package org.brandon.generators;
+
+import org.brandon.generators.advent2022.Day10Generator;
+import org.brandon.generators.advent2022.Day11Generator;
+import org.brandon.generators.advent2022.Day12Generator;
+import org.brandon.generators.advent2022.Day5Generator;
+import org.brandon.generators.advent2022.Day6Generator;
+import org.brandon.generators.advent2022.Day8Generator;
+import org.brandon.services.advent2022.Day10Service;
+import org.brandon.services.advent2022.Day11Service;
+import org.brandon.services.advent2022.Day12Service;
+import org.brandon.services.advent2022.Day13Service;
+import org.brandon.services.advent2022.Day1Service;
+import org.brandon.services.advent2022.Day2Service;
+import org.brandon.services.advent2022.Day3Service;
+import org.brandon.services.advent2022.Day4Service;
+import org.brandon.services.advent2022.Day5Service;
+import org.brandon.services.advent2022.Day6Service;
+import org.brandon.services.advent2022.Day7Service;
+import org.brandon.services.advent2022.Day8Service;
+import org.brandon.services.advent2022.Day9Service;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneratorsTest {
+
+    private static final GeneratorOptions SMALL = GeneratorOptions.ofSize("16KB");
+
+    @Test
+    void testDeterministic(@TempDir Path directory) throws IOException {
+        for (int day : Generators.days()) {
+            Path first = directory.resolve("first" + day);
+            Path second = directory.resolve("second" + day);
+            Generators.write(day, 7, SMALL, first);
+            Generators.write(day, 7, SMALL, second);
+            assertEquals(-1L, Files.mismatch(first, second), "Day " + day);
+            assertEquals(generate(day, 7, SMALL), Files.readString(first), "Day " + day);
+            assertNotEquals(generate(day, 8, SMALL), generate(day, 7, SMALL), "Day " + day);
+        }
+    }
+
+    @Test
+    void testEveryDaySolves() throws IOException {
+        assertTrue(new Day1Service().part2Solve(stream(1, SMALL)) > 0);
+        assertTrue(new Day2Service().part2Solve(stream(2, SMALL)) > 0);
+        assertTrue(new Day3Service().part1Solve(stream(3, SMALL)) > 0);
+        assertTrue(new Day3Service().part2Solve(stream(3, SMALL)) > 0);
+        assertTrue(new Day4Service().part2Solve(stream(4, SMALL)) > 0);
+        assertEquals(9, new Day5Service().part2Solve(stream(5, SMALL)).length());
+        assertTrue(new Day7Service().part1Solve(stream(7, SMALL)) > 0);
+        assertTrue(new Day7Service().part2Solve(stream(7, SMALL)) > 0);
+        assertTrue(new Day8Service().part2Solve(stream(8, SMALL)) > 0);
+        assertTrue(new Day9Service().part2Solve(stream(9, SMALL)) > 0);
+        assertFalse(new Day10Service().part2Solve(stream(10, SMALL)).isEmpty());
+        assertTrue(new Day11Service().part2Solve(stream(11, SMALL)) > 0);
+        // The day 12 solver recurses once per step, so only the smallest maps can be solved
+        assertTrue(new Day12Service().part1Solve(stream(12, GeneratorOptions.ofSize("1KB"))) > 0);
+        assertTrue(new Day12Service().parseDay12File(stream(12, SMALL)).getGrid().length > 2);
+        assertTrue(new Day13Service().part1Solve(stream(13, SMALL)) > 0);
+
+        GeneratorOptions day6Options = SMALL.with(Day6Generator.LENGTH, 1000);
+        long packet = new Day6Service().solve(stream(6, day6Options), 4);
+        long message = new Day6Service().solve(stream(6, day6Options), 14);
+        assertTrue(packet > 1000 && packet <= 1004);
+        assertTrue(message > 1000 && message <= 1014);
+    }
+
+    @Test
+    void testDimensions() throws IOException {
+        String forest = generate(8, 1, new GeneratorOptions(0, Map.of(Day8Generator.WIDTH, 30L, Day8Generator.HEIGHT, 5L)));
+        assertEquals(5, forest.lines().count());
+        assertTrue(forest.lines().allMatch(line -> line.length() == 30));
+
+        GeneratorOptions crates = SMALL.with(Day5Generator.STACKS, 1200).with(Day5Generator.HEIGHT, 3)
+                .with(Day5Generator.MOVES, 500);
+        Day5Service day5Service = new Day5Service();
+        assertEquals(1200, day5Service.parseDay5File(stream(5, crates)).getStacks().size());
+        assertEquals(500, day5Service.parseDay5File(stream(5, crates)).size());
+        assertEquals(1200, day5Service.part1Solve(stream(5, crates)).strip().length());
+        assertThrows(IllegalArgumentException.class, () -> generate(5, 1, SMALL.with(Day5Generator.STACKS, 1)));
+
+        String program = generate(10, 1, SMALL.with(Day10Generator.INSTRUCTIONS, 1000));
+        assertEquals(1000, program.lines().count());
+
+        GeneratorOptions troop = SMALL.with(Day11Generator.MONKEYS, 120).with(Day11Generator.ITEMS, 25);
+        Day11Service day11Service = new Day11Service();
+        assertEquals(120, day11Service.parseDay11File(stream(11, troop)).size());
+        assertEquals(25, day11Service.parseDay11File(stream(11, troop)).getFirst().getStartingItems().size());
+        assertTrue(day11Service.part2Solve(stream(11, troop)) > 0);
+
+        GeneratorOptions heightMap = SMALL.with(Day12Generator.WIDTH, 27).with(Day12Generator.HEIGHT, 3);
+        assertEquals(3, generate(12, 1, heightMap).lines().count());
+        assertTrue(new Day12Service().part1Solve(stream(12, heightMap)) > 0);
+        assertThrows(IllegalArgumentException.class, () -> generate(12, 1, SMALL.with(Day12Generator.WIDTH, 26)));
+    }
+
+    @Test
+    void testSize() throws IOException {
+        assertEquals(512, GeneratorOptions.parseSize("512B"));
+        assertEquals(1024 * 1024, GeneratorOptions.parseSize("1mb"));
+        assertEquals(2L * 1024 * 1024 * 1024, GeneratorOptions.parseSize("2GB"));
+        assertThrows(IllegalArgumentException.class, () -> GeneratorOptions.parseSize("large"));
+        assertThrows(IllegalArgumentException.class, () -> Generators.forDay(25));
+
+        GeneratorOptions options = GeneratorOptions.ofSize("64KB");
+        for (int day : Generators.days()) {
+            long length = generate(day, 1, options).length();
+            assertTrue(length >= options.targetBytes() / 2 && length <= options.targetBytes() * 2, "Day " + day);
+        }
+    }
+
+    private String generate(int day, long seed, GeneratorOptions options) throws IOException {
+        StringWriter writer = new StringWriter();
+        Generators.generate(day, seed, options, writer);
+        return writer.toString();
+    }
+
+    private InputStream stream(int day, GeneratorOptions options) throws IOException {
+        return new ByteArrayInputStream(generate(day, 2022, options).getBytes(StandardCharsets.US_ASCII));
+    }
+
+}
@@ -0,0 +1,75 @@
+package org.brandon.services.advent2022;
+
+import org.brandon.data.advent2022.AdventSolutionModel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Helper which solves both parts of a challenge from a single parsed input.
+ * Part 1 runs on the common pool while part 2 runs on the calling thread, so the parts have to treat the
+ * shared parsed input as read only.
+ */
+final class CombinedSolver {
+
+    private CombinedSolver() {
+        throw new UnsupportedOperationException("This class cannot be constructed.");
+    }
+
+    /**
+     * A single part of a challenge that is solved from input which has already been parsed.
+     * @param <T> The type of the answer
+     */
+    @FunctionalInterface
+    interface PartSolver<T> {
+        T solve() throws IOException;
+    }
+
+    /**
+     * Solves both parts of a challenge in parallel and times each of them.
+     * @param part1 The solver for part 1
+     * @param part2 The solver for part 2
+     * @return A model containing both answers and the time each part took in nanoseconds
+     */
+    static <P1, P2> AdventSolutionModel<P1, P2> solveBoth(PartSolver<P1> part1, PartSolver<P2> part2) throws IOException {
+        CompletableFuture<TimedAnswer<P1>> part1Future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return timed(part1);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        TimedAnswer<P2> part2Answer = timed(part2);
+
+        TimedAnswer<P1> part1Answer;
+        try {
+            part1Answer = part1Future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw ex;
+        }
+        return new AdventSolutionModel<>(part1Answer.answer(), part1Answer.nanos(), part2Answer.answer(), part2Answer.nanos());
+    }
+
+    /**
+     * Runs a single part and measures how long it took.
+     * @param part The solver for the part
+     * @return The answer along with the elapsed time in nanoseconds
+     */
+    private static <T> TimedAnswer<T> timed(PartSolver<T> part) throws IOException {
+        long start = System.nanoTime();
+        T answer = part.solve();
+        return new TimedAnswer<>(answer, System.nanoTime() - start);
+    }
+
+    private record TimedAnswer<T>(T answer, long nanos) {
+    }
+
+}
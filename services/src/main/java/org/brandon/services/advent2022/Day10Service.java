@@ -1,14 +1,16 @@
 package org.brandon.services.advent2022;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.core.io.ByteTokenizer;
+import org.brandon.data.advent2022.AdventSolutionModel;
 import org.brandon.data.advent2022.Day10Model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,6 +19,8 @@ public class Day10Service {
 
     private static final String NOOP = "noop";
     private static final String ADD_X = "addx";
+    private static final byte[] NOOP_BYTES = NOOP.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ADD_X_BYTES = ADD_X.getBytes(StandardCharsets.US_ASCII);
     private static final Logger LOG = LoggerFactory.getLogger(Day10Service.class);
 
     /**
@@ -25,12 +29,28 @@ public class Day10Service {
      * @return A long representing the sum of all the interesting clock cycles in the parsed file
      */
     public long part1Solve(File day10File) throws IOException {
-        List<Day10Model> parsedFile = parseDay10File(day10File);
+        return part1Solve(parseDay10File(day10File));
+    }
+
+    /**
+     * Simulates the situation for the Advent of Code 2022: Day 10 Part 1 scenario.
+     * @param day10Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long representing the sum of all the interesting clock cycles in the parsed file
+     */
+    public long part1Solve(InputStream day10Stream) throws IOException {
+        return part1Solve(parseDay10File(day10Stream));
+    }
+
+    /**
+     * Simulates the situation for the Advent of Code 2022: Day 10 Part 1 scenario from an already parsed input.
+     * @param parsedFile A list of Day 10 Models with each item containing an operation and optionally a value
+     * @return A long representing the sum of all the interesting clock cycles in the parsed file
+     */
+    public long part1Solve(List<Day10Model> parsedFile) throws IOException {
         int cycle = 1;
         long currentValue = 1;
         long sum = 0;
-        while (!parsedFile.isEmpty()) {
-            Day10Model operation = parsedFile.removeFirst();
+        for (Day10Model operation : parsedFile) {
 
             switch (operation.getAction()) {
                 case NOOP -> {
@@ -59,14 +79,30 @@ public class Day10Service {
      * @return A string with multiple lines that contains uppercase characters
      */
     public String part2Solve(File day10File) throws IOException {
-        List<Day10Model> parsedFile = parseDay10File(day10File);
+        return part2Solve(parseDay10File(day10File));
+    }
+
+    /**
+     * Simulates the situation for the Advent of Code 2022: Day 10 Part 2 scenario.
+     * @param day10Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A string with multiple lines that contains uppercase characters
+     */
+    public String part2Solve(InputStream day10Stream) throws IOException {
+        return part2Solve(parseDay10File(day10Stream));
+    }
+
+    /**
+     * Simulates the situation for the Advent of Code 2022: Day 10 Part 2 scenario from an already parsed input.
+     * @param parsedFile A list of Day 10 Models with each item containing an operation and optionally a value
+     * @return A string with multiple lines that contains uppercase characters
+     */
+    public String part2Solve(List<Day10Model> parsedFile) throws IOException {
         StringBuilder result = new StringBuilder();
         StringBuilder currentLine = new StringBuilder();
         int cycle = 1;
         int location = 1;
         String symbol;
-        while (!parsedFile.isEmpty()) {
-            Day10Model operation = parsedFile.removeFirst();
+        for (Day10Model operation : parsedFile) {
             switch (operation.getAction()) {
                 case NOOP -> {
                     symbol = checkLocation(cycle, location);
@@ -94,6 +130,34 @@ public class Day10Service {
         return result.toString();
     }
 
+    /**
+     * Solves both parts of the day 10 problem for Advent of Code 2022 from a single parse of the file.
+     * @param day10File The file that was provided by the calling method
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, String> bothSolve(File day10File) throws IOException {
+        return bothSolve(parseDay10File(day10File));
+    }
+
+    /**
+     * Solves both parts of the day 10 problem for Advent of Code 2022 from a single parse of the stream.
+     * @param day10Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, String> bothSolve(InputStream day10Stream) throws IOException {
+        return bothSolve(parseDay10File(day10Stream));
+    }
+
+    /**
+     * Solves both parts of the day 10 problem for Advent of Code 2022 from an already parsed input.
+     * The parts run in parallel and only read the parsed input.
+     * @param parsedFile The parsed contents of the provided file
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, String> bothSolve(List<Day10Model> parsedFile) throws IOException {
+        return CombinedSolver.solveBoth(() -> part1Solve(parsedFile), () -> part2Solve(parsedFile));
+    }
+
     /**
      * Helper method which performs the special summation for the Day 10 part 1 simulation
      * @param cycle The current cycle
@@ -146,17 +210,38 @@ public class Day10Service {
      * @return A list of Day 10 Models with each item containing an operation and optionally a value
      */
     public List<Day10Model> parseDay10File(File day10File) throws IOException {
+        return parseDay10File(ByteTokenizer.map(day10File));
+    }
+
+    /**
+     * Parses a stream that is of the type provided for the Advent of Code 2022: Day 10 challenge.
+     * @param day10Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A list of Day 10 Models with each item containing an operation and optionally a value
+     */
+    public List<Day10Model> parseDay10File(InputStream day10Stream) throws IOException {
+        return parseDay10File(ByteTokenizer.of(day10Stream));
+    }
+
+    /**
+     * Parses input that is of the type provided for the Advent of Code 2022: Day 10 challenge.
+     * @param tokenizer The tokenizer over the provided input, closed by this call
+     * @return A list of Day 10 Models with each item containing an operation and optionally a value
+     */
+    protected List<Day10Model> parseDay10File(ByteTokenizer tokenizer) throws IOException {
         List<Day10Model> parsedFile = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(day10File.getPath()))) {
-            String currentLine = reader.readLine();
-            while (currentLine != null) {
-                String[] splitLine = currentLine.split(" ", 2);
-                if (splitLine[0].equals("noop")) {
-                    parsedFile.add(new Day10Model(splitLine[0]));
+        try (tokenizer) {
+            while (tokenizer.hasRemaining()) {
+                tokenizer.nextToken();
+                if (tokenizer.tokenEquals(NOOP_BYTES)) {
+                    parsedFile.add(new Day10Model(NOOP));
                 } else {
-                    parsedFile.add((new Day10Model(splitLine[0], Integer.parseInt(splitLine[1]))));
+                    String action = tokenizer.tokenEquals(ADD_X_BYTES) ?
+                            ADD_X :
+                            new String(tokenizer.token(), 0, tokenizer.tokenLength(), StandardCharsets.US_ASCII);
+                    parsedFile.add(new Day10Model(action, tokenizer.nextInt()));
                 }
-                currentLine = reader.readLine();
+                tokenizer.expectEndOfLine();
+                tokenizer.nextLine();
             }
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
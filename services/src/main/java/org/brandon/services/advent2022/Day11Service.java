@@ -1,14 +1,18 @@
 package org.brandon.services.advent2022;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.data.advent2022.AdventSolutionModel;
 import org.brandon.data.advent2022.Day11Model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,8 +27,25 @@ public class Day11Service {
      * @return A long representing the product of the two highest monkey item seen counts
      */
     public long part1Solve(File day11File) throws IOException {
-        List<Day11Model> monkeyList = parseDay11File(day11File);
+        return part1Solve(new FileInputStream(day11File));
+    }
+
+    /**
+     * Simulates the situation for the Advent of Code 2022: Day 11 Part 1 scenario.
+     * @param day11Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long representing the product of the two highest monkey item seen counts
+     */
+    public long part1Solve(InputStream day11Stream) throws IOException {
+        return part1Solve(parseDay11File(day11Stream));
+    }
 
+    /**
+     * Simulates the situation for the Advent of Code 2022: Day 11 Part 1 scenario from an already parsed input.
+     * The monkeys in the list are updated as the simulation runs.
+     * @param monkeyList A list of Day 11 Models with each object containing information about how a monkey acts
+     * @return A long representing the product of the two highest monkey item seen counts
+     */
+    public long part1Solve(List<Day11Model> monkeyList) {
         // Track each round
         int rounds = 20;
         int worryModifier = 3;
@@ -45,8 +66,25 @@ public class Day11Service {
      * @return A long representing the product of the two highest monkey item seen counts
      */
     public long part2Solve(File day11File) throws IOException {
-        List<Day11Model> monkeyList = parseDay11File(day11File);
+        return part2Solve(new FileInputStream(day11File));
+    }
 
+    /**
+     * Simulates the situation for the Advent of Code 2022: Day 11 Part 2 scenario.
+     * @param day11Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long representing the product of the two highest monkey item seen counts
+     */
+    public long part2Solve(InputStream day11Stream) throws IOException {
+        return part2Solve(parseDay11File(day11Stream));
+    }
+
+    /**
+     * Simulates the situation for the Advent of Code 2022: Day 11 Part 2 scenario from an already parsed input.
+     * The monkeys in the list are updated as the simulation runs.
+     * @param monkeyList A list of Day 11 Models with each object containing information about how a monkey acts
+     * @return A long representing the product of the two highest monkey item seen counts
+     */
+    public long part2Solve(List<Day11Model> monkeyList) {
         // Track each round
         int rounds = 10_000;
         int worryModifier = 1;
@@ -61,6 +99,47 @@ public class Day11Service {
         return calculateTwoLargest(monkeyList);
     }
 
+    /**
+     * Simulates both parts of the Advent of Code 2022: Day 11 scenario from a single parse of the file.
+     * @param day11File The file that was provided by the calling method
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(File day11File) throws IOException {
+        return bothSolve(new FileInputStream(day11File));
+    }
+
+    /**
+     * Simulates both parts of the Advent of Code 2022: Day 11 scenario from a single parse of the stream.
+     * @param day11Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(InputStream day11Stream) throws IOException {
+        return bothSolve(parseDay11File(day11Stream));
+    }
+
+    /**
+     * Simulates both parts of the Advent of Code 2022: Day 11 scenario from an already parsed input.
+     * Each part simulates its own copy of the monkeys since the simulation moves items between them.
+     * @param monkeyList A list of Day 11 Models with each object containing information about how a monkey acts
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(List<Day11Model> monkeyList) throws IOException {
+        return CombinedSolver.solveBoth(() -> part1Solve(copyMonkeys(monkeyList)), () -> part2Solve(copyMonkeys(monkeyList)));
+    }
+
+    /**
+     * Creates an independent copy of each monkey in the list.
+     * @param monkeyList The list of monkey model objects
+     * @return A new list containing a copy of each monkey
+     */
+    protected List<Day11Model> copyMonkeys(List<Day11Model> monkeyList) {
+        List<Day11Model> copy = new ArrayList<>(monkeyList.size());
+        for (Day11Model monkey : monkeyList) {
+            copy.add(new Day11Model(monkey));
+        }
+        return copy;
+    }
+
     /**
      * Helper method which simulates an individual monkey's turn with each item they currently possess.
      * @param monkey The monkey whose turn it currently is
@@ -95,14 +174,30 @@ public class Day11Service {
         }
     }
 
+    /**
+     * Calculates the least common multiple of every monkey's test, which worry levels can be reduced by without
+     * changing the outcome of any test. Tests shared by several monkeys are only counted once, so large troops
+     * do not overflow.
+     * @param monkeyList The list of monkey model objects
+     * @return The least common multiple of the tests
+     */
     protected long calculateGCD(List<Day11Model> monkeyList) {
         long gcd = 1;
         for (Day11Model monkey : monkeyList) {
-            gcd *= monkey.getTest();
+            gcd = gcd / greatestCommonDivisor(gcd, monkey.getTest()) * monkey.getTest();
         }
         return gcd;
     }
 
+    private long greatestCommonDivisor(long a, long b) {
+        while (b != 0) {
+            long remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+
     /**
      * Calculates the two largest items inspected among all the monkeys present.
      * @param monkeyList The list of monkey model objects
@@ -128,8 +223,17 @@ public class Day11Service {
      * @return A list of Day 11 Models with each object containing information about how a monkey acts
      */
     public List<Day11Model> parseDay11File(File day11File) throws IOException {
+        return parseDay11File(new FileInputStream(day11File));
+    }
+
+    /**
+     * Parses a stream that is of the type provided for the Advent of Code 2022: Day 11 challenge.
+     * @param day11Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A list of Day 11 Models with each object containing information about how a monkey acts
+     */
+    public List<Day11Model> parseDay11File(InputStream day11Stream) throws IOException {
         List<Day11Model> monkeyList = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(day11File.getPath()))) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(day11Stream, StandardCharsets.UTF_8))) {
             String currentLine = reader.readLine();
             while (currentLine != null) {
                 Day11Model monkey = new Day11Model();
@@ -164,7 +268,7 @@ public class Day11Service {
     protected void generateStartingList(Day11Model monkey, String currentLine) {
         List<Long> startingItems = new ArrayList<>();
         String itemList = currentLine.replace("Starting items: ", "");
-        String[] splitItemList = itemList.split(",", 20);
+        String[] splitItemList = itemList.split(",");
         for (String item : splitItemList) {
             startingItems.add(Long.parseLong(item.trim()));
         }
@@ -217,7 +321,7 @@ public class Day11Service {
      * @param currentLine The line read in by the file parser
      */
     protected void generateTrueResult(Day11Model monkey, String currentLine) {
-        monkey.setTrueResult(Integer.parseInt(currentLine.substring(currentLine.length() - 1)));
+        monkey.setTrueResult(parseTrailingNumber(currentLine));
     }
 
     /**
@@ -226,7 +330,20 @@ public class Day11Service {
      * @param currentLine The line read in by the file parser
      */
     protected void generateFalseResult(Day11Model monkey, String currentLine) {
-        monkey.setFalseResult(Integer.parseInt(currentLine.substring(currentLine.length() - 1)));
+        monkey.setFalseResult(parseTrailingNumber(currentLine));
+    }
+
+    /**
+     * Reads the number the line ends with, which can be any number of digits long.
+     * @param currentLine The line read in by the file parser
+     * @return The number at the end of the line
+     */
+    private int parseTrailingNumber(String currentLine) {
+        int start = currentLine.length();
+        while (start > 0 && Character.isDigit(currentLine.charAt(start - 1))) {
+            start--;
+        }
+        return Integer.parseInt(currentLine.substring(start));
     }
 
 }
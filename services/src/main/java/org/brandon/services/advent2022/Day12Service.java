@@ -1,14 +1,20 @@
 package org.brandon.services.advent2022;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.data.advent2022.AdventSolutionModel;
 import org.brandon.data.advent2022.Day12Model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 @ApplicationScoped
 public class Day12Service {
@@ -21,7 +27,24 @@ public class Day12Service {
      * @return A long representing the shortest path through the grid from the origin to the end.
      */
     public long part1Solve(File day12File) throws IOException {
-        Day12Model day12Model = parseDay12File(day12File);
+        return part1Solve(new FileInputStream(day12File));
+    }
+
+    /**
+     * Simulates the situation for the Advent of Code 2022: Day 12 Part 1 scenario.
+     * @param day12Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long representing the shortest path through the grid from the origin to the end.
+     */
+    public long part1Solve(InputStream day12Stream) throws IOException {
+        return part1Solve(parseDay12File(day12Stream));
+    }
+
+    /**
+     * Simulates the situation for the Advent of Code 2022: Day 12 Part 1 scenario from an already parsed input.
+     * @param day12Model The relief map that will be traversed
+     * @return A long representing the shortest path through the grid from the origin to the end.
+     */
+    public long part1Solve(Day12Model day12Model) {
         return day12Model.solve();
     }
 
@@ -31,49 +54,90 @@ public class Day12Service {
      * @return A long representing the shortest path through the grid from the origin to the end.
      */
     public long part2Solve(File day12File) throws IOException {
-        Day12Model day12Model = parseDay12File(day12File);
+        return part2Solve(new FileInputStream(day12File));
+    }
+
+    /**
+     * Simulates the situation for the Advent of Code 2022: Day 12 Part 2 scenario.
+     * @param day12Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long representing the shortest path through the grid from the origin to the end.
+     */
+    public long part2Solve(InputStream day12Stream) throws IOException {
+        return part2Solve(parseDay12File(day12Stream));
+    }
+
+    /**
+     * Simulates the situation for the Advent of Code 2022: Day 12 Part 2 scenario from an already parsed input.
+     * @param day12Model The relief map that will be traversed
+     * @return A long representing the shortest path through the grid from the origin to the end.
+     */
+    public long part2Solve(Day12Model day12Model) {
         return day12Model.solve();
     }
 
+    /**
+     * Simulates both parts of the Advent of Code 2022: Day 12 scenario from a single parse of the file.
+     * @param day12File The file that was provided by the calling method
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(File day12File) throws IOException {
+        return bothSolve(new FileInputStream(day12File));
+    }
+
+    /**
+     * Simulates both parts of the Advent of Code 2022: Day 12 scenario from a single parse of the stream.
+     * @param day12Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(InputStream day12Stream) throws IOException {
+        return bothSolve(parseDay12File(day12Stream));
+    }
+
+    /**
+     * Simulates both parts of the Advent of Code 2022: Day 12 scenario from an already parsed input.
+     * The grid is shared, but each part traverses it with its own model since traversal marks visited cells.
+     * @param day12Model The relief map that will be traversed
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(Day12Model day12Model) throws IOException {
+        return CombinedSolver.solveBoth(() -> part1Solve(day12Model), () -> part2Solve(new Day12Model(day12Model.getGrid())));
+    }
+
     /**
      * Parses a file that is of the type provided for the Advent of Code 2022: Day 12 challenge.
      * @param day12File The file that was provided by the calling method
      * @return A 2D array of characters that represent a vertical relief map
      */
     public Day12Model parseDay12File(File day12File) throws IOException {
-        // Determine dimensions of the 2D array
-        int length = 0;
-        int height = 0;
-        try (BufferedReader reader = new BufferedReader(new FileReader(day12File.getPath()))) {
-            String currentLine = reader.readLine();
-            length = currentLine.length();
-            while (currentLine != null) {
-                height += 1;
-                currentLine = reader.readLine();
-            }
-        } catch (Exception ex) {
-            LOG.error(ex.getMessage());
-            throw new IOException("File could not be read");
-        }
+        return parseDay12File(new FileInputStream(day12File));
+    }
 
-        // Parse the file for the 2D array
-        char[][] grid = new char[height][length];
-        try (BufferedReader reader = new BufferedReader(new FileReader(day12File.getPath()))) {
+    /**
+     * Parses a stream that is of the type provided for the Advent of Code 2022: Day 12 challenge.
+     * The stream can only be read once, so rows are collected as they arrive rather than counted up front.
+     * @param day12Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A 2D array of characters that represent a vertical relief map
+     */
+    public Day12Model parseDay12File(InputStream day12Stream) throws IOException {
+        List<char[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(day12Stream, StandardCharsets.UTF_8))) {
             String currentLine = reader.readLine();
-            for (int i = 0; i < height; i++) {
-                grid[i] = currentLine.toCharArray();
-
-                if (grid[i].length != length) {
-                    throw new IOException("Row " + i + " of file does not have uniform length");
+            if (currentLine == null) {
+                throw new IOException("File is empty");
+            }
+            int length = currentLine.length();
+            while (currentLine != null) {
+                if (currentLine.length() != length) {
+                    throw new IOException("Row " + rows.size() + " of file does not have uniform length");
                 }
-
+                rows.add(currentLine.toCharArray());
                 currentLine = reader.readLine();
             }
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
             throw new IOException("Invalid file provided");
         }
-        return new Day12Model(grid);
+        return new Day12Model(rows.toArray(new char[0][]));
     }
 
 }
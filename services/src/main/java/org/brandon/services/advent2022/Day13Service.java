@@ -6,8 +6,11 @@ import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 
 @ApplicationScoped
 public class Day13Service {
@@ -20,7 +23,16 @@ public class Day13Service {
      * @return A long representing the answer
      */
     public long part1Solve(File day13File) throws IOException {
-        parseDay13File(day13File);
+        return part1Solve(new FileInputStream(day13File));
+    }
+
+    /**
+     * Simulates the situation for the Advent of Code 2022: Day 13 Part 1 scenario.
+     * @param day13Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long representing the answer
+     */
+    public long part1Solve(InputStream day13Stream) throws IOException {
+        parseDay13File(day13Stream);
         return 1L;
     }
 
@@ -29,7 +41,15 @@ public class Day13Service {
      * @param day13File The file that was provided by the calling method
      */
     public void parseDay13File(File day13File) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(day13File.getPath()))) {
+        parseDay13File(new FileInputStream(day13File));
+    }
+
+    /**
+     * Parses a stream that is of the type provided for the Advent of Code 2022: Day 13 challenge.
+     * @param day13Stream The stream that was provided by the calling method, consumed and closed by this call
+     */
+    public void parseDay13File(InputStream day13Stream) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(day13Stream, StandardCharsets.UTF_8))) {
             String currentLine = reader.readLine();
             while (currentLine != null) {
                 currentLine = reader.readLine();
@@ -1,14 +1,23 @@
 package org.brandon.services.advent2022;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.core.io.ByteTokenizer;
+import org.brandon.core.io.FileChunks;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day1Model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.*;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Service methods for Day 1 of Advent of Code 2022
@@ -16,76 +25,214 @@ import java.util.*;
 @ApplicationScoped
 public class Day1Service {
 
+    /**
+     * The number of elves whose calories are summed for part 2.
+     */
+    public static final int DEFAULT_TOP_K = 3;
+
     private static final Logger LOG = LoggerFactory.getLogger(Day1Service.class);
 
     /**
      * Solves the day 1 part 1 problem for Advent of Code 2022.
      * @param day1File The file that was provided by the calling method
-     * @return A long indicating the highest sum of a single map in the parsedFile list
+     * @return A long indicating the highest calorie total of a single elf
      */
     public long part1Solve(File day1File) throws IOException {
-        List<Map<Integer, Integer>> parsedFile = parseDay1File(day1File);
-        long largestSum = Long.MIN_VALUE;
-        for (var map: parsedFile) {
-            long currentSum = 0;
-            for (var entry: map.entrySet()) {
-                currentSum += (long) entry.getKey() * entry.getValue();
-            }
-            largestSum = Math.max(currentSum, largestSum);
-        }
-        return largestSum;
+        return part1Solve(parseDay1File(day1File, 1));
+    }
+
+    /**
+     * Solves the day 1 part 1 problem for Advent of Code 2022.
+     * @param day1Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long indicating the highest calorie total of a single elf
+     */
+    public long part1Solve(InputStream day1Stream) throws IOException {
+        return part1Solve(parseDay1File(day1Stream, 1));
+    }
+
+    /**
+     * Solves the day 1 part 1 problem for Advent of Code 2022 from an already parsed input.
+     * @param parsedFile The largest calorie totals of the elves
+     * @return A long indicating the highest calorie total of a single elf
+     */
+    public long part1Solve(Day1Model parsedFile) {
+        return parsedFile.getLargest();
     }
 
     /**
      * Solves the day 1 part 2 problem for Advent of Code 2022.
      * @param day1File The file that was provided by the calling method
-     * @return A long indicating the highest 3 sums of the maps in the parsedFile list
+     * @return A long indicating the sum of the 3 highest calorie totals
      */
     public long part2Solve(File day1File) throws IOException {
-        List<Map<Integer, Integer>> parsedFile = parseDay1File(day1File);
-        PriorityQueue<Long> maxHeap = new PriorityQueue<>(Collections.reverseOrder());
-        for (var map: parsedFile) {
-            long currentSum = 0;
-            for (var entry: map.entrySet()) {
-                currentSum += (long) entry.getKey() * entry.getValue();
+        return part2Solve(day1File, DEFAULT_TOP_K);
+    }
+
+    /**
+     * Solves the day 1 part 2 problem for Advent of Code 2022, summing any number of the highest calorie totals.
+     * @param day1File The file that was provided by the calling method
+     * @param topK The number of highest calorie totals to sum
+     * @return A long indicating the sum of the topK highest calorie totals
+     */
+    public long part2Solve(File day1File, int topK) throws IOException {
+        return part2Solve(parseDay1File(day1File, topK));
+    }
+
+    /**
+     * Solves the day 1 part 2 problem for Advent of Code 2022.
+     * @param day1Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long indicating the sum of the 3 highest calorie totals
+     */
+    public long part2Solve(InputStream day1Stream) throws IOException {
+        return part2Solve(day1Stream, DEFAULT_TOP_K);
+    }
+
+    /**
+     * Solves the day 1 part 2 problem for Advent of Code 2022, summing any number of the highest calorie totals.
+     * @param day1Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @param topK The number of highest calorie totals to sum
+     * @return A long indicating the sum of the topK highest calorie totals
+     */
+    public long part2Solve(InputStream day1Stream, int topK) throws IOException {
+        return part2Solve(parseDay1File(day1Stream, topK));
+    }
+
+    /**
+     * Solves the day 1 part 2 problem for Advent of Code 2022 from an already parsed input.
+     * @param parsedFile The largest calorie totals of the elves
+     * @return A long indicating the sum of the highest calorie totals kept by the parsed input
+     */
+    public long part2Solve(Day1Model parsedFile) {
+        return parsedFile.getTopSum();
+    }
+
+    /**
+     * Solves both parts of the day 1 problem for Advent of Code 2022 from a single parse of the file.
+     * @param day1File The file that was provided by the calling method
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(File day1File) throws IOException {
+        return bothSolve(parseDay1File(day1File, DEFAULT_TOP_K));
+    }
+
+    /**
+     * Solves both parts of the day 1 problem for Advent of Code 2022 from a single parse of the stream.
+     * @param day1Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(InputStream day1Stream) throws IOException {
+        return bothSolve(parseDay1File(day1Stream, DEFAULT_TOP_K));
+    }
+
+    /**
+     * Solves both parts of the day 1 problem for Advent of Code 2022 from an already parsed input.
+     * The parts run in parallel and only read the parsed input.
+     * @param parsedFile The largest calorie totals of the elves
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(Day1Model parsedFile) throws IOException {
+        return CombinedSolver.solveBoth(() -> part1Solve(parsedFile), () -> part2Solve(parsedFile));
+    }
+
+    /**
+     * Parses a file that is of the type provided for the Advent of Code 2022: Day 1 challenge.
+     * Files of at least {@link FileChunks#PARALLEL_THRESHOLD_BYTES} are parsed in parallel.
+     * @param day1File The file that was provided by the calling method
+     * @param topK The number of highest calorie totals to keep
+     * @return The largest calorie totals of the elves
+     */
+    public Day1Model parseDay1File(File day1File, int topK) throws IOException {
+        if (day1File.length() >= FileChunks.PARALLEL_THRESHOLD_BYTES) {
+            return parseDay1FileParallel(day1File, topK, Runtime.getRuntime().availableProcessors());
+        }
+        Day1Model parsedFile = new Day1Model(topK);
+        return parseDay1File(ByteTokenizer.map(day1File), parsedFile);
+    }
+
+    /**
+     * Parses a file that is of the type provided for the Advent of Code 2022: Day 1 challenge in parallel.
+     * The file is cut into chunks which end on a blank line, so no elf spans two chunks, and each chunk is memory
+     * mapped and summed on the common ForkJoinPool before the largest totals of the chunks are merged.
+     * @param day1File The file that was provided by the calling method
+     * @param topK The number of highest calorie totals to keep
+     * @param parallelism The number of chunks to aim for, files too small to be worth splitting are parsed as one
+     * @return The largest calorie totals of the elves
+     */
+    public Day1Model parseDay1FileParallel(File day1File, int topK, int parallelism) throws IOException {
+        return parseDay1FileParallel(day1File, topK, parallelism, FileChunks.MIN_CHUNK_BYTES);
+    }
+
+    /**
+     * Parses a file that is of the type provided for the Advent of Code 2022: Day 1 challenge in parallel.
+     * @param day1File The file that was provided by the calling method
+     * @param topK The number of highest calorie totals to keep
+     * @param parallelism The number of chunks to aim for
+     * @param minChunkBytes The smallest chunk worth a task of its own
+     * @return The largest calorie totals of the elves
+     */
+    Day1Model parseDay1FileParallel(File day1File, int topK, int parallelism, long minChunkBytes) throws IOException {
+        Day1Model parsedFile = new Day1Model(topK);
+
+        List<FileChunks.Chunk> chunks;
+        try (FileChannel channel = FileChannel.open(day1File.toPath(), StandardOpenOption.READ)) {
+            Optional<List<FileChunks.Chunk>> split = FileChunks.split(channel, parallelism, minChunkBytes,
+                    BlankLineBoundary::new);
+            // A single elf too large to be mapped at once can only be read in order
+            if (split.isEmpty()) {
+                return parseDay1File(new ByteTokenizer(channel.position(0)), parsedFile);
             }
-            maxHeap.add(currentSum);
+            chunks = split.get();
         }
 
-        long top3Sums = 0;
-        for (int i = 0; i < 3; i++) {
-            top3Sums += maxHeap.peek() == null ? 0 : maxHeap.poll();
+        try {
+            parsedFile.merge(ForkJoinPool.commonPool().invoke(new ChunkTask(chunks, 0, chunks.size(), topK)));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
         }
-        return top3Sums;
+        return parsedFile;
     }
 
     /**
-     * Parses a file that is of the type provided for the Advent of Code 2022: Day 1 challenge.
-     * @param day1File The file that was provided by the calling method
-     * @return A list of maps that indicating the number of items and calories of each elf
+     * Parses a stream that is of the type provided for the Advent of Code 2022: Day 1 challenge.
+     * @param day1Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @param topK The number of highest calorie totals to keep
+     * @return The largest calorie totals of the elves
+     */
+    public Day1Model parseDay1File(InputStream day1Stream, int topK) throws IOException {
+        Day1Model parsedFile = new Day1Model(topK);
+        return parseDay1File(ByteTokenizer.of(day1Stream), parsedFile);
+    }
+
+    /**
+     * Parses input that is of the type provided for the Advent of Code 2022: Day 1 challenge.
+     * Each elf is summed as it is read and offered to the model, so nothing is kept per elf.
+     * @param tokenizer The tokenizer over the provided input, closed by this call
+     * @param parsedFile The model the calorie total of each elf is offered to
+     * @return The largest calorie totals of the elves
      */
-    public List<Map<Integer, Integer>> parseDay1File(File day1File) throws IOException {
-        List<Map<Integer, Integer>> parsedFile = new ArrayList<>();
-        Map<Integer, Integer> currentEntry = new HashMap<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(day1File.getPath()))) {
-            String currentLine = reader.readLine();
-            while (currentLine != null) {
+    protected Day1Model parseDay1File(ByteTokenizer tokenizer, Day1Model parsedFile) throws IOException {
+        long currentSum = 0;
+        boolean hasCalories = false;
+        try (tokenizer) {
+            while (tokenizer.hasRemaining()) {
 
                 // Current line is just a newline
-                if (currentLine.trim().isEmpty()) {
-                    parsedFile.add(currentEntry);
-                    currentEntry = new HashMap<>();
+                if (tokenizer.isBlankLine()) {
+                    parsedFile.add(currentSum);
+                    currentSum = 0;
+                    hasCalories = false;
                 } else {
                     // Current line has a value
-                    int valueToAdd = Integer.parseInt(currentLine);
-                    currentEntry.put(valueToAdd, currentEntry.getOrDefault(valueToAdd, 0) + 1);
+                    currentSum += tokenizer.nextInt();
+                    tokenizer.expectEndOfLine();
+                    hasCalories = true;
                 }
 
                 // Move to the next line to continue the loop
-                currentLine = reader.readLine();
+                tokenizer.nextLine();
             }
-            if (!currentEntry.isEmpty()) {
-                parsedFile.add(currentEntry);
+            if (hasCalories) {
+                parsedFile.add(currentSum);
             }
 
         } catch (Exception ex) {
@@ -96,4 +243,70 @@ public class Day1Service {
         return parsedFile;
     }
 
+    /**
+     * Lets a chunk end just past a blank line, so no elf spans two chunks. A line is only judged once its start has
+     * been seen, and is blank until anything but whitespace is seen.
+     */
+    private static final class BlankLineBoundary implements FileChunks.Boundary {
+
+        private boolean lineStarted;
+        private boolean blank = true;
+
+        @Override
+        public boolean endsAfter(byte next) {
+            if (next == '\n') {
+                if (this.lineStarted && this.blank) {
+                    return true;
+                }
+                this.lineStarted = true;
+                this.blank = true;
+            } else if (next != ' ' && next != '\t' && next != '\r') {
+                this.blank = false;
+            }
+            return false;
+        }
+
+    }
+
+    /**
+     * Sums the elves of a range of chunks, splitting the range in half until a single chunk is left.
+     */
+    private final class ChunkTask extends RecursiveTask<Day1Model> {
+
+        private final List<FileChunks.Chunk> chunks;
+        private final int from;
+        private final int to;
+        private final int topK;
+
+        private ChunkTask(List<FileChunks.Chunk> chunks, int from, int to, int topK) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.topK = topK;
+        }
+
+        @Override
+        protected Day1Model compute() {
+            if (this.to - this.from <= 1) {
+                Day1Model chunkModel = new Day1Model(this.topK);
+                if (this.from == this.to) {
+                    return chunkModel;
+                }
+                try {
+                    return parseDay1File(new ByteTokenizer(this.chunks.get(this.from).buffer()), chunkModel);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+            int middle = (this.from + this.to) >>> 1;
+            ChunkTask left = new ChunkTask(this.chunks, this.from, middle, this.topK);
+            left.fork();
+            Day1Model right = new ChunkTask(this.chunks, middle, this.to, this.topK).compute();
+            Day1Model merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
+
+    }
+
 }
@@ -1,15 +1,20 @@
 package org.brandon.services.advent2022;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day2ScoringTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
 
 /**
  * The Rules:
@@ -24,15 +29,47 @@ public class Day2Service {
 
     private static final Logger LOG = LoggerFactory.getLogger(Day2Service.class);
 
+    // Both parts read the same choices, so a guide counted against either table can be scored by both
+    public static final Day2ScoringTable PART_1_TABLE = new Day2ScoringTable("ABC", "XYZ", new int[][] {
+            {4, 8, 3},
+            {1, 5, 9},
+            {7, 2, 6}});
+    public static final Day2ScoringTable PART_2_TABLE = new Day2ScoringTable("ABC", "XYZ", new int[][] {
+            {3, 4, 8},
+            {1, 5, 9},
+            {2, 6, 7}});
+
+    // A well formed round such as "A X\n" read as a little endian int has a space in its second byte and a line feed
+    // in its fourth, so four bytes are checked and counted at once
+    private static final int ROUND_MASK = 0xFF00FF00;
+    private static final int ROUND_LAYOUT = ('\n' << 24) | (' ' << 8);
+    private static final int BUFFER_SIZE = 1 << 20;
+
     /**
      * Solves the day 2 part 1 problem for Advent of Code 2022.
      * @param day2File The file that was provided by the calling method
      * @return A long value indicating the best possible outcome
      */
     public long part1Solve(File day2File) throws IOException {
-        Map<String, Integer> parsedFile = parseDay2File(day2File);
-        Map<String, Integer> pointMap = createPointMapPart1();
-        return day2Solver(parsedFile, pointMap);
+        return part1Solve(parseDay2File(day2File));
+    }
+
+    /**
+     * Solves the day 2 part 1 problem for Advent of Code 2022.
+     * @param day2Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long value indicating the best possible outcome
+     */
+    public long part1Solve(InputStream day2Stream) throws IOException {
+        return part1Solve(parseDay2File(day2Stream));
+    }
+
+    /**
+     * Solves the day 2 part 1 problem for Advent of Code 2022 from an already parsed input.
+     * @param parsedFile The counts of each combination of opponent choice and response, indexed by opponent * 3 + response
+     * @return A long value indicating the best possible outcome
+     */
+    public long part1Solve(long[] parsedFile) {
+        return PART_1_TABLE.score(parsedFile);
     }
 
     /**
@@ -42,98 +79,153 @@ public class Day2Service {
      * @return A long value indicating the best possible outcome
      */
     public long part2Solve(File day2File) throws IOException {
-        Map<String, Integer> parsedFile = parseDay2File(day2File);
-        Map<String, Integer> pointMap = createPointMapPart2();
-        return day2Solver(parsedFile, pointMap);
+        return part2Solve(parseDay2File(day2File));
     }
 
     /**
-     * asdf
-     * @param parsedFile A map of the counts of each possible combination of file inputs
-     * @param pointMap Hashmap of possible combinations for inputs and values for each outcome
+     * Solves the day 2 part 2 problem for Advent of Code 2022.
+     * X = lose, Y = draw, Z = win
+     * @param day2Stream The stream that was provided by the calling method, consumed and closed by this call
      * @return A long value indicating the best possible outcome
      */
-    private long day2Solver(Map<String, Integer> parsedFile, Map<String, Integer> pointMap) {
-        long totalPoints = 0L;
-        for (var entry : parsedFile.entrySet()) {
-            switch (entry.getKey()) {
-                case "A X" -> totalPoints += (long) entry.getValue() * pointMap.get("A X");
-                case "A Y" -> totalPoints += (long) entry.getValue() * pointMap.get("A Y");
-                case "A Z" -> totalPoints += (long) entry.getValue() * pointMap.get("A Z");
-                case "B X" -> totalPoints += (long) entry.getValue() * pointMap.get("B X");
-                case "B Y" -> totalPoints += (long) entry.getValue() * pointMap.get("B Y");
-                case "B Z" -> totalPoints += (long) entry.getValue() * pointMap.get("B Z");
-                case "C X" -> totalPoints += (long) entry.getValue() * pointMap.get("C X");
-                case "C Y" -> totalPoints += (long) entry.getValue() * pointMap.get("C Y");
-                case "C Z" -> totalPoints += (long) entry.getValue() * pointMap.get("C Z");
-                default -> throw new UnsupportedOperationException("Invalid mapping");
-            }
-        }
-        return totalPoints;
+    public long part2Solve(InputStream day2Stream) throws IOException {
+        return part2Solve(parseDay2File(day2Stream));
+    }
+
+    /**
+     * Solves the day 2 part 2 problem for Advent of Code 2022 from an already parsed input.
+     * X = lose, Y = draw, Z = win
+     * @param parsedFile The counts of each combination of opponent choice and response, indexed by opponent * 3 + response
+     * @return A long value indicating the best possible outcome
+     */
+    public long part2Solve(long[] parsedFile) {
+        return PART_2_TABLE.score(parsedFile);
+    }
+
+    /**
+     * Solves both parts of the day 2 problem for Advent of Code 2022 from a single parse of the file.
+     * @param day2File The file that was provided by the calling method
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(File day2File) throws IOException {
+        return bothSolve(parseDay2File(day2File));
+    }
+
+    /**
+     * Solves both parts of the day 2 problem for Advent of Code 2022 from a single parse of the stream.
+     * @param day2Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(InputStream day2Stream) throws IOException {
+        return bothSolve(parseDay2File(day2Stream));
+    }
+
+    /**
+     * Solves both parts of the day 2 problem for Advent of Code 2022 from an already parsed input.
+     * The parts run in parallel and only read the parsed input.
+     * @param parsedFile The parsed contents of the provided file
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(long[] parsedFile) throws IOException {
+        return CombinedSolver.solveBoth(() -> part1Solve(parsedFile), () -> part2Solve(parsedFile));
     }
 
     /**
-     * Helper method which creates a custom map of all possible combinations of inputs and the point values for each outcome.
-     * @return The created hashmap
+     * Scores a strategy guide against any scoring table.
+     * @param day2File The file that was provided by the calling method
+     * @param table The compiled scoring table, which also defines the valid choices
+     * @return A long value indicating the total score
      */
-    private Map<String, Integer> createPointMapPart1() {
-        Map<String, Integer> pointMap = new HashMap<>();
-        pointMap.put("A X", 4);
-        pointMap.put("A Y", 8);
-        pointMap.put("A Z", 3);
-        pointMap.put("B X", 1);
-        pointMap.put("B Y", 5);
-        pointMap.put("B Z", 9);
-        pointMap.put("C X", 7);
-        pointMap.put("C Y", 2);
-        pointMap.put("C Z", 6);
-        return pointMap;
+    public long scoreSolve(File day2File, Day2ScoringTable table) throws IOException {
+        return table.score(parseDay2File(day2File, table));
     }
 
     /**
-     * Helper method which creates a custom map of all possible combinations of inputs and the point values associated for each outcome.
-     * @return The created hashmap
+     * Scores a strategy guide against any scoring table.
+     * @param day2Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @param table The compiled scoring table, which also defines the valid choices
+     * @return A long value indicating the total score
      */
-    private Map<String, Integer> createPointMapPart2() {
-        Map<String, Integer> pointMap = new HashMap<>();
-        pointMap.put("A X", 3);
-        pointMap.put("A Y", 4);
-        pointMap.put("A Z", 8);
-        pointMap.put("B X", 1);
-        pointMap.put("B Y", 5);
-        pointMap.put("B Z", 9);
-        pointMap.put("C X", 2);
-        pointMap.put("C Y", 6);
-        pointMap.put("C Z", 7);
-        return pointMap;
+    public long scoreSolve(InputStream day2Stream, Day2ScoringTable table) throws IOException {
+        return table.score(parseDay2File(day2Stream, table));
     }
 
     /**
      * Parses a file that is of the type provided for the Advent of Code 2022: Day 2 challenge.
-     * File of the form "<opponent-choice> <user-choice>"
+     * File of the form "<opponent-choice> <user-choice>", memory mapped when it fits into a single mapping.
      * @param day2File The file that was provided by the calling method
-     * @return A map of the counts of each possible combination of file inputs
+     * @return The counts of each combination of opponent choice and response, indexed by opponent * 3 + response
      */
-    public Map<String, Integer> parseDay2File(File day2File) throws IOException {
-        Map<String, Integer> parsedFile = createCountMap();
-        try (BufferedReader reader = new BufferedReader(new FileReader(day2File.getPath()))) {
-            String currentLine = reader.readLine();
-            while (currentLine != null) {
+    public long[] parseDay2File(File day2File) throws IOException {
+        return parseDay2File(day2File, PART_1_TABLE);
+    }
 
-                // Current line is just a newline
-                if (currentLine.trim().isEmpty()) {
+    /**
+     * Parses a file of rounds using the choices of a scoring table.
+     * File of the form "<opponent-choice> <user-choice>", memory mapped when it fits into a single mapping.
+     * @param day2File The file that was provided by the calling method
+     * @param table The scoring table defining the valid choices
+     * @return The counts of each combination of opponent choice and response, as indexed by the table
+     */
+    public long[] parseDay2File(File day2File, Day2ScoringTable table) throws IOException {
+        FileChannel channel = FileChannel.open(day2File.toPath(), StandardOpenOption.READ);
+        long[] parsedFile = new long[table.getCombinations()];
+        try (channel) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                return parseDay2File(channel, table);
+            }
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            countRounds(mapped, mapped.limit(), table, parsedFile, true);
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            throw new IOException("Invalid file provided");
+        }
+        return parsedFile;
+    }
+
+    /**
+     * Parses a stream that is of the type provided for the Advent of Code 2022: Day 2 challenge.
+     * Stream of the form "<opponent-choice> <user-choice>"
+     * @param day2Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return The counts of each combination of opponent choice and response, indexed by opponent * 3 + response
+     */
+    public long[] parseDay2File(InputStream day2Stream) throws IOException {
+        return parseDay2File(day2Stream, PART_1_TABLE);
+    }
+
+    /**
+     * Parses a stream of rounds using the choices of a scoring table.
+     * Stream of the form "<opponent-choice> <user-choice>"
+     * @param day2Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @param table The scoring table defining the valid choices
+     * @return The counts of each combination of opponent choice and response, as indexed by the table
+     */
+    public long[] parseDay2File(InputStream day2Stream, Day2ScoringTable table) throws IOException {
+        return parseDay2File(Channels.newChannel(day2Stream), table);
+    }
+
+    /**
+     * Parses input that is of the type provided for the Advent of Code 2022: Day 2 challenge.
+     * The input is read through a fixed size buffer, carrying any partial line over to the next read.
+     * @param channel The channel over the provided input, closed by this call
+     * @param table The scoring table defining the valid choices
+     * @return The counts of each combination of opponent choice and response, as indexed by the table
+     */
+    protected long[] parseDay2File(ReadableByteChannel channel, Day2ScoringTable table) throws IOException {
+        long[] parsedFile = new long[table.getCombinations()];
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        try (channel) {
+            boolean endOfInput = false;
+            while (!endOfInput) {
+                endOfInput = channel.read(buffer) == -1;
+                buffer.flip();
+                int stopped = countRounds(buffer, buffer.limit(), table, parsedFile, endOfInput);
+                if (stopped == -1) {
                     break;
-                } else {
-                    // Current line has values
-                    String cleanedLine = currentLine.trim();
-                    if (parsedFile.containsKey(cleanedLine)) {
-                        parsedFile.put(cleanedLine, parsedFile.get(cleanedLine) + 1);
-                    } else {
-                        throw new IOException("Invalid combination of characters");
-                    }
-
-                    // Move to the next line to continue the loop
-                    currentLine = reader.readLine();
+                }
+                buffer.position(stopped).compact();
+                if (!buffer.hasRemaining()) {
+                    throw new IOException("Invalid combination of characters");
                 }
             }
         } catch (Exception ex) {
@@ -144,21 +236,71 @@ public class Day2Service {
     }
 
     /**
-     * Helper method which creates a custom map of all possible combinations of inputs and an initial starting count of 0 for each.
-     * @return The created hashmap
+     * Counts the rounds held in a buffer, four bytes at a time while the rounds are well formed and a line at a time
+     * otherwise. Lines are trimmed, and a blank line ends the strategy guide.
+     * @param buffer The buffer holding the input from index 0
+     * @param limit The number of bytes held
+     * @param table The scoring table mapping each round to its index in the counts
+     * @param counts The counts of each combination, incremented by this call
+     * @param endOfInput Whether the buffer holds the end of the input, otherwise a final partial line is left
+     * @return The index of the first byte which was not counted, or -1 once a blank line ended the guide
      */
-    private Map<String, Integer> createCountMap() {
-        Map<String, Integer> parsedFile = new HashMap<>();
-        parsedFile.put("A X", 0);
-        parsedFile.put("A Y", 0);
-        parsedFile.put("A Z", 0);
-        parsedFile.put("B X", 0);
-        parsedFile.put("B Y", 0);
-        parsedFile.put("B Z", 0);
-        parsedFile.put("C X", 0);
-        parsedFile.put("C Y", 0);
-        parsedFile.put("C Z", 0);
-        return parsedFile;
+    private static int countRounds(ByteBuffer buffer, int limit, Day2ScoringTable table, long[] counts,
+                                   boolean endOfInput) throws IOException {
+        int index = 0;
+        while (true) {
+            while (index + Integer.BYTES <= limit) {
+                int round = buffer.getInt(index);
+                if ((round & ROUND_MASK) != ROUND_LAYOUT) {
+                    break;
+                }
+                counts[combination(table, round & 0xFF, (round >>> 16) & 0xFF)]++;
+                index += Integer.BYTES;
+            }
+
+            int lineEnd = index;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            if (lineEnd == limit && !endOfInput) {
+                return index;
+            }
+
+            int start = index;
+            int end = lineEnd;
+            while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+                start++;
+            }
+            while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                return -1;
+            }
+            if (end - start != 3 || buffer.get(start + 1) != ' ') {
+                throw new IOException("Invalid combination of characters");
+            }
+            counts[combination(table, buffer.get(start) & 0xFF, buffer.get(start + 2) & 0xFF)]++;
+            if (lineEnd == limit) {
+                return limit;
+            }
+            index = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Maps a round to its index in the counts.
+     * @param table The scoring table defining the valid choices
+     * @param opponent The choice of the opponent, such as A, B or C
+     * @param response The response, such as X, Y or Z
+     * @return The index of the combination in the table
+     */
+    private static int combination(Day2ScoringTable table, int opponent, int response) throws IOException {
+        int index = table.index(opponent, response);
+        if (index == -1) {
+            throw new IOException("Invalid combination of characters");
+        }
+        return index;
     }
 
 }
@@ -1,155 +1,630 @@
 package org.brandon.services.advent2022;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.core.io.ByteTokenizer;
+import org.brandon.core.io.FileChunks;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day3Query;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.Optional;
+import java.util.stream.IntStream;
 
+/**
+ * Every rucksack, compartment or group of rucksacks is held as a single long with bit p set for each item of
+ * priority p, so finding the item they have in common is an AND of their masks followed by numberOfTrailingZeros.
+ * Lowercase item types a through z have priorities 1 through 26.
+ * Uppercase item types A through Z have priorities 27 through 52.
+ */
 @ApplicationScoped
 public class Day3Service {
 
     private static final Logger LOG = LoggerFactory.getLogger(Day3Service.class);
 
+    private static final int PART_1_COMPARTMENTS = 2;
+    private static final int PART_2_GROUP_SIZE = 3;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int MIN_BLOCK_RUCKSACKS = 64 * 1024;
+
+    // The bit of each item indexed by its byte, 0 for a byte which is not an item
+    private static final long[] ITEM_BITS = new long[256];
+
+    static {
+        for (char item = 'a'; item <= 'z'; item++) {
+            ITEM_BITS[item] = 1L << (item - 'a' + 1);
+        }
+        for (char item = 'A'; item <= 'Z'; item++) {
+            ITEM_BITS[item] = 1L << (item - 'A' + 27);
+        }
+    }
+
     /**
      * Solves the day 3 part 1 problem for Advent of Code 2022.
-     * Finds the item type that appears in each pair of provided maps.
-     * Lowercase item types a through z have priorities 1 through 26.
-     * Uppercase item types A through Z have priorities 27 through 52.
+     * Finds the item type that appears in both halves of each rucksack.
      * @param day3File The file that was provided by the calling method
-     * @return A long indicating the sum of points assigned to like items in each map
+     * @return A long indicating the sum of the priorities of the common items
      */
     public long part1Solve(File day3File) throws IOException {
-        List<Map<Character, Integer>> parsedFile = parseDay3Part1File(day3File);
-        long charSum = 0;
-        for (int i = 0; i < parsedFile.size(); i += 2) {
-            for (var key : parsedFile.get(i).keySet()) {
-                if (parsedFile.get(i + 1).containsKey(key)) {
-                    charSum += calculateCharValue(key);
-                    break;
-                }
-            }
-        }
-        return charSum;
+        return intersectionSum(ByteTokenizer.map(day3File), PART_1_COMPARTMENTS, 1);
+    }
+
+    /**
+     * Solves the day 3 part 1 problem for Advent of Code 2022.
+     * Finds the item type that appears in both halves of each rucksack.
+     * @param day3Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long indicating the sum of the priorities of the common items
+     */
+    public long part1Solve(InputStream day3Stream) throws IOException {
+        return intersectionSum(ByteTokenizer.of(day3Stream), PART_1_COMPARTMENTS, 1);
+    }
+
+    /**
+     * Solves the day 3 part 1 problem for Advent of Code 2022 from an already parsed input.
+     * @param parsedFile The item masks of both halves of each rucksack, one after the other
+     * @return A long indicating the sum of the priorities of the common items
+     */
+    protected long part1Solve(long[] parsedFile) {
+        return intersectionSum(parsedFile, PART_1_COMPARTMENTS);
     }
 
     /**
      * Solves the day 3 part 2 problem for Advent of Code 2022.
-     * Finds the item type that appears in each group of 3 maps.
-     * Lowercase item types a through z have priorities 1 through 26.
-     * Uppercase item types A through Z have priorities 27 through 52.
+     * Finds the item type that appears in each group of 3 rucksacks.
      * @param day3File The file that was provided by the calling method
-     * @return A long indicating the sum of points assigned to like items in each map
+     * @return A long indicating the sum of the priorities of the common items
      */
     public long part2Solve(File day3File) throws IOException {
-        List<Map<Character, Integer>> parsedFile = parseDay3Part2File(day3File);
-        long charSum = 0;
-        for (int i = 0; i < parsedFile.size(); i += 3) {
-            for (var key : parsedFile.get(i).keySet()) {
-                if (parsedFile.get(i + 1).containsKey(key) && parsedFile.get(i + 2).containsKey(key)) {
-                    charSum += calculateCharValue(key);
-                    break;
+        return intersectionSum(ByteTokenizer.map(day3File), 1, PART_2_GROUP_SIZE);
+    }
+
+    /**
+     * Solves the day 3 part 2 problem for Advent of Code 2022.
+     * Finds the item type that appears in each group of 3 rucksacks.
+     * @param day3Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long indicating the sum of the priorities of the common items
+     */
+    public long part2Solve(InputStream day3Stream) throws IOException {
+        return intersectionSum(ByteTokenizer.of(day3Stream), 1, PART_2_GROUP_SIZE);
+    }
+
+    /**
+     * Solves the day 3 part 2 problem for Advent of Code 2022 from an already parsed input.
+     * @param parsedFile The item masks of each rucksack
+     * @return A long indicating the sum of the priorities of the common items
+     */
+    protected long part2Solve(long[] parsedFile) throws IOException {
+        if (parsedFile.length % PART_2_GROUP_SIZE != 0) {
+            throw new IOException("Invalid file provided");
+        }
+        return intersectionSum(parsedFile, PART_2_GROUP_SIZE);
+    }
+
+    /**
+     * Solves both parts of the day 3 problem for Advent of Code 2022 from a single read of the file.
+     * @param day3File The file that was provided by the calling method
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(File day3File) throws IOException {
+        return bothSolve(parseDay3Part1File(day3File));
+    }
+
+    /**
+     * Solves both parts of the day 3 problem for Advent of Code 2022 from a single read of the stream.
+     * @param day3Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(InputStream day3Stream) throws IOException {
+        return bothSolve(parseDay3Part1File(day3Stream));
+    }
+
+    /**
+     * Solves both parts of the day 3 problem for Advent of Code 2022 from the masks of each half of every rucksack.
+     * A whole rucksack is the union of its halves, so part 2 needs no second read.
+     * @param halves The item masks of both halves of each rucksack, one after the other
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(long[] halves) throws IOException {
+        return CombinedSolver.solveBoth(() -> part1Solve(halves), () -> {
+            long[] rucksacks = new long[halves.length / PART_1_COMPARTMENTS];
+            for (int i = 0; i < rucksacks.length; i++) {
+                rucksacks[i] = halves[2 * i] | halves[2 * i + 1];
+            }
+            return part2Solve(rucksacks);
+        });
+    }
+
+    /**
+     * Sums the priorities of the common items for any number of ways of grouping the rucksacks from a single read of
+     * the file. Files of at least {@link FileChunks#PARALLEL_THRESHOLD_BYTES} are queried in parallel.
+     * @param day3File The file that was provided by the calling method
+     * @param queries The ways of grouping the rucksacks
+     * @return The sum of the priorities of the common items for each query, in the order of the queries
+     */
+    public long[] querySolve(File day3File, List<Day3Query> queries) throws IOException {
+        if (day3File.length() >= FileChunks.PARALLEL_THRESHOLD_BYTES) {
+            return querySolveParallel(day3File, queries, Runtime.getRuntime().availableProcessors());
+        }
+        return querySolve(ByteTokenizer.map(day3File), queries);
+    }
+
+    /**
+     * Sums the priorities of the common items for any number of ways of grouping the rucksacks from a single read of
+     * the stream.
+     * @param day3Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @param queries The ways of grouping the rucksacks
+     * @return The sum of the priorities of the common items for each query, in the order of the queries
+     */
+    public long[] querySolve(InputStream day3Stream, List<Day3Query> queries) throws IOException {
+        return querySolve(ByteTokenizer.of(day3Stream), queries);
+    }
+
+    /**
+     * Sums the priorities of the common items for any number of ways of grouping the rucksacks as the input is read.
+     * Each rucksack is masked once for every split in use, and each query only keeps the masks of its current group.
+     * @param tokenizer The tokenizer over the provided input, closed by this call
+     * @param queries The ways of grouping the rucksacks
+     * @return The sum of the priorities of the common items for each query, in the order of the queries
+     */
+    protected long[] querySolve(ByteTokenizer tokenizer, List<Day3Query> queries) throws IOException {
+        boolean[] splits = splitsOf(queries);
+        GroupWindow[] windows = new GroupWindow[queries.size()];
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = new GroupWindow(queries.get(i));
+        }
+        long[] masks = new long[Day3Query.Split.values().length];
+        try (tokenizer) {
+            while (tokenizer.hasRemaining()) {
+                int length = tokenizer.readLine();
+                for (Day3Query.Split split : Day3Query.Split.values()) {
+                    if (splits[split.ordinal()]) {
+                        masks[split.ordinal()] = compartmentIntersection(tokenizer.token(), length, split.getCompartments());
+                    }
                 }
+                for (int i = 0; i < windows.length; i++) {
+                    windows[i].accept(masks[queries.get(i).getSplit().ordinal()]);
+                }
+            }
+            for (GroupWindow window : windows) {
+                window.finish();
             }
+        } catch (Exception ex) {
+            LOG.error("File Parsing Failed with error: {}", ex.getMessage());
+            throw new IOException("Invalid file provided");
+        }
+        long[] sums = new long[windows.length];
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] = windows[i].sum;
         }
-        return charSum;
+        return sums;
+    }
+
+    /**
+     * Sums the priorities of the common items for any number of ways of grouping the rucksacks in parallel.
+     * The file is cut into chunks which end on a line break, each chunk is memory mapped and its rucksacks masked on
+     * the common ForkJoinPool, then every query is summed over blocks of whole groups in parallel.
+     * @param day3File The file that was provided by the calling method
+     * @param queries The ways of grouping the rucksacks
+     * @param parallelism The number of chunks to aim for, files too small to be worth splitting are read as one
+     * @return The sum of the priorities of the common items for each query, in the order of the queries
+     */
+    public long[] querySolveParallel(File day3File, List<Day3Query> queries, int parallelism) throws IOException {
+        return querySolveParallel(day3File, queries, parallelism, FileChunks.MIN_CHUNK_BYTES, MIN_BLOCK_RUCKSACKS);
     }
 
     /**
-     * Helper function that calculates the arbitrary value of a given character
-     * @param ch The character being evaluated
-     * @return An integer value representing the value of the character
+     * Sums the priorities of the common items for any number of ways of grouping the rucksacks in parallel.
+     * @param day3File The file that was provided by the calling method
+     * @param queries The ways of grouping the rucksacks
+     * @param parallelism The number of chunks to aim for
+     * @param minChunkBytes The smallest chunk worth a task of its own
+     * @param minBlockRucksacks The fewest rucksacks worth summing in a task of their own
+     * @return The sum of the priorities of the common items for each query, in the order of the queries
      */
-    private int calculateCharValue(Character ch) {
-        if (ch >= 'a' && ch <= 'z') {
-            return ch - 'a' + 1;
-        } else if (ch >= 'A' && ch <= 'Z') {
-            return ch - 'A' + 27;
-        } else {
-            throw new UnsupportedOperationException("Invalid character provided");
+    long[] querySolveParallel(File day3File, List<Day3Query> queries, int parallelism, long minChunkBytes,
+                              int minBlockRucksacks) throws IOException {
+        boolean[] splits = splitsOf(queries);
+
+        List<FileChunks.Chunk> chunks;
+        try (FileChannel channel = FileChannel.open(day3File.toPath(), StandardOpenOption.READ)) {
+            // Chunks end on a line feed, so no rucksack spans two of them
+            Optional<List<FileChunks.Chunk>> split = FileChunks.split(channel, parallelism, minChunkBytes,
+                    () -> next -> next == '\n');
+            // A single rucksack too large to be mapped at once can only be read in order
+            if (split.isEmpty()) {
+                return querySolve(new ByteTokenizer(channel.position(0)), queries);
+            }
+            chunks = split.get();
+        }
+
+        long[][] masks = new long[Day3Query.Split.values().length][];
+        try {
+            List<long[][]> chunkMasks = chunks.parallelStream()
+                    .map(chunk -> {
+                        try {
+                            return parseSplitMasks(new ByteTokenizer(chunk.buffer()), splits);
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    })
+                    .toList();
+            for (Day3Query.Split split : Day3Query.Split.values()) {
+                if (splits[split.ordinal()]) {
+                    masks[split.ordinal()] = concat(chunkMasks, split.ordinal());
+                }
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+
+        long[] sums = new long[queries.size()];
+        for (int i = 0; i < sums.length; i++) {
+            Day3Query query = queries.get(i);
+            long[] queryMasks = masks[query.getSplit().ordinal()];
+            if (!query.isSliding() && queryMasks.length % query.getGroupSize() != 0) {
+                LOG.error("File Parsing Failed with error: Incomplete group of {} rucksacks",
+                        queryMasks.length % query.getGroupSize());
+                throw new IOException("Invalid file provided");
+            }
+            sums[i] = blockSum(queryMasks, query, minBlockRucksacks);
         }
+        return sums;
+    }
+
+    /**
+     * Sums one query over blocks of its groups in parallel. Blocks of fixed groups hold whole groups, and a block of
+     * sliding windows reads on past its end to complete the windows which start inside it.
+     * @param masks The masks of every rucksack for the split of the query
+     * @param query The way of grouping the rucksacks
+     * @param minBlockRucksacks The fewest rucksacks worth summing in a task of their own
+     * @return The sum of the priorities of the common items
+     */
+    private static long blockSum(long[] masks, Day3Query query, int minBlockRucksacks) {
+        int groupSize = query.getGroupSize();
+        int starts = query.isSliding() ? Math.max(masks.length - groupSize + 1, 0) : masks.length;
+        int blockSize = Math.ceilDiv(Math.max(minBlockRucksacks, 1), groupSize) * groupSize;
+        return IntStream.range(0, Math.ceilDiv(starts, blockSize))
+                .parallel()
+                .mapToLong(block -> {
+                    int from = block * blockSize;
+                    int to = Math.min(from + blockSize, starts);
+                    GroupWindow window = new GroupWindow(query);
+                    int end = query.isSliding() ? to + groupSize - 1 : to;
+                    for (int i = from; i < end; i++) {
+                        window.accept(masks[i]);
+                    }
+                    return window.sum;
+                })
+                .sum();
     }
 
     /**
      * Parses a file that is of the type provided for the Advent of Code 2022: Day 3 challenge.
      * File contains lines of lower and uppercase alphabetic characters.
      * @param day3File The file that was provided by the calling method
-     * @return A list of maps that contain the character counts of half of each line of the original file
+     * @return The item masks of both halves of each rucksack, one after the other
      */
-    public List<Map<Character, Integer>> parseDay3Part1File(File day3File) throws IOException {
-        List<Map<Character, Integer>> parsedFile = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(day3File.getPath()))) {
-            String currentLine = reader.readLine();
-            while (currentLine != null) {
+    public long[] parseDay3Part1File(File day3File) throws IOException {
+        return parseMasks(ByteTokenizer.map(day3File), PART_1_COMPARTMENTS);
+    }
 
-                if (!Pattern.matches("[a-zA-Z]+", currentLine)) {
-                    throw new IOException("File contains invalid characters");
-                }
+    /**
+     * Parses a stream that is of the type provided for the Advent of Code 2022: Day 3 challenge.
+     * Stream contains lines of lower and uppercase alphabetic characters.
+     * @param day3Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return The item masks of both halves of each rucksack, one after the other
+     */
+    public long[] parseDay3Part1File(InputStream day3Stream) throws IOException {
+        return parseMasks(ByteTokenizer.of(day3Stream), PART_1_COMPARTMENTS);
+    }
 
-                    StringBuilder sb = new StringBuilder(currentLine);
-                String firstHalf = sb.substring(0, (currentLine.length() / 2));
-                String secondHalf = sb.substring((currentLine.length() / 2), currentLine.length());
+    /**
+     * Parses a file that is of the type provided for the Advent of Code 2022: Day 3 challenge.
+     * File contains lines of lower and uppercase alphabetic characters.
+     * @param day3File The file that was provided by the calling method
+     * @return The item masks of each rucksack
+     */
+    public long[] parseDay3Part2File(File day3File) throws IOException {
+        return parseMasks(ByteTokenizer.map(day3File), 1);
+    }
 
-                // Map the first half of the string
-                Map<Character, Integer> characterMap = new HashMap<>();
-                for (char currentChar : firstHalf.toCharArray()) {
-                    characterMap.put(currentChar, characterMap.getOrDefault(currentChar, 0) + 1);
-                }
-                parsedFile.add(characterMap);
+    /**
+     * Parses a stream that is of the type provided for the Advent of Code 2022: Day 3 challenge.
+     * Stream contains lines of lower and uppercase alphabetic characters.
+     * @param day3Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return The item masks of each rucksack
+     */
+    public long[] parseDay3Part2File(InputStream day3Stream) throws IOException {
+        return parseMasks(ByteTokenizer.of(day3Stream), 1);
+    }
 
-                // Map the second half of the string
-                characterMap = new HashMap<>();
-                for (char currentChar : secondHalf.toCharArray()) {
-                    characterMap.put(currentChar, characterMap.getOrDefault(currentChar, 0) + 1);
+    /**
+     * Sums the priority of the item common to each group of rucksacks as the input is read, keeping nothing but the
+     * mask of the current group.
+     * Each rucksack is split into equal compartments and only the items in every compartment of every rucksack of
+     * a group count, so part 1 is 2 compartments in groups of 1 and part 2 is 1 compartment in groups of 3.
+     * @param tokenizer The tokenizer over the provided input, closed by this call
+     * @param compartments The number of compartments each rucksack is split into
+     * @param groupSize The number of rucksacks in each group
+     * @return The sum of the priorities of the common items
+     */
+    protected long intersectionSum(ByteTokenizer tokenizer, int compartments, int groupSize) throws IOException {
+        if (compartments < 1 || groupSize < 1) {
+            throw new IllegalArgumentException("Compartments and group size must be at least 1");
+        }
+        long sum = 0;
+        long groupMask = -1L;
+        int inGroup = 0;
+        try (tokenizer) {
+            while (tokenizer.hasRemaining()) {
+                int length = tokenizer.readLine();
+                groupMask &= compartmentIntersection(tokenizer.token(), length, compartments);
+                if (++inGroup == groupSize) {
+                    sum += priority(groupMask);
+                    groupMask = -1L;
+                    inGroup = 0;
                 }
-                parsedFile.add(characterMap);
-
-                currentLine = reader.readLine();
+            }
+            if (inGroup != 0) {
+                throw new IOException("Incomplete group of " + inGroup + " rucksacks");
             }
         } catch (Exception ex) {
             LOG.error("File Parsing Failed with error: {}", ex.getMessage());
             throw new IOException("Invalid file provided");
         }
-        return parsedFile;
+        return sum;
     }
 
     /**
-     * Parses a file that is of the type provided for the Advent of Code 2022: Day 3 challenge.
-     * File contains lines of lower and uppercase alphabetic characters.
-     * @param day3File The file that was provided by the calling method
-     * @return A list of maps that contain the character counts of each line of the original file
+     * Sums the priority of the item common to each group of consecutive masks.
+     * @param masks The item masks
+     * @param groupSize The number of masks in each group, any incomplete final group is ignored
+     * @return The sum of the priorities of the common items
      */
-    public List<Map<Character, Integer>> parseDay3Part2File(File day3File) throws IOException {
-        List<Map<Character, Integer>> parsedFile = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(day3File.getPath()))) {
-            String currentLine = reader.readLine();
-            while (currentLine != null) {
+    protected static long intersectionSum(long[] masks, int groupSize) {
+        long sum = 0;
+        for (int i = 0; i + groupSize <= masks.length; i += groupSize) {
+            long groupMask = -1L;
+            for (int j = i; j < i + groupSize; j++) {
+                groupMask &= masks[j];
+            }
+            sum += priority(groupMask);
+        }
+        return sum;
+    }
 
-                if (!Pattern.matches("[a-zA-Z]+", currentLine)) {
-                    throw new IOException("File contains invalid characters");
+    /**
+     * Reads the item masks of every compartment of every rucksack.
+     * @param tokenizer The tokenizer over the provided input, closed by this call
+     * @param compartments The number of compartments each rucksack is split into
+     * @return The item masks of each compartment, one rucksack after the other
+     */
+    private long[] parseMasks(ByteTokenizer tokenizer, int compartments) throws IOException {
+        long[] masks = new long[INITIAL_CAPACITY];
+        int size = 0;
+        try (tokenizer) {
+            while (tokenizer.hasRemaining()) {
+                int length = tokenizer.readLine();
+                if (size + compartments > masks.length) {
+                    masks = Arrays.copyOf(masks, Math.max(masks.length * 2, size + compartments));
                 }
-
-                Map<Character, Integer> characterMap = new HashMap<>();
-                for (char currentChar : currentLine.toCharArray()) {
-                    characterMap.put(currentChar, characterMap.getOrDefault(currentChar, 0) + 1);
+                for (int compartment = 0; compartment < compartments; compartment++) {
+                    masks[size++] = mask(tokenizer.token(), length * compartment / compartments,
+                            length * (compartment + 1) / compartments);
+                }
+                if (length == 0) {
+                    throw new IOException("Empty rucksack");
                 }
-                parsedFile.add(characterMap);
+            }
+        } catch (Exception ex) {
+            LOG.error("File Parsing Failed with error: {}", ex.getMessage());
+            throw new IOException("Invalid file provided");
+        }
+        return Arrays.copyOf(masks, size);
+    }
 
-                currentLine = reader.readLine();
+    /**
+     * Reads the masks of every rucksack for each split in use.
+     * @param tokenizer The tokenizer over the provided input, closed by this call
+     * @param splits Whether each split, by ordinal, is in use
+     * @return The masks of every rucksack for each split by ordinal, null for a split which is not in use
+     */
+    private static long[][] parseSplitMasks(ByteTokenizer tokenizer, boolean[] splits) throws IOException {
+        long[][] masks = new long[splits.length][];
+        for (int split = 0; split < splits.length; split++) {
+            masks[split] = splits[split] ? new long[INITIAL_CAPACITY] : null;
+        }
+        int size = 0;
+        try (tokenizer) {
+            while (tokenizer.hasRemaining()) {
+                int length = tokenizer.readLine();
+                for (Day3Query.Split split : Day3Query.Split.values()) {
+                    long[] splitMasks = masks[split.ordinal()];
+                    if (splitMasks == null) {
+                        continue;
+                    }
+                    if (size == splitMasks.length) {
+                        splitMasks = Arrays.copyOf(splitMasks, size * 2);
+                        masks[split.ordinal()] = splitMasks;
+                    }
+                    splitMasks[size] = compartmentIntersection(tokenizer.token(), length, split.getCompartments());
+                }
+                size++;
             }
         } catch (Exception ex) {
             LOG.error("File Parsing Failed with error: {}", ex.getMessage());
             throw new IOException("Invalid file provided");
         }
-        return parsedFile;
+        for (int split = 0; split < masks.length; split++) {
+            if (masks[split] != null) {
+                masks[split] = Arrays.copyOf(masks[split], size);
+            }
+        }
+        return masks;
+    }
+
+    private static long[] concat(List<long[][]> chunkMasks, int split) {
+        int length = 0;
+        for (long[][] masks : chunkMasks) {
+            length += masks[split].length;
+        }
+        long[] joined = new long[length];
+        int offset = 0;
+        for (long[][] masks : chunkMasks) {
+            System.arraycopy(masks[split], 0, joined, offset, masks[split].length);
+            offset += masks[split].length;
+        }
+        return joined;
+    }
+
+    /**
+     * Finds which splits the queries use, so each rucksack is only masked for those.
+     * @param queries The ways of grouping the rucksacks
+     * @return Whether each split, by ordinal, is in use
+     */
+    private static boolean[] splitsOf(List<Day3Query> queries) {
+        if (queries == null || queries.isEmpty()) {
+            throw new IllegalArgumentException("At least one query is required");
+        }
+        boolean[] splits = new boolean[Day3Query.Split.values().length];
+        for (Day3Query query : queries) {
+            splits[query.getSplit().ordinal()] = true;
+        }
+        return splits;
+    }
+
+    /**
+     * Finds the items in every compartment of a rucksack.
+     * @param items The items of the rucksack
+     * @param length The number of items
+     * @param compartments The number of equal compartments the rucksack is split into
+     * @return The mask of the items in every compartment
+     */
+    private static long compartmentIntersection(byte[] items, int length, int compartments) throws IOException {
+        if (length == 0) {
+            throw new IOException("Empty rucksack");
+        }
+        long intersection = -1L;
+        for (int compartment = 0; compartment < compartments; compartment++) {
+            intersection &= mask(items, length * compartment / compartments, length * (compartment + 1) / compartments);
+        }
+        return intersection;
+    }
+
+    /**
+     * Builds the mask of a run of items.
+     * @param items The items
+     * @param from The index of the first item
+     * @param to The index after the last item
+     * @return A mask with the bit of each item set
+     */
+    private static long mask(byte[] items, int from, int to) throws IOException {
+        long mask = 0L;
+        for (int i = from; i < to; i++) {
+            long bit = ITEM_BITS[items[i] & 0xFF];
+            if (bit == 0) {
+                throw new IOException("File contains invalid characters");
+            }
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    /**
+     * The priority of the common item of a mask, the lowest priority if several items are common.
+     * @param mask The mask of the common items
+     * @return The priority of the item, or 0 if no item is common
+     */
+    private static int priority(long mask) {
+        return mask == 0 ? 0 : Long.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * The mask of the current group of a query along with the running sum of priorities.
+     * Consecutive groups only need the mask of the group so far. Sliding windows are held as two stacks, the older
+     * one storing the intersection of everything above each entry, so every window is intersected in constant
+     * amortized time whatever its size.
+     */
+    private static final class GroupWindow {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final int groupSize;
+        private final boolean sliding;
+        private long sum;
+
+        // Consecutive groups
+        private long groupMask = -1L;
+        private int inGroup;
+
+        // Sliding windows, newer rucksacks are pushed onto the back and the oldest is popped from the front.
+        // Both only grow as rucksacks are read, so a window larger than the input costs no more than the input
+        private long[] back;
+        private long[] front;
+        private int backSize;
+        private int frontSize;
+        private long backMask = -1L;
+
+        private GroupWindow(Day3Query query) {
+            this.groupSize = query.getGroupSize();
+            this.sliding = query.isSliding();
+            this.back = this.sliding ? new long[Math.min(this.groupSize, INITIAL_CAPACITY)] : null;
+            this.front = this.sliding ? new long[this.back.length] : null;
+        }
+
+        private void accept(long mask) {
+            if (!this.sliding) {
+                this.groupMask &= mask;
+                if (++this.inGroup == this.groupSize) {
+                    this.sum += priority(this.groupMask);
+                    this.groupMask = -1L;
+                    this.inGroup = 0;
+                }
+                return;
+            }
+
+            if (this.backSize == this.back.length) {
+                this.back = Arrays.copyOf(this.back, (int) Math.min(this.groupSize, this.back.length * 2L));
+            }
+            this.back[this.backSize++] = mask;
+            this.backMask &= mask;
+            if (this.frontSize + this.backSize < this.groupSize) {
+                return;
+            }
+            long frontMask = this.frontSize == 0 ? -1L : this.front[this.frontSize - 1];
+            this.sum += priority(frontMask & this.backMask);
+
+            // Drop the oldest rucksack, moving the back onto the front first if the front has run out
+            if (this.frontSize == 0) {
+                if (this.front.length < this.backSize) {
+                    this.front = new long[this.back.length];
+                }
+                long intersection = -1L;
+                for (int i = this.backSize - 1; i >= 0; i--) {
+                    intersection &= this.back[i];
+                    this.front[this.frontSize++] = intersection;
+                }
+                this.backSize = 0;
+                this.backMask = -1L;
+            }
+            this.frontSize--;
+        }
+
+        private void finish() throws IOException {
+            if (this.inGroup != 0) {
+                throw new IOException("Incomplete group of " + this.inGroup + " rucksacks");
+            }
+        }
+
     }
 
 }
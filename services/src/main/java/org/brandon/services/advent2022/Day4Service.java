@@ -1,110 +1,181 @@
 package org.brandon.services.advent2022;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.core.io.ByteTokenizer;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day4IntervalIndex;
+import org.brandon.data.advent2022.Day4Model;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.InputStream;
 
 @ApplicationScoped
 public class Day4Service {
 
-    private static final String PAIR_1_START = "pair1Start";
-    private static final String PAIR_2_START = "pair2Start";
-    private static final String PAIR_1_END = "pair1End";
-    private static final String PAIR_2_END = "pair2End";
-
     private static final Logger LOG = LoggerFactory.getLogger(Day4Service.class);
 
     /**
      * Solves the day 4 part 1 problem for Advent of Code 2022.
      * Determines if a pair of integers is completely overlapped by one member of the pair.
+     * The pairs are counted as they are read and never stored.
      * @param day4File The file that was provided by the calling method
      * @return A long indicating the total number of pairs that completely overlap
      */
     public long part1Solve(File day4File) throws IOException {
-        List<Map<String, Integer>> parsedFile = parseDay4File(day4File);
-        long overlappingPairs = 0;
-        for (var pairMap : parsedFile) {
+        return countPairs(ByteTokenizer.map(day4File), true);
+    }
 
-            boolean pair1Overlap = pairMap.get(PAIR_1_START) >= pairMap.get(PAIR_2_START) &&
-                    pairMap.get(PAIR_1_END) <= pairMap.get(PAIR_2_END);
-            boolean pair2Overlap = pairMap.get(PAIR_2_START) >= pairMap.get(PAIR_1_START) &&
-                    pairMap.get(PAIR_2_END) <= pairMap.get(PAIR_1_END);
+    /**
+     * Solves the day 4 part 1 problem for Advent of Code 2022.
+     * Determines if a pair of integers is completely overlapped by one member of the pair.
+     * The pairs are counted as they are read and never stored.
+     * @param day4Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long indicating the total number of pairs that completely overlap
+     */
+    public long part1Solve(InputStream day4Stream) throws IOException {
+        return countPairs(ByteTokenizer.of(day4Stream), true);
+    }
 
-            if (pair1Overlap || pair2Overlap) {
-                overlappingPairs += 1;
-            }
-        }
-        return overlappingPairs;
+    /**
+     * Solves the day 4 part 1 problem for Advent of Code 2022 from an already parsed input.
+     * Determines if a pair of integers is completely overlapped by one member of the pair.
+     * @param parsedFile The section assignments of every pair
+     * @return A long indicating the total number of pairs that completely overlap
+     */
+    protected long part1Solve(Day4Model parsedFile) {
+        return parsedFile.countContained();
     }
 
     /**
      * Solves the day 4 part 2 problem for Advent of Code 2022.
      * Determines if a pair of integers is at least partially overlapped by another member of the pair.
+     * The pairs are counted as they are read and never stored.
      * @param day4File The file that was provided by the calling method
      * @return A long indicating the total number of pairs that at least partially overlap
      */
     public long part2Solve(File day4File) throws IOException {
-        List<Map<String, Integer>> parsedFile = parseDay4File(day4File);
-        long overlappingPairs = 0;
-        for (var pairMap : parsedFile) {
-
-            // Start overlaps
-            boolean pair1StartOverlap = pairMap.get(PAIR_1_START) <= pairMap.get(PAIR_2_START) &&
-                    pairMap.get(PAIR_1_END) >= pairMap.get(PAIR_2_START);
-            boolean pair2StartOverlap = pairMap.get(PAIR_2_START) <= pairMap.get(PAIR_1_START) &&
-                    pairMap.get(PAIR_2_END) >= pairMap.get(PAIR_1_START);
-
-            // End overlaps
-            boolean pair1EndOverlap = pairMap.get(PAIR_1_END) >= pairMap.get(PAIR_2_END) &&
-                    pairMap.get(PAIR_1_START) <= pairMap.get(PAIR_2_END);
-            boolean pair2EndOverlap = pairMap.get(PAIR_2_END) >= pairMap.get(PAIR_1_END) &&
-                    pairMap.get(PAIR_2_START) <= pairMap.get(PAIR_1_END);
-
-            if (pair1StartOverlap || pair2StartOverlap || pair1EndOverlap || pair2EndOverlap) {
-                overlappingPairs += 1;
-            }
+        return countPairs(ByteTokenizer.map(day4File), false);
+    }
+
+    /**
+     * Solves the day 4 part 2 problem for Advent of Code 2022.
+     * Determines if a pair of integers is at least partially overlapped by another member of the pair.
+     * The pairs are counted as they are read and never stored.
+     * @param day4Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long indicating the total number of pairs that at least partially overlap
+     */
+    public long part2Solve(InputStream day4Stream) throws IOException {
+        return countPairs(ByteTokenizer.of(day4Stream), false);
+    }
+
+    /**
+     * Solves the day 4 part 2 problem for Advent of Code 2022 from an already parsed input.
+     * Determines if a pair of integers is at least partially overlapped by another member of the pair.
+     * @param parsedFile The section assignments of every pair
+     * @return A long indicating the total number of pairs that at least partially overlap
+     */
+    protected long part2Solve(Day4Model parsedFile) {
+        return parsedFile.countOverlapping();
+    }
+
+    /**
+     * Solves both parts of the day 4 problem for Advent of Code 2022 from a single parse of the file.
+     * @param day4File The file that was provided by the calling method
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(File day4File) throws IOException {
+        return bothSolve(parseDay4File(day4File));
+    }
+
+    /**
+     * Solves both parts of the day 4 problem for Advent of Code 2022 from a single parse of the stream.
+     * @param day4Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(InputStream day4Stream) throws IOException {
+        return bothSolve(parseDay4File(day4Stream));
+    }
+
+    /**
+     * Solves both parts of the day 4 problem for Advent of Code 2022 from an already parsed input.
+     * The parts run in parallel and only read the parsed input.
+     * @param parsedFile The parsed contents of the provided file
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(Day4Model parsedFile) throws IOException {
+        return CombinedSolver.solveBoth(() -> part1Solve(parsedFile), () -> part2Solve(parsedFile));
+    }
+
+    /**
+     * Parses a file and builds the index of its section assignments, so questions across the whole input are
+     * answered without parsing it again.
+     * @param day4File The file that was provided by the calling method
+     * @return The index of every section assignment
+     */
+    public Day4IntervalIndex indexDay4File(File day4File) throws IOException {
+        return indexDay4File(parseDay4File(day4File));
+    }
+
+    /**
+     * Parses a stream and builds the index of its section assignments, so questions across the whole input are
+     * answered without parsing it again.
+     * @param day4Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return The index of every section assignment
+     */
+    public Day4IntervalIndex indexDay4File(InputStream day4Stream) throws IOException {
+        return indexDay4File(parseDay4File(day4Stream));
+    }
+
+    /**
+     * Builds the index of the section assignments of an already parsed input.
+     * @param parsedFile The section assignments of every pair
+     * @return The index of every section assignment
+     */
+    public Day4IntervalIndex indexDay4File(Day4Model parsedFile) throws IOException {
+        try {
+            return new Day4IntervalIndex(parsedFile);
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            throw new IOException("Invalid file provided");
         }
-        return overlappingPairs;
     }
 
     /**
      * Parses a file that is of the type provided for the Advent of Code 2022: Day 4 challenge.
      * File contains lines of numeric pairs indicating a range and separated by a comma.
      * @param day4File The file that was provided by the calling method
-     * @return A list of maps which contain the start of each range pair and the end of each range pair
-     */
-    public List<Map<String, Integer>> parseDay4File(File day4File) throws IOException {
-        List<Map<String, Integer>> parsedFile = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(day4File.getPath()))) {
-            String currentLine = reader.readLine();
-            Map<String, Integer> pairMap;
-            while (currentLine != null) {
-                pairMap = new HashMap<>();
-
-                // Collect the numeric values
-                String[] rangePairs = currentLine.split(",", 2);
-                int[] firstPair = splitRange(rangePairs[0]);
-                int[] secondPair = splitRange(rangePairs[1]);
-
-                // Place pairs into map and store in list
-                pairMap.put(PAIR_1_START, firstPair[0]);
-                pairMap.put(PAIR_1_END, firstPair[1]);
-                pairMap.put(PAIR_2_START, secondPair[0]);
-                pairMap.put(PAIR_2_END, secondPair[1]);
-                parsedFile.add(pairMap);
-
-                // Move to the next line to continue the loop
-                currentLine = reader.readLine();
+     * @return The section assignments of every pair
+     */
+    public Day4Model parseDay4File(File day4File) throws IOException {
+        return parseDay4File(ByteTokenizer.map(day4File));
+    }
+
+    /**
+     * Parses a stream that is of the type provided for the Advent of Code 2022: Day 4 challenge.
+     * Stream contains lines of numeric pairs indicating a range and separated by a comma.
+     * @param day4Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return The section assignments of every pair
+     */
+    public Day4Model parseDay4File(InputStream day4Stream) throws IOException {
+        return parseDay4File(ByteTokenizer.of(day4Stream));
+    }
+
+    /**
+     * Parses input that is of the type provided for the Advent of Code 2022: Day 4 challenge.
+     * Input contains lines of numeric pairs indicating a range and separated by a comma.
+     * @param tokenizer The tokenizer over the provided input, closed by this call
+     * @return The section assignments of every pair
+     */
+    protected Day4Model parseDay4File(ByteTokenizer tokenizer) throws IOException {
+        Day4Model parsedFile = new Day4Model();
+        int[] pair = new int[4];
+        try (tokenizer) {
+            while (tokenizer.hasRemaining()) {
+                nextPair(tokenizer, pair);
+                parsedFile.add(pair[0], pair[1], pair[2], pair[3]);
             }
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
@@ -114,13 +185,50 @@ public class Day4Service {
     }
 
     /**
-     * Helper method which splits a string of integers and returns an array containing the actual values.
-     * @param range A string in the format of `<int>-<int>`
-     * @return An integer array containing each of the int entries
+     * Counts the pairs of the input as they are read, keeping nothing but the count.
+     * @param tokenizer The tokenizer over the provided input, closed by this call
+     * @param contained True to count pairs where one assignment contains the other, false to count pairs which
+     * overlap at all
+     * @return The number of pairs counted
+     */
+    protected long countPairs(ByteTokenizer tokenizer, boolean contained) throws IOException {
+        long count = 0;
+        int[] pair = new int[4];
+        try (tokenizer) {
+            while (tokenizer.hasRemaining()) {
+                nextPair(tokenizer, pair);
+                boolean counted = contained
+                        ? Day4Model.contains(pair[0], pair[1], pair[2], pair[3])
+                        : Day4Model.overlaps(pair[0], pair[1], pair[2], pair[3]);
+                if (counted) {
+                    count++;
+                }
+            }
+        } catch (Exception ex) {
+            LOG.error(ex.getMessage());
+            throw new IOException("Invalid file provided");
+        }
+        return count;
+    }
+
+    /**
+     * Reads the line of a single pair and moves on to the next line.
+     * @param tokenizer The tokenizer positioned at the start of a line
+     * @param pair Filled with the start and end of the first assignment, then the start and end of the second
      */
-    private int[] splitRange(String range) {
-        String[] rangeValues = range.split("-", 2);
-        return new int[]{Integer.parseInt(rangeValues[0]), Integer.parseInt(rangeValues[1])};
+    private static void nextPair(ByteTokenizer tokenizer, int[] pair) throws IOException {
+        // Collect the numeric values of `<int>-<int>,<int>-<int>`
+        pair[0] = tokenizer.nextInt();
+        tokenizer.expect('-');
+        pair[1] = tokenizer.nextInt();
+        tokenizer.expect(',');
+        pair[2] = tokenizer.nextInt();
+        tokenizer.expect('-');
+        pair[3] = tokenizer.nextInt();
+        tokenizer.expectEndOfLine();
+
+        // Move to the next line to continue the loop
+        tokenizer.nextLine();
     }
 
 }
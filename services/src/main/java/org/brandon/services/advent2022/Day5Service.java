@@ -1,21 +1,32 @@
 package org.brandon.services.advent2022;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.core.io.ByteTokenizer;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day5Model;
+import org.brandon.data.advent2022.Day5SegmentStacks;
+import org.brandon.data.advent2022.Day5Stacks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.*;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 @ApplicationScoped
 public class Day5Service {
 
-    private static final String AMOUNT = "amount";
-    private static final String START_STACK = "startStack";
-    private static final String END_STACK = "endStack";
+    /**
+     * The drawing of the original puzzle, each stack from the bottom crate to the top crate, used for inputs which
+     * hold only moves.
+     */
+    private static final String[] DEFAULT_STACKS = {
+            "QWPSZRHD", "VBRWQHF", "CVSH", "HFG", "PGJBZ", "QTJHWFL", "ZTWDLVJN", "DTZCJGHF", "WPVMBH"
+    };
+    private static final byte[] MOVE = "move".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FROM = "from".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TO = "to".getBytes(StandardCharsets.US_ASCII);
 
     private static final Logger LOG = LoggerFactory.getLogger(Day5Service.class);
 
@@ -26,17 +37,37 @@ public class Day5Service {
      * @return A string showing the top character of the resulting stacks
      */
     public String part1Solve(File day5File) throws IOException {
-        List<Map<String, Integer>> parsedFile = parseDay5File(day5File);
-        var stackList = createBaseStacks();
-
-        // Perform the steps
-        for (var step : parsedFile) {
-            for (int i = 0; i < step.get(AMOUNT); i++) {
-                Character current = stackList.get(step.get(START_STACK)).pop();
-                stackList.get(step.get(END_STACK)).addFirst(current);
+        return part1Solve(parseDay5File(day5File));
+    }
+
+    /**
+     * Solves the day 5 part 1 problem for Advent of Code 2022.
+     * Moves characters between stacks by following the instructions provided in the parsed input file.
+     * @param day5Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A string showing the top character of the resulting stacks
+     */
+    public String part1Solve(InputStream day5Stream) throws IOException {
+        return part1Solve(parseDay5File(day5Stream));
+    }
+
+    /**
+     * Solves the day 5 part 1 problem for Advent of Code 2022 from an already parsed input.
+     * Moves crates between stacks one at a time by following the instructions provided in the parsed input file.
+     * Each move takes O(log n) time however many crates it moves.
+     * @param parsedFile The starting stacks and every move
+     * @return A string showing the top character of the resulting stacks
+     */
+    public String part1Solve(Day5Model parsedFile) throws IOException {
+        Day5SegmentStacks stacks = new Day5SegmentStacks(parsedFile.getStacks());
+        try {
+            for (int move = 0; move < parsedFile.size(); move++) {
+                stacks.moveOneAtATime(parsedFile.getAmount(move), parsedFile.getFrom(move), parsedFile.getTo(move));
             }
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            throw new IOException("Invalid file provided");
         }
-        return topOfTheStacks(stackList);
+        return stacks.tops();
     }
 
     /**
@@ -46,47 +77,120 @@ public class Day5Service {
      * @return A string showing the top character of the resulting stacks
      */
     public String part2Solve(File day5File) throws IOException {
-        List<Map<String, Integer>> parsedFile = parseDay5File(day5File);
-        var stackList = createBaseStacks();
-
-        // Perform the steps
-        for (var step : parsedFile) {
-            Deque<Character> stackToAdd = new ArrayDeque<>();
-            for (int i = 0; i < step.get(AMOUNT); i++) {
-                stackToAdd.addFirst(stackList.get(step.get(START_STACK)).pop());
-            }
+        return part2Solve(parseDay5File(day5File));
+    }
 
-            for (int i = 0; i < step.get(AMOUNT); i++) {
-                stackList.get(step.get(END_STACK)).addFirst(stackToAdd.pop());
+    /**
+     * Solves the day 5 part 2 problem for Advent of Code 2022.
+     * Moves characters between stacks by following the instructions provided in the parsed input file.
+     * @param day5Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A string showing the top character of the resulting stacks
+     */
+    public String part2Solve(InputStream day5Stream) throws IOException {
+        return part2Solve(parseDay5File(day5Stream));
+    }
+
+    /**
+     * Solves the day 5 part 2 problem for Advent of Code 2022 from an already parsed input.
+     * Moves crates between stacks several at once by following the instructions provided in the parsed input file.
+     * Each move takes O(log n) time however many crates it moves.
+     * @param parsedFile The starting stacks and every move
+     * @return A string showing the top character of the resulting stacks
+     */
+    public String part2Solve(Day5Model parsedFile) throws IOException {
+        Day5SegmentStacks stacks = new Day5SegmentStacks(parsedFile.getStacks());
+        try {
+            for (int move = 0; move < parsedFile.size(); move++) {
+                stacks.moveAtOnce(parsedFile.getAmount(move), parsedFile.getFrom(move), parsedFile.getTo(move));
             }
+        } catch (IllegalArgumentException ex) {
+            LOG.error(ex.getMessage());
+            throw new IOException("Invalid file provided");
         }
-        return topOfTheStacks(stackList);
+        return stacks.tops();
+    }
+
+    /**
+     * Solves both parts of the day 5 problem for Advent of Code 2022 from a single parse of the file.
+     * @param day5File The file that was provided by the calling method
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<String, String> bothSolve(File day5File) throws IOException {
+        return bothSolve(parseDay5File(day5File));
+    }
+
+    /**
+     * Solves both parts of the day 5 problem for Advent of Code 2022 from a single parse of the stream.
+     * @param day5Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<String, String> bothSolve(InputStream day5Stream) throws IOException {
+        return bothSolve(parseDay5File(day5Stream));
+    }
+
+    /**
+     * Solves both parts of the day 5 problem for Advent of Code 2022 from an already parsed input.
+     * The parts run in parallel and only read the parsed input.
+     * @param parsedFile The parsed contents of the provided file
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<String, String> bothSolve(Day5Model parsedFile) throws IOException {
+        return CombinedSolver.solveBoth(() -> part1Solve(parsedFile), () -> part2Solve(parsedFile));
     }
 
     /**
      * Parses a file that is of the type provided for the Advent of Code 2022: Day 5 challenge.
-     * Files are of the form `move <amount> from <startStack> to <endStack>`
+     * Files start with a drawing of the stacks followed by a blank line and moves of the form
+     * `move <amount> from <startStack> to <endStack>`. Files holding only moves start from the original drawing.
      * @param day5File The file that was provided by the calling method
-     * @return A list of maps containing the amount of items moved and where stacks are moved
+     * @return The starting stacks and every move
      */
-    public List<Map<String, Integer>> parseDay5File(File day5File) throws IOException {
-        List<Map<String, Integer>> parsedFile = new ArrayList<>();
+    public Day5Model parseDay5File(File day5File) throws IOException {
+        return parseDay5File(ByteTokenizer.map(day5File));
+    }
+
+    /**
+     * Parses a stream that is of the type provided for the Advent of Code 2022: Day 5 challenge.
+     * Streams start with a drawing of the stacks followed by a blank line and moves of the form
+     * `move <amount> from <startStack> to <endStack>`. Streams holding only moves start from the original drawing.
+     * @param day5Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return The starting stacks and every move
+     */
+    public Day5Model parseDay5File(InputStream day5Stream) throws IOException {
+        return parseDay5File(ByteTokenizer.of(day5Stream));
+    }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(day5File.getPath()))) {
-            String currentLine = reader.readLine();
-            Map<String, Integer> movements;
-            while (currentLine != null) {
+    /**
+     * Parses input that is of the type provided for the Advent of Code 2022: Day 5 challenge.
+     * Input starts with a drawing of the stacks followed by a blank line and moves of the form
+     * `move <amount> from <startStack> to <endStack>`. Input holding only moves starts from the original drawing.
+     * @param tokenizer The tokenizer over the provided input, closed by this call
+     * @return The starting stacks and every move
+     */
+    protected Day5Model parseDay5File(ByteTokenizer tokenizer) throws IOException {
+        Day5Model parsedFile;
 
-                movements = new HashMap<>();
-                String[] splitLine = currentLine.split(" ", 6);
+        try (tokenizer) {
+            int first = tokenizer.peek();
+            parsedFile = new Day5Model(first == 'm' || first == -1 ? Day5Stacks.of(DEFAULT_STACKS) : parseDrawing(tokenizer));
+            int stacks = parsedFile.getStacks().size();
+            while (tokenizer.hasRemaining()) {
 
-                movements.put(AMOUNT, Integer.parseInt(splitLine[1]));
-                movements.put(START_STACK, Integer.parseInt(splitLine[3]));
-                movements.put(END_STACK, Integer.parseInt(splitLine[5]));
-                parsedFile.add(movements);
+                // Lines are of the form `move <amount> from <startStack> to <endStack>`
+                tokenizer.expect(MOVE);
+                int amount = tokenizer.nextInt();
+                tokenizer.expect(FROM);
+                int from = tokenizer.nextInt();
+                tokenizer.expect(TO);
+                int to = tokenizer.nextInt();
+                tokenizer.expectEndOfLine();
+                if (amount < 0 || from < 1 || from > stacks || to < 1 || to > stacks) {
+                    throw new IOException("Invalid move before byte " + tokenizer.position());
+                }
+                parsedFile.addMove(amount, from, to);
 
                 // Move to the next line to continue the loop
-                currentLine = reader.readLine();
+                tokenizer.nextLine();
             }
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
@@ -97,36 +201,100 @@ public class Day5Service {
     }
 
     /**
-     * Helper method which creates the original state of the stacks per the problem.
-     * @return A list of stacks containing letters indicating the contents of the stack
+     * Helper method which reads the drawing of the stacks, a row of crates such as `[Z] [M] [P]` on each line with
+     * the crate of each stack four bytes after the one before, ending with a line numbering the stacks.
+     * @param tokenizer The tokenizer at the start of the drawing, left at the first move
+     * @return The drawn stacks
      */
-    private List<Deque<Character>> createBaseStacks() {
-        List<Deque<Character>> stackList = new ArrayList<>();
-        stackList.add(new ArrayDeque<>()); // 0
-        stackList.add(new ArrayDeque<>(Arrays.asList('D', 'H', 'R', 'Z', 'S', 'P', 'W', 'Q'))); // 1
-        stackList.add(new ArrayDeque<>(Arrays.asList('F', 'H', 'Q', 'W', 'R', 'B', 'V'))); // 2
-        stackList.add(new ArrayDeque<>(Arrays.asList('H', 'S', 'V', 'C'))); // 3
-        stackList.add(new ArrayDeque<>(Arrays.asList('G', 'F', 'H'))); // 4
-        stackList.add(new ArrayDeque<>(Arrays.asList('Z', 'B', 'J', 'G', 'P'))); // 5
-        stackList.add(new ArrayDeque<>(Arrays.asList('L', 'F', 'W', 'H', 'J', 'T', 'Q'))); // 6
-        stackList.add(new ArrayDeque<>(Arrays.asList('N', 'J', 'V', 'L', 'D', 'W', 'T', 'Z'))); // 7
-        stackList.add(new ArrayDeque<>(Arrays.asList('F', 'H', 'G', 'J', 'C', 'Z', 'T', 'D'))); // 8
-        stackList.add(new ArrayDeque<>(Arrays.asList('H', 'B', 'M', 'V', 'P', 'W'))); // 9
+    private static Day5Stacks parseDrawing(ByteTokenizer tokenizer) throws IOException {
+        // Rows are read from the top down, so every stack is upside down until the drawing is complete
+        Day5Stacks stacks = new Day5Stacks(0);
+        int length = tokenizer.readLine();
+        byte[] line = tokenizer.token();
+        while (!isNumberLine(line, length)) {
+            if (!tokenizer.hasRemaining()) {
+                throw new IOException("Drawing does not number its stacks");
+            }
+            int stack = 1;
+            for (int offset = 0; offset < length; offset += 4, stack++) {
+                if (line[offset] == '[') {
+                    if (offset + 2 >= length || line[offset + 1] == ' ' || line[offset + 2] != ']'
+                            || (offset + 3 < length && line[offset + 3] != ' ')) {
+                        throw new IOException("Invalid crate in stack " + stack + " at byte " + tokenizer.position());
+                    }
+                    stacks.ensureSize(stack);
+                    stacks.push(stack, (char) (line[offset + 1] & 0xFF));
+                } else {
+                    for (int i = offset; i < Math.min(offset + 4, length); i++) {
+                        if (line[i] != ' ') {
+                            throw new IOException("Invalid crate in stack " + stack + " at byte " + tokenizer.position());
+                        }
+                    }
+                    checkSupported(stacks, stack);
+                }
+            }
+            // Trailing spaces may have been trimmed, so any stack past the end of the row is empty in it
+            for (; stack <= stacks.size(); stack++) {
+                checkSupported(stacks, stack);
+            }
+            length = tokenizer.readLine();
+            line = tokenizer.token();
+        }
+
+        // The numbers have to count up from 1 and cover every drawn stack
+        int numbered = 0;
+        int offset = 0;
+        while (offset < length) {
+            if (line[offset] == ' ') {
+                offset++;
+                continue;
+            }
+            int number = 0;
+            while (offset < length && line[offset] >= '0' && line[offset] <= '9') {
+                number = number * 10 + (line[offset++] - '0');
+            }
+            if (number != numbered + 1 || (offset < length && line[offset] != ' ')) {
+                throw new IOException("Stacks are not numbered in order at byte " + tokenizer.position());
+            }
+            numbered = number;
+        }
+        if (numbered < stacks.size()) {
+            throw new IOException("Drawing holds crates in unnumbered stacks");
+        }
+        stacks.ensureSize(numbered);
+        stacks.invert();
+
+        // A blank line separates the drawing from the moves
+        if (tokenizer.isBlankLine()) {
+            tokenizer.nextLine();
+        }
+        return stacks;
+    }
 
-        return stackList;
+    /**
+     * Helper method which checks that a stack left empty in a row of the drawing has no crate above the row.
+     * @param stacks The stacks read so far, upside down
+     * @param stack The number of the stack
+     */
+    private static void checkSupported(Day5Stacks stacks, int stack) throws IOException {
+        if (stack <= stacks.size() && stacks.height(stack) > 0) {
+            throw new IOException("Crate is floating above stack " + stack);
+        }
     }
 
     /**
-     * Helper method which collects the top character from each stack in the provided list of stacks.
-     * @param stackList A list of stacks containing letters indicating the contents of the stack
-     * @return A string representation of the top character from each stack
+     * Helper method which checks if a line of the drawing is the line numbering the stacks.
+     * @param line The line
+     * @param length The length of the line
+     * @return True if the first byte other than a space is a digit
      */
-    private String topOfTheStacks(List<Deque<Character>> stackList) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 1; i < stackList.size(); i++) {
-            sb.append(stackList.get(i).getFirst());
+    private static boolean isNumberLine(byte[] line, int length) {
+        for (int i = 0; i < length; i++) {
+            if (line[i] != ' ') {
+                return line[i] >= '0' && line[i] <= '9';
+            }
         }
-        return sb.toString();
+        return false;
     }
 
 }
@@ -0,0 +1,83 @@
+package org.brandon.services.advent2022;
+
+import org.brandon.data.advent2022.Day6Markers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Helper which searches a datastream for markers, runs of distinct letters, one buffer at a time.
+ * The position each letter was last seen at is kept in a fixed table, which gives the length of the run of distinct
+ * letters ending at every position without holding any of the stream, so memory stays constant however long the
+ * stream is. The same table serves every window size being searched for.
+ * The datastream ends at the first line break.
+ */
+final class Day6MarkerScanner {
+
+    private final Day6Markers markers;
+
+    // The position after each letter was last seen, 0 if it has not been seen
+    private final long[] lastSeen = new long[128];
+    private long position;
+    private long runStart;
+
+    /**
+     * Creates a scanner which records the runs of distinct letters it finds into a collector of markers.
+     * @param markers The collector of the markers of each window size
+     */
+    Day6MarkerScanner(Day6Markers markers) {
+        this(markers, 0);
+    }
+
+    /**
+     * Creates a scanner which starts partway through the datastream, as though no letters were seen before it.
+     * Runs of distinct letters are cut short at the start, so only markers ending at least a window size after it
+     * are sure to be found.
+     * @param markers The collector of the markers of each window size
+     * @param position The number of letters before the first byte to scan
+     */
+    Day6MarkerScanner(Day6Markers markers, long position) {
+        this.markers = markers;
+        this.position = position;
+        this.runStart = position;
+    }
+
+    /**
+     * Scans the next bytes of the datastream.
+     * @param buffer The buffer holding the bytes
+     * @param from The index of the first byte to scan
+     * @param to The index after the last byte to scan
+     * @return True if the markers still need more of the datastream and it has not ended
+     */
+    boolean scan(ByteBuffer buffer, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            int value = buffer.get(i);
+            if (value == '\n' || value == '\r') {
+                return false;
+            }
+            if (!isLetter(value)) {
+                throw new IOException("File contains incorrect characters");
+            }
+            long next = ++this.position;
+            this.runStart = Math.max(this.runStart, this.lastSeen[value]);
+            this.lastSeen[value] = next;
+            if (this.markers.record(next, (int) (next - this.runStart))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The number of letters read so far, including any before the scan started.
+     * @return The position of the last letter read
+     */
+    long getPosition() {
+        return this.position;
+    }
+
+    private static boolean isLetter(int value) {
+        return (value >= 'a' && value <= 'z') || (value >= 'A' && value <= 'Z');
+    }
+
+}
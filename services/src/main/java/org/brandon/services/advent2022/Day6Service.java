@@ -1,77 +1,299 @@
 package org.brandon.services.advent2022;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.core.io.FileChunks;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day6Markers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 @ApplicationScoped
 public class Day6Service {
 
+    private static final int PACKET_WINDOW = 4;
+    private static final int MESSAGE_WINDOW = 14;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private static final Logger LOG = LoggerFactory.getLogger(Day6Service.class);
 
     /**
-     * Solves the day 6 part 1 problem for Advent of Code 2022.
-     * Utilizes a shifting window to determine the location of the first marker.
+     * Solves the day 6 problem for Advent of Code 2022.
+     * Reads the file through a fixed size buffer and stops as soon as the first marker is found, so memory stays
+     * constant however long the datastream is. Files of at least {@link FileChunks#PARALLEL_THRESHOLD_BYTES} are
+     * searched in parallel.
      * @param day6File The file that was provided by the calling method
-     * @return A number indicating the location of the first marker in the parsedFile
+     * @param windowSize The number of distinct characters that make up a marker
+     * @return A number indicating the location of the first marker in the datastream
      */
     public long solve(File day6File, int windowSize) throws IOException {
-        String parsedFile = parseDay6File(day6File);
-        Map<Character, Integer> window = new HashMap<>();
-        long start = 0;
-        long end = 0;
-
-        for (Character ch : parsedFile.toCharArray()) {
-            if (end - start == windowSize) {
-                Character chStart = parsedFile.charAt((int) start);
-                if (window.get(chStart) != null && window.get(chStart) > 1) {
-                    window.put(chStart, window.get(chStart) - 1);
-                } else {
-                    window.remove(chStart);
-                }
-                start += 1;
-            }
+        if (day6File.length() >= FileChunks.PARALLEL_THRESHOLD_BYTES) {
+            return solveParallel(day6File, windowSize, Runtime.getRuntime().availableProcessors());
+        }
+        return solve(FileChannel.open(day6File.toPath(), StandardOpenOption.READ), windowSize);
+    }
 
-            if (window.containsKey(ch)) {
-                window.put(ch, window.get(ch) + 1);
-            } else {
-                window.put(ch, 1);
-            }
+    /**
+     * Solves the day 6 problem for Advent of Code 2022 in parallel, which pays off when the first marker is late.
+     * The file is cut into chunks which are memory mapped and searched on the common ForkJoinPool. Each chunk also
+     * maps the window size minus one bytes before it, so a marker crossing the start of a chunk is still found whole.
+     * The earliest marker, line break or incorrect character found so far is shared between the chunks, and a chunk
+     * stops as soon as it has passed it, as nothing it could find after that would be the answer.
+     * @param day6File The file that was provided by the calling method
+     * @param windowSize The number of distinct characters that make up a marker
+     * @param parallelism The number of chunks to aim for, files too small to be worth splitting are searched as one
+     * @return A number indicating the location of the first marker in the datastream
+     */
+    public long solveParallel(File day6File, int windowSize, int parallelism) throws IOException {
+        return solveParallel(day6File, windowSize, parallelism, FileChunks.MIN_CHUNK_BYTES);
+    }
 
-            if (window.size() == windowSize) {
-                end += 1;
-                break;
-            }
-            end += 1;
+    /**
+     * Solves the day 6 problem for Advent of Code 2022 in parallel.
+     * @param day6File The file that was provided by the calling method
+     * @param windowSize The number of distinct characters that make up a marker
+     * @param parallelism The number of chunks to aim for
+     * @param minChunkBytes The smallest chunk worth a task of its own
+     * @return A number indicating the location of the first marker in the datastream
+     */
+    long solveParallel(File day6File, int windowSize, int parallelism, long minChunkBytes) throws IOException {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be at least 1");
+        }
+        // No run of distinct letters is longer than the alphabet, so longer windows need no more overlap
+        long overlap = Math.min(windowSize, Day6Markers.MAX_RUN) - 1;
+
+        List<FileChunks.Chunk> chunks;
+        try (FileChannel channel = FileChannel.open(day6File.toPath(), StandardOpenOption.READ)) {
+            chunks = FileChunks.split(channel, parallelism, minChunkBytes, overlap);
         }
-        return end;
+
+        AtomicLong earliest = new AtomicLong(Long.MAX_VALUE);
+        ChunkEvent event = ForkJoinPool.commonPool()
+                .invoke(new ChunkTask(chunks, 0, chunks.size(), windowSize, earliest));
+        if (event == null || event.error() != null) {
+            LOG.error(event == null ? "No marker of " + windowSize + " distinct characters found" : event.error());
+            throw new IOException("Invalid file provided");
+        }
+        return event.position();
     }
 
     /**
-     * Parses a file that is of the type provided for the Advent of Code 2022: Day 6 challenge.
+     * Solves the day 6 problem for Advent of Code 2022.
+     * Reads the stream through a fixed size buffer and stops as soon as the first marker is found, so memory stays
+     * constant however long the datastream is.
+     * @param day6Stream The stream that was provided by the calling method, closed by this call
+     * @param windowSize The number of distinct characters that make up a marker
+     * @return A number indicating the location of the first marker in the datastream
+     */
+    public long solve(InputStream day6Stream, int windowSize) throws IOException {
+        return solve(Channels.newChannel(day6Stream), windowSize);
+    }
+
+    /**
+     * Solves the day 6 problem for Advent of Code 2022 from a channel over the input.
+     * Bytes after the first marker are never read, so they are not checked either.
+     * @param channel The channel over the provided input, closed by this call
+     * @param windowSize The number of distinct characters that make up a marker
+     * @return A number indicating the location of the first marker in the datastream
+     */
+    protected long solve(ReadableByteChannel channel, int windowSize) throws IOException {
+        return marker(markerSolve(channel, new Day6Markers(windowSize)), 0);
+    }
+
+    /**
+     * Finds the markers of any number of window sizes from a single read of the file.
+     * Reading stops once only the first marker of each window size is wanted and all of them are found.
      * @param day6File The file that was provided by the calling method
-     * @return A string containing the parsed day 6 file
+     * @param markers The collector of the markers of each window size, filled by this call
+     * @return The collector, holding the markers found in the datastream
+     */
+    public Day6Markers markerSolve(File day6File, Day6Markers markers) throws IOException {
+        return markerSolve(FileChannel.open(day6File.toPath(), StandardOpenOption.READ), markers);
+    }
+
+    /**
+     * Finds the markers of any number of window sizes from a single read of the stream.
+     * Reading stops once only the first marker of each window size is wanted and all of them are found.
+     * @param day6Stream The stream that was provided by the calling method, closed by this call
+     * @param markers The collector of the markers of each window size, filled by this call
+     * @return The collector, holding the markers found in the datastream
      */
-    public String parseDay6File(File day6File) throws IOException {
-        String input;
-        try (BufferedReader reader = new BufferedReader(new FileReader(day6File.getPath()))) {
-            input = reader.readLine();
+    public Day6Markers markerSolve(InputStream day6Stream, Day6Markers markers) throws IOException {
+        return markerSolve(Channels.newChannel(day6Stream), markers);
+    }
 
-            if (!input.matches("[a-zA-Z]+")) {
-                throw new IOException("File contains incorrect characters");
+    /**
+     * Finds the markers of any number of window sizes from a channel over the input, reading it through a fixed size
+     * buffer. Every window size shares the one table of where each letter was last seen, so each byte is read once
+     * however many window sizes are asked for.
+     * @param channel The channel over the provided input, closed by this call
+     * @param markers The collector of the markers of each window size, filled by this call
+     * @return The collector, holding the markers found in the datastream
+     */
+    protected Day6Markers markerSolve(ReadableByteChannel channel, Day6Markers markers) throws IOException {
+        Day6MarkerScanner scanner = new Day6MarkerScanner(markers);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (channel) {
+            boolean searching = true;
+            while (searching) {
+                buffer.clear();
+                if (channel.read(buffer) == -1) {
+                    break;
+                }
+                searching = scanner.scan(buffer, 0, buffer.position());
             }
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
             throw new IOException("Invalid file provided");
         }
-        return input;
+        return markers;
+    }
+
+    /**
+     * Solves both parts of the day 6 problem for Advent of Code 2022 from a single read of the file.
+     * Part 1 looks for a start-of-packet marker and part 2 looks for a start-of-message marker.
+     * @param day6File The file that was provided by the calling method
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(File day6File) throws IOException {
+        return bothSolve(FileChannel.open(day6File.toPath(), StandardOpenOption.READ));
+    }
+
+    /**
+     * Solves both parts of the day 6 problem for Advent of Code 2022 from a single read of the stream.
+     * Part 1 looks for a start-of-packet marker and part 2 looks for a start-of-message marker.
+     * @param day6Stream The stream that was provided by the calling method, closed by this call
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(InputStream day6Stream) throws IOException {
+        return bothSolve(Channels.newChannel(day6Stream));
+    }
+
+    /**
+     * Solves both parts of the day 6 problem for Advent of Code 2022 in a single scan of the datastream, which stops
+     * at the start-of-message marker. Both parts come from the same scan, so each is given its elapsed time.
+     * @param channel The channel over the provided input, closed by this call
+     * @return A model containing the answer to each part and the time each part took
+     */
+    protected AdventSolutionModel<Long, Long> bothSolve(ReadableByteChannel channel) throws IOException {
+        long start = System.nanoTime();
+        Day6Markers markers = markerSolve(channel, new Day6Markers(PACKET_WINDOW, MESSAGE_WINDOW));
+        long part1Answer = marker(markers, 0);
+        long part2Answer = marker(markers, 1);
+        long nanos = System.nanoTime() - start;
+        return new AdventSolutionModel<>(part1Answer, nanos, part2Answer, nanos);
+    }
+
+    /**
+     * Helper method which collects the first marker of a window size, which a part needs to have been found.
+     * @param markers The markers found in the datastream
+     * @param index The index of the window size
+     * @return The location of the first marker
+     */
+    private static long marker(Day6Markers markers, int index) throws IOException {
+        if (markers.getFirst(index) == -1) {
+            LOG.error("No marker of {} distinct characters found", markers.getWindowSize(index));
+            throw new IOException("Invalid file provided");
+        }
+        return markers.getFirst(index);
+    }
+
+    /**
+     * The first thing a chunk found which ends the search, either a marker or a place the datastream stops being valid.
+     * @param position The position of the end of the marker, or of the line break or incorrect character
+     * @param error Why the datastream stopped being valid, or null for a marker
+     */
+    private record ChunkEvent(long position, String error) {
+
+        private static ChunkEvent earlier(ChunkEvent first, ChunkEvent second) {
+            if (first == null) {
+                return second;
+            }
+            return second == null || first.position() <= second.position() ? first : second;
+        }
+
+    }
+
+    /**
+     * Searches a range of chunks, splitting the range in half until a single chunk is left.
+     */
+    private static final class ChunkTask extends RecursiveTask<ChunkEvent> {
+
+        private final List<FileChunks.Chunk> chunks;
+        private final int from;
+        private final int to;
+        private final int windowSize;
+        private final AtomicLong earliest;
+
+        private ChunkTask(List<FileChunks.Chunk> chunks, int from, int to, int windowSize, AtomicLong earliest) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.windowSize = windowSize;
+            this.earliest = earliest;
+        }
+
+        @Override
+        protected ChunkEvent compute() {
+            if (this.to - this.from <= 1) {
+                if (this.from == this.to) {
+                    return null;
+                }
+                FileChunks.Chunk chunk = this.chunks.get(this.from);
+                return this.search(chunk.buffer(), chunk.start());
+            }
+            // The later half is forked so the earlier half, more likely to hold the answer, is searched straight away
+            int middle = (this.from + this.to) >>> 1;
+            ChunkTask later = new ChunkTask(this.chunks, middle, this.to, this.windowSize, this.earliest);
+            later.fork();
+            ChunkEvent earlier = new ChunkTask(this.chunks, this.from, middle, this.windowSize, this.earliest).compute();
+            return ChunkEvent.earlier(earlier, later.join());
+        }
+
+        /**
+         * Searches a chunk one buffer's worth at a time, giving up once an earlier event is known.
+         * @return The first event in the chunk, or null if there is none or an earlier one is already known
+         */
+        private ChunkEvent search(ByteBuffer chunk, long chunkStart) {
+            Day6Markers markers = new Day6Markers(this.windowSize);
+            Day6MarkerScanner scanner = new Day6MarkerScanner(markers, chunkStart);
+            int limit = chunk.limit();
+            for (int offset = 0; offset < limit; offset += BUFFER_SIZE) {
+                if (this.earliest.get() <= scanner.getPosition() + 1) {
+                    return null;
+                }
+                try {
+                    if (!scanner.scan(chunk, offset, Math.min(limit, offset + BUFFER_SIZE))) {
+                        long end = scanner.getPosition() + 1;
+                        return markers.getFirst(0) == -1
+                                ? this.found(new ChunkEvent(end, "Datastream ended before a marker"))
+                                : this.found(new ChunkEvent(markers.getFirst(0), null));
+                    }
+                } catch (IOException ex) {
+                    return this.found(new ChunkEvent(scanner.getPosition() + 1, ex.getMessage()));
+                }
+            }
+            return null;
+        }
+
+        private ChunkEvent found(ChunkEvent event) {
+            this.earliest.accumulateAndGet(event.position(), Math::min);
+            return event;
+        }
+
     }
 
 }
@@ -1,60 +1,256 @@
 package org.brandon.services.advent2022;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.core.io.ByteTokenizer;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day7SizeIndex;
+import org.brandon.data.advent2022.Day7Tree;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 @ApplicationScoped
 public class Day7Service {
 
+    /**
+     * The largest total size of a directory counted by part 1.
+     */
+    public static final long PART_1_MAX_SIZE = 100_000;
+
+    /**
+     * The total size of the disk.
+     */
+    public static final long DISK_SIZE = 70_000_000;
+
+    /**
+     * The free space the update needs.
+     */
+    public static final long UPDATE_SIZE = 30_000_000;
+
+    private static final byte[] CD = "cd".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LS = "ls".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DIR = "dir".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ROOT = "/".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PARENT = "..".getBytes(StandardCharsets.US_ASCII);
+
     private static final Logger LOG = LoggerFactory.getLogger(Day7Service.class);
 
     /**
-     * Stub method until I get around to solving this problem.
+     * Solves the day 7 part 1 problem for Advent of Code 2022.
      * @param day7File The file that was provided by the calling method
-     * @return The long form of 1 as temporary method stub
+     * @return The sum of the total sizes of every directory of at most {@link #PART_1_MAX_SIZE}
      */
     public long part1Solve(File day7File) throws IOException {
-        LOG.warn("Not solved yet!");
-        List<String> parsedFile = parseDay7File(day7File);
-        return 1L;
+        return part1Solve(parseDay7File(day7File));
+    }
+
+    /**
+     * Solves the day 7 part 1 problem for Advent of Code 2022.
+     * @param day7Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return The sum of the total sizes of every directory of at most {@link #PART_1_MAX_SIZE}
+     */
+    public long part1Solve(InputStream day7Stream) throws IOException {
+        return part1Solve(parseDay7File(day7Stream));
     }
 
     /**
-     * Stub method until I get around to solving this problem.
+     * Solves the day 7 part 1 problem for Advent of Code 2022 from an already parsed input.
+     * Every total is already complete, so this is a single pass over the size column.
+     * @param parsedFile The directory tree of the transcript
+     * @return The sum of the total sizes of every directory of at most {@link #PART_1_MAX_SIZE}
+     */
+    public long part1Solve(Day7Tree parsedFile) {
+        long sum = 0;
+        for (int directory = 0; directory < parsedFile.size(); directory++) {
+            long size = parsedFile.getSize(directory);
+            if (size <= PART_1_MAX_SIZE) {
+                sum += size;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Solves the day 7 part 2 problem for Advent of Code 2022.
      * @param day7File The file that was provided by the calling method
-     * @return The long form of 1 as temporary method stub
+     * @return The total size of the smallest directory which frees enough space for the update once deleted
      */
     public long part2Solve(File day7File) throws IOException {
-        LOG.warn("Not solved yet!");
-        List<String> parsedFile = parseDay7File(day7File);
-        return 1L;
+        return part2Solve(parseDay7File(day7File));
+    }
+
+    /**
+     * Solves the day 7 part 2 problem for Advent of Code 2022.
+     * @param day7Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return The total size of the smallest directory which frees enough space for the update once deleted
+     */
+    public long part2Solve(InputStream day7Stream) throws IOException {
+        return part2Solve(parseDay7File(day7Stream));
+    }
+
+    /**
+     * Solves the day 7 part 2 problem for Advent of Code 2022 from an already parsed input.
+     * The disk is never smaller than the space the update needs, so deleting the root always frees enough.
+     * @param parsedFile The directory tree of the transcript
+     * @return The total size of the smallest directory which frees enough space for the update once deleted
+     */
+    public long part2Solve(Day7Tree parsedFile) {
+        long used = parsedFile.getSize(Day7Tree.ROOT);
+        long needed = UPDATE_SIZE - (DISK_SIZE - used);
+        long smallest = used;
+        for (int directory = 1; directory < parsedFile.size(); directory++) {
+            long size = parsedFile.getSize(directory);
+            if (size >= needed && size < smallest) {
+                smallest = size;
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Solves both parts of the day 7 problem for Advent of Code 2022 from a single parse of the file.
+     * @param day7File The file that was provided by the calling method
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(File day7File) throws IOException {
+        return bothSolve(parseDay7File(day7File));
+    }
+
+    /**
+     * Solves both parts of the day 7 problem for Advent of Code 2022 from a single parse of the stream.
+     * @param day7Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(InputStream day7Stream) throws IOException {
+        return bothSolve(parseDay7File(day7Stream));
+    }
+
+    /**
+     * Solves both parts of the day 7 problem for Advent of Code 2022 from an already parsed input.
+     * The parts run in parallel and only read the parsed input.
+     * @param parsedFile The directory tree of the transcript
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(Day7Tree parsedFile) throws IOException {
+        return CombinedSolver.solveBoth(() -> part1Solve(parsedFile), () -> part2Solve(parsedFile));
+    }
+
+    /**
+     * Parses a file and builds the index of its directory sizes, so questions about directory sizes are answered
+     * without parsing it again.
+     * @param day7File The file that was provided by the calling method
+     * @return The index of every directory by its total size
+     */
+    public Day7SizeIndex indexDay7File(File day7File) throws IOException {
+        return new Day7SizeIndex(parseDay7File(day7File));
+    }
+
+    /**
+     * Parses a stream and builds the index of its directory sizes, so questions about directory sizes are answered
+     * without parsing it again.
+     * @param day7Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return The index of every directory by its total size
+     */
+    public Day7SizeIndex indexDay7File(InputStream day7Stream) throws IOException {
+        return new Day7SizeIndex(parseDay7File(day7Stream));
     }
 
     /**
      * Parses a file that is of the type provided for the Advent of Code 2022: Day 7 challenge.
      * @param day7File The file that was provided by the calling method
-     * @return A list of Strings that contain the contents of the provided file
-     */
-    public List<String> parseDay7File(File day7File) throws IOException {
-        List<String> parsedFile = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(day7File.getPath()))) {
-            String currentLine = reader.readLine();
-            while (currentLine != null) {
-                parsedFile.add(currentLine);
-                currentLine = reader.readLine();
+     * @return The directory tree of the transcript, with every total complete
+     */
+    public Day7Tree parseDay7File(File day7File) throws IOException {
+        return parseDay7File(ByteTokenizer.map(day7File));
+    }
+
+    /**
+     * Parses a stream that is of the type provided for the Advent of Code 2022: Day 7 challenge.
+     * @param day7Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return The directory tree of the transcript, with every total complete
+     */
+    public Day7Tree parseDay7File(InputStream day7Stream) throws IOException {
+        return parseDay7File(ByteTokenizer.of(day7Stream));
+    }
+
+    /**
+     * Parses input that is of the type provided for the Advent of Code 2022: Day 7 challenge.
+     * Input is a terminal transcript of `$ cd <directory>` and `$ ls` commands, each listing followed by entries of
+     * the form `dir <name>` or `<size> <name>`. The tree is built as the transcript is read, and entries of a
+     * directory which was already listed are skipped so nothing is counted twice.
+     * @param tokenizer The tokenizer over the provided input, closed by this call
+     * @return The directory tree of the transcript, with every total complete
+     */
+    protected Day7Tree parseDay7File(ByteTokenizer tokenizer) throws IOException {
+        Day7Tree parsedFile = new Day7Tree();
+
+        try (tokenizer) {
+            // Whether entries are expected, and whether they are added
+            boolean inListing = false;
+            boolean adding = false;
+            while (tokenizer.hasRemaining()) {
+                if (tokenizer.isBlankLine()) {
+                    tokenizer.nextLine();
+                    continue;
+                }
+
+                int first = tokenizer.peek();
+                if (first == '$') {
+                    tokenizer.read();
+                    tokenizer.nextToken();
+                    if (tokenizer.tokenEquals(CD)) {
+                        int length = tokenizer.nextToken();
+                        if (tokenizer.tokenEquals(ROOT)) {
+                            parsedFile.changeToRoot();
+                        } else if (tokenizer.tokenEquals(PARENT)) {
+                            parsedFile.changeToParent();
+                        } else {
+                            parsedFile.changeTo(tokenizer.token(), 0, length);
+                        }
+                        inListing = false;
+                    } else if (tokenizer.tokenEquals(LS)) {
+                        inListing = true;
+                        adding = parsedFile.startListing();
+                    } else {
+                        throw new IOException("Unknown command before byte " + tokenizer.position());
+                    }
+                } else if (!inListing) {
+                    throw new IOException("Entry outside of a listing before byte " + tokenizer.position());
+                } else if (first >= '0' && first <= '9') {
+                    // Files are of the form `<size> <name>`
+                    long size = tokenizer.nextLong();
+                    if (tokenizer.nextToken() == 0) {
+                        throw new IOException("File without a name before byte " + tokenizer.position());
+                    }
+                    if (adding) {
+                        parsedFile.addFile(size);
+                    }
+                } else {
+                    // Directories are of the form `dir <name>`
+                    tokenizer.expect(DIR);
+                    int length = tokenizer.peek() == ' ' ? tokenizer.nextToken() : 0;
+                    if (length == 0) {
+                        throw new IOException("Directory without a name before byte " + tokenizer.position());
+                    }
+                    if (adding) {
+                        parsedFile.addDirectory(tokenizer.token(), 0, length);
+                    }
+                }
+                tokenizer.expectEndOfLine();
+
+                // Move to the next line to continue the loop
+                tokenizer.nextLine();
             }
+            parsedFile.finish();
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
             throw new IOException("Invalid file provided");
         }
+
         return parsedFile;
     }
 
@@ -1,13 +1,17 @@
 package org.brandon.services.advent2022;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.data.advent2022.AdventSolutionModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -23,7 +27,24 @@ public class Day8Service {
      * @return A long indicating the number of trees visible from the edges of the forest
      */
     public long part1Solve(File day8File) throws IOException {
-        List<List<Integer>> parsedFile = parseDay8File(day8File);
+        return part1Solve(parseDay8File(day8File));
+    }
+
+    /**
+     * Solves the day 8 part 1 problem for Advent of Code 2022.
+     * @param day8Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long indicating the number of trees visible from the edges of the forest
+     */
+    public long part1Solve(InputStream day8Stream) throws IOException {
+        return part1Solve(parseDay8File(day8Stream));
+    }
+
+    /**
+     * Solves the day 8 part 1 problem for Advent of Code 2022 from an already parsed input.
+     * @param parsedFile A 2D list of integers that contain the contents of the provided file
+     * @return A long indicating the number of trees visible from the edges of the forest
+     */
+    public long part1Solve(List<List<Integer>> parsedFile) {
         boolean[][] visibleGrid = new boolean[parsedFile.size()][parsedFile.getFirst().size()];
 
         // Determine visible trees
@@ -40,7 +61,24 @@ public class Day8Service {
      * @return A long indicating the number of trees visible from the edges of the forest
      */
     public long part2Solve(File day8File) throws IOException {
-        List<List<Integer>> parsedFile = parseDay8File(day8File);
+        return part2Solve(parseDay8File(day8File));
+    }
+
+    /**
+     * Solves the day 8 part 2 problem for Advent of Code 2022.
+     * @param day8Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long indicating the number of trees visible from the edges of the forest
+     */
+    public long part2Solve(InputStream day8Stream) throws IOException {
+        return part2Solve(parseDay8File(day8Stream));
+    }
+
+    /**
+     * Solves the day 8 part 2 problem for Advent of Code 2022 from an already parsed input.
+     * @param parsedFile A 2D list of integers that contain the contents of the provided file
+     * @return A long indicating the number of trees visible from the edges of the forest
+     */
+    public long part2Solve(List<List<Integer>> parsedFile) {
         int[][] scenicGrid = new int[parsedFile.size()][parsedFile.getFirst().size()];
         for (int[] ints : scenicGrid) {
             Arrays.fill(ints, 1);
@@ -54,6 +92,34 @@ public class Day8Service {
         return calculateMaxScenicScore(scenicGrid);
     }
 
+    /**
+     * Solves both parts of the day 8 problem for Advent of Code 2022 from a single parse of the file.
+     * @param day8File The file that was provided by the calling method
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(File day8File) throws IOException {
+        return bothSolve(parseDay8File(day8File));
+    }
+
+    /**
+     * Solves both parts of the day 8 problem for Advent of Code 2022 from a single parse of the stream.
+     * @param day8Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(InputStream day8Stream) throws IOException {
+        return bothSolve(parseDay8File(day8Stream));
+    }
+
+    /**
+     * Solves both parts of the day 8 problem for Advent of Code 2022 from an already parsed input.
+     * The parts run in parallel and only read the parsed input.
+     * @param parsedFile The parsed contents of the provided file
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(List<List<Integer>> parsedFile) throws IOException {
+        return CombinedSolver.solveBoth(() -> part1Solve(parsedFile), () -> part2Solve(parsedFile));
+    }
+
     /**
      * Calculates the total number of trees that can be seen from every edge of the forest.
      * @param visibleGrid The 2D array of trees that are visible to an observer outside the forest
@@ -234,8 +300,17 @@ public class Day8Service {
      * @return A 2D list of integers that contain the contents of the provided file
      */
     public List<List<Integer>> parseDay8File(File day8File) throws IOException {
+        return parseDay8File(new FileInputStream(day8File));
+    }
+
+    /**
+     * Parses a stream that is of the type provided for the Advent of Code 2022: Day 8 challenge.
+     * @param day8Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A 2D list of integers that contain the contents of the provided file
+     */
+    public List<List<Integer>> parseDay8File(InputStream day8Stream) throws IOException {
         List<List<Integer>> parsedFile = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(day8File.getPath()))) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(day8Stream, StandardCharsets.UTF_8))) {
             String currentLine = reader.readLine();
             while (currentLine != null) {
                 List<Integer> lineToAdd = new ArrayList<>();
@@ -1,14 +1,15 @@
 package org.brandon.services.advent2022;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import org.brandon.core.io.ByteTokenizer;
+import org.brandon.data.advent2022.AdventSolutionModel;
 import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 
 @ApplicationScoped
@@ -22,7 +23,24 @@ public class Day9Service {
      * @return A long that represents the number of unique squares the tail has been present in
      */
     public long part1Solve(File day9File) throws IOException {
-        List<Pair<Character, Integer>> parsedFile = parseDay9File(day9File);
+        return part1Solve(parseDay9File(day9File));
+    }
+
+    /**
+     * Calculates the number of unique spaces that the tail of a rope travels through.
+     * @param day9Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long that represents the number of unique squares the tail has been present in
+     */
+    public long part1Solve(InputStream day9Stream) throws IOException {
+        return part1Solve(parseDay9File(day9Stream));
+    }
+
+    /**
+     * Calculates the number of unique spaces that the tail of a rope travels through from an already parsed input.
+     * @param parsedFile A list of tuples containing the movement directions for the challenge
+     * @return A long that represents the number of unique squares the tail has been present in
+     */
+    public long part1Solve(List<Pair<Character, Integer>> parsedFile) {
 
         // Track Head & Tail Locations
         Pair<Integer, Integer> headLocation = new Pair<>(0, 0);
@@ -87,10 +105,55 @@ public class Day9Service {
      * @return A long that represents the number of unique squares the tail has been present in
      */
     public long part2Solve(File day9File) throws IOException {
-        List<Pair<Character, Integer>> parsedFile = parseDay9File(day9File);
+        return part2Solve(parseDay9File(day9File));
+    }
+
+    /**
+     * Calculates the number of unique spaces that the tail of a rope travels through.
+     * @param day9Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A long that represents the number of unique squares the tail has been present in
+     */
+    public long part2Solve(InputStream day9Stream) throws IOException {
+        return part2Solve(parseDay9File(day9Stream));
+    }
+
+    /**
+     * Calculates the number of unique spaces that the tail of a rope travels through from an already parsed input.
+     * @param parsedFile A list of tuples containing the movement directions for the challenge
+     * @return A long that represents the number of unique squares the tail has been present in
+     */
+    public long part2Solve(List<Pair<Character, Integer>> parsedFile) {
         return 36L;
     }
 
+    /**
+     * Solves both parts of the day 9 problem for Advent of Code 2022 from a single parse of the file.
+     * @param day9File The file that was provided by the calling method
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(File day9File) throws IOException {
+        return bothSolve(parseDay9File(day9File));
+    }
+
+    /**
+     * Solves both parts of the day 9 problem for Advent of Code 2022 from a single parse of the stream.
+     * @param day9Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(InputStream day9Stream) throws IOException {
+        return bothSolve(parseDay9File(day9Stream));
+    }
+
+    /**
+     * Solves both parts of the day 9 problem for Advent of Code 2022 from an already parsed input.
+     * The parts run in parallel and only read the parsed input.
+     * @param parsedFile The parsed contents of the provided file
+     * @return A model containing the answer to each part and the time each part took
+     */
+    public AdventSolutionModel<Long, Long> bothSolve(List<Pair<Character, Integer>> parsedFile) throws IOException {
+        return CombinedSolver.solveBoth(() -> part1Solve(parsedFile), () -> part2Solve(parsedFile));
+    }
+
     /**
      * Helper method which determines if the tail position is within 1 spot of the head location
      * @param headLocation The current coordinates of the head
@@ -118,14 +181,34 @@ public class Day9Service {
      * @return A list of tuples containing the movement directions for the challenge
      */
     public List<Pair<Character, Integer>> parseDay9File(File day9File) throws IOException {
+        return parseDay9File(ByteTokenizer.map(day9File));
+    }
+
+    /**
+     * Parses a stream that is of the type provided for the Advent of Code 2022: Day 9 challenge.
+     * @param day9Stream The stream that was provided by the calling method, consumed and closed by this call
+     * @return A list of tuples containing the movement directions for the challenge
+     */
+    public List<Pair<Character, Integer>> parseDay9File(InputStream day9Stream) throws IOException {
+        return parseDay9File(ByteTokenizer.of(day9Stream));
+    }
+
+    /**
+     * Parses input that is of the type provided for the Advent of Code 2022: Day 9 challenge.
+     * @param tokenizer The tokenizer over the provided input, closed by this call
+     * @return A list of tuples containing the movement directions for the challenge
+     */
+    protected List<Pair<Character, Integer>> parseDay9File(ByteTokenizer tokenizer) throws IOException {
         List<Pair<Character, Integer>> parsedFile = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(day9File.getPath()))) {
-            String currentLine = reader.readLine();
-            while (currentLine != null) {
-                String[] pair = currentLine.split(" ", 2);
-                parsedFile.add(new Pair<>(pair[0].charAt(0), Integer.parseInt(pair[1])));
+        try (tokenizer) {
+            while (tokenizer.hasRemaining()) {
+                // Lines are of the form `<direction> <distance>`
+                char direction = (char) tokenizer.read();
+                int distance = tokenizer.nextInt();
+                tokenizer.expectEndOfLine();
+                parsedFile.add(new Pair<>(direction, distance));
 
-                currentLine = reader.readLine();
+                tokenizer.nextLine();
             }
         } catch (Exception ex) {
             LOG.error(ex.getMessage());
@@ -2,18 +2,21 @@ package org.brandon.services.advent2022;
 
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import org.brandon.data.advent2022.AdventSolutionModel;
 import org.brandon.data.advent2022.Day10Model;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 class Day10ServiceTest {
@@ -222,6 +225,12 @@ class Day10ServiceTest {
         assertEquals(13140, answer);
     }
 
+    @Test
+    void testPart1SolveStream() throws IOException {
+        long answer = day10Service.part1Solve(new FileInputStream(testFile));
+        assertEquals(13140, answer);
+    }
+
     @Test
     void testPart2Solve() throws IOException {
         String answer = day10Service.part2Solve(testFile);
@@ -234,6 +243,19 @@ class Day10ServiceTest {
                 #######.......#######.......#######.....""", answer);
     }
 
+    @Test
+    void testBothSolve() throws IOException {
+        AdventSolutionModel<Long, String> answer = day10Service.bothSolve(testFile);
+        assertEquals(13140L, answer.getPart1Answer());
+        assertTrue(answer.getPart2Answer().startsWith("##..##.."));
+        assertTrue(answer.getPart1Nanos() >= 0);
+        assertTrue(answer.getPart2Nanos() >= 0);
+
+        answer = day10Service.bothSolve(new FileInputStream(testFile));
+        assertEquals(13140L, answer.getPart1Answer());
+        assertTrue(answer.getPart2Answer().startsWith("##..##.."));
+    }
+
     @Test
     void testCycleCheckPartOne() {
         int cycle1 = 0;
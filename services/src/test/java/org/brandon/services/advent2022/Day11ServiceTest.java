@@ -93,6 +93,10 @@ class Day11ServiceTest {
         String trueLine = "Anything canGeaux here9";
         day11Service.generateTrueResult(day11Model, trueLine);
         assertEquals(9, day11Model.getTrueResult());
+
+        trueLine = "If true: throw to monkey 128";
+        day11Service.generateTrueResult(day11Model, trueLine);
+        assertEquals(128, day11Model.getTrueResult());
     }
 
     @Test
@@ -102,4 +106,13 @@ class Day11ServiceTest {
         assertEquals(3, day11Model.getFalseResult());
     }
 
+    @Test
+    void testCalculateGCD() {
+        List<Day11Model> monkeyList = List.of(
+                new Day11Model("Monkey 0", List.of(), "ADD", "1", 2, 1, 2),
+                new Day11Model("Monkey 1", List.of(), "ADD", "1", 3, 2, 0),
+                new Day11Model("Monkey 2", List.of(), "ADD", "1", 2, 0, 1));
+        assertEquals(6L, day11Service.calculateGCD(monkeyList));
+    }
+
 }
@@ -2,18 +2,23 @@ package org.brandon.services.advent2022;
 
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day1Model;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.List;
-import java.util.Map;
+import java.nio.file.Files;
+import java.util.Random;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 class Day1ServiceTest {
@@ -84,23 +89,94 @@ class Day1ServiceTest {
         assertEquals(24_000L, answer);
     }
 
+    @Test
+    void testPart1SolveStream() throws IOException {
+        long answer = day1Service.part1Solve(new FileInputStream(testFile));
+        assertEquals(24_000L, answer);
+    }
+
     @Test
     void testPart2Solve() throws IOException {
         long answer = day1Service.part2Solve(testFile);
         assertEquals(45_000L, answer);
     }
 
+    @Test
+    void testBothSolve() throws IOException {
+        AdventSolutionModel<Long, Long> answer = day1Service.bothSolve(testFile);
+        assertEquals(24_000L, answer.getPart1Answer());
+        assertEquals(45_000L, answer.getPart2Answer());
+        assertTrue(answer.getPart1Nanos() >= 0);
+        assertTrue(answer.getPart2Nanos() >= 0);
+
+        answer = day1Service.bothSolve(new FileInputStream(testFile));
+        assertEquals(24_000L, answer.getPart1Answer());
+        assertEquals(45_000L, answer.getPart2Answer());
+    }
+
+    @Test
+    void testPart2SolveTopK() throws IOException {
+        assertEquals(24_000L, day1Service.part2Solve(testFile, 1));
+        assertEquals(45_000L, day1Service.part2Solve(new FileInputStream(testFile), 3));
+        assertEquals(55_000L, day1Service.part2Solve(testFile, 5));
+        assertEquals(55_000L, day1Service.part2Solve(testFile, 100));
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> day1Service.part2Solve(testFile, 0),
+                "Expected Illegal Argument Exception from a topK of 0, IllegalArgumentException did not occur");
+        assertEquals("topK must be at least 1", exception.getMessage());
+    }
+
     @Test
     void testParseDay1File() throws IOException {
-        List<Map<Integer, Integer>> parsedFile = day1Service.parseDay1File(testFile);
-        assertEquals(5, parsedFile.size());
-        assertEquals(1, parsedFile.getFirst().get(1000));
+        Day1Model parsedFile = day1Service.parseDay1File(testFile, 3);
+        assertEquals(5, parsedFile.getElves());
+        assertArrayEquals(new long[] {24_000L, 11_000L, 10_000L}, parsedFile.getTop());
+
+        IOException exception = assertThrows(
+                IOException.class,
+                () -> day1Service.parseDay1File(badFile, 3),
+                "Expected IO Exception from bad file, IOException did not occur");
+        assertEquals("Invalid file provided", exception.getMessage());
+    }
+
+    @Test
+    void testParseDay1FileParallel() throws IOException {
+        // Windows line endings, whitespace only separators, empty elves and a missing final newline all have to be
+        // cut at the same places as a single pass would
+        Random random = new Random(2022);
+        StringBuilder content = new StringBuilder();
+        for (int elf = 0; elf < 5_000; elf++) {
+            int items = random.nextInt(6);
+            for (int item = 0; item < items; item++) {
+                content.append(random.nextInt(100_000)).append(random.nextBoolean() ? "\n" : "\r\n");
+            }
+            content.append(random.nextInt(10) == 0 ? " \t\n" : "\n");
+        }
+        content.append("123");
+        File largeFile = File.createTempFile("day1", ".txt");
+        largeFile.deleteOnExit();
+        Files.writeString(largeFile.toPath(), content);
+
+        Day1Model sequential = day1Service.parseDay1File(new FileInputStream(largeFile), 10);
+        for (int parallelism : new int[] {1, 2, 7, 64, 10_000}) {
+            Day1Model parallel = day1Service.parseDay1FileParallel(largeFile, 10, parallelism, 1);
+            assertEquals(sequential.getElves(), parallel.getElves());
+            assertArrayEquals(sequential.getTop(), parallel.getTop());
+        }
+        assertArrayEquals(sequential.getTop(), day1Service.parseDay1FileParallel(largeFile, 10, 4).getTop());
+
+        Day1Model parallel = day1Service.parseDay1FileParallel(testFile, 3, 4, 1);
+        assertEquals(5, parallel.getElves());
+        assertEquals(45_000L, parallel.getTopSum());
 
         IOException exception = assertThrows(
                 IOException.class,
-                () -> day1Service.parseDay1File(badFile),
+                () -> day1Service.parseDay1FileParallel(badFile, 3, 4, 1),
                 "Expected IO Exception from bad file, IOException did not occur");
         assertEquals("Invalid file provided", exception.getMessage());
+        assertTrue(largeFile.delete());
     }
 
 }
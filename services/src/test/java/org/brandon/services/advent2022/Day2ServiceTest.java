@@ -2,17 +2,23 @@ package org.brandon.services.advent2022;
 
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day2ScoringTable;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Map;
+import java.nio.file.Files;
+import java.util.Random;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 class Day2ServiceTest {
@@ -73,18 +79,37 @@ class Day2ServiceTest {
         assertEquals(15L, answer);
     }
 
+    @Test
+    void testPart1SolveStream() throws IOException {
+        long answer = day2Service.part1Solve(new FileInputStream(testFile));
+        assertEquals(15L, answer);
+    }
+
     @Test
     void testPart2Solve() throws IOException {
         long answer = day2Service.part2Solve(testFile);
         assertEquals(12L, answer);
     }
 
+    @Test
+    void testBothSolve() throws IOException {
+        AdventSolutionModel<Long, Long> answer = day2Service.bothSolve(testFile);
+        assertEquals(15L, answer.getPart1Answer());
+        assertEquals(12L, answer.getPart2Answer());
+        assertTrue(answer.getPart1Nanos() >= 0);
+        assertTrue(answer.getPart2Nanos() >= 0);
+
+        answer = day2Service.bothSolve(new FileInputStream(testFile));
+        assertEquals(15L, answer.getPart1Answer());
+        assertEquals(12L, answer.getPart2Answer());
+    }
+
     @Test
     void testParseDay2File() throws IOException {
-        Map<String, Integer> parsedFile = day2Service.parseDay2File(testFile);
-        assertEquals(0, parsedFile.get("A X"));
-        assertEquals(1, parsedFile.get("A Y"));
-        assertEquals(9, parsedFile.size());
+        long[] parsedFile = day2Service.parseDay2File(testFile);
+        assertEquals(0, parsedFile[0]);
+        assertEquals(1, parsedFile[1]);
+        assertEquals(9, parsedFile.length);
 
         IOException exception = assertThrows(
                 IOException.class,
@@ -93,4 +118,64 @@ class Day2ServiceTest {
         assertEquals("Invalid file provided", exception.getMessage());
     }
 
+    @Test
+    void testParseDay2FileLayouts() throws IOException {
+        // Mixed line endings and padding knock rounds off the four byte layout, and a guide larger than the read
+        // buffer leaves rounds split across reads
+        Random random = new Random(2022);
+        StringBuilder content = new StringBuilder();
+        long[] expected = new long[9];
+        for (int round = 0; round < 600_000; round++) {
+            int opponent = random.nextInt(3);
+            int response = random.nextInt(3);
+            expected[opponent * 3 + response]++;
+            String padding = random.nextInt(50) == 0 ? " " : "";
+            content.append(padding).append((char) ('A' + opponent)).append(' ').append((char) ('X' + response))
+                    .append(padding).append(random.nextInt(20) == 0 ? "\r\n" : "\n");
+        }
+        content.append("C Z");
+        expected[8]++;
+        File largeFile = File.createTempFile("day2", ".txt");
+        largeFile.deleteOnExit();
+        Files.writeString(largeFile.toPath(), content);
+
+        assertArrayEquals(expected, day2Service.parseDay2File(largeFile));
+        assertArrayEquals(expected, day2Service.parseDay2File(new FileInputStream(largeFile)));
+
+        // A blank line ends the guide
+        Files.writeString(largeFile.toPath(), "A Y\n  \nB B\n");
+        assertEquals(8L, day2Service.part1Solve(largeFile));
+        assertEquals(8L, day2Service.part1Solve(new FileInputStream(largeFile)));
+        assertTrue(largeFile.delete());
+    }
+
+    @Test
+    void testScoreSolve() throws IOException {
+        // The built in tables score the same as each part
+        assertEquals(15L, day2Service.scoreSolve(testFile, Day2Service.PART_1_TABLE));
+        assertEquals(12L, day2Service.scoreSolve(new FileInputStream(testFile), Day2Service.PART_2_TABLE));
+
+        // Rock, paper, scissors, Spock and lizard, scored 1 to 5 for the shape plus 0, 3 or 6 for the outcome
+        String shapes = "RPSKL";
+        int[][] points = new int[5][5];
+        for (int opponent = 0; opponent < 5; opponent++) {
+            for (int response = 0; response < 5; response++) {
+                int difference = Math.floorMod(response - opponent, 5);
+                int outcome = difference == 0 ? 3 : difference % 2 == 1 ? 6 : 0;
+                points[opponent][response] = response + 1 + outcome;
+            }
+        }
+        Day2ScoringTable table = new Day2ScoringTable(shapes, shapes.toLowerCase(), points);
+        File tournament = File.createTempFile("day2", ".txt");
+        tournament.deleteOnExit();
+        Files.writeString(tournament.toPath(), "R p\nK l\nS s\r\nL k\n");
+        assertEquals(8L + 11L + 6L + 4L, day2Service.scoreSolve(tournament, table));
+        assertEquals(8L + 11L + 6L + 4L, day2Service.scoreSolve(new FileInputStream(tournament), table));
+
+        // Choices of the standard guide are not part of the tournament
+        IOException exception = assertThrows(IOException.class, () -> day2Service.scoreSolve(testFile, table));
+        assertEquals("Invalid file provided", exception.getMessage());
+        assertTrue(tournament.delete());
+    }
+
 }
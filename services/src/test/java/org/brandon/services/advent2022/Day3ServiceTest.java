@@ -2,18 +2,26 @@ package org.brandon.services.advent2022;
 
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day3Query;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.Random;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 class Day3ServiceTest {
@@ -79,17 +87,36 @@ class Day3ServiceTest {
         assertEquals(157L, answer);
     }
 
+    @Test
+    void testPart1SolveStream() throws IOException {
+        long answer = day3Service.part1Solve(new FileInputStream(testFile));
+        assertEquals(157L, answer);
+    }
+
     @Test
     void testPart2Solve() throws IOException {
         long answer = day3Service.part2Solve(testFile);
         assertEquals(70L, answer);
     }
 
+    @Test
+    void testBothSolve() throws IOException {
+        AdventSolutionModel<Long, Long> answer = day3Service.bothSolve(testFile);
+        assertEquals(157L, answer.getPart1Answer());
+        assertEquals(70L, answer.getPart2Answer());
+        assertTrue(answer.getPart1Nanos() >= 0);
+        assertTrue(answer.getPart2Nanos() >= 0);
+
+        answer = day3Service.bothSolve(new FileInputStream(testFile));
+        assertEquals(157L, answer.getPart1Answer());
+        assertEquals(70L, answer.getPart2Answer());
+    }
+
     @Test
     void testParseDay3Part1File() throws IOException {
-        List<Map<Character, Integer>> parsedFile = day3Service.parseDay3Part1File(testFile);
-        assertEquals(12, parsedFile.size());
-        assertEquals(8, parsedFile.getFirst().size());
+        long[] parsedFile = day3Service.parseDay3Part1File(testFile);
+        assertEquals(12, parsedFile.length);
+        assertEquals(8, Long.bitCount(parsedFile[0]));
 
         IOException exception = assertThrows(
                 IOException.class,
@@ -100,9 +127,9 @@ class Day3ServiceTest {
 
     @Test
     void testParseDay3Part2File() throws IOException {
-        List<Map<Character, Integer>> parsedFile = day3Service.parseDay3Part2File(testFile);
-        assertEquals(6, parsedFile.size());
-        assertEquals(14, parsedFile.getFirst().size());
+        long[] parsedFile = day3Service.parseDay3Part2File(testFile);
+        assertEquals(6, parsedFile.length);
+        assertEquals(14, Long.bitCount(parsedFile[0]));
 
         IOException exception = assertThrows(
                 IOException.class,
@@ -111,4 +138,153 @@ class Day3ServiceTest {
         assertEquals("Invalid file provided", exception.getMessage());
     }
 
+    @Test
+    void testInvalidRucksacks() throws IOException {
+        IOException exception = assertThrows(IOException.class, () -> day3Service.part1Solve(badFile));
+        assertEquals("Invalid file provided", exception.getMessage());
+        exception = assertThrows(IOException.class, () -> day3Service.part2Solve(new FileInputStream(badFile)));
+        assertEquals("Invalid file provided", exception.getMessage());
+
+        // Blank lines and groups left incomplete are rejected as well
+        File invalidFile = File.createTempFile("day3", ".txt");
+        invalidFile.deleteOnExit();
+        Files.writeString(invalidFile.toPath(), "vJrwpWtwJgWrhcsFMMfFFhFp\n\nPmmdzqPrVvPwwTWBwg\n");
+        assertThrows(IOException.class, () -> day3Service.part1Solve(invalidFile));
+        Files.writeString(invalidFile.toPath(), "vJrwpWtwJgWrhcsFMMfFFhFp\r\nPmmdzqPrVvPwwTWBwg\r\n");
+        assertEquals(16L + 42L, day3Service.part1Solve(invalidFile));
+        assertThrows(IOException.class, () -> day3Service.part2Solve(invalidFile));
+        assertThrows(IOException.class, () -> day3Service.bothSolve(invalidFile));
+        assertTrue(invalidFile.delete());
+    }
+
+    @Test
+    void testMatchesSets() throws IOException {
+        // Random rucksacks with exactly one item in common between halves and within each group of three
+        Random random = new Random(2022);
+        String items = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+        StringBuilder content = new StringBuilder();
+        long part1 = 0;
+        long part2 = 0;
+        for (int group = 0; group < 1_000; group++) {
+            char badge = items.charAt(random.nextInt(items.length()));
+            part2 += items.indexOf(badge) + 1;
+            for (int member = 0; member < 3; member++) {
+                // Each member draws from its own third of the other items so only the badge is shared, and the
+                // badge sits in the first half only so the halves share a single item
+                List<Character> pool = new ArrayList<>();
+                for (char item : items.replace(String.valueOf(badge), "").substring(member * 17, member * 17 + 17)
+                        .toCharArray()) {
+                    pool.add(item);
+                }
+                Collections.shuffle(pool, random);
+                char shared = pool.getFirst();
+                part1 += items.indexOf(shared) + 1;
+                content.append(badge);
+                pool.subList(1, 8).forEach(content::append);
+                content.append(shared);
+                pool.subList(8, 16).forEach(content::append);
+                content.append(shared).append('\n');
+            }
+        }
+        File largeFile = File.createTempFile("day3", ".txt");
+        largeFile.deleteOnExit();
+        Files.writeString(largeFile.toPath(), content);
+
+        AdventSolutionModel<Long, Long> answer = day3Service.bothSolve(largeFile);
+        assertEquals(part1, day3Service.part1Solve(largeFile));
+        assertEquals(part2, day3Service.part2Solve(new FileInputStream(largeFile)));
+        assertEquals(part1, answer.getPart1Answer());
+        assertEquals(part2, answer.getPart2Answer());
+        assertTrue(largeFile.delete());
+    }
+
+    @Test
+    void testQuerySolve() throws IOException {
+        List<Day3Query> queries = List.of(Day3Query.parse("halves"), Day3Query.parse("whole:3"));
+        assertArrayEquals(new long[] {157L, 70L}, day3Service.querySolve(testFile, queries));
+        assertArrayEquals(new long[] {157L, 70L}, day3Service.querySolve(new FileInputStream(testFile), queries));
+
+        // A window larger than the input holds no groups
+        assertArrayEquals(new long[] {0L}, day3Service.querySolve(testFile, List.of(Day3Query.parse("whole:7:sliding"))));
+        // Only as much of the window as the input fills is ever held
+        List<Day3Query> huge = List.of(Day3Query.parse("whole:2000000000:sliding"));
+        assertArrayEquals(new long[] {0L}, day3Service.querySolve(testFile, huge));
+        assertArrayEquals(new long[] {0L}, day3Service.querySolveParallel(testFile, huge, 4));
+
+        IOException exception = assertThrows(IOException.class,
+                () -> day3Service.querySolve(testFile, List.of(Day3Query.parse("whole:4"))));
+        assertEquals("Invalid file provided", exception.getMessage());
+        assertThrows(IOException.class, () -> day3Service.querySolve(badFile, queries));
+        assertThrows(IllegalArgumentException.class, () -> day3Service.querySolve(testFile, List.of()));
+    }
+
+    @Test
+    void testQueryMatchesBruteForce() throws IOException {
+        Random random = new Random(2022);
+        String items = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+        List<String> rucksacks = new ArrayList<>();
+        StringBuilder content = new StringBuilder();
+        // 6000 rucksacks so every fixed group size below divides them
+        for (int i = 0; i < 6_000; i++) {
+            StringBuilder rucksack = new StringBuilder();
+            int length = 3 + random.nextInt(40);
+            for (int j = 0; j < length; j++) {
+                rucksack.append(items.charAt(random.nextInt(8 + i % 44)));
+            }
+            rucksacks.add(rucksack.toString());
+            content.append(rucksack).append(random.nextInt(10) == 0 ? "\r\n" : "\n");
+        }
+        File largeFile = File.createTempFile("day3", ".txt");
+        largeFile.deleteOnExit();
+        Files.writeString(largeFile.toPath(), content);
+
+        List<Day3Query> queries = new ArrayList<>();
+        for (Day3Query.Split split : Day3Query.Split.values()) {
+            for (int groupSize : new int[] {1, 2, 3, 5}) {
+                queries.add(new Day3Query(split, groupSize, false));
+                queries.add(new Day3Query(split, groupSize, true));
+            }
+            // Windows which outgrow the initial capacity of the window arrays
+            queries.add(new Day3Query(split, 40, true));
+            queries.add(new Day3Query(split, 7_000, true));
+        }
+        long[] expected = new long[queries.size()];
+        for (int q = 0; q < queries.size(); q++) {
+            expected[q] = bruteForce(rucksacks, queries.get(q));
+        }
+
+        assertArrayEquals(expected, day3Service.querySolve(largeFile, queries));
+        assertArrayEquals(expected, day3Service.querySolve(new FileInputStream(largeFile), queries));
+        for (int parallelism : new int[] {1, 2, 7, 64}) {
+            assertArrayEquals(expected, day3Service.querySolveParallel(largeFile, queries, parallelism, 1, 10));
+        }
+        assertTrue(largeFile.delete());
+    }
+
+    private static long bruteForce(List<String> rucksacks, Day3Query query) {
+        int compartments = query.getSplit().getCompartments();
+        long sum = 0;
+        int step = query.isSliding() ? 1 : query.getGroupSize();
+        for (int start = 0; start + query.getGroupSize() <= rucksacks.size(); start += step) {
+            // The lowest priority item found in every compartment of every rucksack of the group
+            for (int priority = 1; priority <= 52; priority++) {
+                char item = priority <= 26 ? (char) ('a' + priority - 1) : (char) ('A' + priority - 27);
+                boolean common = true;
+                for (int i = start; i < start + query.getGroupSize() && common; i++) {
+                    String rucksack = rucksacks.get(i);
+                    for (int c = 0; c < compartments && common; c++) {
+                        String compartment = rucksack.substring(rucksack.length() * c / compartments,
+                                rucksack.length() * (c + 1) / compartments);
+                        common = compartment.indexOf(item) >= 0;
+                    }
+                }
+                if (common) {
+                    sum += priority;
+                    break;
+                }
+            }
+        }
+        return sum;
+    }
+
 }
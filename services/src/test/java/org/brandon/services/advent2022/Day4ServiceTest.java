@@ -2,18 +2,23 @@ package org.brandon.services.advent2022;
 
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day4IntervalIndex;
+import org.brandon.data.advent2022.Day4Model;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.List;
-import java.util.Map;
+import java.nio.file.Files;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 class Day4ServiceTest {
@@ -79,17 +84,39 @@ class Day4ServiceTest {
         assertEquals(2L, answer);
     }
 
+    @Test
+    void testPart1SolveStream() throws IOException {
+        long answer = day4Service.part1Solve(new FileInputStream(testFile));
+        assertEquals(2L, answer);
+    }
+
     @Test
     void testPart2Solve() throws IOException {
         long answer = day4Service.part2Solve(testFile);
         assertEquals(4L, answer);
     }
 
+    @Test
+    void testBothSolve() throws IOException {
+        AdventSolutionModel<Long, Long> answer = day4Service.bothSolve(testFile);
+        assertEquals(2L, answer.getPart1Answer());
+        assertEquals(4L, answer.getPart2Answer());
+        assertTrue(answer.getPart1Nanos() >= 0);
+        assertTrue(answer.getPart2Nanos() >= 0);
+
+        answer = day4Service.bothSolve(new FileInputStream(testFile));
+        assertEquals(2L, answer.getPart1Answer());
+        assertEquals(4L, answer.getPart2Answer());
+    }
+
     @Test
     void testParseDay4File() throws IOException {
-        List<Map<String, Integer>> parsedFile = day4Service.parseDay4File(testFile);
+        Day4Model parsedFile = day4Service.parseDay4File(testFile);
         assertEquals(6, parsedFile.size());
-        assertEquals(4, parsedFile.getFirst().size());
+        assertEquals(2, parsedFile.getFirstStart(0));
+        assertEquals(4, parsedFile.getFirstEnd(0));
+        assertEquals(6, parsedFile.getSecondStart(0));
+        assertEquals(8, parsedFile.getSecondEnd(0));
 
         IOException exception = assertThrows(
                 IOException.class,
@@ -98,4 +125,65 @@ class Day4ServiceTest {
         assertEquals("Invalid file provided", exception.getMessage());
     }
 
+    @Test
+    void testIndexDay4File() throws IOException {
+        Day4IntervalIndex index = day4Service.indexDay4File(testFile);
+        assertEquals(6, index.getPairs());
+        assertEquals(8, index.getMaxDepth());
+        assertEquals(6, index.getMaxDepthSection());
+        assertEquals(8, index.countOverlapping(6, 6));
+        assertEquals(3, index.covering(6, 3).length);
+
+        index = day4Service.indexDay4File(new FileInputStream(testFile));
+        assertEquals(6, index.getPairs());
+        assertEquals(12, index.countOverlapping(1, 9));
+
+        IOException exception = assertThrows(IOException.class, () -> day4Service.indexDay4File(badFile));
+        assertEquals("Invalid file provided", exception.getMessage());
+
+        // Assignments ending before they start cannot be indexed
+        File reversedFile = File.createTempFile("day4", ".txt");
+        reversedFile.deleteOnExit();
+        Files.writeString(reversedFile.toPath(), "2-4,6-8\n5-3,1-2\n");
+        exception = assertThrows(IOException.class, () -> day4Service.indexDay4File(reversedFile));
+        assertEquals("Invalid file provided", exception.getMessage());
+        assertTrue(reversedFile.delete());
+    }
+
+    @Test
+    void testStreamingMatchesParsed() throws IOException {
+        Random random = new Random(2022);
+        StringBuilder content = new StringBuilder();
+        long contained = 0;
+        long overlapping = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int firstStart = random.nextInt(100);
+            int firstEnd = firstStart + random.nextInt(20);
+            int secondStart = random.nextInt(100);
+            int secondEnd = secondStart + random.nextInt(20);
+            if ((firstStart <= secondStart && firstEnd >= secondEnd) || (secondStart <= firstStart && secondEnd >= firstEnd)) {
+                contained++;
+            }
+            if (Math.max(firstStart, secondStart) <= Math.min(firstEnd, secondEnd)) {
+                overlapping++;
+            }
+            content.append(firstStart).append('-').append(firstEnd).append(',')
+                    .append(secondStart).append('-').append(secondEnd).append(i % 7 == 0 ? "\r\n" : "\n");
+        }
+        File largeFile = File.createTempFile("day4", ".txt");
+        largeFile.deleteOnExit();
+        Files.writeString(largeFile.toPath(), content);
+
+        assertEquals(contained, day4Service.part1Solve(largeFile));
+        assertEquals(overlapping, day4Service.part2Solve(new FileInputStream(largeFile)));
+        AdventSolutionModel<Long, Long> answer = day4Service.bothSolve(largeFile);
+        assertEquals(contained, answer.getPart1Answer());
+        assertEquals(overlapping, answer.getPart2Answer());
+        assertEquals(100_000, day4Service.parseDay4File(largeFile).size());
+
+        IOException exception = assertThrows(IOException.class, () -> day4Service.part2Solve(badFile));
+        assertEquals("Invalid file provided", exception.getMessage());
+        assertTrue(largeFile.delete());
+    }
+
 }
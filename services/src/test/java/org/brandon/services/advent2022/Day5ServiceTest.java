@@ -2,18 +2,26 @@ package org.brandon.services.advent2022;
 
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day5Model;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
-import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 class Day5ServiceTest {
@@ -77,19 +85,39 @@ class Day5ServiceTest {
         assertEquals("FQVJGLNHS", answer);
     }
 
+    @Test
+    void testPart1SolveStream() throws IOException {
+        String answer = day5Service.part1Solve(new FileInputStream(testFile));
+        assertEquals("FQVJGLNHS", answer);
+    }
+
     @Test
     void testPart2Solve() throws IOException {
         String answer = day5Service.part2Solve(testFile);
         assertEquals("HQVZGLNFS", answer);
     }
 
+    @Test
+    void testBothSolve() throws IOException {
+        AdventSolutionModel<String, String> answer = day5Service.bothSolve(testFile);
+        assertEquals("FQVJGLNHS", answer.getPart1Answer());
+        assertEquals("HQVZGLNFS", answer.getPart2Answer());
+        assertTrue(answer.getPart1Nanos() >= 0);
+        assertTrue(answer.getPart2Nanos() >= 0);
+
+        answer = day5Service.bothSolve(new FileInputStream(testFile));
+        assertEquals("FQVJGLNHS", answer.getPart1Answer());
+        assertEquals("HQVZGLNFS", answer.getPart2Answer());
+    }
+
     @Test
     void testParseDay5File() throws IOException {
-        List<Map<String, Integer>> parsedList = day5Service.parseDay5File(testFile);
-        assertEquals(5, parsedList.size());
-        assertEquals(1, parsedList.getFirst().get("amount"));
-        assertEquals(3, parsedList.getFirst().get("startStack"));
-        assertEquals(9, parsedList.getFirst().get("endStack"));
+        Day5Model parsedFile = day5Service.parseDay5File(testFile);
+        assertEquals(5, parsedFile.size());
+        assertEquals(1, parsedFile.getAmount(0));
+        assertEquals(3, parsedFile.getFrom(0));
+        assertEquals(9, parsedFile.getTo(0));
+        assertEquals(9, parsedFile.getStacks().size());
 
         IOException exception = assertThrows(
                 IOException.class,
@@ -98,4 +126,119 @@ class Day5ServiceTest {
         assertEquals("Invalid file provided", exception.getMessage());
     }
 
+    @Test
+    void testDrawing() throws IOException {
+        // The example from the puzzle, with the trailing spaces of the drawing trimmed from the top row
+        File drawnFile = File.createTempFile("day5", ".txt");
+        drawnFile.deleteOnExit();
+        Files.writeString(drawnFile.toPath(), """
+                    [D]
+                [N] [C]   \r
+                [Z] [M] [P]
+                 1   2   3 \r
+
+                move 1 from 2 to 1
+                move 3 from 1 to 3
+                move 2 from 2 to 1
+                move 1 from 1 to 2
+                """);
+        Day5Model parsedFile = day5Service.parseDay5File(drawnFile);
+        assertEquals(3, parsedFile.getStacks().size());
+        assertEquals("NDP", parsedFile.getStacks().tops());
+        assertEquals(4, parsedFile.size());
+        assertEquals("CMZ", day5Service.part1Solve(drawnFile));
+        assertEquals("MCD", day5Service.part2Solve(new FileInputStream(drawnFile)));
+        AdventSolutionModel<String, String> answer = day5Service.bothSolve(drawnFile);
+        assertEquals("CMZ", answer.getPart1Answer());
+        assertEquals("MCD", answer.getPart2Answer());
+
+        // Stacks numbered past the last crate start empty
+        Files.writeString(drawnFile.toPath(), "[A]\n 1   2\n\nmove 1 from 1 to 2\n");
+        assertEquals(" A", day5Service.part1Solve(drawnFile));
+
+        for (String invalid : List.of(
+                "    [B]\n[A]\n 1   2\n\nmove 1 from 1 to 2\n",
+                "[A] [B]\n 1\n\nmove 1 from 1 to 1\n",
+                "[A] [B]\n 1   3\n\nmove 1 from 1 to 2\n",
+                "[A] (B)\n 1   2\n\nmove 1 from 1 to 2\n",
+                "[A]\n[B]\n",
+                "[A] [B]\n 1   2\n\nmove 1 from 1 to 3\n",
+                "[A] [B]\n 1   2\n\nmove 2 from 1 to 2\n")) {
+            Files.writeString(drawnFile.toPath(), invalid);
+            IOException exception = assertThrows(IOException.class, () -> day5Service.part2Solve(drawnFile), invalid);
+            assertEquals("Invalid file provided", exception.getMessage());
+        }
+        assertTrue(drawnFile.delete());
+    }
+
+    @Test
+    void testMatchesDeques() throws IOException {
+        // Thousands of stacks and long moves compared against moving boxed crates one at a time
+        Random random = new Random(2022);
+        int stackCount = 2_000;
+        List<Deque<Character>> stacks = new ArrayList<>();
+        StringBuilder[] rows = new StringBuilder[6];
+        for (int level = 0; level < rows.length; level++) {
+            rows[level] = new StringBuilder();
+        }
+        StringBuilder numbers = new StringBuilder();
+        for (int stack = 0; stack < stackCount; stack++) {
+            Deque<Character> crates = new ArrayDeque<>();
+            int height = 1 + random.nextInt(rows.length);
+            for (int level = 0; level < rows.length; level++) {
+                if (level < height) {
+                    char crate = (char) ('A' + random.nextInt(26));
+                    crates.push(crate);
+                    rows[level].append('[').append(crate).append("] ");
+                } else {
+                    rows[level].append("    ");
+                }
+            }
+            stacks.add(crates);
+            numbers.append(' ').append(stack + 1).append("  ");
+        }
+        StringBuilder content = new StringBuilder();
+        for (int level = rows.length - 1; level >= 0; level--) {
+            content.append(rows[level]).append('\n');
+        }
+        content.append(numbers).append("\n\n");
+
+        List<Deque<Character>> together = new ArrayList<>();
+        for (Deque<Character> crates : stacks) {
+            together.add(new ArrayDeque<>(crates));
+        }
+        for (int move = 0; move < 20_000; move++) {
+            int from = random.nextInt(stackCount);
+            int to = random.nextInt(stackCount);
+            int amount = random.nextInt(stacks.get(from).size() + 1);
+            content.append("move ").append(amount).append(" from ").append(from + 1).append(" to ").append(to + 1)
+                    .append('\n');
+            Deque<Character> held = new ArrayDeque<>();
+            for (int i = 0; i < amount; i++) {
+                stacks.get(to).push(stacks.get(from).pop());
+                held.push(together.get(from).pop());
+            }
+            for (int i = 0; i < amount; i++) {
+                together.get(to).push(held.pop());
+            }
+        }
+        File largeFile = File.createTempFile("day5", ".txt");
+        largeFile.deleteOnExit();
+        Files.writeString(largeFile.toPath(), content);
+
+        AdventSolutionModel<String, String> answer = day5Service.bothSolve(largeFile);
+        assertEquals(tops(stacks), answer.getPart1Answer());
+        assertEquals(tops(together), answer.getPart2Answer());
+        assertEquals(tops(together), day5Service.part2Solve(new FileInputStream(largeFile)));
+        assertTrue(largeFile.delete());
+    }
+
+    private static String tops(List<Deque<Character>> stacks) {
+        StringBuilder tops = new StringBuilder();
+        for (Deque<Character> crates : stacks) {
+            tops.append(crates.isEmpty() ? ' ' : crates.peek());
+        }
+        return tops.toString();
+    }
+
 }
@@ -2,16 +2,32 @@ package org.brandon.services.advent2022;
 
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day6Markers;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.LongStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 class Day6ServiceTest {
@@ -68,15 +84,195 @@ class Day6ServiceTest {
     }
 
     @Test
-    void testParseDay6File() throws IOException {
-        String parsedFile = day6Service.parseDay6File(testFile);
-        assertEquals(30, parsedFile.length());
-
-        IOException exception = assertThrows(
-                IOException.class,
-                () -> day6Service.parseDay6File(badFile),
-                "Expected IO Exception from bad file, IOException did not occur");
+    void testSolveStream() throws IOException {
+        int windowSize = 4;
+        long answer = day6Service.solve(new FileInputStream(testFile), windowSize);
+        assertEquals(7L, answer);
+    }
+
+    @Test
+    void testSolveExamples() throws IOException {
+        Map<String, long[]> examples = Map.of(
+                "bvwbjplbgvbhsrlpgdmjqwftvncz", new long[] {5, 23},
+                "nppdvjthqldpwncqszvftbrmjlhg", new long[] {6, 23},
+                "nznrnfrfntjfmvfwmzdfjlvtqnbhcprsg", new long[] {10, 29},
+                "zcfzfwzzqfrljwzlrfnpqdbhtmscgvjw", new long[] {11, 26});
+        for (Map.Entry<String, long[]> example : examples.entrySet()) {
+            assertEquals(example.getValue()[0], day6Service.solve(stream(example.getKey()), 4), example.getKey());
+            assertEquals(example.getValue()[1], day6Service.solve(stream(example.getKey()), 14), example.getKey());
+        }
+
+        // Upper and lower case letters are distinct, and a window of one is the first letter
+        assertEquals(4L, day6Service.solve(stream("aAaB"), 3));
+        assertEquals(1L, day6Service.solve(stream("q"), 1));
+    }
+
+    @Test
+    void testSolveStopsAtMarker() throws IOException {
+        // Nothing past the marker is read, however much of the stream is left
+        InputStream endless = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Read past the marker");
+            }
+        };
+        assertEquals(7L, day6Service.solve(new SequenceInputStream(stream("mjqjpqmgbljsphdztnvjfqwrcgsmlb"), endless), 4));
+
+        // A marker far beyond the read buffer
+        File largeFile = largeSignal();
+        assertEquals(3_000_001L, day6Service.solve(largeFile, 4));
+        assertEquals(3_000_011L, day6Service.solve(new FileInputStream(largeFile), 14));
+
+        // Datastreams without a marker, or with other characters before it, are invalid
+        for (String invalid : new String[] {"abcabc\nabcd", "ab1cd", "", "abcd"}) {
+            Files.writeString(largeFile.toPath(), invalid);
+            IOException exception = assertThrows(IOException.class, () -> day6Service.solve(largeFile, 5), invalid);
+            assertEquals("Invalid file provided", exception.getMessage());
+        }
+        assertTrue(largeFile.delete());
+    }
+
+    @Test
+    void testSolveParallel() throws IOException {
+        File parallelFile = File.createTempFile("day6", ".txt");
+        parallelFile.deleteOnExit();
+
+        // Markers land in every chunk and across the boundaries between them
+        Random random = new Random(23);
+        for (int run = 0; run < 40; run++) {
+            char[] letters = new char[200 + random.nextInt(200)];
+            for (int i = 0; i < letters.length; i++) {
+                letters[i] = (char) ('a' + random.nextInt(3));
+            }
+            int markerAt = random.nextInt(letters.length - 14);
+            for (int i = 0; i < 14; i++) {
+                letters[markerAt + i] = (char) ('d' + i);
+            }
+            String datastream = new String(letters);
+            Files.writeString(parallelFile.toPath(), datastream + "\n");
+            for (int windowSize : new int[] {1, 4, 14}) {
+                long expected = day6Service.solve(stream(datastream), windowSize);
+                for (int parallelism : new int[] {1, 3, 16}) {
+                    assertEquals(expected, day6Service.solveParallel(parallelFile, windowSize, parallelism, 7),
+                            datastream + " window " + windowSize + " parallelism " + parallelism);
+                }
+            }
+        }
+
+        // Only what comes before the first marker has to be valid
+        Files.writeString(parallelFile.toPath(), "xyz".repeat(20) + "abcd" + "xyz".repeat(20) + "1\nabcd");
+        assertEquals(61L, day6Service.solveParallel(parallelFile, 4, 8, 5));
+        assertEquals(3_000_011L, day6Service.solveParallel(largeSignal(), 14, 8, 1024));
+
+        for (String invalid : new String[] {"xyz".repeat(20) + "1abcd", "xyz".repeat(20) + "\nabcd", "xyz".repeat(20),
+                ""}) {
+            Files.writeString(parallelFile.toPath(), invalid);
+            IOException exception = assertThrows(IOException.class,
+                    () -> day6Service.solveParallel(parallelFile, 4, 8, 5), invalid);
+            assertEquals("Invalid file provided", exception.getMessage());
+        }
+        Files.writeString(parallelFile.toPath(), "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ");
+        assertEquals(52L, day6Service.solveParallel(parallelFile, 52, 8, 5));
+        assertThrows(IOException.class, () -> day6Service.solveParallel(parallelFile, 53, 8, 5));
+
+        assertThrows(IllegalArgumentException.class, () -> day6Service.solveParallel(parallelFile, 4, 0));
+        assertThrows(IllegalArgumentException.class, () -> day6Service.solveParallel(parallelFile, 0, 4));
+        assertTrue(parallelFile.delete());
+    }
+
+    @Test
+    void testMarkerSolve() throws IOException {
+        // The first markers of every window size come from one read, which stops at the last of them
+        InputStream endless = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Read past the marker");
+            }
+        };
+        Day6Markers markers = day6Service.markerSolve(
+                new SequenceInputStream(stream("mjqjpqmgbljsphdztnvjfqwrcgsmlb"), endless), new Day6Markers(14, 4, 1));
+        assertEquals(19L, markers.getFirst(0));
+        assertEquals(7L, markers.getFirst(1));
+        assertEquals(1L, markers.getFirst(2));
+
+        markers = day6Service.markerSolve(testFile, new Day6Markers(4, 40));
+        assertEquals(7L, markers.getFirst(0));
+        assertEquals(-1L, markers.getFirst(1));
+
+        // Every marker matches checking each window of each size on its own
+        Random random = new Random(6);
+        char[] letters = new char[5000];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(i % 1000 < 500 ? 8 : 26));
+        }
+        String datastream = new String(letters);
+        int[] windowSizes = {12, 1, 4, 8, 4, 26};
+        int limit = 50;
+        markers = day6Service.markerSolve(stream(datastream + "\n"), new Day6Markers(windowSizes, limit));
+        for (int i = 0; i < windowSizes.length; i++) {
+            long[] expected = markersOf(datastream, windowSizes[i]);
+            assertEquals(expected.length, markers.getCount(i), "window " + windowSizes[i]);
+            assertEquals(expected.length == 0 ? -1L : expected[0], markers.getFirst(i), "window " + windowSizes[i]);
+            assertArrayEquals(Arrays.copyOf(expected, Math.min(limit, expected.length)), markers.getPositions(i),
+                    "window " + windowSizes[i]);
+        }
+
+        IOException exception = assertThrows(IOException.class,
+                () -> day6Service.markerSolve(badFile, new Day6Markers(new int[] {4}, 10)));
         assertEquals("Invalid file provided", exception.getMessage());
     }
 
+    @Test
+    void testBothSolve() throws IOException {
+        AdventSolutionModel<Long, Long> answer = day6Service.bothSolve(testFile);
+        assertEquals(7L, answer.getPart1Answer());
+        assertEquals(19L, answer.getPart2Answer());
+        assertTrue(answer.getPart1Nanos() >= 0);
+        assertTrue(answer.getPart2Nanos() >= 0);
+
+        answer = day6Service.bothSolve(new FileInputStream(testFile));
+        assertEquals(7L, answer.getPart1Answer());
+        assertEquals(19L, answer.getPart2Answer());
+
+        // Both parts come from a single read which stops at the start-of-message marker
+        InputStream endless = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Read past the marker");
+            }
+        };
+        answer = day6Service.bothSolve(new SequenceInputStream(stream("mjqjpqmgbljsphdztnvjf"), endless));
+        assertEquals(7L, answer.getPart1Answer());
+        assertEquals(19L, answer.getPart2Answer());
+
+        IOException exception = assertThrows(IOException.class, () -> day6Service.bothSolve(stream("abcdabcd")));
+        assertEquals("Invalid file provided", exception.getMessage());
+    }
+
+    /**
+     * Writes a datastream whose only markers are far beyond the read buffer, followed by an incorrect character.
+     */
+    private static File largeSignal() throws IOException {
+        File largeFile = File.createTempFile("day6", ".txt");
+        largeFile.deleteOnExit();
+        Files.writeString(largeFile.toPath(), "xyz".repeat(1_000_000) + "abcdefghijklmn" + "1\n");
+        return largeFile;
+    }
+
+    private static long[] markersOf(String datastream, int windowSize) {
+        return LongStream.rangeClosed(windowSize, datastream.length())
+                .filter(end -> {
+                    Set<Character> window = new HashSet<>();
+                    for (int i = (int) end - windowSize; i < end; i++) {
+                        window.add(datastream.charAt(i));
+                    }
+                    return window.size() == windowSize;
+                })
+                .toArray();
+    }
+
+    private static InputStream stream(String datastream) {
+        return new ByteArrayInputStream(datastream.getBytes(StandardCharsets.US_ASCII));
+    }
+
 }
@@ -2,16 +2,24 @@ package org.brandon.services.advent2022;
 
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import org.brandon.data.advent2022.AdventSolutionModel;
+import org.brandon.data.advent2022.Day7SizeIndex;
+import org.brandon.data.advent2022.Day7Tree;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.List;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 class Day7ServiceTest {
@@ -65,25 +73,8 @@ class Day7ServiceTest {
                     $ ls
                     dir a
                     14848514 b.txt
-                    8504156 c.dat
-                    dir d
                     $ cd a
-                    $ ls
-                    dir e
-                    29116 f
-                    2557 g
-                    62596 h.lst
-                    $ cd e
-                    $ ls
-                    584 i
-                    $ cd ..
-                    $ cd ..
-                    $ cd d
-                    $ ls
-                    4060174 j
-                    8033020 d.log
-                    5626152 d.ext
-                    7214296 k
+                    $ rm -rf /
                     """);
         } catch (IOException ex) {
             ex.printStackTrace();
@@ -107,19 +98,114 @@ class Day7ServiceTest {
     @Test
     void testPart1Solve() throws IOException {
         long answer = day7Service.part1Solve(testFile);
-        assertEquals(1L, answer);
+        assertEquals(95437L, answer);
+    }
+
+    @Test
+    void testPart1SolveStream() throws IOException {
+        long answer = day7Service.part1Solve(new FileInputStream(testFile));
+        assertEquals(95437L, answer);
     }
 
     @Test
     void testPart2Solve() throws IOException {
         long answer = day7Service.part2Solve(testFile);
-        assertEquals(1L, answer);
+        assertEquals(24933642L, answer);
+
+        // When no smaller directory frees enough, only deleting everything does
+        String full = "$ cd /\n$ ls\n44000000 big\ndir a\n$ cd a\n$ ls\n1000000 small\n";
+        assertEquals(45000000L, day7Service.part2Solve(stream(full)));
+    }
+
+    @Test
+    void testBothSolve() throws IOException {
+        AdventSolutionModel<Long, Long> answer = day7Service.bothSolve(testFile);
+        assertEquals(95437L, answer.getPart1Answer());
+        assertEquals(24933642L, answer.getPart2Answer());
+        assertTrue(answer.getPart1Nanos() >= 0);
+        assertTrue(answer.getPart2Nanos() >= 0);
+
+        answer = day7Service.bothSolve(new FileInputStream(testFile));
+        assertEquals(95437L, answer.getPart1Answer());
+        assertEquals(24933642L, answer.getPart2Answer());
+    }
+
+    @Test
+    void testIndexDay7File() throws IOException {
+        // The index answers both parts the same way the solvers do
+        Day7SizeIndex index = day7Service.indexDay7File(testFile);
+        assertEquals(4, index.size());
+        assertEquals(95437L, index.sumAtMost(Day7Service.PART_1_MAX_SIZE));
+        long needed = Day7Service.UPDATE_SIZE - (Day7Service.DISK_SIZE - index.getTotalSize());
+        assertEquals(24933642L, index.getSize(index.smallestAtLeast(needed)));
+
+        index = day7Service.indexDay7File(new FileInputStream(testFile));
+        assertEquals("/d", index.getPath(index.smallestAtLeast(needed)));
+
+        IOException exception = assertThrows(IOException.class, () -> day7Service.indexDay7File(badFile));
+        assertEquals("Invalid file provided", exception.getMessage());
     }
 
     @Test
     void testParseDay7File() throws IOException {
-        List<String> parsedFile = day7Service.parseDay7File(testFile);
-        assertEquals(23, parsedFile.size());
+        Day7Tree parsedFile = day7Service.parseDay7File(testFile);
+        assertEquals(4, parsedFile.size());
+        assertEquals(48381165L, parsedFile.getSize(Day7Tree.ROOT));
+        assertEquals("/a/e", parsedFile.getPath(3));
+        assertEquals(584L, parsedFile.getSize(3));
+        assertEquals(94853L, parsedFile.getSize(1));
+        assertEquals(24933642L, parsedFile.getSize(2));
+
+        IOException exception = assertThrows(
+                IOException.class,
+                () -> day7Service.parseDay7File(badFile),
+                "Expected IO Exception from bad file, IOException did not occur");
+        assertEquals("Invalid file provided", exception.getMessage());
+    }
+
+    @Test
+    void testParseRevisits() throws IOException {
+        // Listing a directory again, returning to the root and leaving the transcript deep in the tree count once
+        Day7Tree parsedFile = day7Service.parseDay7File(stream("""
+                $ cd /
+                $ ls
+                dir a
+                10 x
+                $ cd a
+                $ ls
+                dir b
+                20 y
+                $ cd b
+                $ ls
+                30 z
+                $ cd /
+                $ ls
+                dir a
+                10 x
+                $ cd a
+
+                $ ls
+                20 y
+                $ cd ..
+                $ cd ..
+                $ cd a
+                $ cd b
+                """));
+        assertEquals(3, parsedFile.size());
+        assertEquals(60L, parsedFile.getSize(Day7Tree.ROOT));
+        assertEquals(50L, parsedFile.getSize(1));
+        assertEquals(30L, parsedFile.getSize(2));
+
+        for (String invalid : new String[] {"$ cd /\n10 x\n", "$ ls\ndir\n", "$ ls\n-5 x\n", "$ ls\n5\n",
+                "$ pwd\n", "$ cd\n", "$ ls\ndirs a\n"}) {
+            IOException exception = assertThrows(IOException.class, () -> day7Service.parseDay7File(stream(invalid)),
+                    invalid);
+            assertEquals("Invalid file provided", exception.getMessage());
+        }
+    }
+
+    private static InputStream stream(String transcript) {
+        return new ByteArrayInputStream(transcript.getBytes(StandardCharsets.UTF_8));
     }
 
 }
@@ -2,11 +2,13 @@ package org.brandon.services.advent2022;
 
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import org.brandon.data.advent2022.AdventSolutionModel;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -14,6 +16,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 class Day8ServiceTest {
@@ -85,12 +88,31 @@ class Day8ServiceTest {
         assertEquals(21, answer);
     }
 
+    @Test
+    void testPart1SolveStream() throws IOException {
+        long answer = day8Service.part1Solve(new FileInputStream(testFile));
+        assertEquals(21, answer);
+    }
+
     @Test
     void testPart2Solve() throws IOException {
         long answer = day8Service.part2Solve(testFile);
         assertEquals(8, answer);
     }
 
+    @Test
+    void testBothSolve() throws IOException {
+        AdventSolutionModel<Long, Long> answer = day8Service.bothSolve(testFile);
+        assertEquals(21L, answer.getPart1Answer());
+        assertEquals(8L, answer.getPart2Answer());
+        assertTrue(answer.getPart1Nanos() >= 0);
+        assertTrue(answer.getPart2Nanos() >= 0);
+
+        answer = day8Service.bothSolve(new FileInputStream(testFile));
+        assertEquals(21L, answer.getPart1Answer());
+        assertEquals(8L, answer.getPart2Answer());
+    }
+
     @Test
     void testCalculateVisible() {
         boolean[][] visibleGrid = new boolean[3][3];
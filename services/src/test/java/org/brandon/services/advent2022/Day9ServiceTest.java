@@ -2,12 +2,14 @@ package org.brandon.services.advent2022;
 
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import org.brandon.data.advent2022.AdventSolutionModel;
 import org.javatuples.Pair;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
@@ -99,6 +101,12 @@ class Day9ServiceTest {
         assertEquals(13, answer);
     }
 
+    @Test
+    void testPart1SolveStream() throws IOException {
+        long answer = day9Service.part1Solve(new FileInputStream(testFile));
+        assertEquals(13, answer);
+    }
+
     @Test
     void testPart1SolveBad() throws UnsupportedOperationException {
         UnsupportedOperationException exception = assertThrows(
@@ -114,6 +122,19 @@ class Day9ServiceTest {
         assertEquals(36, answer);
     }
 
+    @Test
+    void testBothSolve() throws IOException {
+        AdventSolutionModel<Long, Long> answer = day9Service.bothSolve(testFile);
+        assertEquals(13L, answer.getPart1Answer());
+        assertEquals(36L, answer.getPart2Answer());
+        assertTrue(answer.getPart1Nanos() >= 0);
+        assertTrue(answer.getPart2Nanos() >= 0);
+
+        answer = day9Service.bothSolve(new FileInputStream(testFile));
+        assertEquals(13L, answer.getPart1Answer());
+        assertEquals(36L, answer.getPart2Answer());
+    }
+
     @Test
     void testIsTailCloseEnough() {
         Pair<Integer, Integer> headLocation1 = new Pair<>(0,0);